@@ -50,6 +50,7 @@ public class Main extends Application {
 		}*/
 
 		stageManager.switchScene(FxmlView.DASHBOARD);
+		stageManager.getSpringFXMLLoader().prewarmCachedViews();
 
 
 
@@ -1,40 +1,64 @@
 package com.gurukrupa.config;
 
+import com.gurukrupa.diagnostics.SqlStatementTracker;
+import com.gurukrupa.view.RefreshableController;
+import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.scene.Group;
 import javafx.scene.Parent;
+import javafx.scene.Scene;
 import javafx.scene.layout.Pane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
+import java.lang.ref.SoftReference;
 import java.util.AbstractMap;
+import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads FXML views with Spring-managed controllers.
+ * <p>
+ * Views listed in {@code gurukrupa.views.cached} are built once and reused: the
+ * node tree is held through a {@link SoftReference} so the JVM can evict it under
+ * memory pressure, and on reuse a {@link RefreshableController} gets
+ * {@code refresh()} instead of a full re-initialization. Because controllers are
+ * singletons, every load of a cached path goes through the cache so the
+ * controller stays bound to the tree that is on screen.
+ */
 @Component
 public class SpringFXMLLoader {
+    private static final Logger LOG = LoggerFactory.getLogger(SpringFXMLLoader.class);
+
     private final ResourceBundle resourceBundle;
     private final ApplicationContext context;
+    private final SqlStatementTracker statementTracker;
+    private final Map<String, CachedView> viewCache = new ConcurrentHashMap<>();
+
+    @Value("${gurukrupa.views.cached:}")
+    private List<String> cachedViews = List.of();
+
     @Autowired
-    public SpringFXMLLoader(ApplicationContext context, ResourceBundle resourceBundle) {
+    public SpringFXMLLoader(ApplicationContext context, ResourceBundle resourceBundle, SqlStatementTracker statementTracker) {
         this.resourceBundle = resourceBundle;
         this.context = context;
+        this.statementTracker = statementTracker;
     }
     public Parent load(String fxmlPath) throws IOException {
-        FXMLLoader loader = new FXMLLoader();
-        loader.setControllerFactory(context::getBean);
-        loader.setResources(resourceBundle);
-        loader.setLocation(getClass().getResource(fxmlPath));
-        return loader.load();
+        return loadView(fxmlPath).root;
     }
     public Pane getPage(String fxmlPath) {
         try {
-            FXMLLoader loader = new FXMLLoader();
-            loader.setControllerFactory(context::getBean);
-            loader.setResources(resourceBundle);
-            loader.setLocation(getClass().getResource(fxmlPath));
-
-            return loader.load();
+            return (Pane) loadView(fxmlPath).root;
         }catch(Exception e)
         {
             e.printStackTrace();
@@ -43,12 +67,116 @@ public class SpringFXMLLoader {
 
     }
     public <T> Map.Entry<Parent, T> loadWithController(String fxmlPath, Class<T> controllerClass) throws IOException {
+        LoadedView view = loadView(fxmlPath);
+        return new AbstractMap.SimpleEntry<>(view.root, controllerClass.cast(view.controller));
+    }
+
+    /**
+     * Build every cached view ahead of first use. Runs after the first scene is
+     * shown: a background thread hands the views to the JavaFX thread one at a
+     * time, so the UI stays responsive while they are prepared.
+     */
+    public void prewarmCachedViews() {
+        if (cachedViews.isEmpty()) {
+            return;
+        }
+        Thread warmer = new Thread(() -> {
+            for (String fxmlPath : cachedViews) {
+                CountDownLatch done = new CountDownLatch(1);
+                Platform.runLater(() -> {
+                    try {
+                        if (cachedRoot(fxmlPath) == null) {
+                            loadView(fxmlPath);
+                        }
+                    } catch (Exception e) {
+                        LOG.warn("Could not prewarm view {}: {}", fxmlPath, e.getMessage());
+                    } finally {
+                        done.countDown();
+                    }
+                });
+                try {
+                    done.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            LOG.info("Prewarmed {} cached views", cachedViews.size());
+        }, "ViewPrewarm");
+        warmer.setDaemon(true);
+        warmer.start();
+    }
+
+    /**
+     * Drop a cached view so the next load rebuilds it, e.g. after its FXML-bound
+     * configuration changes.
+     */
+    public void evict(String fxmlPath) {
+        viewCache.remove(fxmlPath);
+    }
+
+    private LoadedView loadView(String fxmlPath) throws IOException {
+        if (!cachedViews.contains(fxmlPath)) {
+            return buildView(fxmlPath);
+        }
+
+        CachedView cached = viewCache.get(fxmlPath);
+        Parent root = cached != null ? cached.root.get() : null;
+        if (root != null && isShowingAsWindowRoot(root)) {
+            // Already open in another window; give this caller its own copy
+            return buildView(fxmlPath);
+        }
+        if (root != null) {
+            detach(root);
+            if (cached.controller instanceof RefreshableController refreshable) {
+                try (SqlStatementTracker.Scope ignored = statementTracker.begin(fxmlPath + " refresh")) {
+                    refreshable.refresh();
+                }
+            }
+            return new LoadedView(root, cached.controller);
+        }
+
+        LoadedView view = buildView(fxmlPath);
+        viewCache.put(fxmlPath, new CachedView(new SoftReference<>(view.root), view.controller));
+        return view;
+    }
+
+    private LoadedView buildView(String fxmlPath) throws IOException {
         FXMLLoader loader = new FXMLLoader();
         loader.setControllerFactory(context::getBean);
         loader.setResources(resourceBundle);
         loader.setLocation(getClass().getResource(fxmlPath));
-        Parent root = loader.load();
-        T controller = loader.getController();
-        return new AbstractMap.SimpleEntry<>(root, controller);
+        try (SqlStatementTracker.Scope ignored = statementTracker.begin(fxmlPath)) {
+            Parent root = loader.load();
+            return new LoadedView(root, loader.getController());
+        }
+    }
+
+    private Parent cachedRoot(String fxmlPath) {
+        CachedView cached = viewCache.get(fxmlPath);
+        return cached != null ? cached.root.get() : null;
+    }
+
+    private boolean isShowingAsWindowRoot(Parent root) {
+        Scene scene = root.getScene();
+        return scene != null && scene.getRoot() == root
+                && scene.getWindow() != null && scene.getWindow().isShowing();
+    }
+
+    /**
+     * A reused root may still be the root of the (closed) dialog scene it was
+     * last shown in; JavaFX does not allow a node to be the root of two scenes.
+     */
+    private void detach(Parent root) {
+        Scene scene = root.getScene();
+        if (scene != null && scene.getRoot() == root) {
+            scene.setRoot(new Group());
+        }
+    }
+
+    private record LoadedView(Parent root, Object controller) {
+    }
+
+    private record CachedView(SoftReference<Parent> root, Object controller) {
     }
-}
\ No newline at end of file
+}
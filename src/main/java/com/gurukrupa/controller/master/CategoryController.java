@@ -1,6 +1,7 @@
 package com.gurukrupa.controller.master;
 
 import com.gurukrupa.config.SpringFXMLLoader;
+import com.gurukrupa.data.dto.CategoryStatistics;
 import com.gurukrupa.data.entities.Category;
 import com.gurukrupa.data.service.CategoryService;
 import com.gurukrupa.data.service.JewelryItemService;
@@ -438,14 +439,10 @@ public class CategoryController implements Initializable {
     
     private void updateStatistics() {
         try {
-            // Get statistics from service
-            long totalCategories = categoryService.getTotalCategoryCount();
-            txtTotalCategories.setText(String.valueOf(totalCategories));
-            
-            // Calculate total items across all categories
-            Map<String, Long> itemCountMap = categoryService.getCategoryItemCountMap();
-            long totalItems = itemCountMap.values().stream().mapToLong(Long::longValue).sum();
-            txtTotalItems.setText(String.valueOf(totalItems));
+            // Get statistics from service (cached, shared with loadCategories)
+            CategoryStatistics statistics = categoryService.getCategoryStatistics();
+            txtTotalCategories.setText(String.valueOf(statistics.getTotalCategories()));
+            txtTotalItems.setText(String.valueOf(statistics.getTotalItems()));
         } catch (Exception e) {
             logger.error("Error updating statistics: {}", e.getMessage());
             txtTotalCategories.setText("0");
@@ -761,9 +761,10 @@ public class PurchaseInvoiceController implements Initializable {
         // Populate form with selected item data
         editingPurchaseTransaction = selected;
 
-        // Find and set metal type
+        // Find and set the metal with this type and purity
+        Long metalId = metalService.findMetalIdByTypeAndPurity(selected.getMetalType(), selected.getPurity());
         for (Metal metal : metals) {
-            if (metal.getMetalType().equals(selected.getMetalType())) {
+            if (metalId != null ? metalId.equals(metal.getId()) : metal.getMetalType().equals(selected.getMetalType())) {
                 cmbPurchaseMetalType.setValue(metal);
                 break;
             }
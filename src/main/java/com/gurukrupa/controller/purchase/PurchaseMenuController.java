@@ -3,6 +3,7 @@ package com.gurukrupa.controller.purchase;
 
 import com.gurukrupa.data.service.PurchaseInvoiceService;
 import com.gurukrupa.view.FxmlView;
+import com.gurukrupa.view.RefreshableController;
 import com.gurukrupa.view.StageManager;
 import javafx.animation.RotateTransition;
 import javafx.application.Platform;
@@ -33,7 +34,7 @@ import java.util.ResourceBundle;
  * Controller for Purchase Menu - handles all purchase-related operations
  */
 @Component
-public class PurchaseMenuController implements Initializable {
+public class PurchaseMenuController implements Initializable, RefreshableController {
     private static final Logger LOG = LoggerFactory.getLogger(PurchaseMenuController.class);
     @Autowired
     @Lazy
@@ -92,6 +93,11 @@ public class PurchaseMenuController implements Initializable {
         Platform.runLater(this::loadStatistics);
     }
 
+    @Override
+    public void refresh() {
+        loadStatistics();
+    }
+
     /**
      * Load purchase statistics
      */
@@ -1,6 +1,7 @@
 package com.gurukrupa.controller.purchase;
 
 import com.gurukrupa.customUI.AutoCompleteTextField;
+import com.gurukrupa.data.dto.PayablesAging;
 import com.gurukrupa.data.entities.*;
 import com.gurukrupa.data.service.*;
 import com.gurukrupa.utility.CurrencyFormatter;
@@ -556,6 +557,14 @@ public class SupplierPaymentController implements Initializable {
                    .append(supplierSearch.getSelectedItem().getSupplierFullName())
                    .append("\n\n");
 
+            PayablesAging aging = supplierPaymentService
+                .getSupplierPayablesAging(supplierSearch.getSelectedItem().getId());
+            details.append("0-30 days: ").append(CurrencyFormatter.format(aging.getUpTo30Days()))
+                   .append("\n31-60 days: ").append(CurrencyFormatter.format(aging.getDays31To60()))
+                   .append("\n61-90 days: ").append(CurrencyFormatter.format(aging.getDays61To90()))
+                   .append("\n90+ days: ").append(CurrencyFormatter.format(aging.getOver90Days()))
+                   .append("\n\n");
+
             for (PurchaseInvoice invoice : pendingInvoices) {
                 details.append("Invoice: ").append(invoice.getInvoiceNumber())
                        .append("\nDate: ").append(invoice.getInvoiceDate().format(DateTimeFormatter.ofPattern("dd-MM-yyyy")))
@@ -751,10 +760,10 @@ public class SupplierPaymentController implements Initializable {
     private void loadSupplierPendingDetails(Supplier supplier) {
         try {
             BigDecimal pendingAmount = supplierPaymentService.getSupplierPendingAmount(supplier.getId());
-            List<PurchaseInvoice> pendingInvoices = supplierPaymentService.getSupplierPendingInvoices(supplier.getId());
+            int pendingInvoiceCount = supplierPaymentService.getSupplierPendingInvoiceCount(supplier.getId());
 
             lblTotalPending.setText(CurrencyFormatter.format(pendingAmount));
-            lblPendingInvoicesCount.setText(String.valueOf(pendingInvoices.size()));
+            lblPendingInvoicesCount.setText(String.valueOf(pendingInvoiceCount));
 
             // Calculate remaining amount
             calculateRemainingAmount();
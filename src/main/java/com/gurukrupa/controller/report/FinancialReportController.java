@@ -5,6 +5,7 @@ import com.gurukrupa.data.service.BillService;
 import com.gurukrupa.data.service.ExchangeService;
 import com.gurukrupa.data.service.PurchaseInvoiceService;
 import com.gurukrupa.utility.CurrencyFormatter;
+import com.gurukrupa.utility.IndianNumberFormatter;
 import com.gurukrupa.view.AlertNotification;
 import com.gurukrupa.view.StageManager;
 import javafx.beans.property.SimpleStringProperty;
@@ -160,35 +161,33 @@ public class FinancialReportController implements Initializable {
         // Metal Inventory P/L table columns
         colInvMetalType.setCellValueFactory(new PropertyValueFactory<>("metalType"));
         colMetalPurchased.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getMetalPurchased())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getMetalPurchased())));
         colMetalFromCustomers.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getMetalFromCustomers())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getMetalFromCustomers())));
         colMetalSold.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getMetalSold())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getMetalSold())));
         colMetalToSuppliers.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getMetalToSuppliers())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getMetalToSuppliers())));
         colMetalBalance.setCellValueFactory(cellData -> {
             BigDecimal balance = cellData.getValue().getMetalBalance();
-            String sign = balance.compareTo(BigDecimal.ZERO) >= 0 ? "+" : "";
-            return new SimpleStringProperty(String.format("%s%.3f", sign, balance));
+            return new SimpleStringProperty(IndianNumberFormatter.formatSignedWeight(balance));
         });
         colItemsWeight.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getItemsWeight())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getItemsWeight())));
 
         // Metal Movement table columns
         colMetalType.setCellValueFactory(new PropertyValueFactory<>("metalType"));
         colPurchasedWeight.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getPurchasedWeight())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getPurchasedWeight())));
         colExchangedFromCustomers.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getExchangedFromCustomers())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getExchangedFromCustomers())));
         colSoldWeight.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getSoldWeight())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getSoldWeight())));
         colExchangedToSuppliers.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getExchangedToSuppliers())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getExchangedToSuppliers())));
         colNetMovement.setCellValueFactory(cellData -> {
             BigDecimal net = cellData.getValue().getNetMovement();
-            String sign = net.compareTo(BigDecimal.ZERO) >= 0 ? "+" : "";
-            return new SimpleStringProperty(String.format("%s%.3f g", sign, net));
+            return new SimpleStringProperty(IndianNumberFormatter.formatSignedWeight(net) + " g");
         });
         colPurchaseValue.setCellValueFactory(cellData ->
             new SimpleStringProperty(CurrencyFormatter.format(cellData.getValue().getPurchaseValue())));
@@ -40,6 +40,9 @@ public class ReportMenuController implements Initializable {
     @FXML
     private Button btnMetalStockReport;
 
+    @FXML
+    private Button btnStockMovementReport;
+
     @FXML
     private Button btnFinancialReport;
 
@@ -155,6 +158,29 @@ public class ReportMenuController implements Initializable {
         }
     }
 
+    @FXML
+    private void handleStockMovementReport() {
+        try {
+            logger.info("Opening Stock Movement Report");
+
+            // Get the dashboard's center panel through the parent hierarchy
+            BorderPane dashboard = (BorderPane) btnStockMovementReport.getScene().getRoot();
+
+            // Load the Stock Movement Report FXML
+            Parent stockMovementReport = stageManager.getSpringFXMLLoader().load("/fxml/report/StockMovementReport.fxml");
+
+            // Set the stock movement report in the center of the dashboard
+            dashboard.setCenter(stockMovementReport);
+
+            logger.info("Stock Movement Report loaded in dashboard successfully");
+
+        } catch (Exception e) {
+            logger.error("Error opening Stock Movement Report: {}", e.getMessage());
+            e.printStackTrace();
+            alert.showError("Error opening Stock Movement Report: " + e.getMessage());
+        }
+    }
+
     @FXML
     private void handleFinancialReport() {
         try {
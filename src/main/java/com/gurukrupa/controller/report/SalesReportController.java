@@ -8,6 +8,7 @@ import com.gurukrupa.data.service.BillService;
 import com.gurukrupa.data.service.ExchangeService;
 import com.gurukrupa.data.service.SalesReportPdfService;
 import com.gurukrupa.utility.CurrencyFormatter;
+import com.gurukrupa.utility.IndianNumberFormatter;
 import com.gurukrupa.view.AlertNotification;
 import com.gurukrupa.view.StageManager;
 import javafx.beans.property.SimpleStringProperty;
@@ -193,9 +194,9 @@ public class SalesReportController implements Initializable {
         colMetalType.setCellValueFactory(new PropertyValueFactory<>("metalType"));
         colMetalQuantity.setCellValueFactory(new PropertyValueFactory<>("quantity"));
         colMetalWeight.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getWeight())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getWeight())));
         colExchangeWeight.setCellValueFactory(cellData ->
-            new SimpleStringProperty(String.format("%.3f", cellData.getValue().getExchangeWeight())));
+            new SimpleStringProperty(IndianNumberFormatter.formatWeight(cellData.getValue().getExchangeWeight())));
         colMetalAmount.setCellValueFactory(cellData ->
             new SimpleStringProperty(CurrencyFormatter.format(cellData.getValue().getAmount())));
 
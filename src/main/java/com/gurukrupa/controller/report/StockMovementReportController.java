@@ -0,0 +1,343 @@
+package com.gurukrupa.controller.report;
+
+import com.gurukrupa.data.dto.StockMovementReport;
+import com.gurukrupa.data.dto.StockMovementRow;
+import com.gurukrupa.data.entities.Category;
+import com.gurukrupa.data.service.CategoryService;
+import com.gurukrupa.data.service.MetalService;
+import com.gurukrupa.data.service.StockMovementReportService;
+import com.gurukrupa.service.StockMovementReportPdfService;
+import com.gurukrupa.view.AlertNotification;
+import com.gurukrupa.view.StageManager;
+import javafx.application.Platform;
+import javafx.beans.property.SimpleLongProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Parent;
+import javafx.scene.control.*;
+import javafx.scene.layout.BorderPane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.ResourceBundle;
+import java.util.stream.Collectors;
+
+/**
+ * Stock movement report: opening, in and out by source, and closing stock per item for
+ * a period, with category and metal summaries. The report is built off the FX thread and
+ * its item rows are added to the table in batches as they arrive.
+ */
+@Component
+public class StockMovementReportController implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockMovementReportController.class);
+
+    // Item rows added to the table at a time
+    private static final int ROW_BATCH_SIZE = 500;
+
+    @Autowired
+    @Lazy
+    private StageManager stageManager;
+
+    @Autowired
+    private AlertNotification alert;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MetalService metalService;
+
+    @Autowired
+    private StockMovementReportService stockMovementReportService;
+
+    @Autowired
+    private StockMovementReportPdfService stockMovementReportPdfService;
+
+    // Header
+    @FXML private Button btnBack;
+
+    // Filters
+    @FXML private DatePicker dpFromDate;
+    @FXML private DatePicker dpToDate;
+    @FXML private ComboBox<String> cmbMetalType;
+    @FXML private ComboBox<String> cmbCategory;
+    @FXML private Button btnShow;
+
+    // Statistics
+    @FXML private Label lblOpening;
+    @FXML private Label lblTotalIn;
+    @FXML private Label lblTotalOut;
+    @FXML private Label lblClosing;
+
+    // Item table
+    @FXML private TableView<StockMovementRow> tableMovement;
+    @FXML private TableColumn<StockMovementRow, String> colSno;
+    @FXML private TableColumn<StockMovementRow, String> colItemCode;
+    @FXML private TableColumn<StockMovementRow, String> colItemName;
+    @FXML private TableColumn<StockMovementRow, String> colCategory;
+    @FXML private TableColumn<StockMovementRow, String> colMetalType;
+    @FXML private TableColumn<StockMovementRow, Long> colOpening;
+    @FXML private TableColumn<StockMovementRow, Long> colIn;
+    @FXML private TableColumn<StockMovementRow, Long> colOut;
+    @FXML private TableColumn<StockMovementRow, Long> colClosing;
+    @FXML private TableColumn<StockMovementRow, String> colSources;
+
+    // Summary table
+    @FXML private ComboBox<String> cmbSummaryBy;
+    @FXML private TableView<StockMovementRow> tableSummary;
+    @FXML private TableColumn<StockMovementRow, String> colGroup;
+    @FXML private TableColumn<StockMovementRow, Long> colGroupOpening;
+    @FXML private TableColumn<StockMovementRow, Long> colGroupIn;
+    @FXML private TableColumn<StockMovementRow, Long> colGroupOut;
+    @FXML private TableColumn<StockMovementRow, Long> colGroupClosing;
+    @FXML private TableColumn<StockMovementRow, String> colGroupSources;
+
+    @FXML private Button btnExport;
+
+    // Data
+    private final ObservableList<StockMovementRow> itemRows = FXCollections.observableArrayList();
+    private StockMovementReport report;
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        logger.info("Initializing StockMovementReportController");
+
+        setupTableColumns();
+        setupFilters();
+        showTotals(null);
+    }
+
+    private void setupTableColumns() {
+        // Serial number from the row index, not a lookup per cell
+        colSno.setCellFactory(column -> new TableCell<>() {
+            @Override
+            protected void updateItem(String item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : String.valueOf(getIndex() + 1));
+            }
+        });
+
+        colItemCode.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getItemCode()));
+        colItemName.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getItemName()));
+        colCategory.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getCategory()));
+        colMetalType.setCellValueFactory(cellData ->
+                new SimpleStringProperty(cellData.getValue().getMetal()));
+        setupQuantityColumns(colOpening, colIn, colOut, colClosing, colSources);
+        tableMovement.setItems(itemRows);
+
+        colGroup.setCellValueFactory(cellData -> new SimpleStringProperty(
+                cellData.getValue().getCategory() != null ? cellData.getValue().getCategory()
+                        : cellData.getValue().getMetal()));
+        setupQuantityColumns(colGroupOpening, colGroupIn, colGroupOut, colGroupClosing, colGroupSources);
+    }
+
+    private void setupQuantityColumns(TableColumn<StockMovementRow, Long> opening,
+                                      TableColumn<StockMovementRow, Long> in,
+                                      TableColumn<StockMovementRow, Long> out,
+                                      TableColumn<StockMovementRow, Long> closing,
+                                      TableColumn<StockMovementRow, String> sources) {
+        opening.setCellValueFactory(cellData -> new SimpleLongProperty(cellData.getValue().getOpening()).asObject());
+        in.setCellValueFactory(cellData -> new SimpleLongProperty(cellData.getValue().getTotalIn()).asObject());
+        out.setCellValueFactory(cellData -> new SimpleLongProperty(cellData.getValue().getTotalOut()).asObject());
+        closing.setCellValueFactory(cellData -> new SimpleLongProperty(cellData.getValue().getClosing()).asObject());
+        sources.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().getSourceSummary()));
+    }
+
+    private void setupFilters() {
+        // Current month so far
+        dpFromDate.setValue(LocalDate.now().withDayOfMonth(1));
+        dpToDate.setValue(LocalDate.now());
+
+        try {
+            List<String> metalNames = metalService.getAllMetalNames();
+            metalNames.add(0, "All");
+            cmbMetalType.setItems(FXCollections.observableArrayList(metalNames));
+        } catch (Exception e) {
+            logger.error("Error loading metals", e);
+            cmbMetalType.setItems(FXCollections.observableArrayList("All"));
+        }
+        cmbMetalType.getSelectionModel().selectFirst();
+
+        try {
+            List<String> categories = categoryService.getAllActiveCategories().stream()
+                    .map(Category::getCategoryName)
+                    .collect(Collectors.toList());
+            categories.add(0, "All");
+            cmbCategory.setItems(FXCollections.observableArrayList(categories));
+        } catch (Exception e) {
+            logger.error("Error loading categories", e);
+            cmbCategory.setItems(FXCollections.observableArrayList("All"));
+        }
+        cmbCategory.getSelectionModel().selectFirst();
+
+        cmbSummaryBy.setItems(FXCollections.observableArrayList("Category", "Metal"));
+        cmbSummaryBy.getSelectionModel().selectFirst();
+        cmbSummaryBy.valueProperty().addListener((obs, oldValue, newValue) -> showSummary());
+    }
+
+    @FXML
+    private void handleShow() {
+        LocalDate fromDate = dpFromDate.getValue();
+        LocalDate toDate = dpToDate.getValue();
+        if (!isValidPeriod(fromDate, toDate)) {
+            return;
+        }
+        String category = selectedFilter(cmbCategory);
+        String metal = selectedFilter(cmbMetalType);
+
+        itemRows.clear();
+        report = null;
+        showTotals(null);
+        showSummary();
+        setBusy(true);
+
+        Task<StockMovementReport> task = new Task<>() {
+            @Override
+            protected StockMovementReport call() {
+                List<StockMovementRow> batch = new ArrayList<>(ROW_BATCH_SIZE);
+                StockMovementReport result = stockMovementReportService.generate(fromDate, toDate, category, metal,
+                        row -> {
+                            batch.add(row);
+                            if (batch.size() == ROW_BATCH_SIZE) {
+                                publish(batch);
+                            }
+                        });
+                publish(batch);
+                return result;
+            }
+
+            private void publish(List<StockMovementRow> batch) {
+                List<StockMovementRow> rows = new ArrayList<>(batch);
+                batch.clear();
+                Platform.runLater(() -> itemRows.addAll(rows));
+            }
+        };
+        task.setOnSucceeded(event -> {
+            report = task.getValue();
+            showTotals(report);
+            showSummary();
+            setBusy(false);
+            logger.info("Loaded stock movement of {} items", report.getItemCount());
+        });
+        task.setOnFailed(event -> {
+            setBusy(false);
+            logger.error("Error loading stock movement report", task.getException());
+            alert.showError("Error loading data: " + task.getException().getMessage());
+        });
+        startTask(task, "stock-movement-report");
+    }
+
+    @FXML
+    private void handleExport() {
+        if (report == null) {
+            alert.showError("No data to export. Please click SHOW button first.");
+            return;
+        }
+        LocalDate fromDate = report.getFromDate();
+        LocalDate toDate = report.getToDate();
+        String category = selectedFilter(cmbCategory);
+        String metal = selectedFilter(cmbMetalType);
+
+        String dateStr = new SimpleDateFormat("yyyyMMdd_HHmmss").format(new Date());
+        String fileName = "StockMovementReport_" + dateStr + ".pdf";
+        String filePath = "D:/software/" + fileName;
+        logger.info("Generating Stock Movement Report PDF: {}", filePath);
+
+        setBusy(true);
+        Task<StockMovementReport> task = new Task<>() {
+            @Override
+            protected StockMovementReport call() {
+                return stockMovementReportPdfService.generateStockMovementReportPdf(fromDate, toDate, category,
+                        metal, filePath);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            setBusy(false);
+            alert.showSuccess("Report exported successfully to: " + filePath);
+        });
+        task.setOnFailed(event -> {
+            setBusy(false);
+            logger.error("Error exporting report", task.getException());
+            alert.showError("Error exporting report: " + task.getException().getMessage());
+        });
+        startTask(task, "stock-movement-export");
+    }
+
+    private boolean isValidPeriod(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null) {
+            alert.showError("Please select both From and To dates");
+            return false;
+        }
+        if (toDate.isBefore(fromDate)) {
+            alert.showError("From date cannot be after To date");
+            return false;
+        }
+        return true;
+    }
+
+    private String selectedFilter(ComboBox<String> comboBox) {
+        String selected = comboBox.getSelectionModel().getSelectedItem();
+        return selected == null || selected.equals("All") ? null : selected;
+    }
+
+    private void showTotals(StockMovementReport report) {
+        StockMovementRow total = report != null ? report.getTotal() : null;
+        lblOpening.setText(total != null ? String.valueOf(total.getOpening()) : "0");
+        lblTotalIn.setText(total != null ? String.valueOf(total.getTotalIn()) : "0");
+        lblTotalOut.setText(total != null ? String.valueOf(total.getTotalOut()) : "0");
+        lblClosing.setText(total != null ? String.valueOf(total.getClosing()) : "0");
+    }
+
+    private void showSummary() {
+        if (report == null) {
+            tableSummary.setItems(FXCollections.observableArrayList());
+            return;
+        }
+        boolean byMetal = "Metal".equals(cmbSummaryBy.getValue());
+        colGroup.setText(byMetal ? "Metal" : "Category");
+        tableSummary.setItems(FXCollections.observableArrayList(byMetal ? report.getByMetal() : report.getByCategory()));
+    }
+
+    private void setBusy(boolean busy) {
+        btnShow.setDisable(busy);
+        btnExport.setDisable(busy);
+    }
+
+    private void startTask(Task<?> task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @FXML
+    private void handleBack() {
+        try {
+            logger.info("Navigating back to Report Menu");
+            BorderPane dashboard = (BorderPane) btnBack.getScene().getRoot();
+            Parent reportMenu = stageManager.getSpringFXMLLoader().load("/fxml/report/ReportMenu.fxml");
+            dashboard.setCenter(reportMenu);
+            logger.info("Report Menu loaded successfully");
+        } catch (Exception e) {
+            logger.error("Error navigating back to Report Menu: {}", e.getMessage());
+            e.printStackTrace();
+            alert.showError("Error navigating back: " + e.getMessage());
+        }
+    }
+}
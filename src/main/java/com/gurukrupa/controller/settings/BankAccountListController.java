@@ -3,6 +3,10 @@ package com.gurukrupa.controller.settings;
 import com.gurukrupa.data.entities.BankAccount;
 import com.gurukrupa.data.entities.BankTransaction;
 import com.gurukrupa.data.service.BankAccountService;
+import com.gurukrupa.data.dto.ReconciliationResult;
+import com.gurukrupa.data.service.BankReconciliationService;
+import com.gurukrupa.data.service.BankStatementPdfService;
+import com.gurukrupa.data.service.BankStatementService;
 import com.gurukrupa.data.service.BankTransactionService;
 import com.gurukrupa.view.AlertNotification;
 import com.gurukrupa.view.FxmlView;
@@ -24,6 +28,7 @@ import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 import javafx.scene.text.TextFlow;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.util.Callback;
@@ -31,8 +36,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.net.URL;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -55,6 +62,15 @@ public class BankAccountListController implements Initializable {
     
     @Autowired
     private BankTransactionService bankTransactionService;
+    
+    @Autowired
+    private BankStatementService bankStatementService;
+    
+    @Autowired
+    private BankStatementPdfService bankStatementPdfService;
+    
+    @Autowired
+    private BankReconciliationService bankReconciliationService;
 
     @Autowired
     private AlertNotification alert;
@@ -472,7 +488,7 @@ public class BankAccountListController implements Initializable {
     private void viewTransactions(BankAccount account) {
         try {
             // Get recent transactions
-            List<BankTransaction> transactions = bankTransactionService.findByBankAccount(account.getId());
+            List<BankTransaction> transactions = bankTransactionService.findRecentByBankAccount(account.getId());
             
             if (transactions.isEmpty()) {
                 alert.showError("No Transactions, No transactions found for this bank account.");
@@ -523,10 +539,7 @@ public class BankAccountListController implements Initializable {
             transactionsList.setStyle("-fx-padding: 10;");
             
             // Create transaction cards
-            int count = 0;
             for (BankTransaction transaction : transactions) {
-                if (count++ >= 50) break; // Show up to 50 transactions
-                
                 HBox transactionCard = createTransactionCard(transaction);
                 transactionsList.getChildren().add(transactionCard);
             }
@@ -535,11 +548,33 @@ public class BankAccountListController implements Initializable {
             transactionsContainer.getChildren().add(scrollPane);
             root.setCenter(transactionsContainer);
             
-            // Footer with close button
-            HBox footer = new HBox();
+            // Footer with statement export and close button
+            HBox footer = new HBox(10);
             footer.setStyle("-fx-padding: 20; -fx-background-color: white; -fx-border-color: #E0E0E0; -fx-border-width: 1 0 0 0;");
             footer.setAlignment(Pos.CENTER_RIGHT);
             
+            DatePicker fromDate = new DatePicker(LocalDate.now().withDayOfMonth(1));
+            DatePicker toDate = new DatePicker(LocalDate.now());
+            fromDate.setPrefWidth(130);
+            toDate.setPrefWidth(130);
+            
+            Button csvButton = new Button("EXPORT CSV");
+            Button pdfButton = new Button("EXPORT PDF");
+            Button reconcileButton = new Button("RECONCILE");
+            for (Button button : new Button[]{csvButton, pdfButton, reconcileButton}) {
+                button.setStyle("-fx-background-color: #1976D2; -fx-text-fill: white; " +
+                               "-fx-font-family: 'Segoe UI'; -fx-font-weight: 600; " +
+                               "-fx-background-radius: 20; -fx-padding: 10 20 10 20; -fx-cursor: hand;");
+            }
+            csvButton.setOnAction(e -> exportStatement(account, fromDate.getValue(), toDate.getValue(), false, dialog));
+            pdfButton.setOnAction(e -> exportStatement(account, fromDate.getValue(), toDate.getValue(), true, dialog));
+            reconcileButton.setOnAction(e -> reconcileStatement(account, dialog));
+            
+            Region footerSpacer = new Region();
+            HBox.setHgrow(footerSpacer, Priority.ALWAYS);
+            footer.getChildren().addAll(new Label("Statement:"), fromDate, new Label("to"), toDate,
+                                        csvButton, pdfButton, reconcileButton, footerSpacer);
+            
             Button closeButton = new Button("CLOSE");
             closeButton.setStyle("-fx-background-color: #757575; -fx-text-fill: white; " +
                                "-fx-font-family: 'Segoe UI'; -fx-font-weight: 600; " +
@@ -550,7 +585,7 @@ public class BankAccountListController implements Initializable {
             root.setBottom(footer);
             
             // Set up the dialog
-            Scene scene = new Scene(root, 800, 600);
+            Scene scene = new Scene(root, 900, 600);
             dialog.setScene(scene);
             dialog.showAndWait();
             
@@ -560,6 +595,68 @@ public class BankAccountListController implements Initializable {
         }
     }
     
+    private void exportStatement(BankAccount account, LocalDate fromDate, LocalDate toDate, boolean pdf, Stage owner) {
+        if (fromDate == null || toDate == null || fromDate.isAfter(toDate)) {
+            alert.showError("Please select a valid statement period");
+            return;
+        }
+        
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Bank Statement");
+        fileChooser.setInitialFileName("Statement_" + account.getAccountNumber() + "_" + fromDate + "_" + toDate + (pdf ? ".pdf" : ".csv"));
+        fileChooser.getExtensionFilters().add(pdf
+                ? new FileChooser.ExtensionFilter("PDF Files", "*.pdf")
+                : new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showSaveDialog(owner);
+        if (file == null) {
+            return;
+        }
+        
+        try {
+            if (pdf) {
+                bankStatementPdfService.generateStatementPdf(account.getId(), fromDate, toDate, file.getAbsolutePath());
+            } else {
+                bankStatementService.exportCsv(account.getId(), fromDate, toDate, file.toPath());
+            }
+            alert.showSuccess("Statement saved to " + file.getAbsolutePath());
+        } catch (Exception e) {
+            logger.error("Error exporting bank statement", e);
+            alert.showError("Error exporting statement: " + e.getMessage());
+        }
+    }
+    
+    private void reconcileStatement(BankAccount account, Stage owner) {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Bank Statement (CSV)");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showOpenDialog(owner);
+        if (file == null) {
+            return;
+        }
+        
+        try {
+            ReconciliationResult result = bankReconciliationService.reconcileStatement(
+                    account.getId(), file.toPath(), System.getProperty("user.name"));
+            
+            StringBuilder message = new StringBuilder()
+                    .append("Statement lines: ").append(result.getStatementLineCount())
+                    .append("\nMatched and reconciled: ").append(result.getMatchedCount())
+                    .append("\nUnmatched statement lines: ").append(result.getUnmatchedLines().size())
+                    .append("\nUnmatched transactions in books: ").append(result.getUnmatchedTransactions().size());
+            
+            if (!result.getUnmatchedLines().isEmpty() || !result.getUnmatchedTransactions().isEmpty()) {
+                String name = file.getName().replaceFirst("(?i)\\.csv$", "");
+                File report = new File(file.getParentFile(), name + "_unmatched.csv");
+                bankReconciliationService.writeUnmatchedReport(result, report.toPath());
+                message.append("\n\nUnmatched items report: ").append(report.getAbsolutePath());
+            }
+            alert.showInfo(message.toString());
+        } catch (Exception e) {
+            logger.error("Error reconciling bank statement", e);
+            alert.showError("Error reconciling statement: " + e.getMessage());
+        }
+    }
+    
     private HBox createTransactionCard(BankTransaction transaction) {
         HBox card = new HBox(15);
         card.setAlignment(Pos.CENTER_LEFT);
@@ -0,0 +1,137 @@
+package com.gurukrupa.controller.settings;
+
+import com.gurukrupa.config.SpringFXMLLoader;
+import com.gurukrupa.diagnostics.MetricsSnapshotService;
+import com.gurukrupa.diagnostics.MetricsSnapshotService.MetricRow;
+import com.gurukrupa.view.AlertNotification;
+import javafx.collections.FXCollections;
+import javafx.fxml.FXML;
+import javafx.fxml.Initializable;
+import javafx.scene.Parent;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.scene.layout.BorderPane;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.ResourceBundle;
+
+@Component
+public class DiagnosticsController implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(DiagnosticsController.class);
+
+    private static final List<String> APP_METER_PREFIXES = List.of("gurukrupa.", "hikaricp.");
+
+    @Lazy
+    @Autowired
+    private SpringFXMLLoader springFXMLLoader;
+
+    @Autowired
+    private MetricsSnapshotService metricsSnapshotService;
+
+    @Autowired
+    private AlertNotification alert;
+
+    @FXML
+    private TableView<MetricRow> tableMetrics;
+
+    @FXML
+    private TableColumn<MetricRow, String> colName, colTags;
+
+    @FXML
+    private TableColumn<MetricRow, Long> colCount;
+
+    @FXML
+    private TableColumn<MetricRow, Double> colMean, colMax, colTotal, colValue;
+
+    @FXML
+    private CheckBox chkShowAll;
+
+    @FXML
+    private Label lblSummary;
+
+    @FXML
+    private Button btnRefresh, btnDump, btnBack;
+
+    @Override
+    public void initialize(URL location, ResourceBundle resources) {
+        colName.setCellValueFactory(new PropertyValueFactory<>("name"));
+        colTags.setCellValueFactory(new PropertyValueFactory<>("tagsDisplay"));
+        colCount.setCellValueFactory(new PropertyValueFactory<>("count"));
+        colMean.setCellValueFactory(new PropertyValueFactory<>("meanMillis"));
+        colMax.setCellValueFactory(new PropertyValueFactory<>("maxMillis"));
+        colTotal.setCellValueFactory(new PropertyValueFactory<>("totalMillis"));
+        colValue.setCellValueFactory(new PropertyValueFactory<>("value"));
+        colMean.setCellFactory(column -> decimalCell("%.2f"));
+        colMax.setCellFactory(column -> decimalCell("%.2f"));
+        colTotal.setCellFactory(column -> decimalCell("%.1f"));
+        colValue.setCellFactory(column -> decimalCell("%.0f"));
+
+        btnRefresh.setOnAction(e -> refresh());
+        btnDump.setOnAction(e -> dumpMetrics());
+        btnBack.setOnAction(e -> navigateBackToSettingsMenu());
+        chkShowAll.selectedProperty().addListener((obs, was, now) -> refresh());
+
+        refresh();
+    }
+
+    private void refresh() {
+        List<MetricRow> rows = metricsSnapshotService.getSnapshot(
+                chkShowAll.isSelected() ? List.of() : APP_METER_PREFIXES);
+        tableMetrics.setItems(FXCollections.observableArrayList(rows));
+
+        long calls = 0;
+        double totalMillis = 0;
+        for (MetricRow row : rows) {
+            if (row.getName().equals("gurukrupa.service.call")) {
+                calls += row.getCount();
+                totalMillis += row.getTotalMillis();
+            }
+        }
+        lblSummary.setText(String.format("%d meters | %d service calls | %.1f ms in services", rows.size(), calls, totalMillis));
+    }
+
+    private void dumpMetrics() {
+        try {
+            Path file = metricsSnapshotService.dumpToFile();
+            alert.showSuccess("Metrics written to " + file);
+        } catch (Exception e) {
+            logger.error("Error dumping metrics: {}", e.getMessage());
+            alert.showError("Error dumping metrics: " + e.getMessage());
+        }
+    }
+
+    private TableCell<MetricRow, Double> decimalCell(String pattern) {
+        return new TableCell<>() {
+            @Override
+            protected void updateItem(Double item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty || item == null ? null : String.format(pattern, item));
+            }
+        };
+    }
+
+    private void navigateBackToSettingsMenu() {
+        try {
+            BorderPane dashboard = (BorderPane) btnBack.getScene().getRoot();
+            Parent settingsMenu = springFXMLLoader.load("/fxml/settings/SettingsMenu.fxml");
+            dashboard.setCenter(settingsMenu);
+            logger.info("Navigated back to Settings Menu");
+        } catch (Exception e) {
+            logger.error("Error navigating back: {}", e.getMessage());
+            alert.showError("Error navigating back: " + e.getMessage());
+        }
+    }
+}
@@ -1,15 +1,22 @@
 package com.gurukrupa.controller.settings;
 
 import com.gurukrupa.controller.master.MetalFormController;
+import com.gurukrupa.data.dto.BackupManifest;
+import com.gurukrupa.data.entities.ArchiveCheckpoint;
+import com.gurukrupa.data.service.ArchiveService;
+import com.gurukrupa.data.service.BackupService;
 import com.gurukrupa.view.AlertNotification;
 import com.gurukrupa.view.FxmlView;
 import com.gurukrupa.view.StageManager;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceDialog;
 import javafx.scene.layout.BorderPane;
+import javafx.stage.FileChooser;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.slf4j.Logger;
@@ -18,9 +25,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
 
+import java.io.File;
 import java.io.IOException;
 import java.net.URL;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.ResourceBundle;
 
 @Component
@@ -35,6 +45,12 @@ public class SettingsMenuController implements Initializable {
     @Autowired
     private AlertNotification alert;
     
+    @Autowired
+    private ArchiveService archiveService;
+    
+    @Autowired
+    private BackupService backupService;
+    
     @FXML
     private Button btnAddMetal;
     
@@ -48,9 +64,15 @@ public class SettingsMenuController implements Initializable {
     @FXML
     private Button btnBackup;
     
+    @FXML
+    private Button btnArchive;
+    
     @FXML
     private Button btnManageUsers;
     
+    @FXML
+    private Button btnDiagnostics;
+    
     @FXML
     private Button btnAddBank;
     
@@ -73,7 +95,9 @@ public class SettingsMenuController implements Initializable {
         btnAppSettings.setOnAction(event -> openAppSettings());
         btnConfigureTax.setOnAction(event -> openTaxConfiguration());
         btnBackup.setOnAction(event -> performBackup());
+        btnArchive.setOnAction(event -> performArchive());
         btnManageUsers.setOnAction(event -> openUserManagement());
+        btnDiagnostics.setOnAction(event -> openDiagnostics());
         
         // Business Information actions
         btnAddBank.setOnAction(event -> openBankAccountForm());
@@ -160,8 +184,167 @@ public class SettingsMenuController implements Initializable {
     }
     
     private void performBackup() {
-        // TODO: Implement backup functionality
-        alert.showSuccess("Backup feature will be available soon!");
+        String full = "Full backup";
+        String incremental = "Incremental backup (changes since the last backup)";
+        String restore = "Restore from a backup";
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(full, full, incremental, restore);
+        dialog.setTitle("Backup & Restore");
+        dialog.setHeaderText("Backups are saved to " + backupService.getBackupDirectory());
+        dialog.setContentText("Action:");
+        dialog.initOwner(stageManager.getPrimaryStage());
+        Optional<String> choice = dialog.showAndWait();
+        if (choice.isEmpty()) {
+            return;
+        }
+        if (choice.get().equals(restore)) {
+            performRestore();
+            return;
+        }
+        
+        BackupManifest.Type type = choice.get().equals(full) ? BackupManifest.Type.FULL : BackupManifest.Type.INCREMENTAL;
+        Task<BackupManifest> task = new Task<>() {
+            @Override
+            protected BackupManifest call() {
+                return backupService.backup(type);
+            }
+        };
+        task.setOnSucceeded(event -> {
+            btnBackup.setDisable(false);
+            BackupManifest manifest = task.getValue();
+            alert.showSuccess("Backup saved as " + manifest.getFileName() + " ("
+                    + manifest.getTotalRows() + " rows from " + manifest.getTableRows().size() + " tables).");
+        });
+        task.setOnFailed(event -> {
+            btnBackup.setDisable(false);
+            Throwable error = task.getException();
+            logger.error("Error taking {} backup", type, error);
+            alert.showError("Error taking backup: " + error.getMessage());
+        });
+        btnBackup.setDisable(true);
+        runInBackground(task, "database-backup");
+    }
+    
+    private void performRestore() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Select Backup to Restore");
+        fileChooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Gurukrupa Backup", "*" + BackupService.EXTENSION));
+        File directory = backupService.getBackupDirectory().toFile();
+        if (directory.isDirectory()) {
+            fileChooser.setInitialDirectory(directory);
+        }
+        File file = fileChooser.showOpenDialog(stageManager.getPrimaryStage());
+        if (file == null) {
+            return;
+        }
+        if (!alert.showConfirmation("Restore Backup",
+                "All current data will be replaced by the contents of " + file.getName()
+                        + ". The current data is backed up to the before-restore folder first and put back"
+                        + " if the restore fails. Continue?")) {
+            return;
+        }
+        
+        Task<BackupManifest> task = new Task<>() {
+            @Override
+            protected BackupManifest call() {
+                return backupService.restore(file.toPath());
+            }
+        };
+        task.setOnSucceeded(event -> {
+            btnBackup.setDisable(false);
+            alert.showSuccess("Backup " + file.getName() + " restored. Please restart the application.");
+        });
+        task.setOnFailed(event -> {
+            btnBackup.setDisable(false);
+            Throwable error = task.getException();
+            logger.error("Error restoring backup {}", file, error);
+            alert.showError("Error restoring backup: " + error.getMessage());
+        });
+        btnBackup.setDisable(true);
+        runInBackground(task, "database-restore");
+    }
+    
+    private void runInBackground(Task<?> task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+    
+    private void performArchive() {
+        List<Integer> years;
+        try {
+            years = archiveService.getArchivableYears();
+        } catch (Exception e) {
+            logger.error("Error reading archivable years: {}", e.getMessage());
+            alert.showError("Error reading archivable years: " + e.getMessage());
+            return;
+        }
+        if (years.isEmpty()) {
+            alert.showInfo("There are no closed financial years left to archive.");
+            return;
+        }
+        
+        List<String> labels = years.stream().map(ArchiveService::financialYearLabel).toList();
+        ChoiceDialog<String> dialog = new ChoiceDialog<>(labels.get(0), labels);
+        dialog.setTitle("Archive Old Years");
+        dialog.setHeaderText("Archive every financial year up to and including:");
+        dialog.setContentText("Financial year:");
+        dialog.initOwner(stageManager.getPrimaryStage());
+        Optional<String> choice = dialog.showAndWait();
+        if (choice.isEmpty()) {
+            return;
+        }
+        int startYear = years.get(labels.indexOf(choice.get()));
+        if (!alert.showConfirmation("Archive Financial Year " + choice.get(),
+                "Bills, stock and bank transactions up to 31 March " + (startYear + 1)
+                        + " will be moved to the archive. Reports will still include them. Continue?")) {
+            return;
+        }
+        
+        Task<ArchiveCheckpoint> task = new Task<>() {
+            @Override
+            protected ArchiveCheckpoint call() {
+                return archiveService.archiveFinancialYear(startYear, "System");
+            }
+        };
+        task.setOnSucceeded(event -> {
+            btnArchive.setDisable(false);
+            ArchiveCheckpoint checkpoint = task.getValue();
+            alert.showSuccess("Archived financial year " + checkpoint.getFinancialYear() + ": "
+                    + checkpoint.getBillsArchived() + " bills, "
+                    + checkpoint.getStockTransactionsArchived() + " stock and "
+                    + checkpoint.getBankTransactionsArchived() + " bank transactions.");
+        });
+        task.setOnFailed(event -> {
+            btnArchive.setDisable(false);
+            Throwable error = task.getException();
+            logger.error("Error archiving financial year {}", choice.get(), error);
+            alert.showError("Error archiving financial year: " + error.getMessage());
+        });
+        btnArchive.setDisable(true);
+        runInBackground(task, "archive-financial-year");
+    }
+    
+    private void openDiagnostics() {
+        try {
+            logger.info("Opening Diagnostics");
+            
+            // Get the dashboard's center panel through the parent hierarchy
+            BorderPane dashboard = (BorderPane) btnDiagnostics.getScene().getRoot();
+            
+            // Load the FXML
+            Parent diagnostics = stageManager.getSpringFXMLLoader().load("/fxml/settings/Diagnostics.fxml");
+            
+            // Set the panel in the center of the dashboard
+            dashboard.setCenter(diagnostics);
+            
+            logger.info("Diagnostics loaded in dashboard successfully");
+            
+        } catch (Exception e) {
+            logger.error("Error opening Diagnostics: {}", e.getMessage());
+            e.printStackTrace();
+            alert.showError("Error opening Diagnostics: " + e.getMessage());
+        }
     }
     
     private void openUserManagement() {
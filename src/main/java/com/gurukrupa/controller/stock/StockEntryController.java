@@ -2,6 +2,7 @@ package com.gurukrupa.controller.stock;
 
 import com.gurukrupa.config.SpringFXMLLoader;
 import com.gurukrupa.customUI.AutoCompleteTextField;
+import com.gurukrupa.customUI.BarcodeScanInput;
 import com.gurukrupa.data.entities.*;
 import com.gurukrupa.data.service.*;
 import com.gurukrupa.utility.AlertNotification;
@@ -54,6 +55,9 @@ public class StockEntryController implements Initializable {
     @Autowired
     private MetalService metalService;
 
+    @Autowired
+    private ItemCodeIndex itemCodeIndex;
+
     @Autowired
     private SpringFXMLLoader fxmlLoader;
 
@@ -220,6 +224,7 @@ public class StockEntryController implements Initializable {
         itemSearchField.setPromptText("Select purchase invoice first...");
         itemSearchField.setMaxWidth(Double.MAX_VALUE);
         itemSearchField.getTextField().setDisable(true);
+        BarcodeScanInput.attach(itemSearchField.getTextField(), this::addScannedItem);
 
         // Handle selection
         itemSearchField.selectedItemProperty().addListener((obs, oldVal, newVal) -> {
@@ -330,6 +335,7 @@ public class StockEntryController implements Initializable {
 
         // Ensure the field is enabled
         newItemSearchField.getTextField().setDisable(false);
+        BarcodeScanInput.attach(newItemSearchField.getTextField(), this::addScannedItem);
 
         // Handle selection
         newItemSearchField.selectedItemProperty().addListener((obs, oldVal, newVal) -> {
@@ -605,7 +611,7 @@ public class StockEntryController implements Initializable {
 
     private void selectJewelryItem(String itemCode) {
         log.debug("selectJewelryItem called with itemCode: {}", itemCode);
-        Optional<JewelryItem> itemOpt = jewelryItemService.findByItemCode(itemCode);
+        Optional<JewelryItem> itemOpt = itemCodeIndex.find(itemCode);
 
         if (itemOpt.isPresent()) {
             selectedJewelryItem = itemOpt.get();
@@ -636,6 +642,18 @@ public class StockEntryController implements Initializable {
         }
     }
 
+    /**
+     * A tag scanned in scanner mode: select the item and add one of it to the entry
+     */
+    private void addScannedItem(String itemCode) {
+        if (itemCodeIndex.find(itemCode).isEmpty()) {
+            AlertNotification.showWarning("Item Not Found", "No jewelry item with code " + itemCode);
+            return;
+        }
+        selectJewelryItem(itemCode);
+        handleAddItem();
+    }
+
     private void loadItemForEditing(StockEntryItem item) {
         log.debug("loadItemForEditing called for item: {}", item.getJewelryItem().getItemCode());
         selectedJewelryItem = item.getJewelryItem();
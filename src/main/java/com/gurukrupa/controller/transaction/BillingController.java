@@ -3,6 +3,7 @@ package com.gurukrupa.controller.transaction;
 import com.gurukrupa.config.SpringFXMLLoader;
 import com.gurukrupa.controller.master.CustomerController;
 import com.gurukrupa.customUI.AutoCompleteTextField;
+import com.gurukrupa.customUI.BarcodeScanInput;
 import com.gurukrupa.data.entities.Customer;
 import com.gurukrupa.data.service.CustomerService;
 import com.gurukrupa.data.service.MetalService;
@@ -11,6 +12,7 @@ import com.gurukrupa.data.entities.Metal;
 import com.gurukrupa.data.entities.MetalRate;
 import com.gurukrupa.view.AlertNotification;
 import com.gurukrupa.view.FxmlView;
+import com.gurukrupa.view.RefreshableController;
 import com.gurukrupa.view.StageManager;
 import de.jensd.fx.glyphs.fontawesome.FontAwesomeIcon;
 import impl.org.controlsfx.autocompletion.AutoCompletionTextFieldBinding;
@@ -33,20 +35,15 @@ import javafx.collections.transformation.FilteredList;
 import java.math.BigDecimal;
 import com.gurukrupa.data.entities.JewelryItem;
 import com.gurukrupa.data.service.JewelryItemService;
-import com.gurukrupa.data.service.BillService;
 import com.gurukrupa.data.service.BillTransactionService;
 import com.gurukrupa.data.service.ExchangeTransactionService;
 import com.gurukrupa.data.service.AppSettingsService;
-import com.gurukrupa.event.BillCreatedEvent;
 import com.gurukrupa.data.entities.Bill;
 import com.gurukrupa.data.entities.BillTransaction;
 import com.gurukrupa.data.entities.ExchangeTransaction;
 import com.gurukrupa.data.entities.Exchange;
-import com.gurukrupa.data.service.ExchangeService;
 import com.gurukrupa.data.entities.BankAccount;
 import com.gurukrupa.data.service.BankAccountService;
-import com.gurukrupa.data.entities.PaymentMode;
-import com.gurukrupa.data.service.PaymentModeService;
 import com.gurukrupa.data.entities.UPIPaymentMethod;
 import com.gurukrupa.data.service.UPIPaymentMethodService;
 import javafx.stage.Stage;
@@ -56,7 +53,6 @@ import javafx.stage.Modality;
 import javafx.stage.Stage;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Lazy;
-import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.io.IOException;
@@ -75,12 +71,17 @@ import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import com.gurukrupa.data.service.BillPdfService;
+import com.gurukrupa.data.service.CheckoutService;
+import com.gurukrupa.data.service.ItemCodeIndex;
+import com.gurukrupa.data.dto.CheckoutReceipt;
+import com.gurukrupa.data.dto.CheckoutRequest;
+import com.gurukrupa.utility.PricingKernel;
 import java.io.File;
 import javafx.stage.FileChooser;
 import java.awt.Desktop;
 
 @Component
-public class BillingController implements Initializable {
+public class BillingController implements Initializable, RefreshableController {
     @Autowired
     @Lazy
     private StageManager stageManager;
@@ -93,25 +94,21 @@ public class BillingController implements Initializable {
     @Autowired
     private MetalRateService metalRateService;
     @Autowired
-    private BillService billService;
-    @Autowired
     private BillTransactionService billTransactionService;
     @Autowired
     private ExchangeTransactionService exchangeTransactionService;
     @Autowired
-    private ExchangeService exchangeService;
-    @Autowired
     private BankAccountService bankAccountService;
     @Autowired
-    private PaymentModeService paymentModeService;
-    @Autowired
     private UPIPaymentMethodService upiPaymentMethodService;
     @Autowired
     private AppSettingsService appSettingsService;
     @Autowired
     private BillPdfService billPdfService;
     @Autowired
-    private ApplicationEventPublisher eventPublisher;
+    private CheckoutService checkoutService;
+    @Autowired
+    private ItemCodeIndex itemCodeIndex;
     @Autowired
     private AlertNotification alert;
     
@@ -220,19 +217,17 @@ public class BillingController implements Initializable {
         });
         
         // Initialize customer autocomplete
+        customerNameSuggestions.clear();
         customerNameSuggestions.addAll(customerService.getAllCustomerFullNames());
-        customerNames = SuggestionProvider.create(customerService.getAllCustomerFullNames());
+        customerNames = SuggestionProvider.create(new ArrayList<>(customerNameSuggestions));
         new AutoCompletionTextFieldBinding<>(txtCustomerName, customerNames);
         txtCustomerName.setOnAction(e -> {
             System.out.println("Action performed");
             btnSearchCustomer.fire();
         });
         
-        // Initialize item name autocomplete
-        List<String> itemNameList = jewelryItemService.getAllJewelryItems().stream()
-            .map(JewelryItem::getItemName)
-            .collect(Collectors.toList());
-        itemNames = SuggestionProvider.create(itemNameList);
+        // Initialize item name autocomplete; suggestions are filled by loadJewelryItems()
+        itemNames = SuggestionProvider.create(new ArrayList<String>());
         AutoCompletionTextFieldBinding<String> itemNameBinding = new AutoCompletionTextFieldBinding<>(txtItemName, itemNames);
         
         // When user selects an item from autocomplete
@@ -252,6 +247,8 @@ public class BillingController implements Initializable {
         
         // Initialize field restrictions
         addTextLimiter(txtItemCode, 10);
+        // Tags scanned into the item code field are added to the bill straight away
+        BarcodeScanInput.attach(txtItemCode, this::addScannedItem);
         makeNumericOnly(txtRate, 10);
         makeIntegerOnly(txtQuantity, 5);
         makeNumericOnly(txtWeight, 10);
@@ -308,6 +305,23 @@ public class BillingController implements Initializable {
         // Configure UPI payment ComboBox
         configureUPIPaymentComboBox();
     }
+    /**
+     * Called when the cached billing frame is opened again: start a fresh bill and
+     * reload the lookup data that may have changed since it was last shown.
+     */
+    @Override
+    public void refresh() {
+        isEditMode = false;
+        billToEdit = null;
+        newBill();
+        refreshCustomerSuggestions();
+        loadJewelryItems();
+        loadMetalTypes();
+        loadDefaultGstRate();
+        loadBankAccounts();
+        loadUPIPaymentMethods();
+    }
+    
     void searchCustomer(){
         System.out.println("searching customer");
         Customer customer = null;
@@ -401,38 +415,26 @@ public class BillingController implements Initializable {
     }
 
     private void refreshCustomerSuggestions() {
-        // Clear existing suggestions
-        customerNameSuggestions.clear();
-        
         // Reload customer names from database
-        customerNameSuggestions.addAll(customerService.getAllCustomerFullNames());
-        
-        // Update the suggestion provider with new data
-        customerNames = SuggestionProvider.create(customerService.getAllCustomerFullNames());
+        List<String> names = customerService.getAllCustomerFullNames();
+        customerNameSuggestions.clear();
+        customerNameSuggestions.addAll(names);
         
-        // Recreate the auto-completion binding with updated suggestions
-        new AutoCompletionTextFieldBinding<>(txtCustomerName, customerNames);
+        // Update the existing suggestion provider in place; its binding stays attached
+        customerNames.clearSuggestions();
+        customerNames.addPossibleSuggestions(names);
     }
     
     private void refreshItemSuggestions() {
-        // Reload item names from database
-        List<String> itemNameList = jewelryItemService.getAllJewelryItems().stream()
+        // Item names come from the catalog list that was just loaded
+        List<String> itemNameList = allJewelryItems.stream()
             .map(JewelryItem::getItemName)
             .collect(Collectors.toList());
         
-        // Update the suggestion provider with new data
-        itemNames = SuggestionProvider.create(itemNameList);
-        
-        // Recreate the auto-completion binding with updated suggestions
-        AutoCompletionTextFieldBinding<String> itemNameBinding = new AutoCompletionTextFieldBinding<>(txtItemName, itemNames);
-        
-        // Reattach the auto-complete handler
-        itemNameBinding.setOnAutoCompleted(e -> {
-            String selectedItemName = e.getCompletion();
-            jewelryItemService.searchByItemName(selectedItemName).stream()
-                .findFirst()
-                .ifPresent(this::populateItemFields);
-        });
+        // Update the existing suggestion provider in place; its binding and
+        // auto-complete handler were attached in initialize()
+        itemNames.clearSuggestions();
+        itemNames.addPossibleSuggestions(itemNameList);
     }
     
     private void initializeExchangeItemAutocomplete() {
@@ -548,7 +550,7 @@ public class BillingController implements Initializable {
             
             // Search by item code first
             if (!itemCode.isEmpty()) {
-                jewelryItemService.findByItemCode(itemCode).ifPresentOrElse(
+                itemCodeIndex.find(itemCode).ifPresentOrElse(
                     this::populateItemFields,
                     () -> alert.showError("Item not found with code: " + itemCode)
                 );
@@ -568,6 +570,20 @@ public class BillingController implements Initializable {
         }
     }
     
+    /**
+     * A tag scanned in scanner mode: fill in the item and add the line
+     */
+    private void addScannedItem(String itemCode) {
+        Optional<JewelryItem> item = itemCodeIndex.find(itemCode);
+        if (item.isEmpty()) {
+            alert.showError("Item not found with code: " + itemCode);
+            return;
+        }
+        clearItemFields();
+        populateItemFields(item.get());
+        addItem();
+    }
+    
     private void populateItemFields(JewelryItem item) {
         // Store the selected jewelry item
         this.selectedJewelryItem = item;
@@ -673,104 +689,93 @@ public class BillingController implements Initializable {
         }
     }
     
-    private Bill createBillFromCurrentData() {
-        try {
-            // Validate customer information
-            if (txtCustomerName.getText().trim().isEmpty()) {
-                alert.showError("Please enter customer information");
-                return null;
-            }
-            
-            // Validate that we have items to bill
-            if (billingItems.isEmpty()) {
-                alert.showError("Please add items to generate bill");
-                return null;
-            }
-            
-            // Find customer by mobile number first
-            Customer customer = null;
-            if (!txtMobileNo.getText().trim().isEmpty()) {
-                Optional<Customer> customerOpt = customerService.findByMobile(txtMobileNo.getText().trim());
-                if (customerOpt.isPresent()) {
-                    customer = customerOpt.get();
-                } else {
-                    alert.showError("Customer not found. Please search and select a customer first.");
-                    return null;
-                }
+    /**
+     * Start a checkout for the bill being paid: the bill under edit, or the current
+     * cart. Nothing is saved here; returns null (after showing the error) when the
+     * cart is not ready.
+     */
+    private CheckoutRequest.CheckoutRequestBuilder startCheckout() {
+        if (currentBill != null) {
+            return CheckoutRequest.builder().existingBill(currentBill);
+        }
+        
+        // Validate customer information
+        if (txtCustomerName.getText().trim().isEmpty()) {
+            alert.showError("Please enter customer information");
+            return null;
+        }
+        
+        // Validate that we have items to bill
+        if (billingItems.isEmpty()) {
+            alert.showError("Please add items to generate bill");
+            return null;
+        }
+        
+        // Find customer by mobile number first
+        Customer customer = null;
+        if (!txtMobileNo.getText().trim().isEmpty()) {
+            Optional<Customer> customerOpt = customerService.findByMobile(txtMobileNo.getText().trim());
+            if (customerOpt.isPresent()) {
+                customer = customerOpt.get();
             } else {
-                alert.showError("Please search and select a customer first.");
+                alert.showError("Customer not found. Please search and select a customer first.");
                 return null;
             }
-            
-            // Create bill transactions from billing items
-            List<BillTransaction> billTransactions = new ArrayList<>();
-            for (BillingItem item : billingItems) {
-                BillTransaction transaction = billTransactionService.createBillTransaction(
-                    item.getItemCode(),
-                    item.getItemName(),
-                    item.getMetal(),
-                    item.getQuantity(),
-                    new BigDecimal(item.getWeight()),
-                    new BigDecimal(item.getRate()),
-                    new BigDecimal(item.getLabour())
-                );
-                billTransactions.add(transaction);
-            }
-            
-            // Create exchange if we have exchange items
-            Exchange exchange = null;
-            if (!exchangeItems.isEmpty()) {
-                // Create exchange transactions
-                List<ExchangeTransaction> exchangeTransactions = new ArrayList<>();
-                for (ExchangeItem item : exchangeItems) {
-                    ExchangeTransaction transaction = exchangeTransactionService.createExchangeTransaction(
-                        item.getItemName(),
-                        item.getMetal(),
-                        BigDecimal.valueOf(item.getWeight()),
-                        BigDecimal.valueOf(item.getDeduction()),
-                        BigDecimal.valueOf(item.getRate())
-                    );
-                    exchangeTransactions.add(transaction);
-                }
-                
-                // Create exchange entity with customer and transactions
-                exchange = exchangeService.createExchange(customer, exchangeTransactions, 
-                    "Exchange at billing time for customer: " + customer.getCustomerFullName());
-                currentExchange = exchange;
-                System.out.println("Exchange created with total amount: " + exchange.getTotalExchangeAmount());
-            }
-            
-            // Get payment details
-            BigDecimal discount = txtDiscount.getText().isEmpty() ? BigDecimal.ZERO : new BigDecimal(txtDiscount.getText());
-            BigDecimal gstRate = txtGSTRate.getText().isEmpty() ? 
-                new BigDecimal(appSettingsService.getDefaultGstRate().toString()) : 
-                new BigDecimal(txtGSTRate.getText());
-            
-            // Create and save bill (without specifying payment method yet)
-            Bill savedBill = billService.createBillFromTransaction(
-                customer,
-                billTransactions,
-                exchange,
-                discount,
-                gstRate,
-                null // Payment method will be set when user clicks payment button
-            );
-            
-            System.out.println("Bill generated successfully with ID: " + savedBill.getId() + ", Bill Number: " + savedBill.getBillNumber());
-            
-            // Publish event for stock reduction (will be handled asynchronously)
-            eventPublisher.publishEvent(new BillCreatedEvent(this, savedBill));
-            
-            // Store the current bill for payment processing
-            currentBill = savedBill;
-            
-            return savedBill;
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            alert.showError("Error creating bill: " + e.getMessage());
+        } else {
+            alert.showError("Please search and select a customer first.");
             return null;
         }
+        
+        // Create bill transactions from billing items
+        List<BillTransaction> billTransactions = new ArrayList<>();
+        for (BillingItem item : billingItems) {
+            BillTransaction transaction = billTransactionService.createBillTransaction(
+                item.getItemCode(),
+                item.getItemName(),
+                item.getMetal(),
+                item.getQuantity(),
+                new BigDecimal(item.getWeight()),
+                new BigDecimal(item.getRate()),
+                new BigDecimal(item.getLabour())
+            );
+            billTransactions.add(transaction);
+        }
+        
+        // Create exchange transactions from exchange items
+        List<ExchangeTransaction> exchangeTransactions = new ArrayList<>();
+        for (ExchangeItem item : exchangeItems) {
+            ExchangeTransaction transaction = exchangeTransactionService.createExchangeTransaction(
+                item.getItemName(),
+                item.getMetal(),
+                BigDecimal.valueOf(item.getWeight()),
+                BigDecimal.valueOf(item.getDeduction()),
+                BigDecimal.valueOf(item.getRate())
+            );
+            exchangeTransactions.add(transaction);
+        }
+        
+        // Get payment details
+        BigDecimal discount = txtDiscount.getText().isEmpty() ? BigDecimal.ZERO : new BigDecimal(txtDiscount.getText());
+        BigDecimal gstRate = txtGSTRate.getText().isEmpty() ? 
+            new BigDecimal(appSettingsService.getDefaultGstRate().toString()) : 
+            new BigDecimal(txtGSTRate.getText());
+        
+        return CheckoutRequest.builder()
+                .customer(customer)
+                .billTransactions(billTransactions)
+                .exchangeTransactions(exchangeTransactions)
+                .exchangeNotes("Exchange at billing time for customer: " + customer.getCustomerFullName())
+                .discount(discount)
+                .gstRate(gstRate);
+    }
+    
+    /**
+     * Save the sale and its payment in one transaction; the receipt's bill is used for the PDF
+     */
+    private Bill completeCheckout(CheckoutRequest request) {
+        CheckoutReceipt receipt = checkoutService.checkout(request);
+        currentBill = receipt.getBill();
+        return receipt.getBill();
     }
     
     private void printBill() {
@@ -839,28 +844,28 @@ public class BillingController implements Initializable {
     
     private void calculateTotal() {
         try {
-            double rate = txtRate.getText().isEmpty() ? 0 : Double.parseDouble(txtRate.getText());
+            BigDecimal rate = txtRate.getText().isEmpty() ? BigDecimal.ZERO : new BigDecimal(txtRate.getText());
             int quantity = txtQuantity.getText().isEmpty() ? 1 : Integer.parseInt(txtQuantity.getText());
-            double weight = txtWeight.getText().isEmpty() ? 0 : Double.parseDouble(txtWeight.getText());
+            BigDecimal weight = txtWeight.getText().isEmpty() ? BigDecimal.ZERO : new BigDecimal(txtWeight.getText());
             
             // Calculate total weight and gold value
-            double totalWeight = weight * quantity;
-            double goldValue = (rate * totalWeight) / 10;
+            BigDecimal totalWeight = weight.multiply(BigDecimal.valueOf(quantity));
+            BigDecimal goldValue = PricingKernel.metalValue(totalWeight, rate);
             
-            double labour = 0;
+            BigDecimal labour;
             
             // If we have a selected item with labour percentage, calculate labour from percentage
             if (currentLabourPercentage != null && currentLabourPercentage.compareTo(BigDecimal.ZERO) > 0) {
                 // Calculate labour as percentage of gold value
-                labour = goldValue * currentLabourPercentage.doubleValue() / 100;
+                labour = PricingKernel.percentOf(goldValue, currentLabourPercentage);
                 // Update the labour field to show calculated amount
                 txtLabour.setText(String.format("%.2f", labour));
             } else {
                 // Otherwise, use manual labour entry
-                labour = txtLabour.getText().isEmpty() ? 0 : Double.parseDouble(txtLabour.getText());
+                labour = txtLabour.getText().isEmpty() ? BigDecimal.ZERO : new BigDecimal(txtLabour.getText());
             }
             
-            double total = goldValue + labour;
+            BigDecimal total = goldValue.add(labour);
             txtTotalAmount.setText(String.format("%.2f", total));
         } catch (NumberFormatException e) {
             txtTotalAmount.setText("0.00");
@@ -1470,15 +1475,12 @@ public class BillingController implements Initializable {
     
     private void processCashPayment() {
         try {
-            // Create bill if not already created
-            if (currentBill == null) {
-                currentBill = createBillFromCurrentData();
-                if (currentBill == null) {
-                    return; // Error already shown in createBillFromCurrentData
-                }
+            CheckoutRequest.CheckoutRequestBuilder checkout = startCheckout();
+            if (checkout == null) {
+                return; // Error already shown in startCheckout
             }
 
-            BigDecimal grandTotal = currentBill.getGrandTotal();
+            BigDecimal grandTotal = checkoutService.quote(checkout.build()).getGrandTotal();
             boolean isRefund = grandTotal.compareTo(BigDecimal.ZERO) < 0;
 
             // Check if partial payment is active
@@ -1513,18 +1515,11 @@ public class BillingController implements Initializable {
                 }
             }
 
-            // Update bill payment details
-            currentBill.setPaymentMethod(Bill.PaymentMethod.CASH);
-            currentBill.setPaidAmount(paidAmount);
-            currentBill.setPendingAmount(grandTotal.subtract(paidAmount));
-            currentBill.setStatus(paidAmount.abs().compareTo(grandTotal.abs()) >= 0 ?
-                                 Bill.BillStatus.PAID : Bill.BillStatus.CONFIRMED);
-
-            // Save the updated bill
-            Bill updatedBill = billService.saveBill(currentBill);
-
-            // Create PaymentMode entry for cash payment
-            PaymentMode cashPayment = paymentModeService.createCashPayment(updatedBill, paidAmount);
+            // Save bill, exchange and cash payment together
+            Bill updatedBill = completeCheckout(checkout
+                    .paymentMethod(Bill.PaymentMethod.CASH)
+                    .paidAmount(paidAmount)
+                    .build());
 
             // Generate PDF
             generateAndSavePdf(updatedBill);
@@ -1583,16 +1578,14 @@ public class BillingController implements Initializable {
     
     private void processCardPayment() {
         try {
-            // Create bill if not already created
-            if (currentBill == null) {
-                currentBill = createBillFromCurrentData();
-                if (currentBill == null) {
-                    return; // Error already shown in createBillFromCurrentData
-                }
+            CheckoutRequest.CheckoutRequestBuilder checkout = startCheckout();
+            if (checkout == null) {
+                return; // Error already shown in startCheckout
             }
+            BigDecimal grandTotal = checkoutService.quote(checkout.build()).getGrandTotal();
             
             // Check if partial payment is active
-            BigDecimal paidAmount = currentBill.getGrandTotal(); // Default to full payment
+            BigDecimal paidAmount = grandTotal; // Default to full payment
             if (isPartialPayment) {
                 String amountText = txtPartialAmount.getText().trim();
                 if (amountText.isEmpty()) {
@@ -1606,7 +1599,7 @@ public class BillingController implements Initializable {
                         alert.showError("Partial payment amount must be greater than zero.");
                         return;
                     }
-                    if (paidAmount.compareTo(currentBill.getGrandTotal()) > 0) {
+                    if (paidAmount.compareTo(grandTotal) > 0) {
                         alert.showError("Payment amount cannot exceed the bill total.");
                         return;
                     }
@@ -1616,18 +1609,11 @@ public class BillingController implements Initializable {
                 }
             }
             
-            // Update bill payment details
-            currentBill.setPaymentMethod(Bill.PaymentMethod.CARD);
-            currentBill.setPaidAmount(paidAmount);
-            currentBill.setPendingAmount(currentBill.getGrandTotal().subtract(paidAmount));
-            currentBill.setStatus(paidAmount.compareTo(currentBill.getGrandTotal()) >= 0 ? 
-                                 Bill.BillStatus.PAID : Bill.BillStatus.CONFIRMED);
-            
-            // Save the updated bill
-            Bill updatedBill = billService.saveBill(currentBill);
-            
-            // Create PaymentMode entry for card payment (TODO: need to collect card details)
-            PaymentMode cardPayment = paymentModeService.createCardPayment(updatedBill, paidAmount, "CARD-REF-" + System.currentTimeMillis(), null, null, null);
+            // Save bill, exchange and card payment together (TODO: need to collect card details)
+            Bill updatedBill = completeCheckout(checkout
+                    .paymentMethod(Bill.PaymentMethod.CARD)
+                    .paidAmount(paidAmount)
+                    .build());
             
             // Generate PDF
             generateAndSavePdf(updatedBill);
@@ -1784,17 +1770,12 @@ public class BillingController implements Initializable {
                 return;
             }
             
-            // Update bill with partial payment
-            currentBill.setPaymentMethod(Bill.PaymentMethod.PARTIAL);
-            currentBill.setPaidAmount(partialAmount);
-            currentBill.setPendingAmount(grandTotal.subtract(partialAmount));
-            currentBill.setStatus(Bill.BillStatus.CONFIRMED);
-            
-            // Save the updated bill
-            Bill updatedBill = billService.saveBill(currentBill);
-            
-            // Create PaymentMode entry for partial cash payment
-            PaymentMode partialPayment = paymentModeService.createCashPayment(updatedBill, partialAmount);
+            // Save the bill with the partial cash payment
+            Bill updatedBill = completeCheckout(CheckoutRequest.builder()
+                    .existingBill(currentBill)
+                    .paymentMethod(Bill.PaymentMethod.PARTIAL)
+                    .paidAmount(partialAmount)
+                    .build());
             
             // Generate PDF
             generateAndSavePdf(updatedBill);
@@ -1826,17 +1807,15 @@ public class BillingController implements Initializable {
     
     private void processCreditPayment() {
         try {
-            // Create bill if not already created
-            if (currentBill == null) {
-                currentBill = createBillFromCurrentData();
-                if (currentBill == null) {
-                    return; // Error already shown in createBillFromCurrentData
-                }
+            CheckoutRequest.CheckoutRequestBuilder checkout = startCheckout();
+            if (checkout == null) {
+                return; // Error already shown in startCheckout
             }
+            Bill quote = checkoutService.quote(checkout.build());
             
             // Get customer name
-            String customerName = currentBill.getCustomer() != null ? 
-                                 currentBill.getCustomer().getCustomerFullName() : 
+            String customerName = quote.getCustomer() != null ? 
+                                 quote.getCustomer().getCustomerFullName() : 
                                  txtCustomerName.getText();
             
             // Confirm credit sale
@@ -1848,22 +1827,16 @@ public class BillingController implements Initializable {
                 "Total Amount: ₹%.2f\n" +
                 "Customer: %s\n\n" +
                 "Do you want to proceed with credit sale?",
-                currentBill.getGrandTotal(),
+                quote.getGrandTotal(),
                 customerName
             ));
             
             Optional<ButtonType> result = confirmAlert.showAndWait();
             if (result.isPresent() && result.get() == ButtonType.OK) {
-                // Update bill for credit sale
-                currentBill.setPaymentMethod(Bill.PaymentMethod.CREDIT);
-                currentBill.setPaidAmount(BigDecimal.ZERO);
-                currentBill.setPendingAmount(currentBill.getGrandTotal());
-                currentBill.setStatus(Bill.BillStatus.CONFIRMED);
-                
-                // Save the updated bill
-                Bill updatedBill = billService.saveBill(currentBill);
-                
-                // Note: No PaymentMode entry for credit sale as no payment is made
+                // Save the bill as a credit sale; no PaymentMode entry as no payment is made
+                Bill updatedBill = completeCheckout(checkout
+                        .paymentMethod(Bill.PaymentMethod.CREDIT)
+                        .build());
                 
                 // Generate PDF
                 generateAndSavePdf(updatedBill);
@@ -2008,15 +1981,12 @@ public class BillingController implements Initializable {
                 return;
             }
 
-            // Create bill if not already created
-            if (currentBill == null) {
-                currentBill = createBillFromCurrentData();
-                if (currentBill == null) {
-                    return; // Error already shown in createBillFromCurrentData
-                }
+            CheckoutRequest.CheckoutRequestBuilder checkout = startCheckout();
+            if (checkout == null) {
+                return; // Error already shown in startCheckout
             }
 
-            BigDecimal grandTotal = currentBill.getGrandTotal();
+            BigDecimal grandTotal = checkoutService.quote(checkout.build()).getGrandTotal();
             boolean isRefund = grandTotal.compareTo(BigDecimal.ZERO) < 0;
 
             // Validate payment amount based on bill type
@@ -2030,27 +2000,16 @@ public class BillingController implements Initializable {
                 return;
             }
 
-            // Update bill payment details
-            currentBill.setPaymentMethod(Bill.PaymentMethod.BANK_TRANSFER);
-            currentBill.setPaidAmount(bankAmount);
-            currentBill.setPendingAmount(grandTotal.subtract(bankAmount));
-            currentBill.setStatus(bankAmount.abs().compareTo(grandTotal.abs()) >= 0 ?
-                                 Bill.BillStatus.PAID : Bill.BillStatus.CONFIRMED);
-
-            // Save the bill first
-            Bill updatedBill = billService.saveBill(currentBill);
-            
-            // Create PaymentMode entry for bank payment
             BankAccount selectedBank = cmbBankAccount.getValue();
             String transactionNo = txtBankTransactionNo.getText().trim();
 
-            // Create payment mode entry - this will automatically create the appropriate bank transaction
-            PaymentMode bankPayment = paymentModeService.createBankPayment(
-                updatedBill,
-                bankAmount,
-                selectedBank,
-                transactionNo
-            );
+            // Save bill, exchange, bank payment and its bank transaction together
+            Bill updatedBill = completeCheckout(checkout
+                    .paymentMethod(Bill.PaymentMethod.BANK_TRANSFER)
+                    .paidAmount(bankAmount)
+                    .bankAccount(selectedBank)
+                    .referenceNumber(transactionNo)
+                    .build());
             
             // Generate PDF
             generateAndSavePdf(updatedBill);
@@ -2257,54 +2216,28 @@ public class BillingController implements Initializable {
                 return;
             }
             
-            // Create bill if not already created
-            if (currentBill == null) {
-                currentBill = createBillFromCurrentData();
-                if (currentBill == null) {
-                    return; // Error already shown in createBillFromCurrentData
-                }
+            CheckoutRequest.CheckoutRequestBuilder checkout = startCheckout();
+            if (checkout == null) {
+                return; // Error already shown in startCheckout
             }
             
             // Validate payment amount doesn't exceed bill total
-            if (upiAmount.compareTo(currentBill.getGrandTotal()) > 0) {
+            if (upiAmount.compareTo(checkoutService.quote(checkout.build()).getGrandTotal()) > 0) {
                 alert.showError("Payment amount cannot exceed the bill total.");
                 return;
             }
             
-            // Set payment details
-            currentBill.setPaymentMethod(Bill.PaymentMethod.UPI);
-            currentBill.setPaidAmount(upiAmount);
-            currentBill.setPendingAmount(currentBill.getGrandTotal().subtract(upiAmount));
-            
             // Get selected UPI method's bank account
             UPIPaymentMethod selectedUPI = cmbUPIPayment.getValue();
-            BankAccount linkedBank = selectedUPI.getBankAccount();
             
-            // Update bill status based on payment
-            if (currentBill.getPendingAmount().compareTo(BigDecimal.ZERO) <= 0) {
-                currentBill.setStatus(Bill.BillStatus.PAID);
-            } else {
-                currentBill.setStatus(Bill.BillStatus.CONFIRMED);
-            }
-            
-            // Save the bill
-            Bill updatedBill = billService.saveBill(currentBill);
-            currentBill = updatedBill;
-            
-            // Create UPI payment with bank transaction
-            paymentModeService.createUPIPaymentWithBankAccount(
-                updatedBill,
-                upiAmount,
-                txtUPITransactionNo.getText().trim(),
-                selectedUPI.getUpiId(),
-                linkedBank
-            );
-            
-            // Save the exchange transaction if exists
-            if (currentExchange != null) {
-                currentExchange.setBill(updatedBill);
-                exchangeService.saveExchange(currentExchange);
-            }
+            // Save bill, exchange, UPI payment and its bank transaction together
+            Bill updatedBill = completeCheckout(checkout
+                    .paymentMethod(Bill.PaymentMethod.UPI)
+                    .paidAmount(upiAmount)
+                    .referenceNumber(txtUPITransactionNo.getText().trim())
+                    .upiId(selectedUPI.getUpiId())
+                    .bankAccount(selectedUPI.getBankAccount())
+                    .build());
             
             alert.showSuccess("UPI payment processed successfully!");
             
@@ -745,10 +745,10 @@ public class CustomerPaymentController implements Initializable {
     private void loadCustomerPendingDetails(Customer customer) {
         try {
             BigDecimal pendingAmount = customerPaymentService.getCustomerPendingAmount(customer.getId());
-            List<Bill> pendingBills = customerPaymentService.getCustomerPendingBills(customer.getId());
+            int pendingBillCount = customerPaymentService.getCustomerPendingBillCount(customer.getId());
 
             lblTotalPending.setText(CurrencyFormatter.format(pendingAmount));
-            lblPendingBillsCount.setText(String.valueOf(pendingBills.size()));
+            lblPendingBillsCount.setText(String.valueOf(pendingBillCount));
 
             calculateRemainingAmount();
 
@@ -4,6 +4,7 @@ import com.gurukrupa.controller.DashboardController;
 import com.gurukrupa.controller.stock.StockEntryController;
 import com.gurukrupa.data.service.BillService;
 import com.gurukrupa.view.FxmlView;
+import com.gurukrupa.view.RefreshableController;
 import com.gurukrupa.view.StageManager;
 import javafx.animation.RotateTransition;
 import javafx.application.Platform;
@@ -31,7 +32,7 @@ import java.util.Map;
 import java.util.ResourceBundle;
 
 @Component
-public class TransactionMenuController implements Initializable {
+public class TransactionMenuController implements Initializable, RefreshableController {
     private static final Logger LOG = LoggerFactory.getLogger(TransactionMenuController.class);
     
     @Autowired
@@ -99,6 +100,11 @@ public class TransactionMenuController implements Initializable {
         // Load statistics on initialization
         Platform.runLater(this::loadStatistics);
     }
+
+    @Override
+    public void refresh() {
+        loadStatistics();
+    }
     
     private void loadStatistics() {
         // Add rotation animation to refresh button
@@ -0,0 +1,69 @@
+package com.gurukrupa.customUI;
+
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+
+import java.util.function.Consumer;
+
+/**
+ * Scanner input mode for a text field. Keyboard-wedge barcode and QR scanners type the
+ * whole tag in a burst, a few milliseconds per character, and end it with Enter; typing
+ * by hand is far slower. A burst ending in Enter is passed to the scan handler and the
+ * field cleared, so one scan adds one item; anything typed by hand is left to the
+ * field's own handling.
+ */
+public class BarcodeScanInput {
+
+    // Longest gap between two characters of the same scan
+    private static final long MAX_KEY_GAP_MS = 50;
+    private static final int MIN_SCAN_LENGTH = 3;
+
+    private final TextField field;
+    private final Consumer<String> onScan;
+    private final StringBuilder burst = new StringBuilder();
+    private long lastKeyAt;
+
+    private BarcodeScanInput(TextField field, Consumer<String> onScan) {
+        this.field = field;
+        this.onScan = onScan;
+    }
+
+    /**
+     * Listen for scans on the field; the handler gets the scanned text, trimmed
+     */
+    public static BarcodeScanInput attach(TextField field, Consumer<String> onScan) {
+        BarcodeScanInput input = new BarcodeScanInput(field, onScan);
+        field.addEventFilter(KeyEvent.KEY_TYPED, input::keyTyped);
+        field.addEventFilter(KeyEvent.KEY_PRESSED, input::keyPressed);
+        return input;
+    }
+
+    private void keyTyped(KeyEvent event) {
+        String character = event.getCharacter();
+        if (character.isEmpty() || Character.isISOControl(character.charAt(0))) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (now - lastKeyAt > MAX_KEY_GAP_MS) {
+            burst.setLength(0);
+        }
+        burst.append(character);
+        lastKeyAt = now;
+    }
+
+    private void keyPressed(KeyEvent event) {
+        if (event.getCode() != KeyCode.ENTER) {
+            return;
+        }
+        boolean scanned = System.currentTimeMillis() - lastKeyAt <= MAX_KEY_GAP_MS
+                && burst.length() >= MIN_SCAN_LENGTH;
+        String code = burst.toString().trim();
+        burst.setLength(0);
+        if (scanned && !code.isEmpty()) {
+            event.consume();
+            field.clear();
+            onScan.accept(code);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * What a backup file holds: its type, when it was taken, the backup it continues from
+ * and the row count and SHA-256 checksum of every table in it.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BackupManifest {
+
+    public enum Type {
+        FULL,
+        INCREMENTAL
+    }
+
+    private String fileName;
+    private int formatVersion;
+    private Type type;
+    private LocalDateTime createdDate;
+    // Rows created or updated from this time on are in an incremental backup; null when full
+    private LocalDateTime changedSince;
+    // Backup an incremental one is applied on top of; null when full
+    private String previousFileName;
+    private Map<String, Long> tableRows;
+    private Map<String, String> tableChecksums;
+    private long elapsedMillis;
+
+    public long getTotalRows() {
+        return tableRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,23 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Opening/closing balance and totals of a bank account for a statement period.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BankStatement {
+    private Long bankAccountId;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private BigDecimal openingBalance;
+    private BigDecimal totalCredits;
+    private BigDecimal totalDebits;
+    private BigDecimal closingBalance;
+    private long transactionCount;
+}
@@ -0,0 +1,22 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.BankTransaction.TransactionType;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One entry of a statement file received from the bank.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class BankStatementLine {
+    private int lineNumber;
+    private LocalDate date;
+    private TransactionType type;
+    private BigDecimal amount;
+    private String reference;
+    private String description;
+}
@@ -0,0 +1,18 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.util.Map;
+
+/**
+ * Category counts for the Categories master screen; item counts cover active items.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class CategoryStatistics {
+    private long totalCategories;
+    private long activeCategories;
+    private long totalItems;
+    private Map<String, Long> itemCounts;
+}
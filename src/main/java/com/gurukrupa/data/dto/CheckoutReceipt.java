@@ -0,0 +1,25 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.Bill;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of a committed checkout. The bill is the saved instance, complete with its
+ * transactions and customer, for printing.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class CheckoutReceipt {
+    private Long billId;
+    private String billNumber;
+    private Bill.BillStatus status;
+    private BigDecimal grandTotal;
+    private BigDecimal paidAmount;
+    private BigDecimal pendingAmount;
+    private Long paymentModeId;
+    private String exchangeNumber;
+    private Bill bill;
+}
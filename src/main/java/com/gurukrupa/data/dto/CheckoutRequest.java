@@ -0,0 +1,39 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.BankAccount;
+import com.gurukrupa.data.entities.Bill;
+import com.gurukrupa.data.entities.BillTransaction;
+import com.gurukrupa.data.entities.Customer;
+import com.gurukrupa.data.entities.ExchangeTransaction;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Everything needed to settle a sale at the counter: either the cart (items,
+ * exchange items, discount and GST rate) or an existing bill being paid, plus
+ * the payment taken.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class CheckoutRequest {
+    private Customer customer;
+    private List<BillTransaction> billTransactions;
+    private List<ExchangeTransaction> exchangeTransactions;
+    private String exchangeNotes;
+    private BigDecimal discount;
+    private BigDecimal gstRate;
+
+    /**
+     * Already saved bill to take payment for; the cart fields are ignored when set
+     */
+    private Bill existingBill;
+
+    private Bill.PaymentMethod paymentMethod;
+    private BigDecimal paidAmount;
+    private BankAccount bankAccount;
+    private String referenceNumber;
+    private String upiId;
+}
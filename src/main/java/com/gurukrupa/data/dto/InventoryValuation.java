@@ -0,0 +1,20 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Value of all stock at today's metal rates, one row per metal.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class InventoryValuation {
+    private LocalDateTime valuedAt;
+    private List<MetalValuation> metals;
+    private BigDecimal totalValue;
+    private List<String> metalsWithoutRate;
+}
@@ -0,0 +1,35 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Stock of one metal (type and purity) valued at its current rate. Item weights are
+ * quantity times net weight of active items; metal weights are purchased metal still
+ * available.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class MetalValuation {
+    private Long metalId;
+    private String metalName;
+    private String metalType;
+    private String purity;
+    private long itemQuantity;
+    private BigDecimal itemNetWeight;
+    private BigDecimal itemPureWeight;
+    private BigDecimal metalNetWeight;
+    private BigDecimal metalPureWeight;
+    private BigDecimal ratePerTenGrams; // null when the metal has no rate yet
+    private BigDecimal value;
+
+    public BigDecimal getTotalNetWeight() {
+        return itemNetWeight.add(metalNetWeight);
+    }
+
+    public BigDecimal getTotalPureWeight() {
+        return itemPureWeight.add(metalPureWeight);
+    }
+}
@@ -0,0 +1,27 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Pending amount of a supplier split by the age of the invoice it is owed on.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class PayablesAging {
+    private Long supplierId;
+    private BigDecimal upTo30Days;
+    private BigDecimal days31To60;
+    private BigDecimal days61To90;
+    private BigDecimal over90Days;
+
+    public BigDecimal getTotal() {
+        return upTo30Days.add(days31To60).add(days61To90).add(over90Days);
+    }
+
+    public static PayablesAging empty(Long supplierId) {
+        return new PayablesAging(supplierId, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
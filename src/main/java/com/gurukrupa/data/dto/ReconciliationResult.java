@@ -0,0 +1,20 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.BankTransaction;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Outcome of reconciling a bank statement file against recorded bank transactions.
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class ReconciliationResult {
+    private int statementLineCount;
+    private int matchedCount;
+    private List<BankStatementLine> unmatchedLines;
+    private List<BankTransaction> unmatchedTransactions;
+    private long elapsedMillis;
+}
@@ -0,0 +1,21 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Totals of a stock movement report; its item rows are streamed as they are built
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class StockMovementReport {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private int itemCount;
+    private StockMovementRow total;
+    private List<StockMovementRow> byCategory;
+    private List<StockMovementRow> byMetal;
+}
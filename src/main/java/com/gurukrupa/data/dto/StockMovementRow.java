@@ -0,0 +1,52 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
+import lombok.*;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Stock movement of one item, or of a category or metal (only that field set), over a
+ * period: opening stock, quantities in and out by source, and closing stock
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class StockMovementRow {
+    private String itemCode;
+    private String itemName;
+    private String category;
+    private String metal;
+    private long opening;
+    private Map<TransactionSource, Long> inBySource;
+    private Map<TransactionSource, Long> outBySource;
+
+    public long getTotalIn() {
+        return inBySource.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getTotalOut() {
+        return outBySource.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public long getClosing() {
+        return opening + getTotalIn() - getTotalOut();
+    }
+
+    // e.g. "Purchase +5, Sale -2"
+    public String getSourceSummary() {
+        StringBuilder summary = new StringBuilder();
+        inBySource.forEach((source, quantity) -> appendSource(summary, source, "+" + quantity));
+        outBySource.forEach((source, quantity) -> appendSource(summary, source, "-" + quantity));
+        return summary.toString();
+    }
+
+    private static void appendSource(StringBuilder summary, TransactionSource source, String quantity) {
+        if (summary.length() > 0) {
+            summary.append(", ");
+        }
+        String name = source.name().replace('_', ' ').toLowerCase(Locale.ROOT);
+        summary.append(Character.toUpperCase(name.charAt(0))).append(name.substring(1)).append(' ').append(quantity);
+    }
+}
@@ -0,0 +1,16 @@
+package com.gurukrupa.data.dto;
+
+import com.gurukrupa.data.entities.StockTakeSession;
+import lombok.*;
+
+/**
+ * How far a stock-take session has got
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class StockTakeProgress {
+    private StockTakeSession session;
+    private long itemsCounted;
+    private long unitsCounted;
+}
@@ -0,0 +1,22 @@
+package com.gurukrupa.data.dto;
+
+import lombok.*;
+
+/**
+ * An item whose stock-take count differs from the system quantity it had when counted
+ */
+@Getter
+@AllArgsConstructor
+@Builder
+public class StockTakeVariance {
+    private Long itemId;
+    private String itemCode;
+    private String itemName;
+    private int systemQuantity;
+    private int countedQuantity;
+
+    // Positive when more were found than the system shows
+    public int getVariance() {
+        return countedQuantity - systemQuantity;
+    }
+}
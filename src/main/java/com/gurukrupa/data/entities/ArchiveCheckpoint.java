@@ -0,0 +1,102 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One archived financial year: rows dated before archivedBefore were moved from the live
+ * history tables to their archive tables, with the counts moved and the year's sales
+ * total. Stock snapshots and bank balance checkpoints up to yearEnd are in place before
+ * the move, so balances never need the archived rows. The row is saved IN_PROGRESS
+ * before the first chunk moves and its counts are updated with every chunk.
+ */
+@Entity
+@Table(name = "archive_checkpoints")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 10)
+    private String financialYear; // e.g. 2023-24
+
+    @Column(nullable = false)
+    private LocalDate yearEnd;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedBefore;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private ArchiveStatus status = ArchiveStatus.IN_PROGRESS;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long billsArchived = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long billTransactionsArchived = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long paymentModesArchived = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long stockTransactionsArchived = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long bankTransactionsArchived = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long exchangeMetalTransactionsArchived = 0L;
+
+    // Grand total of the bills archived by this run
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal archivedSalesTotal = BigDecimal.ZERO;
+
+    // Bills from before the cutoff left live: unsettled, or linked to an exchange
+    @Column(nullable = false)
+    @Builder.Default
+    private Long billsKept = 0L;
+
+    @Column
+    private String archivedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    // Last change of status or counts; incremental backups pick the checkpoint up by it
+    @Column
+    private LocalDateTime updatedDate;
+
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+        updatedDate = createdDate;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedDate = LocalDateTime.now();
+    }
+
+    public enum ArchiveStatus {
+        IN_PROGRESS, COMPLETED
+    }
+}
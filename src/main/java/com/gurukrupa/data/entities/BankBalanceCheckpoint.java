@@ -0,0 +1,55 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Closing balance of a bank account at the end of a day that had activity, with that
+ * day's totals. Only closed days (before today) are checkpointed; transactions are
+ * always stamped with the current time, so a closed day does not change afterwards.
+ */
+@Entity
+@Table(name = "bank_balance_checkpoints",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"bank_account_id", "checkpoint_date"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankBalanceCheckpoint {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "bank_account_id", nullable = false)
+    private BankAccount bankAccount;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal dayCredits;
+
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal dayDebits;
+
+    @Column(nullable = false)
+    private Integer transactionCount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+    }
+}
@@ -3,9 +3,10 @@ package com.gurukrupa.data.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gurukrupa.logging.BillingLog;
+import com.gurukrupa.utility.PricingKernel;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -19,6 +20,7 @@ import java.util.List;
 @Builder
 @Table(name = "bills")
 public class Bill {
+    
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -107,6 +109,13 @@ public class Bill {
     @Transient
     private Exchange exchange; // This is now a transient field for backward compatibility
     
+    // Inputs of the last calculateTotals() run: subtotal, discount, gstRate, exchangeAmount, paidAmount
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    @ToString.Exclude
+    private BigDecimal[] totalsInputs;
+    
     // Payment modes used for this bill
     @OneToMany(mappedBy = "bill", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @ToString.Exclude
@@ -142,47 +151,58 @@ public class Bill {
     
     public void calculateTotals() {
         // Calculate subtotal from bill transactions
-        subtotal = billTransactions.stream()
-            .map(BillTransaction::getTotalAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal newSubtotal = BigDecimal.ZERO;
+        for (BillTransaction transaction : billTransactions) {
+            newSubtotal = newSubtotal.add(transaction.getTotalAmount());
+        }
+        subtotal = newSubtotal;
         
         // Calculate exchange amount from linked exchange if present
         if (exchange != null && exchange.getTotalExchangeAmount() != null) {
             exchangeAmount = exchange.getTotalExchangeAmount();
-            System.out.println("Bill calculateTotals - Exchange amount from exchange entity: " + exchangeAmount);
         } else if (exchangeAmount == null) {
             exchangeAmount = BigDecimal.ZERO;
-            System.out.println("Bill calculateTotals - No exchange linked or amount null");
-        } else {
-            System.out.println("Bill calculateTotals - Using existing exchange amount: " + exchangeAmount);
+        }
+        
+        if (paidAmount == null) {
+            paidAmount = BigDecimal.ZERO;
+        }
+        
+        // Totals are recalculated on every save, @PrePersist and @PreUpdate; skip when nothing changed
+        if (totalsUpToDate()) {
+            return;
         }
         
         // Calculate net total after discount (but before exchange deduction)
         netTotal = subtotal.subtract(discount);
         
         // Calculate tax amounts (GST only on billing items, not on exchange)
-        BigDecimal taxableAmount = subtotal;
-        totalTaxAmount = taxableAmount.multiply(gstRate).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-        cgstAmount = totalTaxAmount.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
-        sgstAmount = totalTaxAmount.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP);
+        totalTaxAmount = PricingKernel.percentOf(subtotal, gstRate);
+        cgstAmount = PricingKernel.half(totalTaxAmount);
+        sgstAmount = cgstAmount;
         
         // Calculate grand total: netTotal + GST - exchangeAmount
         grandTotal = netTotal.add(totalTaxAmount).subtract(exchangeAmount);
         
-        System.out.println("Bill calculateTotals - Subtotal: " + subtotal + ", Discount: " + discount + 
-            ", NetTotal: " + netTotal + ", GST: " + totalTaxAmount + ", Exchange: " + exchangeAmount + 
-            ", GrandTotal: " + grandTotal);
-        
         // Calculate pending amount
-        if (paidAmount == null) {
-            paidAmount = BigDecimal.ZERO;
-        }
         pendingAmount = grandTotal.subtract(paidAmount);
         
         // If paid amount equals or exceeds grand total, pending is zero
-        if (pendingAmount.compareTo(BigDecimal.ZERO) < 0) {
+        if (pendingAmount.signum() < 0) {
             pendingAmount = BigDecimal.ZERO;
         }
+        
+        totalsInputs = new BigDecimal[] {subtotal, discount, gstRate, exchangeAmount, paidAmount};
+        BillingLog.totalsCalculated(billNumber, subtotal, discount, netTotal, totalTaxAmount, exchangeAmount, grandTotal);
+    }
+    
+    private boolean totalsUpToDate() {
+        return totalsInputs != null
+                && totalsInputs[0].equals(subtotal)
+                && totalsInputs[1].equals(discount)
+                && totalsInputs[2].equals(gstRate)
+                && totalsInputs[3].equals(exchangeAmount)
+                && totalsInputs[4].equals(paidAmount);
     }
     
     public enum PaymentMethod {
@@ -3,9 +3,9 @@ package com.gurukrupa.data.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gurukrupa.utility.PricingKernel;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
@@ -82,17 +82,7 @@ public class BillTransaction {
     }
     
     public void calculateTotalAmount() {
-        // Calculate gold value: (weight * ratePerTenGrams) / 10
-        BigDecimal goldValue = BigDecimal.ZERO;
-        if (weight != null && ratePerTenGrams != null) {
-            goldValue = weight.multiply(ratePerTenGrams)
-                .divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
-        }
-        
-        // Calculate total amount = goldValue + labourCharges
-        totalAmount = goldValue;
-        if (labourCharges != null) {
-            totalAmount = totalAmount.add(labourCharges);
-        }
+        // Total amount = (weight * ratePerTenGrams) / 10 + labourCharges
+        totalAmount = PricingKernel.lineTotal(weight, ratePerTenGrams, labourCharges);
     }
 }
\ No newline at end of file
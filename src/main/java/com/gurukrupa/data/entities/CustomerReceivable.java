@@ -0,0 +1,71 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-customer receivables summary, kept in step with the customer's bills.
+ * Maintained by CustomerReceivableService whenever a bill is saved or a payment
+ * is received, and checked against the bills by a background reconciler.
+ */
+@Entity
+@Table(name = "customer_receivables")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerReceivable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "customer_id", nullable = false, unique = true)
+    private Customer customer;
+
+    /**
+     * Sum of grand totals of all the customer's bills
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalBilled = BigDecimal.ZERO;
+
+    /**
+     * Sum of amounts paid against those bills
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    /**
+     * Sum of positive pending amounts
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer pendingBillCount = 0;
+
+    private LocalDateTime lastBillDate;
+
+    private LocalDateTime lastPaymentDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedDate = LocalDateTime.now();
+    }
+}
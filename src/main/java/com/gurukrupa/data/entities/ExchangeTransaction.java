@@ -3,9 +3,9 @@ package com.gurukrupa.data.entities;
 import jakarta.persistence.*;
 import lombok.*;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.gurukrupa.utility.PricingKernel;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
@@ -93,14 +93,9 @@ public class ExchangeTransaction {
         
         // Calculate total amount: (netWeight * ratePerTenGrams) / 10
         if (netWeight != null && ratePerTenGrams != null) {
-            totalAmount = netWeight.multiply(ratePerTenGrams)
-                .divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
-            System.out.println("ExchangeTransaction calculated: netWeight=" + netWeight + 
-                ", rate=" + ratePerTenGrams + ", totalAmount=" + totalAmount);
+            totalAmount = PricingKernel.metalValue(netWeight, ratePerTenGrams);
         } else {
             totalAmount = BigDecimal.ZERO;
-            System.out.println("ExchangeTransaction calculation failed: netWeight=" + netWeight + 
-                ", rate=" + ratePerTenGrams);
         }
     }
 }
\ No newline at end of file
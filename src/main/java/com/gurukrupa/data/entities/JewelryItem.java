@@ -4,9 +4,9 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
+import com.gurukrupa.utility.PricingKernel;
 import com.gurukrupa.utility.PurityCalculator;
 
 @Entity
@@ -97,27 +97,9 @@ public class JewelryItem {
     
     public void calculateTotalAmount() {
         if (netWeight != null && goldRate != null && labourCharges != null) {
-            // Calculate gold value: (netWeight * goldRate) / 10
-            BigDecimal goldValue = netWeight.multiply(goldRate).divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
-
-            // Calculate labour charges as percentage of gold value
-            // Note: labourCharges field now stores percentage value (e.g., 10 for 10%)
-            BigDecimal labourChargesAmount = goldValue.multiply(labourCharges).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
-
-            // Add labour charges amount
-            BigDecimal total = goldValue.add(labourChargesAmount);
-
-            // Add stone charges if present
-            if (stoneCharges != null) {
-                total = total.add(stoneCharges);
-            }
-
-            // Add other charges if present
-            if (otherCharges != null) {
-                total = total.add(otherCharges);
-            }
-
-            this.totalAmount = total.setScale(2, RoundingMode.HALF_UP);
+            // Gold value (netWeight * goldRate) / 10, labour as a percentage of it (labourCharges = 10 for 10%),
+            // plus stone and other charges
+            this.totalAmount = PricingKernel.itemTotal(netWeight, goldRate, labourCharges, stoneCharges, otherCharges);
         }
     }
 
@@ -171,8 +153,7 @@ public class JewelryItem {
      */
     public BigDecimal getGoldValue() {
         if (netWeight != null && goldRate != null) {
-            return netWeight.multiply(goldRate)
-                .divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
+            return PricingKernel.metalValue(netWeight, goldRate);
         }
         return BigDecimal.ZERO;
     }
@@ -183,8 +164,7 @@ public class JewelryItem {
     public BigDecimal getLabourChargesAmount() {
         BigDecimal goldValue = getGoldValue();
         if (goldValue.compareTo(BigDecimal.ZERO) > 0 && labourCharges != null) {
-            return goldValue.multiply(labourCharges)
-                .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            return PricingKernel.percentOf(goldValue, labourCharges);
         }
         return BigDecimal.ZERO;
     }
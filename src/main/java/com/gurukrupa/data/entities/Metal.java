@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.*;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.time.LocalDateTime;
 
 @Entity
@@ -28,6 +29,9 @@ public class Metal {
     
     @Column(nullable = false)
     private String purity; // e.g., "24K", "22K", "18K", "92.5"
+
+    @Column(precision = 7, scale = 3)
+    private BigDecimal purityValue; // numeric purity kept in step with purity, e.g. 22, 92.5
     
     @Column(columnDefinition = "TEXT")
     private String description;
@@ -45,11 +49,24 @@ public class Metal {
     protected void onCreate() {
         createdDate = LocalDateTime.now();
         isActive = true;
+        purityValue = normalizePurity(getPurityNumeric());
     }
     
     @PreUpdate
     protected void onUpdate() {
         updatedDate = LocalDateTime.now();
+        purityValue = normalizePurity(getPurityNumeric());
+    }
+
+    /**
+     * Numeric purity in the form stored in purity_value (three decimals, no trailing zeros),
+     * so 22, 22.0 and 22.000 all look up the same metal
+     */
+    public static BigDecimal normalizePurity(BigDecimal numericPurity) {
+        if (numericPurity == null) {
+            return null;
+        }
+        return numericPurity.setScale(3, RoundingMode.HALF_UP).stripTrailingZeros();
     }
 
     /**
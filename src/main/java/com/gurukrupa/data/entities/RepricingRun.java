@@ -0,0 +1,76 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of repricing the items of one metal at a new rate. Items are repriced in
+ * id order a chunk at a time and lastItemId is saved with each chunk, so a run cut
+ * short (shutdown, crash) continues where it stopped.
+ */
+@Entity
+@Table(name = "inventory_repricing_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RepricingRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "metal_id", nullable = false)
+    private Long metalId;
+
+    @Column(name = "metal_rate_id")
+    private Long metalRateId;
+
+    @Column(nullable = false, precision = 12, scale = 2)
+    private BigDecimal goldRate; // Rate per 10 grams
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private RunStatus status = RunStatus.RUNNING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long lastItemId = 0L;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Long itemsRepriced = 0L;
+
+    @Column(nullable = false)
+    private LocalDateTime startedDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Column
+    private LocalDateTime completedDate;
+
+    // Guards against the event listener and the resume job running the same chunk
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        startedDate = LocalDateTime.now();
+        updatedDate = startedDate;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedDate = LocalDateTime.now();
+    }
+
+    public enum RunStatus {
+        RUNNING, COMPLETED, SUPERSEDED
+    }
+}
@@ -0,0 +1,72 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Pending stock reduction for a bill, written in the same transaction as the bill.
+ * The stock reduction listener processes it after commit; entries left pending
+ * (e.g. the application stopped first) are picked up by a periodic retry.
+ */
+@Entity
+@Table(name = "stock_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bill_id", nullable = false, unique = true)
+    private Long billId;
+
+    @Column(nullable = false)
+    private String billNumber;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private OutboxStatus status = OutboxStatus.PENDING;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(length = 500)
+    private String lastError;
+
+    @Column(nullable = false)
+    private LocalDateTime createdDate;
+
+    @Column
+    private LocalDateTime processedDate;
+
+    // Last change of status or attempts; incremental backups pick the entry up by it
+    @Column
+    private LocalDateTime updatedDate;
+
+    // Guards against the listener and the retry processing the same entry twice
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+        updatedDate = createdDate;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedDate = LocalDateTime.now();
+    }
+
+    public enum OutboxStatus {
+        PENDING, PROCESSED, FAILED
+    }
+}
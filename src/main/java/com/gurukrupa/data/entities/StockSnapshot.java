@@ -0,0 +1,60 @@
+package com.gurukrupa.data.entities;
+
+import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
+import com.gurukrupa.data.entities.StockTransaction.TransactionType;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * An item's stock movements from the first transaction to the end of a snapshot date
+ * (month end), one row per transaction type and source. Rows are written only for
+ * items that moved since their previous snapshot, so an item's latest snapshot plus
+ * the transactions after it give its full movement history and balance.
+ */
+@Entity
+@Table(name = "stock_snapshots",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_snapshots_item_date_type_source",
+               columnNames = {"jewelry_item_id", "snapshot_date", "transaction_type", "transaction_source"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "jewelry_item_id", nullable = false)
+    private Long jewelryItemId;
+
+    // Covers transactions dated up to the end of this day
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_type", nullable = false, length = 20)
+    private TransactionType transactionType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "transaction_source", nullable = false, length = 30)
+    private TransactionSource transactionSource;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(nullable = false)
+    private Long quantity;
+
+    @Column(name = "created_date", nullable = false)
+    private LocalDateTime createdDate;
+
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * How many of an item were found in a stock-take session. The system quantity is
+ * kept from when the item was first counted, so sales and purchases during a long
+ * audit are not mistaken for variances.
+ */
+@Entity
+@Table(name = "stock_take_counts",
+       uniqueConstraints = @UniqueConstraint(name = "uk_stock_take_counts_session_item",
+                                             columnNames = {"session_id", "jewelry_item_id"}))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTakeCount {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_id", nullable = false)
+    private Long sessionId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "jewelry_item_id", nullable = false)
+    private JewelryItem jewelryItem;
+
+    @Column(name = "counted_quantity", nullable = false)
+    private Integer countedQuantity;
+
+    // JewelryItem.quantity when the item was first counted
+    @Column(name = "system_quantity", nullable = false)
+    private Integer systemQuantity;
+
+    @Column(name = "counted_by", length = 100)
+    private String countedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime countedDate;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        countedDate = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,84 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A physical stock audit. Items are counted into {@link StockTakeCount} rows as they
+ * are scanned, so a session can be paused and resumed over several days; posting it
+ * adjusts every item whose count differs from the system quantity in one batch.
+ */
+@Entity
+@Table(name = "stock_take_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockTakeSession {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "session_number", nullable = false, unique = true, length = 30)
+    private String sessionNumber;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    @Builder.Default
+    private SessionStatus status = SessionStatus.OPEN;
+
+    @Column(length = 255)
+    private String remarks;
+
+    @Column(name = "started_by", length = 100)
+    private String startedBy;
+
+    @Column(name = "posted_by", length = 100)
+    private String postedBy;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer adjustmentsPosted = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime startedDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Column
+    private LocalDateTime pausedDate;
+
+    @Column
+    private LocalDateTime postedDate;
+
+    // Counting stations and the post must not act on a stale status
+    @Version
+    private Long version;
+
+    @PrePersist
+    protected void onCreate() {
+        startedDate = LocalDateTime.now();
+        updatedDate = startedDate;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedDate = LocalDateTime.now();
+    }
+
+    public boolean isFinished() {
+        return status == SessionStatus.POSTED || status == SessionStatus.CANCELLED;
+    }
+
+    public enum SessionStatus {
+        OPEN,      // Counting
+        PAUSED,    // Counts kept, no counting until resumed
+        POSTED,    // Adjustments recorded
+        CANCELLED  // Closed without adjusting stock
+    }
+}
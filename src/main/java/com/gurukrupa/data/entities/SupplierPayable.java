@@ -0,0 +1,76 @@
+package com.gurukrupa.data.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Per-supplier payables summary, kept in step with the supplier's purchase invoices.
+ * Maintained by SupplierPayableService whenever an invoice is saved or a payment
+ * is made; cancelled invoices are not counted.
+ */
+@Entity
+@Table(name = "supplier_payables")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SupplierPayable {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "supplier_id", nullable = false, unique = true)
+    private Supplier supplier;
+
+    /**
+     * Sum of grand totals of the supplier's invoices
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalInvoiced = BigDecimal.ZERO;
+
+    /**
+     * Sum of amounts paid against those invoices
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal totalPaid = BigDecimal.ZERO;
+
+    /**
+     * Sum of positive pending amounts
+     */
+    @Column(nullable = false, precision = 15, scale = 2)
+    @Builder.Default
+    private BigDecimal pendingAmount = BigDecimal.ZERO;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer pendingInvoiceCount = 0;
+
+    /**
+     * Invoice date of the oldest invoice still pending
+     */
+    private LocalDateTime oldestPendingDate;
+
+    private LocalDateTime lastInvoiceDate;
+
+    private LocalDateTime lastPaymentDate;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedDate;
+
+    @Version
+    private Long version;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedDate = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,18 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.ArchiveCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface ArchiveCheckpointRepository extends JpaRepository<ArchiveCheckpoint, Long> {
+
+    Optional<ArchiveCheckpoint> findFirstByOrderByArchivedBeforeDesc();
+
+    Optional<ArchiveCheckpoint> findFirstByStatusOrderByArchivedBeforeDesc(ArchiveCheckpoint.ArchiveStatus status);
+
+    List<ArchiveCheckpoint> findAllByOrderByArchivedBeforeDesc();
+}
@@ -0,0 +1,99 @@
+package com.gurukrupa.data.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * The "include archive" switch for reads. Closed financial years are moved out of the
+ * live history tables into {@code <table>_archive} tables (see ArchiveService). Inside
+ * {@link #include} every SELECT prepared on the current thread reads those tables through
+ * their {@code <table>_all} views (live UNION ALL archive) instead, so the usual
+ * repository methods and lazy loads see the whole history. Writes always go to the live
+ * tables. Outside a scope, or while nothing is archived, SQL is left as it is.
+ */
+public final class ArchiveScope {
+
+    // History tables that have archive tables, children before parents
+    public static final List<String> TABLES = List.of("bill_transactions", "payment_modes", "bills",
+            "stock_transactions", "bank_transactions", "exchange_metal_transactions");
+
+    private static final Pattern ARCHIVED_TABLE = Pattern.compile(
+            "(?i)\\b(from|join)\\s+(" + String.join("|", TABLES) + ")\\b");
+    private static final Pattern SELECT = Pattern.compile("(?i)^\\s*(select|with)\\b");
+
+    private static final ThreadLocal<Integer> DEPTH = new ThreadLocal<>();
+
+    // Start of the first financial year still wholly live; null while nothing is archived
+    private static volatile LocalDateTime archivedBefore;
+
+    private ArchiveScope() {
+    }
+
+    /**
+     * Run reads that include archived rows; scopes nest
+     */
+    public static <T> T include(Supplier<T> reads) {
+        Integer depth = DEPTH.get();
+        DEPTH.set(depth == null ? 1 : depth + 1);
+        try {
+            return reads.get();
+        } finally {
+            if (depth == null) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    public static void include(Runnable reads) {
+        include(() -> {
+            reads.run();
+            return null;
+        });
+    }
+
+    /**
+     * Run reads that start at {@code from}, including archived rows only when that is
+     * before the archived cutoff
+     */
+    public static <T> T includeFrom(LocalDateTime from, Supplier<T> reads) {
+        return isArchived(from) ? include(reads) : reads.get();
+    }
+
+    public static boolean isIncluded() {
+        return DEPTH.get() != null;
+    }
+
+    /**
+     * Whether rows dated at this time may have been moved to the archive
+     */
+    public static boolean isArchived(LocalDateTime dateTime) {
+        LocalDateTime before = archivedBefore;
+        return before != null && dateTime != null && dateTime.isBefore(before);
+    }
+
+    public static LocalDateTime getArchivedBefore() {
+        return archivedBefore;
+    }
+
+    /**
+     * Set once the archive tables and views are in place
+     */
+    public static void setArchivedBefore(LocalDateTime before) {
+        archivedBefore = before;
+    }
+
+    /**
+     * Point a SELECT at the live-plus-archive views when the current thread includes the
+     * archive; called for every statement Hibernate prepares
+     */
+    public static String route(String sql) {
+        if (archivedBefore == null || DEPTH.get() == null || !SELECT.matcher(sql).find()) {
+            return sql;
+        }
+        return ARCHIVED_TABLE.matcher(sql).replaceAll("$1 $2_all");
+    }
+}
@@ -0,0 +1,37 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.BankBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BankBalanceCheckpointRepository extends JpaRepository<BankBalanceCheckpoint, Long> {
+
+    Optional<BankBalanceCheckpoint> findFirstByBankAccountIdOrderByCheckpointDateDesc(Long bankAccountId);
+
+    Optional<BankBalanceCheckpoint> findFirstByBankAccountIdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(
+            Long bankAccountId, LocalDate date);
+
+    // Period totals from checkpoints: [credits, debits, transactionCount]
+    @Query("SELECT COALESCE(SUM(c.dayCredits), 0), COALESCE(SUM(c.dayDebits), 0), COALESCE(SUM(c.transactionCount), 0) " +
+           "FROM BankBalanceCheckpoint c WHERE c.bankAccount.id = :bankAccountId " +
+           "AND c.checkpointDate BETWEEN :fromDate AND :toDate")
+    List<Object[]> getTotalsBetween(@Param("bankAccountId") Long bankAccountId,
+                                    @Param("fromDate") LocalDate fromDate,
+                                    @Param("toDate") LocalDate toDate);
+
+    @Modifying
+    @Query("DELETE FROM BankBalanceCheckpoint c WHERE c.bankAccount.id = :bankAccountId")
+    void deleteByBankAccountId(@Param("bankAccountId") Long bankAccountId);
+
+    @Modifying
+    @Query("DELETE FROM BankBalanceCheckpoint c WHERE c.bankAccount.id = :bankAccountId AND c.checkpointDate >= :fromDate")
+    int deleteFromDate(@Param("bankAccountId") Long bankAccountId, @Param("fromDate") LocalDate fromDate);
+}
@@ -4,7 +4,9 @@ import com.gurukrupa.data.entities.BankTransaction;
 import com.gurukrupa.data.entities.BankTransaction.TransactionType;
 import com.gurukrupa.data.entities.BankTransaction.TransactionSource;
 import com.gurukrupa.data.entities.BankAccount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -43,6 +45,13 @@ public interface BankTransactionRepository extends JpaRepository<BankTransaction
                                                        @Param("startDate") LocalDateTime startDate,
                                                        @Param("endDate") LocalDateTime endDate);
     
+    // Same, with archived years when includeArchive is set
+    default List<BankTransaction> findByBankAccountAndDateRange(Long bankAccountId, LocalDateTime startDate,
+                                                                LocalDateTime endDate, boolean includeArchive) {
+        return includeArchive ? ArchiveScope.include(() -> findByBankAccountAndDateRange(bankAccountId, startDate, endDate))
+                : findByBankAccountAndDateRange(bankAccountId, startDate, endDate);
+    }
+    
     // Find unreconciled transactions
     @Query("SELECT bt FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
            "AND bt.isReconciled = false ORDER BY bt.transactionDate")
@@ -89,4 +98,66 @@ public interface BankTransactionRepository extends JpaRepository<BankTransaction
     List<Object[]> getMonthlySummary(@Param("bankAccountId") Long bankAccountId,
                                     @Param("startDate") LocalDateTime startDate,
                                     @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    // Latest transaction on or before a date (balance lookup)
+    Optional<BankTransaction> findFirstByBankAccountIdAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(
+            Long bankAccountId, LocalDateTime date);
+    
+    // Most recent transactions for display
+    List<BankTransaction> findTop50ByBankAccountIdOrderByTransactionDateDescIdDesc(Long bankAccountId);
+    
+    // Day-wise totals: [day, credits, debits, count]
+    @Query("SELECT DATE(bt.transactionDate), " +
+           "COALESCE(SUM(CASE WHEN bt.transactionType = 'CREDIT' THEN bt.amount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN bt.transactionType = 'DEBIT' THEN bt.amount ELSE 0 END), 0), " +
+           "COUNT(bt) " +
+           "FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
+           "AND (:startDate IS NULL OR bt.transactionDate >= :startDate) AND bt.transactionDate < :endDate " +
+           "GROUP BY DATE(bt.transactionDate) ORDER BY DATE(bt.transactionDate)")
+    List<Object[]> getDailyTotals(@Param("bankAccountId") Long bankAccountId,
+                                  @Param("startDate") LocalDateTime startDate,
+                                  @Param("endDate") LocalDateTime endDate);
+    
+    // Totals for a half-open range: [credits, debits, count]
+    @Query("SELECT COALESCE(SUM(CASE WHEN bt.transactionType = 'CREDIT' THEN bt.amount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN bt.transactionType = 'DEBIT' THEN bt.amount ELSE 0 END), 0), " +
+           "COUNT(bt) " +
+           "FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
+           "AND bt.transactionDate >= :startDate AND bt.transactionDate < :endDate")
+    List<Object[]> getTotalsBetween(@Param("bankAccountId") Long bankAccountId,
+                                    @Param("startDate") LocalDateTime startDate,
+                                    @Param("endDate") LocalDateTime endDate);
+    
+    // Statement rows after a (date, id) cursor, oldest first
+    @Query("SELECT bt FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
+           "AND bt.transactionDate < :endDate " +
+           "AND (bt.transactionDate > :afterDate OR (bt.transactionDate = :afterDate AND bt.id > :afterId)) " +
+           "ORDER BY bt.transactionDate, bt.id")
+    List<BankTransaction> findStatementPage(@Param("bankAccountId") Long bankAccountId,
+                                            @Param("afterDate") LocalDateTime afterDate,
+                                            @Param("afterId") Long afterId,
+                                            @Param("endDate") LocalDateTime endDate,
+                                            Pageable pageable);
+    
+    // Prefix search on the transaction reference (idx_bank_txn_transaction_reference, V8)
+    @Query("SELECT bt FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
+           "AND bt.transactionReference LIKE CONCAT(:keyword, '%') " +
+           "ORDER BY bt.transactionDate DESC")
+    List<BankTransaction> searchByPrefix(@Param("bankAccountId") Long bankAccountId,
+                                         @Param("keyword") String keyword);
+    
+    // Unreconciled transactions within a date range (statement import)
+    @Query("SELECT bt FROM BankTransaction bt WHERE bt.bankAccount.id = :bankAccountId " +
+           "AND bt.isReconciled = false AND bt.transactionDate >= :startDate AND bt.transactionDate < :endDate")
+    List<BankTransaction> findUnreconciledByBankAccountAndDateRange(@Param("bankAccountId") Long bankAccountId,
+                                                                    @Param("startDate") LocalDateTime startDate,
+                                                                    @Param("endDate") LocalDateTime endDate);
+    
+    // Mark a batch of transactions reconciled in one statement
+    @Modifying
+    @Query("UPDATE BankTransaction bt SET bt.isReconciled = true, bt.reconciledDate = :reconciledDate, " +
+           "bt.reconciledBy = :reconciledBy, bt.updatedDate = :reconciledDate WHERE bt.id IN :ids")
+    int markReconciled(@Param("ids") List<Long> ids,
+                       @Param("reconciledDate") LocalDateTime reconciledDate,
+                       @Param("reconciledBy") String reconciledBy);
+}
@@ -30,6 +30,12 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     
     List<Bill> findByBillDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    // Same, with archived years when includeArchive is set
+    default List<Bill> findByBillDateBetween(LocalDateTime startDate, LocalDateTime endDate, boolean includeArchive) {
+        return includeArchive ? ArchiveScope.include(() -> findByBillDateBetween(startDate, endDate))
+                : findByBillDateBetween(startDate, endDate);
+    }
+    
     @Query("SELECT b FROM Bill b WHERE b.createdDate BETWEEN :startDate AND :endDate ORDER BY b.createdDate DESC")
     List<Bill> findBillsByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
     
@@ -65,4 +71,19 @@ public interface BillRepository extends JpaRepository<Bill, Long> {
     // Get collected amount for date range
     @Query("SELECT COALESCE(SUM(b.paidAmount), 0) FROM Bill b WHERE b.billDate BETWEEN :startDate AND :endDate AND b.status IN ('PAID', 'CONFIRMED')")
     Double getCollectedAmountByDateRange(@Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate);
-}
\ No newline at end of file
+    
+    List<Bill> findByCustomerIdAndPendingAmountGreaterThanOrderByBillDateDesc(Long customerId, BigDecimal amount);
+    
+    // Receivable totals per customer: [customerId, totalBilled, totalPaid, pending, pendingBillCount, lastBillDate]
+    @Query("SELECT b.customer.id, COALESCE(SUM(b.grandTotal), 0), COALESCE(SUM(b.paidAmount), 0), " +
+           "COALESCE(SUM(CASE WHEN b.pendingAmount > 0 THEN b.pendingAmount ELSE 0 END), 0), " +
+           "SUM(CASE WHEN b.pendingAmount > 0 THEN 1 ELSE 0 END), MAX(b.billDate) " +
+           "FROM Bill b WHERE b.customer.id = :customerId GROUP BY b.customer.id")
+    List<Object[]> getReceivableTotalsByCustomerId(@Param("customerId") Long customerId);
+    
+    @Query("SELECT b.customer.id, COALESCE(SUM(b.grandTotal), 0), COALESCE(SUM(b.paidAmount), 0), " +
+           "COALESCE(SUM(CASE WHEN b.pendingAmount > 0 THEN b.pendingAmount ELSE 0 END), 0), " +
+           "SUM(CASE WHEN b.pendingAmount > 0 THEN 1 ELSE 0 END), MAX(b.billDate) " +
+           "FROM Bill b GROUP BY b.customer.id")
+    List<Object[]> getReceivableTotalsForAllCustomers();
+}
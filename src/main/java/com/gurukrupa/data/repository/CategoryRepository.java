@@ -16,6 +16,8 @@ public interface CategoryRepository extends JpaRepository<Category, Long> {
     
     List<Category> findByIsActiveTrue();
     
+    long countByIsActiveTrue();
+    
     @Query("SELECT c FROM Category c WHERE c.isActive = true ORDER BY c.categoryName")
     List<Category> findAllActiveCategories();
     
@@ -48,4 +48,10 @@ public interface CustomerPaymentRepository extends JpaRepository<CustomerPayment
     @Query("SELECT COUNT(cp) FROM CustomerPayment cp WHERE cp.paymentDate BETWEEN :startDate AND :endDate")
     Long countPaymentsByDateRange(@Param("startDate") LocalDateTime startDate,
                                    @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Date of the latest payment received from a customer
+     */
+    @Query("SELECT MAX(cp.paymentDate) FROM CustomerPayment cp WHERE cp.customer.id = :customerId")
+    LocalDateTime findLastPaymentDateByCustomerId(@Param("customerId") Long customerId);
 }
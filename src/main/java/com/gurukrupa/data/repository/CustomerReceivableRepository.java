@@ -0,0 +1,13 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.CustomerReceivable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface CustomerReceivableRepository extends JpaRepository<CustomerReceivable, Long> {
+
+    Optional<CustomerReceivable> findByCustomerId(Long customerId);
+}
@@ -27,6 +27,13 @@ public interface ExchangeMetalTransactionRepository extends JpaRepository<Exchan
     
     List<ExchangeMetalTransaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    // Same, with archived years when includeArchive is set
+    default List<ExchangeMetalTransaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                                                        boolean includeArchive) {
+        return includeArchive ? ArchiveScope.include(() -> findByTransactionDateBetween(startDate, endDate))
+                : findByTransactionDateBetween(startDate, endDate);
+    }
+    
     @Query("SELECT emt FROM ExchangeMetalTransaction emt WHERE emt.metalStock.metalType = :metalType " +
            "ORDER BY emt.transactionDate DESC")
     List<ExchangeMetalTransaction> findByMetalType(@Param("metalType") String metalType);
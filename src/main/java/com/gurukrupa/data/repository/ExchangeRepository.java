@@ -32,8 +32,7 @@ public interface ExchangeRepository extends JpaRepository<Exchange, Long> {
                                                        @Param("startDate") LocalDateTime startDate,
                                                        @Param("endDate") LocalDateTime endDate);
     
-    @Query("SELECT COUNT(e) FROM Exchange e WHERE e.exchangeNumber LIKE :prefix%")
-    long countByExchangeNumberPrefix(@Param("prefix") String prefix);
+    Optional<Exchange> findFirstByExchangeNumberStartingWithOrderByExchangeNumberDesc(String prefix);
     
     @Query("SELECT e FROM Exchange e WHERE e.customer.id = :customerId AND e.status = 'ACTIVE' ORDER BY e.exchangeDate DESC")
     List<Exchange> findActiveExchangesByCustomerId(@Param("customerId") Long customerId);
@@ -1,12 +1,16 @@
 package com.gurukrupa.data.repository;
 
 import com.gurukrupa.data.entities.JewelryItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,15 +20,58 @@ public interface JewelryItemRepository extends JpaRepository<JewelryItem, Long>
     // Find by item code (unique identifier)
     Optional<JewelryItem> findByItemCode(String itemCode);
     
+    // Items added since a time, for printing their tags
+    List<JewelryItem> findByCreatedDateGreaterThanEqualOrderByItemCodeAsc(LocalDateTime since);
+    
+    // [id, itemCode, itemName, category, metalType] of the given items, for reports
+    @Query("SELECT j.id, j.itemCode, j.itemName, j.category, j.metalType FROM JewelryItem j WHERE j.id IN :ids")
+    List<Object[]> findReportAttributesByIds(@Param("ids") Collection<Long> ids);
+    
     // Find by item name (partial match)
     List<JewelryItem> findByItemNameContainingIgnoreCase(String itemName);
     
     // Find by category
     List<JewelryItem> findByCategory(String category);
     
+    long countByCategoryAndIsActiveTrue(String category);
+    
+    // Active item count per category, blank categories left out
+    @Query("SELECT j.category, COUNT(j) FROM JewelryItem j WHERE j.isActive = true " +
+           "AND j.category IS NOT NULL AND TRIM(j.category) <> '' GROUP BY j.category")
+    List<Object[]> countActiveItemsByCategory();
+    
+    @Query("SELECT j.category, COUNT(j) FROM JewelryItem j " +
+           "WHERE j.category IS NOT NULL AND TRIM(j.category) <> '' GROUP BY j.category")
+    List<Object[]> countItemsByCategory();
+    
     // Find by metal type
     List<JewelryItem> findByMetalType(String metalType);
     
+    // Stock of active items per metal and purity: quantity and total net weight
+    @Query("SELECT j.metal.id, j.purity, SUM(j.quantity), SUM(j.netWeight * j.quantity) FROM JewelryItem j " +
+           "WHERE j.isActive = true AND j.quantity > 0 GROUP BY j.metal.id, j.purity")
+    List<Object[]> sumActiveStockByMetalAndPurity();
+    
+    // Next chunk of active item ids of a metal, in id order
+    @Query("SELECT j.id FROM JewelryItem j WHERE j.metal.id = :metalId AND j.isActive = true AND j.id > :afterId ORDER BY j.id")
+    List<Long> findActiveItemIdsByMetalAfter(@Param("metalId") Long metalId, @Param("afterId") Long afterId, Pageable pageable);
+    
+    // Set-based JewelryItem.calculateTotalAmount at a new gold rate for an id range;
+    // rows already at the rate are left alone so repeating a range changes nothing
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE JewelryItem j SET j.goldRate = :goldRate, j.updatedDate = :updatedDate, " +
+           "j.totalAmount = CASE WHEN j.netWeight IS NULL THEN j.totalAmount ELSE ROUND(" +
+           "ROUND(j.netWeight * :goldRate / 10, 2) " +
+           "+ ROUND(ROUND(j.netWeight * :goldRate / 10, 2) * j.labourCharges / 100, 2) " +
+           "+ COALESCE(j.stoneCharges, 0) + COALESCE(j.otherCharges, 0), 2) END " +
+           "WHERE j.metal.id = :metalId AND j.isActive = true AND j.id > :afterId AND j.id <= :upToId " +
+           "AND j.goldRate <> :goldRate")
+    int repriceRange(@Param("metalId") Long metalId,
+                     @Param("afterId") Long afterId,
+                     @Param("upToId") Long upToId,
+                     @Param("goldRate") BigDecimal goldRate,
+                     @Param("updatedDate") LocalDateTime updatedDate);
+    
     // Find by purity
     List<JewelryItem> findByPurity(BigDecimal purity);
     
@@ -81,4 +128,8 @@ public interface JewelryItemRepository extends JpaRepository<JewelryItem, Long>
     // Get items by item code for autocomplete
     @Query("SELECT j.itemCode FROM JewelryItem j WHERE j.isActive = true AND LOWER(j.itemCode) LIKE LOWER(CONCAT('%', :query, '%'))")
     List<String> findItemCodesForAutoComplete(@Param("query") String query);
+    
+    // Id and item code of every item (item code index)
+    @Query("SELECT j.id, j.itemCode FROM JewelryItem j")
+    List<Object[]> findAllItemCodes();
 }
\ No newline at end of file
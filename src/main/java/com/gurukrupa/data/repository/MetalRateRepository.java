@@ -31,6 +31,11 @@ public interface MetalRateRepository extends JpaRepository<MetalRate, Long> {
     @Query("SELECT mr FROM MetalRate mr WHERE mr.metal.id = :metalId AND mr.rateDate <= :date ORDER BY mr.rateDate DESC")
     List<MetalRate> findLatestRateForMetal(@Param("metalId") Long metalId, @Param("date") LocalDate date);
     
+    // Latest rate on or before the date for every metal that has one
+    @Query("SELECT mr FROM MetalRate mr WHERE mr.rateDate = " +
+           "(SELECT MAX(r.rateDate) FROM MetalRate r WHERE r.metal.id = mr.metal.id AND r.rateDate <= :date)")
+    List<MetalRate> findLatestRatesForAllMetals(@Param("date") LocalDate date);
+    
     @Query("SELECT mr FROM MetalRate mr JOIN FETCH mr.metal WHERE mr.rateDate = :date")
     List<MetalRate> findByRateDateWithMetal(@Param("date") LocalDate date);
     
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +19,12 @@ public interface MetalRepository extends JpaRepository<Metal, Long> {
     // Find by metal type
     List<Metal> findByMetalType(String metalType);
     
+    // Find by metal type and stored numeric purity
+    Optional<Metal> findFirstByMetalTypeAndPurityValueOrderByIdAsc(String metalType, BigDecimal purityValue);
+
+    // Metals saved before purity_value existed
+    List<Metal> findByPurityValueIsNull();
+    
     // Find active metals only
     List<Metal> findByIsActiveTrue();
     
@@ -75,4 +75,36 @@ public interface PurchaseInvoiceRepository extends JpaRepository<PurchaseInvoice
     // Check if supplier invoice number already exists
     @Query("SELECT CASE WHEN COUNT(pi) > 0 THEN true ELSE false END FROM PurchaseInvoice pi WHERE pi.supplierInvoiceNumber = :supplierInvoiceNumber AND pi.supplier.id = :supplierId")
     boolean existsBySupplierInvoiceNumberAndSupplierId(@Param("supplierInvoiceNumber") String supplierInvoiceNumber, @Param("supplierId") Long supplierId);
+    
+    // Invoices still owing money, excluding cancelled ones
+    @Query("SELECT pi FROM PurchaseInvoice pi WHERE pi.supplier.id = :supplierId AND pi.pendingAmount > 0 AND pi.status != 'CANCELLED' ORDER BY pi.invoiceDate DESC")
+    List<PurchaseInvoice> findPendingInvoicesBySupplierId(@Param("supplierId") Long supplierId);
+    
+    // Payable totals per supplier: [supplierId, totalInvoiced, totalPaid, pending, pendingInvoiceCount, oldestPendingDate, lastInvoiceDate]
+    @Query("SELECT pi.supplier.id, COALESCE(SUM(pi.grandTotal), 0), COALESCE(SUM(pi.paidAmount), 0), " +
+           "COALESCE(SUM(CASE WHEN pi.pendingAmount > 0 THEN pi.pendingAmount ELSE 0 END), 0), " +
+           "SUM(CASE WHEN pi.pendingAmount > 0 THEN 1 ELSE 0 END), " +
+           "MIN(CASE WHEN pi.pendingAmount > 0 THEN pi.invoiceDate END), MAX(pi.invoiceDate) " +
+           "FROM PurchaseInvoice pi WHERE pi.supplier.id = :supplierId AND pi.status != 'CANCELLED' GROUP BY pi.supplier.id")
+    List<Object[]> getPayableTotalsBySupplierId(@Param("supplierId") Long supplierId);
+    
+    @Query("SELECT pi.supplier.id, COALESCE(SUM(pi.grandTotal), 0), COALESCE(SUM(pi.paidAmount), 0), " +
+           "COALESCE(SUM(CASE WHEN pi.pendingAmount > 0 THEN pi.pendingAmount ELSE 0 END), 0), " +
+           "SUM(CASE WHEN pi.pendingAmount > 0 THEN 1 ELSE 0 END), " +
+           "MIN(CASE WHEN pi.pendingAmount > 0 THEN pi.invoiceDate END), MAX(pi.invoiceDate) " +
+           "FROM PurchaseInvoice pi WHERE pi.status != 'CANCELLED' GROUP BY pi.supplier.id")
+    List<Object[]> getPayableTotalsForAllSuppliers();
+    
+    // Pending amount by invoice age: [supplierId, 0-30, 31-60, 61-90, 90+]
+    @Query("SELECT pi.supplier.id, " +
+           "COALESCE(SUM(CASE WHEN pi.invoiceDate >= :cutoff30 THEN pi.pendingAmount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN pi.invoiceDate < :cutoff30 AND pi.invoiceDate >= :cutoff60 THEN pi.pendingAmount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN pi.invoiceDate < :cutoff60 AND pi.invoiceDate >= :cutoff90 THEN pi.pendingAmount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN pi.invoiceDate < :cutoff90 THEN pi.pendingAmount ELSE 0 END), 0) " +
+           "FROM PurchaseInvoice pi WHERE pi.pendingAmount > 0 AND pi.status != 'CANCELLED' " +
+           "AND (:supplierId IS NULL OR pi.supplier.id = :supplierId) GROUP BY pi.supplier.id")
+    List<Object[]> getPendingAging(@Param("supplierId") Long supplierId,
+                                   @Param("cutoff30") LocalDateTime cutoff30,
+                                   @Param("cutoff60") LocalDateTime cutoff60,
+                                   @Param("cutoff90") LocalDateTime cutoff90);
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.RepricingRun;
+import com.gurukrupa.data.entities.RepricingRun.RunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RepricingRunRepository extends JpaRepository<RepricingRun, Long> {
+
+    List<RepricingRun> findByMetalIdAndStatus(Long metalId, RunStatus status);
+
+    @Query("SELECT r.id FROM RepricingRun r WHERE r.status = :status AND r.updatedDate < :updatedBefore ORDER BY r.id")
+    List<Long> findStalledRunIds(@Param("status") RunStatus status,
+                                 @Param("updatedBefore") LocalDateTime updatedBefore);
+}
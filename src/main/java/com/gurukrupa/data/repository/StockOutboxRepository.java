@@ -0,0 +1,24 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.StockOutboxEntry;
+import com.gurukrupa.data.entities.StockOutboxEntry.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockOutboxRepository extends JpaRepository<StockOutboxEntry, Long> {
+
+    Optional<StockOutboxEntry> findByBillId(Long billId);
+
+    @Query("SELECT e.billId FROM StockOutboxEntry e WHERE e.status <> :processed " +
+           "AND e.attempts < :maxAttempts AND e.createdDate < :createdBefore ORDER BY e.id")
+    List<Long> findRetryableBillIds(@Param("processed") OutboxStatus processed,
+                                    @Param("maxAttempts") int maxAttempts,
+                                    @Param("createdBefore") LocalDateTime createdBefore);
+}
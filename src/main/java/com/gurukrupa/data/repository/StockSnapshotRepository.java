@@ -0,0 +1,40 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.StockSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockSnapshotRepository extends JpaRepository<StockSnapshot, Long> {
+
+    boolean existsBySnapshotDate(LocalDate snapshotDate);
+
+    @Query("SELECT MAX(s.snapshotDate) FROM StockSnapshot s")
+    LocalDate findLatestSnapshotDate();
+
+    @Query("SELECT MAX(s.snapshotDate) FROM StockSnapshot s WHERE s.snapshotDate < :before")
+    LocalDate findLatestSnapshotDateBefore(@Param("before") LocalDate before);
+
+    // An item's latest snapshot date before the given date (its rows are sparse)
+    @Query("SELECT MAX(s.snapshotDate) FROM StockSnapshot s WHERE s.jewelryItemId = :itemId AND s.snapshotDate < :before")
+    LocalDate findLatestSnapshotDateForItem(@Param("itemId") Long itemId, @Param("before") LocalDate before);
+
+    List<StockSnapshot> findByJewelryItemIdAndSnapshotDate(Long jewelryItemId, LocalDate snapshotDate);
+
+    // Each item's rows from its latest snapshot before the given date
+    @Query("SELECT s FROM StockSnapshot s WHERE s.jewelryItemId IN :itemIds AND s.snapshotDate = " +
+           "(SELECT MAX(s2.snapshotDate) FROM StockSnapshot s2 WHERE s2.jewelryItemId = s.jewelryItemId AND s2.snapshotDate < :before)")
+    List<StockSnapshot> findLatestSnapshotsForItems(@Param("itemIds") Collection<Long> itemIds,
+                                                    @Param("before") LocalDate before);
+
+    // Every item's rows from its latest snapshot on or before the given date, as [itemId, type, quantity]
+    @Query("SELECT s.jewelryItemId, s.transactionType, s.quantity FROM StockSnapshot s WHERE s.snapshotDate = " +
+           "(SELECT MAX(s2.snapshotDate) FROM StockSnapshot s2 WHERE s2.jewelryItemId = s.jewelryItemId AND s2.snapshotDate <= :date)")
+    List<Object[]> findBalancesAsOf(@Param("date") LocalDate date);
+}
@@ -0,0 +1,52 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.StockTakeCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockTakeCountRepository extends JpaRepository<StockTakeCount, Long> {
+
+    Optional<StockTakeCount> findBySessionIdAndJewelryItemId(Long sessionId, Long jewelryItemId);
+
+    // One statement per scan, so two counting stations do not lose each other's counts
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE StockTakeCount c SET c.countedQuantity = c.countedQuantity + :quantity, " +
+           "c.countedBy = :countedBy, c.countedDate = :countedDate " +
+           "WHERE c.sessionId = :sessionId AND c.jewelryItem.id = :itemId")
+    int addToCount(@Param("sessionId") Long sessionId, @Param("itemId") Long itemId,
+                   @Param("quantity") int quantity, @Param("countedBy") String countedBy,
+                   @Param("countedDate") LocalDateTime countedDate);
+
+    // Count an item, inserting its row on the first count; the system quantity is kept from
+    // the insert
+    @Modifying(clearAutomatically = true)
+    @Query(value = "INSERT INTO stock_take_counts (session_id, jewelry_item_id, counted_quantity, system_quantity, " +
+                   "counted_by, counted_date) VALUES (:sessionId, :itemId, :quantity, :systemQuantity, :countedBy, :countedDate) " +
+                   "ON DUPLICATE KEY UPDATE counted_quantity = counted_quantity + :quantity, " +
+                   "counted_by = :countedBy, counted_date = :countedDate",
+           nativeQuery = true)
+    int addOrCreateCount(@Param("sessionId") Long sessionId, @Param("itemId") Long itemId,
+                         @Param("quantity") int quantity, @Param("systemQuantity") int systemQuantity,
+                         @Param("countedBy") String countedBy, @Param("countedDate") LocalDateTime countedDate);
+
+    // Items counted and total units counted: [count, sum]
+    @Query("SELECT COUNT(c), COALESCE(SUM(c.countedQuantity), 0) FROM StockTakeCount c WHERE c.sessionId = :sessionId")
+    List<Object[]> summarizeSession(@Param("sessionId") Long sessionId);
+
+    // Items whose count differs from the system quantity: [itemId, itemCode, itemName, systemQuantity,
+    // countedQuantity]. Active items not counted at all count as zero.
+    @Query("SELECT i.id, i.itemCode, i.itemName, COALESCE(c.systemQuantity, i.quantity, 0), COALESCE(c.countedQuantity, 0) " +
+           "FROM JewelryItem i LEFT JOIN StockTakeCount c ON c.jewelryItem.id = i.id AND c.sessionId = :sessionId " +
+           "WHERE (i.isActive = true OR c.id IS NOT NULL) " +
+           "AND COALESCE(c.countedQuantity, 0) <> COALESCE(c.systemQuantity, i.quantity, 0) " +
+           "ORDER BY i.itemCode")
+    List<Object[]> findVariances(@Param("sessionId") Long sessionId);
+}
@@ -0,0 +1,20 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.StockTakeSession;
+import com.gurukrupa.data.entities.StockTakeSession.SessionStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface StockTakeSessionRepository extends JpaRepository<StockTakeSession, Long> {
+
+    List<StockTakeSession> findByStatusInOrderByStartedDateDesc(Collection<SessionStatus> statuses);
+
+    List<StockTakeSession> findAllByOrderByStartedDateDesc();
+
+    long countByStartedDateBetween(LocalDateTime from, LocalDateTime to);
+}
@@ -3,6 +3,7 @@ package com.gurukrupa.data.repository;
 import com.gurukrupa.data.entities.StockTransaction;
 import com.gurukrupa.data.entities.StockTransaction.TransactionType;
 import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,6 +33,13 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     // Find by date range
     List<StockTransaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
+    // Same, with archived years when includeArchive is set
+    default List<StockTransaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate,
+                                                                boolean includeArchive) {
+        return includeArchive ? ArchiveScope.include(() -> findByTransactionDateBetween(startDate, endDate))
+                : findByTransactionDateBetween(startDate, endDate);
+    }
+    
     // Find by jewelry item and date range
     List<StockTransaction> findByJewelryItemIdAndTransactionDateBetween(
         Long jewelryItemId, LocalDateTime startDate, LocalDateTime endDate);
@@ -40,6 +48,20 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     @Query("SELECT st FROM StockTransaction st WHERE st.jewelryItem.id = :itemId ORDER BY st.transactionDate DESC, st.id DESC")
     List<StockTransaction> findLatestByJewelryItemId(@Param("itemId") Long itemId);
     
+    Optional<StockTransaction> findFirstByJewelryItemIdOrderByTransactionDateDescIdDesc(Long jewelryItemId);
+    
+    // Item history a page at a time, newest first; pass the last row of the previous page as the cursor
+    @Query("SELECT st FROM StockTransaction st WHERE st.jewelryItem.id = :itemId ORDER BY st.transactionDate DESC, st.id DESC")
+    List<StockTransaction> findItemHistoryFirstPage(@Param("itemId") Long itemId, Pageable pageable);
+    
+    @Query("SELECT st FROM StockTransaction st WHERE st.jewelryItem.id = :itemId " +
+           "AND (st.transactionDate < :beforeDate OR (st.transactionDate = :beforeDate AND st.id < :beforeId)) " +
+           "ORDER BY st.transactionDate DESC, st.id DESC")
+    List<StockTransaction> findItemHistoryPageBefore(@Param("itemId") Long itemId,
+                                                     @Param("beforeDate") LocalDateTime beforeDate,
+                                                     @Param("beforeId") Long beforeId,
+                                                     Pageable pageable);
+    
     // Calculate total IN quantity for an item
     @Query("SELECT COALESCE(SUM(st.quantity), 0) FROM StockTransaction st WHERE st.jewelryItem.id = :itemId AND st.transactionType = 'IN'")
     Integer getTotalInQuantityByItemId(@Param("itemId") Long itemId);
@@ -68,6 +90,20 @@ public interface StockTransactionRepository extends JpaRepository<StockTransacti
     @Query("SELECT st.transactionType, st.transactionSource, COUNT(st), SUM(st.quantity) FROM StockTransaction st WHERE st.jewelryItem.id = :itemId GROUP BY st.transactionType, st.transactionSource")
     List<Object[]> getStockMovementSummaryByItemId(@Param("itemId") Long itemId);
     
+    // Movement summary for an item from a date on, and between two dates (end exclusive)
+    @Query("SELECT st.transactionType, st.transactionSource, COUNT(st), SUM(st.quantity) FROM StockTransaction st WHERE st.jewelryItem.id = :itemId AND st.transactionDate >= :from GROUP BY st.transactionType, st.transactionSource")
+    List<Object[]> getStockMovementSummaryByItemIdSince(@Param("itemId") Long itemId, @Param("from") LocalDateTime from);
+    
+    @Query("SELECT st.transactionType, st.transactionSource, COUNT(st), SUM(st.quantity) FROM StockTransaction st WHERE st.jewelryItem.id = :itemId AND st.transactionDate >= :from AND st.transactionDate < :to GROUP BY st.transactionType, st.transactionSource")
+    List<Object[]> getStockMovementSummaryByItemIdBetween(@Param("itemId") Long itemId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // Movements of every item between two dates (end exclusive), for stock snapshots
+    @Query("SELECT st.jewelryItem.id, st.transactionType, st.transactionSource, COUNT(st), SUM(st.quantity) FROM StockTransaction st WHERE st.transactionDate >= :from AND st.transactionDate < :to GROUP BY st.jewelryItem.id, st.transactionType, st.transactionSource")
+    List<Object[]> summarizeMovementsBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    @Query("SELECT MIN(st.transactionDate) FROM StockTransaction st")
+    LocalDateTime findFirstTransactionDate();
+    
     // Get today's transactions
     @Query("SELECT st FROM StockTransaction st WHERE DATE(st.transactionDate) = DATE(CURRENT_DATE) ORDER BY st.transactionDate DESC")
     List<StockTransaction> findTodaysTransactions();
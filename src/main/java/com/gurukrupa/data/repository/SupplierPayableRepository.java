@@ -0,0 +1,13 @@
+package com.gurukrupa.data.repository;
+
+import com.gurukrupa.data.entities.SupplierPayable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SupplierPayableRepository extends JpaRepository<SupplierPayable, Long> {
+
+    Optional<SupplierPayable> findBySupplierId(Long supplierId);
+}
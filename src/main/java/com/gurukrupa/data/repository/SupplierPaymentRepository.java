@@ -73,4 +73,10 @@ public interface SupplierPaymentRepository extends JpaRepository<SupplierPayment
      */
     @Query("SELECT sp.receiptNumber FROM SupplierPayment sp ORDER BY sp.createdDate DESC LIMIT 1")
     Optional<String> findLatestReceiptNumber();
+
+    /**
+     * Date of the latest payment made to a supplier
+     */
+    @Query("SELECT MAX(sp.paymentDate) FROM SupplierPayment sp WHERE sp.supplier.id = :supplierId")
+    LocalDateTime findLastPaymentDateBySupplierId(@Param("supplierId") Long supplierId);
 }
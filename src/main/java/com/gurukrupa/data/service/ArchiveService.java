@@ -0,0 +1,326 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.ArchiveCheckpoint;
+import com.gurukrupa.data.entities.BankAccount;
+import com.gurukrupa.data.repository.ArchiveCheckpointRepository;
+import com.gurukrupa.data.repository.ArchiveScope;
+import com.gurukrupa.data.repository.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Moves closed financial years (April to March) out of the live history tables into
+ * their archive tables, a chunk of rows per transaction. Before anything moves, stock
+ * snapshots and bank balance checkpoints are brought up to the year end, so stock and
+ * bank balances never need the archived rows. Old-year reads go through
+ * {@link ArchiveScope}. Unreconciled bank transactions stay live so statement import
+ * can still match them.
+ * <p>
+ * MySQL range partitioning was not used: partitioned InnoDB tables cannot have foreign
+ * keys, and these tables are referenced by and reference others.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ArchiveService.class);
+    // Rows moved per transaction
+    private static final int CHUNK_SIZE = 1000;
+    private static final int YEAR_START_MONTH = 4;
+
+    // Bills still owed on, or linked to an exchange (which references them), stay live
+    private static final String SETTLED_BILLS =
+            "SELECT b.id FROM bills b WHERE b.bill_date < ? AND b.id > ? " +
+            "AND (b.status = 'CANCELLED' OR (b.status IN ('PAID', 'CONFIRMED') AND b.pending_amount <= 0)) " +
+            "AND NOT EXISTS (SELECT 1 FROM exchanges e WHERE e.bill_id = b.id) ORDER BY b.id LIMIT ?";
+    // Bank transactions behind a customer or supplier payment, or not yet reconciled
+    // (statement matching only sees live rows), stay live
+    private static final String ARCHIVABLE_BANK_TRANSACTION =
+            " AND t.is_reconciled = TRUE" +
+            " AND NOT EXISTS (SELECT 1 FROM customer_payments cp WHERE cp.bank_transaction_id = t.id)" +
+            " AND NOT EXISTS (SELECT 1 FROM supplier_payments sp WHERE sp.bank_transaction_id = t.id)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ArchiveCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private StockSnapshotService stockSnapshotService;
+
+    @Autowired
+    private BankStatementService bankStatementService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    // Quoted column list of each live table, as copied to its archive
+    private final Map<String, String> columnLists = new ConcurrentHashMap<>();
+
+    /**
+     * Bring the archive tables and views in line with the live tables (which may have
+     * gained columns) once something has been archived, and switch archive reads on. A
+     * run that stopped part way counts too: some of its rows are already archived.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void prepareArchive() {
+        try {
+            Optional<ArchiveCheckpoint> latest = checkpointRepository.findFirstByOrderByArchivedBeforeDesc();
+            if (latest.isPresent()) {
+                ensureArchiveTables();
+                ArchiveScope.setArchivedBefore(latest.get().getArchivedBefore());
+                LOG.info("Archive views ready; rows before {} are read from the archive", latest.get().getArchivedBefore());
+                if (latest.get().getStatus() == ArchiveCheckpoint.ArchiveStatus.IN_PROGRESS) {
+                    LOG.warn("Archiving of financial year {} did not finish; archive it again to complete it",
+                            latest.get().getFinancialYear());
+                }
+            }
+        } catch (Exception e) {
+            LOG.error("Archive views could not be prepared; archived years will not show in reports", e);
+        }
+    }
+
+    /**
+     * Create any missing archive table, add the columns its live table gained, and
+     * (re)create the live-plus-archive view
+     */
+    public void ensureArchiveTables() {
+        for (String table : ArchiveScope.TABLES) {
+            Map<String, String> live = columnTypes(table);
+            if (live.isEmpty()) {
+                throw new IllegalStateException("Table " + table + " does not exist");
+            }
+            String archive = table + "_archive";
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS " + archive + " LIKE " + table);
+            Map<String, String> archived = columnTypes(archive);
+            live.forEach((column, type) -> {
+                String archivedType = archived.get(column);
+                if (archivedType == null) {
+                    jdbcTemplate.execute("ALTER TABLE " + archive + " ADD COLUMN `" + column + "` " + type + " NULL");
+                } else if (!archivedType.equalsIgnoreCase(type) && !column.equals("id")) {
+                    // e.g. an enum column that gained a value
+                    jdbcTemplate.execute("ALTER TABLE " + archive + " MODIFY COLUMN `" + column + "` " + type + " NULL");
+                }
+            });
+
+            List<String> quoted = new ArrayList<>();
+            live.keySet().forEach(column -> quoted.add("`" + column + "`"));
+            String columns = String.join(", ", quoted);
+            jdbcTemplate.execute("CREATE OR REPLACE VIEW " + table + "_all AS SELECT " + columns + " FROM " + table
+                    + " UNION ALL SELECT " + columns + " FROM " + archive);
+            columnLists.put(table, columns);
+        }
+    }
+
+    /**
+     * Archive everything dated before the end of the financial year starting in April of
+     * startYear, which must be closed. Years archive in order; a run that stopped part way
+     * can be started again.
+     */
+    public ArchiveCheckpoint archiveFinancialYear(int startYear, String archivedBy) {
+        String label = financialYearLabel(startYear);
+        LocalDate yearEnd = LocalDate.of(startYear + 1, YEAR_START_MONTH, 1).minusDays(1);
+        LocalDateTime cutoff = yearEnd.plusDays(1).atStartOfDay();
+        if (cutoff.toLocalDate().isAfter(currentFinancialYearStart())) {
+            throw new IllegalArgumentException("Financial year " + label + " is not closed yet");
+        }
+        LocalDateTime archivedBefore = getArchivedBefore();
+        if (archivedBefore != null && !cutoff.isAfter(archivedBefore)) {
+            throw new IllegalStateException("Financial year " + label + " is already archived");
+        }
+        ArchiveCheckpoint unfinished = checkpointRepository.findFirstByOrderByArchivedBeforeDesc()
+                .filter(latest -> latest.getStatus() == ArchiveCheckpoint.ArchiveStatus.IN_PROGRESS)
+                .orElse(null);
+        if (unfinished != null && !unfinished.getFinancialYear().equals(label)) {
+            throw new IllegalStateException("Archiving of financial year " + unfinished.getFinancialYear()
+                    + " did not finish; archive that year again first");
+        }
+        long start = System.currentTimeMillis();
+        ensureArchiveTables();
+
+        // Balances from here on must not need the rows about to move
+        for (LocalDate snapshotDate : stockSnapshotService.findDueSnapshotDates()) {
+            if (snapshotDate.isAfter(yearEnd)) {
+                break;
+            }
+            stockSnapshotService.takeSnapshot(snapshotDate);
+        }
+        for (BankAccount account : bankAccountRepository.findAll()) {
+            bankStatementService.getClosingBalance(account.getId(), yearEnd);
+        }
+
+        // Saved before the first chunk, so a run that stops part way still switches
+        // archive reads on at startup; rows before the cutoff may be in either table
+        ArchiveCheckpoint checkpoint = unfinished != null ? unfinished : checkpointRepository.save(
+                ArchiveCheckpoint.builder()
+                        .financialYear(label)
+                        .yearEnd(yearEnd)
+                        .archivedBefore(cutoff)
+                        .archivedBy(archivedBy)
+                        .build());
+        ArchiveScope.setArchivedBefore(cutoff);
+
+        archiveBills(cutoff, checkpoint);
+        archiveByDate("stock_transactions", cutoff, "", checkpoint,
+                moved -> checkpoint.setStockTransactionsArchived(checkpoint.getStockTransactionsArchived() + moved));
+        archiveByDate("bank_transactions", cutoff, ARCHIVABLE_BANK_TRANSACTION, checkpoint,
+                moved -> checkpoint.setBankTransactionsArchived(checkpoint.getBankTransactionsArchived() + moved));
+        archiveByDate("exchange_metal_transactions", cutoff, "", checkpoint,
+                moved -> checkpoint.setExchangeMetalTransactionsArchived(checkpoint.getExchangeMetalTransactionsArchived() + moved));
+        checkpoint.setStatus(ArchiveCheckpoint.ArchiveStatus.COMPLETED);
+        checkpointRepository.save(checkpoint);
+
+        LOG.info("Archived financial year {} in {} ms: {} bills ({} kept live), {} stock, {} bank and {} exchange metal transactions",
+                label, System.currentTimeMillis() - start, checkpoint.getBillsArchived(), checkpoint.getBillsKept(),
+                checkpoint.getStockTransactionsArchived(), checkpoint.getBankTransactionsArchived(),
+                checkpoint.getExchangeMetalTransactionsArchived());
+        return checkpoint;
+    }
+
+    /**
+     * Start years of the closed financial years that still have live rows to archive
+     */
+    public List<Integer> getArchivableYears() {
+        LocalDateTime first = jdbcTemplate.queryForObject(
+                "SELECT MIN(d) FROM (SELECT MIN(bill_date) AS d FROM bills " +
+                "UNION ALL SELECT MIN(transaction_date) FROM stock_transactions " +
+                "UNION ALL SELECT MIN(transaction_date) FROM bank_transactions " +
+                "UNION ALL SELECT MIN(transaction_date) FROM exchange_metal_transactions) m", LocalDateTime.class);
+        if (first == null) {
+            return Collections.emptyList();
+        }
+        LocalDateTime archivedBefore = getArchivedBefore();
+        int firstYear = archivedBefore != null
+                ? Math.max(financialYearOf(first.toLocalDate()), financialYearOf(archivedBefore.toLocalDate()))
+                : financialYearOf(first.toLocalDate());
+        List<Integer> years = new ArrayList<>();
+        for (int year = firstYear; year < currentFinancialYearStart().getYear(); year++) {
+            years.add(year);
+        }
+        return years;
+    }
+
+    public List<ArchiveCheckpoint> getCheckpoints() {
+        return checkpointRepository.findAllByOrderByArchivedBeforeDesc();
+    }
+
+    /**
+     * Cutoff of the latest fully archived year; null when none is
+     */
+    public LocalDateTime getArchivedBefore() {
+        return checkpointRepository.findFirstByStatusOrderByArchivedBeforeDesc(ArchiveCheckpoint.ArchiveStatus.COMPLETED)
+                .map(ArchiveCheckpoint::getArchivedBefore)
+                .orElse(null);
+    }
+
+    // e.g. 2023 -> "2023-24"
+    public static String financialYearLabel(int startYear) {
+        return String.format("%d-%02d", startYear, (startYear + 1) % 100);
+    }
+
+    private static int financialYearOf(LocalDate date) {
+        return date.getMonthValue() >= YEAR_START_MONTH ? date.getYear() : date.getYear() - 1;
+    }
+
+    private static LocalDate currentFinancialYearStart() {
+        return LocalDate.of(financialYearOf(LocalDate.now()), YEAR_START_MONTH, 1);
+    }
+
+    private void archiveBills(LocalDateTime cutoff, ArchiveCheckpoint checkpoint) {
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(SETTLED_BILLS, Long.class, cutoff, afterId, CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            String byBill = "bill_id IN (" + placeholders(ids.size()) + ")";
+            String byId = "id IN (" + placeholders(ids.size()) + ")";
+            Object[] args = ids.toArray();
+            transactionTemplate.executeWithoutResult(status -> {
+                BigDecimal sales = jdbcTemplate.queryForObject(
+                        "SELECT COALESCE(SUM(grand_total), 0) FROM bills WHERE " + byId, BigDecimal.class, args);
+                checkpoint.setBillTransactionsArchived(checkpoint.getBillTransactionsArchived()
+                        + moveRows("bill_transactions", byBill, args));
+                checkpoint.setPaymentModesArchived(checkpoint.getPaymentModesArchived()
+                        + moveRows("payment_modes", byBill, args));
+                checkpoint.setBillsArchived(checkpoint.getBillsArchived() + moveRows("bills", byId, args));
+                checkpoint.setArchivedSalesTotal(checkpoint.getArchivedSalesTotal().add(sales));
+                checkpointRepository.save(checkpoint);
+            });
+        } while (ids.size() == CHUNK_SIZE);
+
+        checkpoint.setBillsKept(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM bills WHERE bill_date < ?", Long.class, cutoff));
+    }
+
+    // Move a table's rows dated before the cutoff; each chunk adds its count to the checkpoint in its transaction
+    private void archiveByDate(String table, LocalDateTime cutoff, String condition, ArchiveCheckpoint checkpoint,
+                               LongConsumer counter) {
+        String select = "SELECT t.id FROM " + table + " t WHERE t.transaction_date < ? AND t.id > ?" + condition
+                + " ORDER BY t.id LIMIT ?";
+        long afterId = 0;
+        List<Long> ids;
+        do {
+            ids = jdbcTemplate.queryForList(select, Long.class, cutoff, afterId, CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            afterId = ids.get(ids.size() - 1);
+            String byId = "id IN (" + placeholders(ids.size()) + ")";
+            Object[] args = ids.toArray();
+            transactionTemplate.executeWithoutResult(status -> {
+                counter.accept(moveRows(table, byId, args));
+                checkpointRepository.save(checkpoint);
+            });
+        } while (ids.size() == CHUNK_SIZE);
+    }
+
+    // Copy then delete, inside the caller's transaction
+    private int moveRows(String table, String where, Object[] args) {
+        String columns = columnLists.get(table);
+        int copied = jdbcTemplate.update("INSERT INTO " + table + "_archive (" + columns + ") SELECT " + columns
+                + " FROM " + table + " WHERE " + where, args);
+        int deleted = jdbcTemplate.update("DELETE FROM " + table + " WHERE " + where, args);
+        if (copied != deleted) {
+            throw new IllegalStateException("Archiving " + table + " copied " + copied + " rows but deleted " + deleted);
+        }
+        return copied;
+    }
+
+    private Map<String, String> columnTypes(String table) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT COLUMN_NAME, COLUMN_TYPE FROM information_schema.COLUMNS " +
+                        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? ORDER BY ORDINAL_POSITION",
+                rs -> {
+                    columns.put(rs.getString(1), rs.getString(2));
+                }, table);
+        return columns;
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
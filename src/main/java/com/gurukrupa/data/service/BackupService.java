@@ -0,0 +1,558 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BackupManifest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Backups of the whole database to compressed files on local disk. A full backup holds
+ * every table; an incremental one holds the rows created or updated since the backup
+ * before it, going by their created/updated date columns, and is restored on top of
+ * that chain. Rows are streamed table by table from one consistent snapshot, so memory
+ * use does not grow with the data and the shop can keep working during a backup. Each
+ * table's data is checksummed, and every checksum in a chain is checked before a
+ * restore writes anything. A restore first takes a full backup of the current data
+ * into the before-restore folder and puts it back if any step fails, with the scheduled
+ * background jobs paused throughout.
+ * <p>
+ * Incremental backups do not see deleted rows, so restoring a chain keeps rows deleted
+ * after its full backup; take a full backup from time to time.
+ */
+@Service
+public class BackupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BackupService.class);
+    // Bumped when the file layout changes; older versions are still read
+    static final int FORMAT_VERSION = 1;
+    public static final String EXTENSION = ".gkb";
+    private static final String MANIFEST_ENTRY = "manifest.properties";
+    private static final String TABLE_ENTRY_PREFIX = "tables/";
+    // Backups taken just before a restore; kept out of the backup chain
+    private static final String SAFETY_DIRECTORY = "before-restore";
+    // Rows per JDBC batch on restore, and rows per restore transaction
+    private static final int BATCH_SIZE = 1000;
+    private static final int COMMIT_ROWS = 20000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Incremental backups reach back this far before the previous one, for rows whose
+    // transaction was still open when it was taken
+    private static final Duration WATERMARK_OVERLAP = Duration.ofMinutes(10);
+    // Columns that date a row's creation or last change
+    private static final Set<String> WATERMARK_COLUMNS =
+            Set.of("created_date", "updated_date", "created_at", "updated_at", "modified_date", "last_updated");
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ArchiveService archiveService;
+
+    @Autowired
+    private ScheduledJobGate scheduledJobGate;
+
+    @Value("${gurukrupa.backup.directory:D:/software/backups}")
+    private String backupDirectory;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public Path getBackupDirectory() {
+        return Paths.get(backupDirectory);
+    }
+
+    /**
+     * Write a full backup, or an incremental one on top of the latest backup
+     */
+    public BackupManifest backup(BackupManifest.Type type) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A backup or restore is already running");
+        }
+        try {
+            return writeBackup(type, getBackupDirectory(), "gurukrupa-" + type.name().toLowerCase(Locale.ROOT));
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException("Backup failed: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Restore a backup; an incremental one is restored with the chain it continues from.
+     * Every table is replaced by its contents in the full backup, then the incremental
+     * backups are applied in order. Truncates and batches commit as they go, so the
+     * current data is backed up first and put back if anything fails. The application
+     * should be restarted afterwards.
+     */
+    public BackupManifest restore(Path file) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("A backup or restore is already running");
+        }
+        try {
+            scheduledJobGate.pauseJobs();
+            long start = System.currentTimeMillis();
+            List<Path> chain = chainOf(file);
+            List<BackupManifest> manifests = new ArrayList<>();
+            for (Path backup : chain) {
+                BackupManifest manifest = readManifest(backup);
+                verify(backup, manifest);
+                manifests.add(manifest);
+            }
+
+            // Archive tables are created on demand, so a fresh database may not have them yet
+            Map<String, List<String>> tables = tableColumns();
+            boolean archived = manifests.stream()
+                    .flatMap(manifest -> manifest.getTableRows().keySet().stream())
+                    .anyMatch(table -> table.endsWith("_archive") && !tables.containsKey(table));
+            if (archived) {
+                archiveService.ensureArchiveTables();
+                tables.putAll(tableColumns());
+            }
+
+            Path safetyDirectory = getBackupDirectory().resolve(SAFETY_DIRECTORY);
+            BackupManifest safety = writeBackup(BackupManifest.Type.FULL, safetyDirectory, SAFETY_DIRECTORY);
+            Path safetyFile = safetyDirectory.resolve(safety.getFileName());
+            try {
+                for (int i = 0; i < chain.size(); i++) {
+                    applyBackup(chain.get(i), manifests.get(i), i == 0, tables);
+                }
+            } catch (IOException | SQLException | RuntimeException e) {
+                LOG.error("Restore of {} failed; putting back the data from before it", file.getFileName(), e);
+                try {
+                    applyBackup(safetyFile, safety, true, tables);
+                } catch (IOException | SQLException | RuntimeException undo) {
+                    LOG.error("Putting back {} failed", safetyFile, undo);
+                    e.addSuppressed(undo);
+                    throw new RuntimeException("Restore failed and the earlier data could not be put back; restore "
+                            + safetyFile + " once the problem is fixed. " + e.getMessage(), e);
+                }
+                throw new RuntimeException("Restore failed; the data from before it was put back. " + e.getMessage(), e);
+            }
+            LOG.info("Restored {} ({} backups) in {} ms; the data from before it is in {}", file.getFileName(),
+                    chain.size(), System.currentTimeMillis() - start, safetyFile);
+            return manifests.get(manifests.size() - 1);
+        } catch (IOException | SQLException e) {
+            throw new RuntimeException("Restore failed: " + e.getMessage(), e);
+        } finally {
+            scheduledJobGate.resumeJobs();
+            running.set(false);
+        }
+    }
+
+    /**
+     * Backups in the backup directory, newest first
+     */
+    public List<BackupManifest> listBackups() {
+        Path directory = getBackupDirectory();
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<BackupManifest> backups = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.toString().endsWith(EXTENSION)).toList()) {
+                try {
+                    backups.add(readManifest(file));
+                } catch (Exception e) {
+                    LOG.warn("Skipping unreadable backup {}: {}", file, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Could not list backups in " + directory + ": " + e.getMessage(), e);
+        }
+        backups.sort(Comparator.comparing(BackupManifest::getCreatedDate).reversed());
+        return backups;
+    }
+
+    private BackupManifest writeBackup(BackupManifest.Type type, Path directory, String prefix)
+            throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        LocalDateTime createdDate = LocalDateTime.now();
+        String previousFileName = null;
+        LocalDateTime changedSince = null;
+        if (type == BackupManifest.Type.INCREMENTAL) {
+            List<BackupManifest> backups = listBackups();
+            if (backups.isEmpty()) {
+                throw new IllegalStateException("Take a full backup before an incremental one");
+            }
+            previousFileName = backups.get(0).getFileName();
+            changedSince = backups.get(0).getCreatedDate().minus(WATERMARK_OVERLAP);
+        }
+
+        Files.createDirectories(directory);
+        String fileName = prefix + "-" + createdDate.format(FILE_STAMP) + EXTENSION;
+        Path target = directory.resolve(fileName);
+        Path partial = directory.resolve(fileName + ".part");
+
+        Map<String, Long> tableRows = new LinkedHashMap<>();
+        Map<String, String> tableChecksums = new LinkedHashMap<>();
+        BackupManifest manifest;
+        try (Connection connection = dataSource.getConnection();
+             Statement control = connection.createStatement();
+             ZipOutputStream zip = new ZipOutputStream(
+                     new BufferedOutputStream(Files.newOutputStream(partial), BUFFER_SIZE))) {
+            // Every table is read from the same snapshot, so the backup is consistent
+            control.execute("START TRANSACTION WITH CONSISTENT SNAPSHOT, READ ONLY");
+            try {
+                for (Map.Entry<String, List<String>> table : tableColumns().entrySet()) {
+                    List<String> watermarks = table.getValue().stream()
+                            .filter(column -> WATERMARK_COLUMNS.contains(column.toLowerCase(Locale.ROOT)))
+                            .toList();
+                    MessageDigest digest = sha256();
+                    zip.putNextEntry(new ZipEntry(TABLE_ENTRY_PREFIX + table.getKey()));
+                    long rows = exportTable(connection, table.getKey(), changedSince != null ? watermarks : List.of(),
+                            changedSince, new DigestOutputStream(zip, digest));
+                    zip.closeEntry();
+                    tableRows.put(table.getKey(), rows);
+                    tableChecksums.put(table.getKey(), HexFormat.of().formatHex(digest.digest()));
+                }
+            } finally {
+                control.execute("COMMIT");
+            }
+
+            manifest = BackupManifest.builder()
+                    .fileName(fileName)
+                    .formatVersion(FORMAT_VERSION)
+                    .type(type)
+                    .createdDate(createdDate)
+                    .changedSince(changedSince)
+                    .previousFileName(previousFileName)
+                    .tableRows(tableRows)
+                    .tableChecksums(tableChecksums)
+                    .elapsedMillis(System.currentTimeMillis() - start)
+                    .build();
+            zip.putNextEntry(new ZipEntry(MANIFEST_ENTRY));
+            toProperties(manifest).store(zip, "Gurukrupa backup");
+            zip.closeEntry();
+        } catch (IOException | SQLException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.ATOMIC_MOVE);
+
+        LOG.info("{} backup {}: {} tables, {} rows, {} bytes in {} ms", type, fileName, tableRows.size(),
+                manifest.getTotalRows(), Files.size(target), manifest.getElapsedMillis());
+        return manifest;
+    }
+
+    // Stream one table; with watermark columns only the rows changed since then
+    private long exportTable(Connection connection, String table, List<String> watermarks,
+                             LocalDateTime changedSince, DigestOutputStream entry) throws IOException, SQLException {
+        String sql = "SELECT * FROM `" + table + "`";
+        if (!watermarks.isEmpty()) {
+            sql += " WHERE " + watermarks.stream().map(column -> "`" + column + "` >= ?")
+                    .collect(Collectors.joining(" OR "));
+        }
+        try (PreparedStatement statement = connection.prepareStatement(sql,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            // Connector/J streams the result row by row at this fetch size instead of buffering the table
+            statement.setFetchSize(Integer.MIN_VALUE);
+            for (int i = 0; i < watermarks.size(); i++) {
+                statement.setObject(i + 1, changedSince);
+            }
+            try (ResultSet rs = statement.executeQuery()) {
+                ResultSetMetaData meta = rs.getMetaData();
+                int count = meta.getColumnCount();
+                List<String> columns = new ArrayList<>(count);
+                byte[] kinds = new byte[count];
+                for (int i = 0; i < count; i++) {
+                    columns.add(meta.getColumnName(i + 1));
+                    kinds[i] = isBinary(meta.getColumnType(i + 1)) ? BackupTableCodec.BINARY : BackupTableCodec.TEXT;
+                }
+
+                // Not closed: that would close the zip
+                DataOutputStream data = new DataOutputStream(new BufferedOutputStream(entry, BUFFER_SIZE));
+                BackupTableCodec.writeHeader(data, new BackupTableCodec.Header(columns, kinds));
+                Object[] values = new Object[count];
+                long rows = 0;
+                while (rs.next()) {
+                    for (int i = 0; i < count; i++) {
+                        values[i] = kinds[i] == BackupTableCodec.BINARY ? rs.getBytes(i + 1) : rs.getString(i + 1);
+                    }
+                    BackupTableCodec.writeRow(data, values);
+                    rows++;
+                }
+                BackupTableCodec.writeEnd(data);
+                data.flush();
+                return rows;
+            }
+        }
+    }
+
+    private static boolean isBinary(int sqlType) {
+        return sqlType == Types.BINARY || sqlType == Types.VARBINARY || sqlType == Types.LONGVARBINARY
+                || sqlType == Types.BLOB || sqlType == Types.BIT;
+    }
+
+    // Full backup first, then each incremental backup up to this one
+    private List<Path> chainOf(Path file) throws IOException {
+        LinkedList<Path> chain = new LinkedList<>();
+        Set<String> seen = new HashSet<>();
+        Path current = file;
+        while (true) {
+            if (!seen.add(current.getFileName().toString())) {
+                throw new IllegalStateException("Backup chain of " + file.getFileName() + " loops back on itself");
+            }
+            chain.addFirst(current);
+            BackupManifest manifest = readManifest(current);
+            if (manifest.getType() == BackupManifest.Type.FULL) {
+                return chain;
+            }
+            Path previous = current.resolveSibling(manifest.getPreviousFileName());
+            if (!Files.exists(previous)) {
+                throw new IllegalStateException("Backup " + current.getFileName() + " needs "
+                        + manifest.getPreviousFileName() + ", which is missing");
+            }
+            current = previous;
+        }
+    }
+
+    // Read every table through and compare its row count and checksum with the manifest
+    private void verify(Path file, BackupManifest manifest) throws IOException {
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            for (Map.Entry<String, Long> table : manifest.getTableRows().entrySet()) {
+                ZipEntry entry = zip.getEntry(TABLE_ENTRY_PREFIX + table.getKey());
+                if (entry == null) {
+                    throw new IllegalStateException("Backup " + file.getFileName() + " is damaged: table "
+                            + table.getKey() + " is missing");
+                }
+                MessageDigest digest = sha256();
+                long rows = 0;
+                try (DataInputStream data = new DataInputStream(new BufferedInputStream(
+                        new DigestInputStream(zip.getInputStream(entry), digest), BUFFER_SIZE))) {
+                    BackupTableCodec.Header header = BackupTableCodec.readHeader(data);
+                    while (BackupTableCodec.readRow(data, header) != null) {
+                        rows++;
+                    }
+                }
+                String checksum = HexFormat.of().formatHex(digest.digest());
+                if (rows != table.getValue() || !checksum.equals(manifest.getTableChecksums().get(table.getKey()))) {
+                    throw new IllegalStateException("Backup " + file.getFileName() + " is damaged: table "
+                            + table.getKey() + " does not match its checksum");
+                }
+            }
+        }
+    }
+
+    private void applyBackup(Path file, BackupManifest manifest, boolean full, Map<String, List<String>> tables)
+            throws IOException, SQLException {
+        long start = System.currentTimeMillis();
+        long total = 0;
+        try (ZipFile zip = new ZipFile(file.toFile());
+             Connection connection = dataSource.getConnection();
+             Statement control = connection.createStatement()) {
+            control.execute("SET FOREIGN_KEY_CHECKS = 0");
+            connection.setAutoCommit(false);
+            try {
+                if (full) {
+                    for (String table : tables.keySet()) {
+                        control.execute("TRUNCATE TABLE `" + table + "`");
+                    }
+                }
+                for (String table : manifest.getTableRows().keySet()) {
+                    List<String> columns = tables.get(table);
+                    if (columns == null) {
+                        LOG.warn("Table {} from backup {} does not exist in this database; skipped", table, file.getFileName());
+                        continue;
+                    }
+                    try (InputStream in = zip.getInputStream(zip.getEntry(TABLE_ENTRY_PREFIX + table))) {
+                        total += importTable(connection, table, columns, !full,
+                                new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE)));
+                    }
+                }
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+                control.execute("SET FOREIGN_KEY_CHECKS = 1");
+            }
+        }
+        LOG.info("Applied {} backup {}: {} rows in {} ms", manifest.getType(), file.getFileName(), total,
+                System.currentTimeMillis() - start);
+    }
+
+    // Batched inserts of the columns this database still has; an incremental backup replaces existing rows
+    private long importTable(Connection connection, String table, List<String> tableColumns, boolean upsert,
+                             DataInputStream data) throws IOException, SQLException {
+        BackupTableCodec.Header header = BackupTableCodec.readHeader(data);
+        Set<String> existing = tableColumns.stream()
+                .map(column -> column.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet());
+        List<Integer> kept = new ArrayList<>();
+        List<String> quoted = new ArrayList<>();
+        for (int i = 0; i < header.columns().size(); i++) {
+            if (existing.contains(header.columns().get(i).toLowerCase(Locale.ROOT))) {
+                kept.add(i);
+                quoted.add("`" + header.columns().get(i) + "`");
+            }
+        }
+        if (kept.isEmpty()) {
+            return 0;
+        }
+        String sql = "INSERT INTO `" + table + "` (" + String.join(", ", quoted) + ") VALUES ("
+                + String.join(", ", quoted.stream().map(column -> "?").toList()) + ")";
+        if (upsert) {
+            sql += " ON DUPLICATE KEY UPDATE " + quoted.stream()
+                    .map(column -> column + " = VALUES(" + column + ")")
+                    .collect(Collectors.joining(", "));
+        }
+
+        long rows = 0;
+        try (PreparedStatement insert = connection.prepareStatement(sql)) {
+            Object[] values;
+            while ((values = BackupTableCodec.readRow(data, header)) != null) {
+                for (int i = 0; i < kept.size(); i++) {
+                    Object value = values[kept.get(i)];
+                    if (value == null) {
+                        insert.setNull(i + 1, Types.NULL);
+                    } else if (value instanceof byte[] bytes) {
+                        insert.setBytes(i + 1, bytes);
+                    } else {
+                        insert.setString(i + 1, (String) value);
+                    }
+                }
+                insert.addBatch();
+                rows++;
+                if (rows % BATCH_SIZE == 0) {
+                    insert.executeBatch();
+                }
+                if (rows % COMMIT_ROWS == 0) {
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        return rows;
+    }
+
+    // Base tables of this database with their columns in order
+    private Map<String, List<String>> tableColumns() {
+        Map<String, List<String>> tables = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT c.TABLE_NAME, c.COLUMN_NAME FROM information_schema.COLUMNS c " +
+                        "JOIN information_schema.TABLES t ON t.TABLE_SCHEMA = c.TABLE_SCHEMA AND t.TABLE_NAME = c.TABLE_NAME " +
+                        "WHERE c.TABLE_SCHEMA = DATABASE() AND t.TABLE_TYPE = 'BASE TABLE' " +
+                        "ORDER BY c.TABLE_NAME, c.ORDINAL_POSITION",
+                rs -> {
+                    tables.computeIfAbsent(rs.getString(1), table -> new ArrayList<>()).add(rs.getString(2));
+                });
+        return tables;
+    }
+
+    private BackupManifest readManifest(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (ZipFile zip = new ZipFile(file.toFile())) {
+            ZipEntry entry = zip.getEntry(MANIFEST_ENTRY);
+            if (entry == null) {
+                throw new IllegalArgumentException(file.getFileName() + " is not a backup file");
+            }
+            try (InputStream in = zip.getInputStream(entry)) {
+                properties.load(in);
+            }
+        }
+        return fromProperties(file.getFileName().toString(), properties);
+    }
+
+    static Properties toProperties(BackupManifest manifest) {
+        Properties properties = new Properties();
+        properties.setProperty("format.version", String.valueOf(manifest.getFormatVersion()));
+        properties.setProperty("type", manifest.getType().name());
+        properties.setProperty("created.date", manifest.getCreatedDate().toString());
+        if (manifest.getChangedSince() != null) {
+            properties.setProperty("changed.since", manifest.getChangedSince().toString());
+        }
+        if (manifest.getPreviousFileName() != null) {
+            properties.setProperty("previous.file", manifest.getPreviousFileName());
+        }
+        properties.setProperty("elapsed.ms", String.valueOf(manifest.getElapsedMillis()));
+        properties.setProperty("tables", String.join(",", manifest.getTableRows().keySet()));
+        manifest.getTableRows().forEach((table, rows) -> {
+            properties.setProperty("table." + table + ".rows", String.valueOf(rows));
+            properties.setProperty("table." + table + ".sha256", manifest.getTableChecksums().get(table));
+        });
+        return properties;
+    }
+
+    static BackupManifest fromProperties(String fileName, Properties properties) {
+        int version = Integer.parseInt(properties.getProperty("format.version", "0"));
+        if (version < 1 || version > FORMAT_VERSION) {
+            throw new IllegalStateException(fileName + " was written in backup format " + version
+                    + ", which this version cannot read");
+        }
+        Map<String, Long> tableRows = new LinkedHashMap<>();
+        Map<String, String> tableChecksums = new LinkedHashMap<>();
+        String tables = properties.getProperty("tables", "");
+        for (String table : tables.isEmpty() ? new String[0] : tables.split(",")) {
+            tableRows.put(table, Long.parseLong(properties.getProperty("table." + table + ".rows")));
+            tableChecksums.put(table, properties.getProperty("table." + table + ".sha256"));
+        }
+        String changedSince = properties.getProperty("changed.since");
+        return BackupManifest.builder()
+                .fileName(fileName)
+                .formatVersion(version)
+                .type(BackupManifest.Type.valueOf(properties.getProperty("type")))
+                .createdDate(LocalDateTime.parse(properties.getProperty("created.date")))
+                .changedSince(changedSince != null ? LocalDateTime.parse(changedSince) : null)
+                .previousFileName(properties.getProperty("previous.file"))
+                .tableRows(tableRows)
+                .tableChecksums(tableChecksums)
+                .elapsedMillis(Long.parseLong(properties.getProperty("elapsed.ms", "0")))
+                .build();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
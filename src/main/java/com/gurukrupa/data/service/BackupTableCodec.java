@@ -0,0 +1,102 @@
+package com.gurukrupa.data.service;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Layout of one table in a backup file: the column names and kinds, then one record per
+ * row with each value as a length-prefixed UTF-8 string or byte array (-1 for null),
+ * then an end marker. Values are kept as MySQL renders them, so dates and decimals come
+ * back exactly and no time zone is applied.
+ */
+final class BackupTableCodec {
+
+    static final byte TEXT = 0;
+    static final byte BINARY = 1;
+
+    private static final byte ROW = 1;
+    private static final byte END = 0;
+    private static final int NULL_LENGTH = -1;
+
+    record Header(List<String> columns, byte[] kinds) {
+    }
+
+    private BackupTableCodec() {
+    }
+
+    static void writeHeader(DataOutputStream out, Header header) throws IOException {
+        out.writeInt(header.columns().size());
+        for (int i = 0; i < header.columns().size(); i++) {
+            out.writeUTF(header.columns().get(i));
+            out.writeByte(header.kinds()[i]);
+        }
+    }
+
+    /**
+     * Write a row of Strings (TEXT columns) and byte arrays (BINARY columns)
+     */
+    static void writeRow(DataOutputStream out, Object[] values) throws IOException {
+        out.writeByte(ROW);
+        for (Object value : values) {
+            byte[] bytes = value == null ? null
+                    : value instanceof byte[] binary ? binary
+                    : value.toString().getBytes(StandardCharsets.UTF_8);
+            if (bytes == null) {
+                out.writeInt(NULL_LENGTH);
+            } else {
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+    }
+
+    static void writeEnd(DataOutputStream out) throws IOException {
+        out.writeByte(END);
+    }
+
+    static Header readHeader(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> columns = new ArrayList<>(count);
+        byte[] kinds = new byte[count];
+        for (int i = 0; i < count; i++) {
+            columns.add(in.readUTF());
+            kinds[i] = in.readByte();
+        }
+        return new Header(columns, kinds);
+    }
+
+    /**
+     * The next row, or null after the last one
+     */
+    static Object[] readRow(DataInputStream in, Header header) throws IOException {
+        byte marker;
+        try {
+            marker = in.readByte();
+        } catch (EOFException e) {
+            throw new StreamCorruptedException("Table data ends without an end marker");
+        }
+        if (marker == END) {
+            return null;
+        }
+        if (marker != ROW) {
+            throw new StreamCorruptedException("Unexpected record marker " + marker);
+        }
+        Object[] values = new Object[header.kinds().length];
+        for (int i = 0; i < values.length; i++) {
+            int length = in.readInt();
+            if (length == NULL_LENGTH) {
+                continue;
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            values[i] = header.kinds()[i] == BINARY ? bytes : new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+}
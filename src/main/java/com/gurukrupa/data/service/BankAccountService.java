@@ -21,8 +21,13 @@ public class BankAccountService {
     @Autowired
     private BankTransactionService bankTransactionService;
     
+    @Autowired
+    private PaymentAccountRegistry paymentAccountRegistry;
+    
     public BankAccount saveBankAccount(BankAccount bankAccount) {
-        return bankAccountRepository.save(bankAccount);
+        BankAccount savedAccount = bankAccountRepository.save(bankAccount);
+        paymentAccountRegistry.invalidate();
+        return savedAccount;
     }
     
     public BankAccount createBankAccount(String bankName, String accountNumber, String ifscCode,
@@ -124,7 +129,9 @@ public class BankAccountService {
             }
         }
         
-        return bankAccountRepository.save(bankAccount);
+        BankAccount savedAccount = bankAccountRepository.save(bankAccount);
+        paymentAccountRegistry.invalidate();
+        return savedAccount;
     }
     
     public void deactivateBankAccount(Long id) {
@@ -133,6 +140,7 @@ public class BankAccountService {
             BankAccount account = bankAccount.get();
             account.setIsActive(false);
             bankAccountRepository.save(account);
+            paymentAccountRegistry.invalidate();
         } else {
             throw new IllegalArgumentException("Bank account not found with ID: " + id);
         }
@@ -144,6 +152,7 @@ public class BankAccountService {
             BankAccount account = bankAccount.get();
             account.setIsActive(true);
             bankAccountRepository.save(account);
+            paymentAccountRegistry.invalidate();
         } else {
             throw new IllegalArgumentException("Bank account not found with ID: " + id);
         }
@@ -152,6 +161,7 @@ public class BankAccountService {
     public void deleteBankAccount(Long id) {
         if (bankAccountRepository.existsById(id)) {
             bankAccountRepository.deleteById(id);
+            paymentAccountRegistry.invalidate();
         } else {
             throw new IllegalArgumentException("Bank account not found with ID: " + id);
         }
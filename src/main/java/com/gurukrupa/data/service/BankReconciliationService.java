@@ -0,0 +1,141 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatementLine;
+import com.gurukrupa.data.dto.ReconciliationResult;
+import com.gurukrupa.data.entities.BankTransaction;
+import com.gurukrupa.data.repository.BankTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reconciles a bank statement CSV against the unreconciled transactions of an account.
+ * Only transactions inside the statement's date range (widened by the matching window)
+ * are loaded; matching is done in memory by {@link BankStatementMatcher} and matched
+ * rows are marked with batched bulk updates.
+ */
+@Service
+@Transactional
+public class BankReconciliationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankReconciliationService.class);
+    private static final DateTimeFormatter REPORT_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final DateTimeFormatter REPORT_DATETIME_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm");
+    private static final int UPDATE_BATCH_SIZE = 1000;
+
+    @Autowired
+    private BankTransactionRepository bankTransactionRepository;
+
+    @Value("${gurukrupa.reconciliation.date-window-days:3}")
+    private int dateWindowDays = 3;
+
+    /**
+     * Import a statement file and mark every matched transaction reconciled
+     */
+    public ReconciliationResult reconcileStatement(Long bankAccountId, Path statementFile, String reconciledBy) throws IOException {
+        List<BankStatementLine> lines;
+        try (Reader reader = Files.newBufferedReader(statementFile, StandardCharsets.UTF_8)) {
+            lines = BankStatementCsvReader.read(reader);
+        }
+        return reconcile(bankAccountId, lines, reconciledBy);
+    }
+
+    public ReconciliationResult reconcile(Long bankAccountId, List<BankStatementLine> lines, String reconciledBy) {
+        long started = System.nanoTime();
+        if (lines.isEmpty()) {
+            return new ReconciliationResult(0, 0, List.of(), List.of(), 0);
+        }
+
+        LocalDate firstDate = lines.stream().map(BankStatementLine::getDate).min(Comparator.naturalOrder()).get();
+        LocalDate lastDate = lines.stream().map(BankStatementLine::getDate).max(Comparator.naturalOrder()).get();
+        List<BankTransaction> candidates = bankTransactionRepository.findUnreconciledByBankAccountAndDateRange(bankAccountId,
+                firstDate.minusDays(dateWindowDays).atStartOfDay(),
+                lastDate.plusDays(dateWindowDays + 1L).atStartOfDay());
+
+        Map<BankStatementLine, BankTransaction> matches = new BankStatementMatcher(dateWindowDays).match(lines, candidates);
+
+        List<Long> matchedIds = matches.values().stream().map(BankTransaction::getId).toList();
+        LocalDateTime now = LocalDateTime.now();
+        for (int from = 0; from < matchedIds.size(); from += UPDATE_BATCH_SIZE) {
+            bankTransactionRepository.markReconciled(
+                    matchedIds.subList(from, Math.min(from + UPDATE_BATCH_SIZE, matchedIds.size())), now, reconciledBy);
+        }
+
+        List<BankStatementLine> unmatchedLines = lines.stream().filter(line -> !matches.containsKey(line)).toList();
+        Set<BankTransaction> matched = new HashSet<>(matches.values());
+        // Transactions inside the statement period that the bank does not show
+        List<BankTransaction> unmatchedTransactions = new ArrayList<>();
+        for (BankTransaction transaction : candidates) {
+            LocalDate date = transaction.getTransactionDate().toLocalDate();
+            if (!matched.contains(transaction) && !date.isBefore(firstDate) && !date.isAfter(lastDate)) {
+                unmatchedTransactions.add(transaction);
+            }
+        }
+        unmatchedTransactions.sort(Comparator.comparing(BankTransaction::getTransactionDate));
+
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+        LOG.info("Reconciled bank account {}: {} of {} statement lines matched, {} transactions unmatched ({} ms)",
+                bankAccountId, matches.size(), lines.size(), unmatchedTransactions.size(), elapsedMillis);
+
+        return ReconciliationResult.builder()
+                .statementLineCount(lines.size())
+                .matchedCount(matches.size())
+                .unmatchedLines(unmatchedLines)
+                .unmatchedTransactions(unmatchedTransactions)
+                .elapsedMillis(elapsedMillis)
+                .build();
+    }
+
+    /**
+     * Write the unmatched statement lines and transactions as a CSV report
+     */
+    public void writeUnmatchedReport(ReconciliationResult result, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Side,Line/ID,Date,Type,Amount,Reference,Description");
+            writer.newLine();
+            for (BankStatementLine line : result.getUnmatchedLines()) {
+                writer.write(String.join(",", "STATEMENT", String.valueOf(line.getLineNumber()),
+                        line.getDate().format(REPORT_DATE_FORMAT), line.getType().name(), line.getAmount().toPlainString(),
+                        csv(line.getReference()), csv(line.getDescription())));
+                writer.newLine();
+            }
+            for (BankTransaction transaction : result.getUnmatchedTransactions()) {
+                writer.write(String.join(",", "BOOKS", String.valueOf(transaction.getId()),
+                        transaction.getTransactionDate().format(REPORT_DATETIME_FORMAT), transaction.getTransactionType().name(),
+                        transaction.getAmount().toPlainString(),
+                        csv(transaction.getTransactionReference() != null ? transaction.getTransactionReference() : transaction.getReferenceNumber()),
+                        csv(transaction.getDescription())));
+                writer.newLine();
+            }
+        }
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
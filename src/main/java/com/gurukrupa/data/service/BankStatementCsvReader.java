@@ -0,0 +1,200 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatementLine;
+import com.gurukrupa.data.entities.BankTransaction.TransactionType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads bank statement CSV exports. Banks differ in layout, so the header row is
+ * located by its column names (preamble lines above it are skipped) and rows whose
+ * date does not parse, such as totals and footers, are ignored. Supports either
+ * separate debit/credit columns or a single amount column with a Dr/Cr column.
+ */
+public final class BankStatementCsvReader {
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ofPattern("dd-MM-yyyy"),
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+            DateTimeFormatter.ofPattern("dd/MM/yy"),
+            DateTimeFormatter.ofPattern("dd-MM-yy"),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd-MMM-yyyy").toFormatter(Locale.ENGLISH),
+            new DateTimeFormatterBuilder().parseCaseInsensitive().appendPattern("dd MMM yyyy").toFormatter(Locale.ENGLISH));
+
+    private BankStatementCsvReader() {
+    }
+
+    public static List<BankStatementLine> read(Reader source) throws IOException {
+        BufferedReader reader = new BufferedReader(source);
+        Columns columns = null;
+        List<BankStatementLine> lines = new ArrayList<>();
+
+        String text;
+        int lineNumber = 0;
+        while ((text = reader.readLine()) != null) {
+            lineNumber++;
+            if (text.isBlank()) {
+                continue;
+            }
+            List<String> fields = split(text);
+            if (columns == null) {
+                columns = Columns.detect(fields);
+                continue;
+            }
+
+            LocalDate date = parseDate(field(fields, columns.date));
+            if (date == null) {
+                continue;
+            }
+            BigDecimal debit = parseAmount(field(fields, columns.debit));
+            BigDecimal credit = parseAmount(field(fields, columns.credit));
+            BigDecimal amount = parseAmount(field(fields, columns.amount));
+
+            TransactionType type;
+            if (credit != null && credit.signum() != 0) {
+                type = TransactionType.CREDIT;
+                amount = credit;
+            } else if (debit != null && debit.signum() != 0) {
+                type = TransactionType.DEBIT;
+                amount = debit;
+            } else if (amount != null && amount.signum() != 0) {
+                String drCr = field(fields, columns.drCr).trim().toUpperCase(Locale.ROOT);
+                type = drCr.startsWith("D") || amount.signum() < 0 ? TransactionType.DEBIT : TransactionType.CREDIT;
+                amount = amount.abs();
+            } else {
+                continue;
+            }
+
+            lines.add(BankStatementLine.builder()
+                    .lineNumber(lineNumber)
+                    .date(date)
+                    .type(type)
+                    .amount(amount)
+                    .reference(field(fields, columns.reference).trim())
+                    .description(field(fields, columns.description).trim())
+                    .build());
+        }
+
+        if (columns == null) {
+            throw new IllegalArgumentException("No header row with a date and amount column found in statement file");
+        }
+        return lines;
+    }
+
+    static LocalDate parseDate(String value) {
+        String text = value.trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        // Some banks append a time to the date
+        int space = text.indexOf(' ');
+        if (space > 0 && text.indexOf(':') > space) {
+            text = text.substring(0, space);
+        }
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(text, format);
+            } catch (DateTimeParseException e) {
+                // try the next layout
+            }
+        }
+        return null;
+    }
+
+    static BigDecimal parseAmount(String value) {
+        String text = value.replace(",", "").replace("₹", "").trim();
+        if (text.isEmpty() || text.equals("-")) {
+            return null;
+        }
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index >= 0 && index < fields.size() ? fields.get(index) : "";
+    }
+
+    /**
+     * Split a CSV line, honouring double-quoted fields
+     */
+    static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static final class Columns {
+        int date = -1;
+        int description = -1;
+        int reference = -1;
+        int debit = -1;
+        int credit = -1;
+        int amount = -1;
+        int drCr = -1;
+
+        static Columns detect(List<String> header) {
+            Columns columns = new Columns();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).trim().toLowerCase(Locale.ROOT);
+                if (name.contains("date")) {
+                    // Prefer the transaction date over the value date
+                    boolean transactionDate = name.contains("txn") || name.contains("tran");
+                    if (columns.date < 0 || (transactionDate && !name.contains("value"))) {
+                        columns.date = i;
+                    }
+                } else if (name.contains("narration") || name.contains("description")
+                        || name.contains("particular") || name.contains("remark")) {
+                    columns.description = i;
+                } else if (name.contains("ref") || name.contains("utr") || name.contains("cheque") || name.contains("chq")) {
+                    columns.reference = i;
+                } else if (name.contains("withdrawal") || name.contains("debit")) {
+                    columns.debit = i;
+                } else if (name.contains("deposit") || name.contains("credit")) {
+                    columns.credit = i;
+                } else if (name.equals("dr/cr") || name.equals("cr/dr") || name.equals("type")) {
+                    columns.drCr = i;
+                } else if (name.contains("amount") && columns.amount < 0) {
+                    columns.amount = i;
+                }
+            }
+            boolean hasAmounts = columns.amount >= 0 || (columns.debit >= 0 && columns.credit >= 0);
+            return columns.date >= 0 && hasAmounts ? columns : null;
+        }
+    }
+}
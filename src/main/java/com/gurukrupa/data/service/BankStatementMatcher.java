@@ -0,0 +1,178 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatementLine;
+import com.gurukrupa.data.entities.BankTransaction;
+import com.gurukrupa.data.entities.BankTransaction.TransactionType;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pairs bank statement lines with recorded bank transactions using hash lookups.
+ * <p>
+ * Transactions are indexed by reference (transaction reference and reference number)
+ * and by direction plus amount in paise, each amount bucket sorted by date. A line is
+ * first matched through any reference it carries, including UTR-like tokens in its
+ * narration, and otherwise to the unused transaction of the same direction and amount
+ * nearest in date within the window. Each transaction is matched at most once.
+ */
+public class BankStatementMatcher {
+
+    private static final int MIN_REFERENCE_TOKEN_LENGTH = 6;
+
+    private final int dateWindowDays;
+
+    public BankStatementMatcher(int dateWindowDays) {
+        this.dateWindowDays = dateWindowDays;
+    }
+
+    /**
+     * Returns matched pairs in statement order
+     */
+    public Map<BankStatementLine, BankTransaction> match(List<BankStatementLine> lines, List<BankTransaction> transactions) {
+        Map<String, List<BankTransaction>> byReference = new HashMap<>();
+        Map<Long, List<BankTransaction>> byAmount = new HashMap<>();
+        for (BankTransaction transaction : transactions) {
+            addReference(byReference, transaction.getTransactionReference(), transaction);
+            addReference(byReference, transaction.getReferenceNumber(), transaction);
+            byAmount.computeIfAbsent(amountKey(transaction.getTransactionType(), transaction.getAmount()), k -> new ArrayList<>())
+                    .add(transaction);
+        }
+        Comparator<BankTransaction> byDate = Comparator.comparing(BankTransaction::getTransactionDate);
+        byAmount.values().forEach(list -> list.sort(byDate));
+
+        Map<BankStatementLine, BankTransaction> matches = new LinkedHashMap<>();
+        Set<BankTransaction> used = new HashSet<>();
+
+        // Pass 1: references
+        for (BankStatementLine line : lines) {
+            long key = amountKey(line.getType(), line.getAmount());
+            for (String token : referenceTokens(line)) {
+                BankTransaction found = firstUsable(byReference.get(token), key, line.getDate(), used);
+                if (found != null) {
+                    matches.put(line, found);
+                    used.add(found);
+                    break;
+                }
+            }
+        }
+
+        // Pass 2: direction, amount and nearest date
+        for (BankStatementLine line : lines) {
+            if (matches.containsKey(line)) {
+                continue;
+            }
+            List<BankTransaction> candidates = byAmount.get(amountKey(line.getType(), line.getAmount()));
+            BankTransaction found = nearestUnused(candidates, line.getDate(), used);
+            if (found != null) {
+                matches.put(line, found);
+                used.add(found);
+            }
+        }
+        return matches;
+    }
+
+    private BankTransaction firstUsable(List<BankTransaction> candidates, long amountKey, LocalDate date, Set<BankTransaction> used) {
+        if (candidates == null) {
+            return null;
+        }
+        for (BankTransaction candidate : candidates) {
+            if (!used.contains(candidate)
+                    && amountKey(candidate.getTransactionType(), candidate.getAmount()) == amountKey
+                    && daysApart(candidate, date) <= dateWindowDays) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private BankTransaction nearestUnused(List<BankTransaction> candidates, LocalDate date, Set<BankTransaction> used) {
+        if (candidates == null) {
+            return null;
+        }
+        // Binary search for the first candidate on or after the date, then widen both ways
+        int low = 0;
+        int high = candidates.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (candidates.get(mid).getTransactionDate().toLocalDate().isBefore(date)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        int after = low;
+        int before = low - 1;
+        while (after < candidates.size() || before >= 0) {
+            long afterDays = after < candidates.size() ? daysApart(candidates.get(after), date) : Long.MAX_VALUE;
+            long beforeDays = before >= 0 ? daysApart(candidates.get(before), date) : Long.MAX_VALUE;
+            if (Math.min(afterDays, beforeDays) > dateWindowDays) {
+                return null;
+            }
+            BankTransaction candidate = afterDays <= beforeDays ? candidates.get(after++) : candidates.get(before--);
+            if (!used.contains(candidate)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private long daysApart(BankTransaction transaction, LocalDate date) {
+        return Math.abs(ChronoUnit.DAYS.between(transaction.getTransactionDate().toLocalDate(), date));
+    }
+
+    private static void addReference(Map<String, List<BankTransaction>> index, String reference, BankTransaction transaction) {
+        String normalized = normalize(reference);
+        if (normalized.length() >= MIN_REFERENCE_TOKEN_LENGTH) {
+            List<BankTransaction> list = index.computeIfAbsent(normalized, k -> new ArrayList<>(1));
+            if (!list.contains(transaction)) {
+                list.add(transaction);
+            }
+        }
+    }
+
+    /**
+     * The line's reference column plus alphanumeric tokens of its narration
+     * (UPI narrations carry the UTR, e.g. "UPI/412345678901/NAME/...")
+     */
+    static List<String> referenceTokens(BankStatementLine line) {
+        List<String> tokens = new ArrayList<>();
+        String reference = normalize(line.getReference());
+        if (reference.length() >= MIN_REFERENCE_TOKEN_LENGTH) {
+            tokens.add(reference);
+        }
+        if (line.getDescription() != null) {
+            for (String token : line.getDescription().split("[^A-Za-z0-9]+")) {
+                String normalized = token.toUpperCase(Locale.ROOT);
+                if (normalized.length() >= MIN_REFERENCE_TOKEN_LENGTH && !tokens.contains(normalized)) {
+                    tokens.add(normalized);
+                }
+            }
+        }
+        return tokens;
+    }
+
+    private static String normalize(String reference) {
+        if (reference == null) {
+            return "";
+        }
+        return reference.replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT);
+    }
+
+    static long amountKey(TransactionType type, BigDecimal amount) {
+        long paise = amount.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+        return paise * 2 + (type == TransactionType.CREDIT ? 1 : 0);
+    }
+}
@@ -0,0 +1,125 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatement;
+import com.gurukrupa.data.entities.BankAccount;
+import com.gurukrupa.data.entities.BankTransaction;
+import com.gurukrupa.data.repository.BankAccountRepository;
+import com.gurukrupa.utility.IndianNumberFormatter;
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.FileOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Bank statement PDF. Rows are streamed from {@link BankStatementService} into an
+ * incomplete table that is flushed to the document every page of rows, so the
+ * statement is never held in memory as a whole.
+ */
+@Service
+public class BankStatementPdfService {
+
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    @Autowired
+    private BankStatementService bankStatementService;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Transactional
+    public BankStatement generateStatementPdf(Long bankAccountId, LocalDate fromDate, LocalDate toDate, String filePath) throws Exception {
+        BankAccount account = bankAccountRepository.findById(bankAccountId)
+                .orElseThrow(() -> new IllegalArgumentException("Bank account not found: " + bankAccountId));
+        BankStatement statement = bankStatementService.getStatement(bankAccountId, fromDate, toDate);
+
+        Font headerFont = new Font(Font.FontFamily.HELVETICA, 14, Font.BOLD);
+        Font normalFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL);
+        Font smallFont = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL);
+        Font boldFont = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD);
+
+        Document document = new Document(PageSize.A4, 36, 36, 36, 36);
+        PdfWriter.getInstance(document, new FileOutputStream(filePath));
+        document.open();
+
+        Paragraph title = new Paragraph("BANK STATEMENT", headerFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        Paragraph accountInfo = new Paragraph(account.getBankName() + " - " + account.getAccountNumber()
+                + (account.getAccountHolderName() != null ? " (" + account.getAccountHolderName() + ")" : ""), normalFont);
+        accountInfo.setAlignment(Element.ALIGN_CENTER);
+        document.add(accountInfo);
+
+        Paragraph period = new Paragraph("Period: " + fromDate.format(DATE_FORMATTER) + " to " + toDate.format(DATE_FORMATTER), normalFont);
+        period.setAlignment(Element.ALIGN_CENTER);
+        period.setSpacingAfter(10);
+        document.add(period);
+
+        PdfPTable summary = new PdfPTable(4);
+        summary.setWidthPercentage(100);
+        summary.setSpacingAfter(10);
+        summary.addCell(new Phrase("Opening Balance", boldFont));
+        summary.addCell(new Phrase("Total Credits", boldFont));
+        summary.addCell(new Phrase("Total Debits", boldFont));
+        summary.addCell(new Phrase("Closing Balance", boldFont));
+        summary.addCell(new Phrase(IndianNumberFormatter.formatAmount(statement.getOpeningBalance()), normalFont));
+        summary.addCell(new Phrase(IndianNumberFormatter.formatAmount(statement.getTotalCredits()), normalFont));
+        summary.addCell(new Phrase(IndianNumberFormatter.formatAmount(statement.getTotalDebits()), normalFont));
+        summary.addCell(new Phrase(IndianNumberFormatter.formatAmount(statement.getClosingBalance()), normalFont));
+        document.add(summary);
+
+        PdfPTable table = new PdfPTable(new float[]{2.2f, 2.2f, 4.5f, 1.8f, 1.8f, 2f});
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+        table.setComplete(false);
+        for (String header : new String[]{"Date", "Reference", "Particulars", "Debit", "Credit", "Balance"}) {
+            PdfPCell cell = new PdfPCell(new Phrase(header, boldFont));
+            cell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+            table.addCell(cell);
+        }
+
+        BigDecimal[] running = {statement.getOpeningBalance()};
+        int[] rows = {0};
+        DocumentException[] failure = {null};
+        bankStatementService.forEachStatementRow(bankAccountId, fromDate, toDate, transaction -> {
+            boolean credit = transaction.getTransactionType() == BankTransaction.TransactionType.CREDIT;
+            running[0] = credit ? running[0].add(transaction.getAmount()) : running[0].subtract(transaction.getAmount());
+
+            table.addCell(new Phrase(transaction.getTransactionDate().format(DATETIME_FORMATTER), smallFont));
+            table.addCell(new Phrase(transaction.getReferenceNumber() != null ? transaction.getReferenceNumber() : "", smallFont));
+            table.addCell(new Phrase(transaction.getDescription() != null ? transaction.getDescription() : transaction.buildDescription(), smallFont));
+            table.addCell(amountCell(credit ? null : transaction.getAmount(), smallFont));
+            table.addCell(amountCell(credit ? transaction.getAmount() : null, smallFont));
+            table.addCell(amountCell(running[0], smallFont));
+
+            if (++rows[0] % BankStatementService.DEFAULT_PAGE_SIZE == 0 && failure[0] == null) {
+                try {
+                    document.add(table);
+                } catch (DocumentException e) {
+                    failure[0] = e;
+                }
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+
+        table.setComplete(true);
+        document.add(table);
+        document.close();
+        return statement;
+    }
+
+    private PdfPCell amountCell(BigDecimal amount, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(amount != null ? IndianNumberFormatter.formatAmount(amount) : "", font));
+        cell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+        return cell;
+    }
+}
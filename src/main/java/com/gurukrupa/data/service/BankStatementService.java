@@ -0,0 +1,296 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatement;
+import com.gurukrupa.data.entities.BankBalanceCheckpoint;
+import com.gurukrupa.data.entities.BankTransaction;
+import com.gurukrupa.data.repository.ArchiveScope;
+import com.gurukrupa.data.repository.BankAccountRepository;
+import com.gurukrupa.data.repository.BankBalanceCheckpointRepository;
+import com.gurukrupa.data.repository.BankTransactionRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Bank account statements served as "checkpoint + delta": the balance at the end of
+ * any day is the latest daily closing-balance checkpoint plus the movement after it,
+ * and period totals are summed from checkpoints, so neither needs the account's full
+ * history. Statement rows are read with keyset paging on (transactionDate, id). A
+ * transaction dated on a checkpointed day drops the checkpoints from that day on, and
+ * they are rebuilt on the next read.
+ */
+@Service
+@Transactional
+public class BankStatementService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BankStatementService.class);
+    private static final DateTimeFormatter CSV_DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy HH:mm:ss");
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+
+    @Autowired
+    private BankTransactionRepository bankTransactionRepository;
+
+    @Autowired
+    private BankBalanceCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Balance at the end of a day
+     */
+    public BigDecimal getClosingBalance(Long bankAccountId, LocalDate date) {
+        LocalDate checkpointLimit = lastCheckpointableDay(date);
+        ensureCheckpoints(bankAccountId, checkpointLimit);
+
+        BigDecimal balance = checkpointRepository
+                .findFirstByBankAccountIdAndCheckpointDateLessThanEqualOrderByCheckpointDateDesc(bankAccountId, checkpointLimit)
+                .map(BankBalanceCheckpoint::getClosingBalance)
+                .orElse(BigDecimal.ZERO);
+
+        if (date.isAfter(checkpointLimit)) {
+            Object[] delta = bankTransactionRepository.getTotalsBetween(bankAccountId,
+                    checkpointLimit.plusDays(1).atStartOfDay(), date.plusDays(1).atStartOfDay()).get(0);
+            balance = balance.add(toBigDecimal(delta[0])).subtract(toBigDecimal(delta[1]));
+        }
+        return balance;
+    }
+
+    /**
+     * Opening/closing balance and totals for a period (both dates inclusive)
+     */
+    public BankStatement getStatement(Long bankAccountId, LocalDate fromDate, LocalDate toDate) {
+        BigDecimal opening = getClosingBalance(bankAccountId, fromDate.minusDays(1));
+
+        LocalDate checkpointLimit = lastCheckpointableDay(toDate);
+        ensureCheckpoints(bankAccountId, checkpointLimit);
+
+        BigDecimal credits = BigDecimal.ZERO;
+        BigDecimal debits = BigDecimal.ZERO;
+        long count = 0;
+        if (!fromDate.isAfter(checkpointLimit)) {
+            Object[] closed = checkpointRepository.getTotalsBetween(bankAccountId, fromDate, checkpointLimit).get(0);
+            credits = credits.add(toBigDecimal(closed[0]));
+            debits = debits.add(toBigDecimal(closed[1]));
+            count += ((Number) closed[2]).longValue();
+        }
+        if (toDate.isAfter(checkpointLimit)) {
+            LocalDate openFrom = fromDate.isAfter(checkpointLimit) ? fromDate : checkpointLimit.plusDays(1);
+            Object[] open = bankTransactionRepository.getTotalsBetween(bankAccountId,
+                    openFrom.atStartOfDay(), toDate.plusDays(1).atStartOfDay()).get(0);
+            credits = credits.add(toBigDecimal(open[0]));
+            debits = debits.add(toBigDecimal(open[1]));
+            count += ((Number) open[2]).longValue();
+        }
+
+        return BankStatement.builder()
+                .bankAccountId(bankAccountId)
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .openingBalance(opening)
+                .totalCredits(credits)
+                .totalDebits(debits)
+                .closingBalance(opening.add(credits).subtract(debits))
+                .transactionCount(count)
+                .build();
+    }
+
+    /**
+     * One page of statement rows, oldest first. Pass {@code null} cursor values for the
+     * first page, then the transactionDate and id of the last row received.
+     */
+    @Transactional(readOnly = true)
+    public List<BankTransaction> getStatementPage(Long bankAccountId, LocalDate fromDate, LocalDate toDate,
+                                                  LocalDateTime afterDate, Long afterId, int pageSize) {
+        LocalDateTime from = afterDate != null ? afterDate : fromDate.atStartOfDay();
+        return ArchiveScope.includeFrom(from, () -> bankTransactionRepository.findStatementPage(bankAccountId,
+                from,
+                afterId != null ? afterId : 0L,
+                toDate.plusDays(1).atStartOfDay(),
+                PageRequest.of(0, pageSize)));
+    }
+
+    /**
+     * Visit every row of a statement period page by page; each page is detached
+     * after use so memory stays flat however long the period.
+     */
+    @Transactional(readOnly = true)
+    public void forEachStatementRow(Long bankAccountId, LocalDate fromDate, LocalDate toDate,
+                                    Consumer<BankTransaction> consumer) {
+        LocalDateTime afterDate = null;
+        Long afterId = null;
+        List<BankTransaction> page;
+        do {
+            page = getStatementPage(bankAccountId, fromDate, toDate, afterDate, afterId, DEFAULT_PAGE_SIZE);
+            for (BankTransaction transaction : page) {
+                consumer.accept(transaction);
+            }
+            if (!page.isEmpty()) {
+                BankTransaction last = page.get(page.size() - 1);
+                afterDate = last.getTransactionDate();
+                afterId = last.getId();
+            }
+            entityManager.clear();
+        } while (page.size() == DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Write a statement period to a CSV file, streaming the rows
+     */
+    public BankStatement exportCsv(Long bankAccountId, LocalDate fromDate, LocalDate toDate, Path file) throws IOException {
+        BankStatement statement = getStatement(bankAccountId, fromDate, toDate);
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("Date,Type,Source,Reference,Transaction Reference,Party,Description,Debit,Credit,Balance");
+            writer.newLine();
+            writer.write(",,,,,,Opening Balance,,," + statement.getOpeningBalance().toPlainString());
+            writer.newLine();
+
+            BigDecimal[] running = {statement.getOpeningBalance()};
+            IOException[] failure = {null};
+            forEachStatementRow(bankAccountId, fromDate, toDate, transaction -> {
+                if (failure[0] != null) {
+                    return;
+                }
+                boolean credit = transaction.getTransactionType() == BankTransaction.TransactionType.CREDIT;
+                running[0] = credit ? running[0].add(transaction.getAmount()) : running[0].subtract(transaction.getAmount());
+                try {
+                    writer.write(String.join(",",
+                            transaction.getTransactionDate().format(CSV_DATE_FORMAT),
+                            transaction.getTransactionType().name(),
+                            transaction.getSource().name(),
+                            csv(transaction.getReferenceNumber()),
+                            csv(transaction.getTransactionReference()),
+                            csv(transaction.getParty()),
+                            csv(transaction.getDescription()),
+                            credit ? "" : transaction.getAmount().toPlainString(),
+                            credit ? transaction.getAmount().toPlainString() : "",
+                            running[0].toPlainString()));
+                    writer.newLine();
+                } catch (IOException e) {
+                    failure[0] = e;
+                }
+            });
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+
+            writer.write(",,,,,,Closing Balance," + statement.getTotalDebits().toPlainString() + ","
+                    + statement.getTotalCredits().toPlainString() + "," + statement.getClosingBalance().toPlainString());
+            writer.newLine();
+        }
+
+        LOG.info("Exported statement for bank account {} ({} to {}, {} rows) to {}",
+                bankAccountId, fromDate, toDate, statement.getTransactionCount(), file);
+        return statement;
+    }
+
+    /**
+     * Drop and rebuild an account's checkpoints, e.g. after correcting old transactions;
+     * archived years are included
+     */
+    public void rebuildCheckpoints(Long bankAccountId) {
+        checkpointRepository.deleteByBankAccountId(bankAccountId);
+        checkpointRepository.flush();
+        ArchiveScope.include(() -> ensureCheckpoints(bankAccountId, LocalDate.now().minusDays(1)));
+    }
+
+    /**
+     * Drop an account's checkpoints from a transaction's day on when that day is already
+     * checkpointed, e.g. a payment entered with an earlier date; call after the
+     * transaction is added, changed or removed
+     */
+    public void invalidateCheckpointsFrom(Long bankAccountId, LocalDateTime transactionDate) {
+        LocalDate day = transactionDate.toLocalDate();
+        Optional<BankBalanceCheckpoint> latest = checkpointRepository.findFirstByBankAccountIdOrderByCheckpointDateDesc(bankAccountId);
+        if (latest.isPresent() && !day.isAfter(latest.get().getCheckpointDate())) {
+            int deleted = checkpointRepository.deleteFromDate(bankAccountId, day);
+            LOG.info("Dropped {} balance checkpoints of bank account {} from {} for a backdated transaction",
+                    deleted, bankAccountId, day);
+        }
+    }
+
+    /**
+     * Add checkpoints for the active days after the latest one, up to a closed day
+     */
+    private void ensureCheckpoints(Long bankAccountId, LocalDate throughDate) {
+        Optional<BankBalanceCheckpoint> latest = checkpointRepository.findFirstByBankAccountIdOrderByCheckpointDateDesc(bankAccountId);
+        if (latest.isPresent() && !latest.get().getCheckpointDate().isBefore(throughDate)) {
+            return;
+        }
+
+        LocalDateTime startDate = latest.map(c -> c.getCheckpointDate().plusDays(1).atStartOfDay()).orElse(null);
+        // Checkpoints dropped for a backdated transaction may reach back into archived years
+        boolean archived = startDate == null ? ArchiveScope.getArchivedBefore() != null : ArchiveScope.isArchived(startDate);
+        List<Object[]> days = archived
+                ? ArchiveScope.include(() -> bankTransactionRepository.getDailyTotals(bankAccountId, startDate, throughDate.plusDays(1).atStartOfDay()))
+                : bankTransactionRepository.getDailyTotals(bankAccountId, startDate, throughDate.plusDays(1).atStartOfDay());
+        if (days.isEmpty()) {
+            return;
+        }
+
+        BigDecimal balance = latest.map(BankBalanceCheckpoint::getClosingBalance).orElse(BigDecimal.ZERO);
+        for (Object[] day : days) {
+            BigDecimal credits = toBigDecimal(day[1]);
+            BigDecimal debits = toBigDecimal(day[2]);
+            balance = balance.add(credits).subtract(debits);
+            checkpointRepository.save(BankBalanceCheckpoint.builder()
+                    .bankAccount(bankAccountRepository.getReferenceById(bankAccountId))
+                    .checkpointDate(toLocalDate(day[0]))
+                    .closingBalance(balance)
+                    .dayCredits(credits)
+                    .dayDebits(debits)
+                    .transactionCount(((Number) day[3]).intValue())
+                    .build());
+        }
+        LOG.debug("Added {} balance checkpoints for bank account {}", days.size(), bankAccountId);
+    }
+
+    private LocalDate lastCheckpointableDay(LocalDate date) {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        return date.isAfter(yesterday) ? yesterday : date;
+    }
+
+    private LocalDate toLocalDate(Object value) {
+        return value instanceof java.sql.Date sqlDate ? sqlDate.toLocalDate() : (LocalDate) value;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+
+    private String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+}
@@ -12,7 +12,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -25,6 +29,9 @@ public class BankTransactionService {
     @Autowired
     private BankAccountRepository bankAccountRepository;
     
+    @Autowired
+    private BankStatementService bankStatementService;
+    
     /**
      * Record a credit transaction (money coming in)
      */
@@ -57,6 +64,7 @@ public class BankTransactionService {
         
         // Save transaction
         transaction = bankTransactionRepository.save(transaction);
+        bankStatementService.invalidateCheckpointsFrom(bankAccount.getId(), transaction.getTransactionDate());
         
         // Update bank account balance directly
         bankAccount.setCurrentBalance(newBalance);
@@ -97,6 +105,7 @@ public class BankTransactionService {
         
         // Save transaction
         transaction = bankTransactionRepository.save(transaction);
+        bankStatementService.invalidateCheckpointsFrom(bankAccount.getId(), transaction.getTransactionDate());
         
         // Update bank account balance directly
         bankAccount.setCurrentBalance(newBalance);
@@ -186,6 +195,14 @@ public class BankTransactionService {
         return bankTransactionRepository.findByBankAccountIdOrderByTransactionDateDesc(bankAccountId);
     }
     
+    /**
+     * Get the 50 most recent transactions for a bank account
+     */
+    @Transactional(readOnly = true)
+    public List<BankTransaction> findRecentByBankAccount(Long bankAccountId) {
+        return bankTransactionRepository.findTop50ByBankAccountIdOrderByTransactionDateDescIdDesc(bankAccountId);
+    }
+    
     /**
      * Find transactions by date range
      */
@@ -243,7 +260,14 @@ public class BankTransactionService {
         if (keyword == null || keyword.trim().isEmpty()) {
             return findByBankAccount(bankAccountId);
         }
-        return bankTransactionRepository.searchByKeyword(bankAccountId, keyword);
+        // The contains search covers description, party and reference number; the prefix
+        // search adds the transaction references starting with the keyword
+        Map<Long, BankTransaction> matches = new LinkedHashMap<>();
+        bankTransactionRepository.searchByKeyword(bankAccountId, keyword.trim()).forEach(t -> matches.put(t.getId(), t));
+        bankTransactionRepository.searchByPrefix(bankAccountId, keyword.trim()).forEach(t -> matches.putIfAbsent(t.getId(), t));
+        List<BankTransaction> results = new ArrayList<>(matches.values());
+        results.sort(Comparator.comparing(BankTransaction::getTransactionDate).reversed());
+        return results;
     }
     
     /**
@@ -251,9 +275,10 @@ public class BankTransactionService {
      */
     @Transactional(readOnly = true)
     public BigDecimal getBalanceAtDate(Long bankAccountId, LocalDateTime date) {
-        List<BankTransaction> transactions = bankTransactionRepository.findTransactionsBeforeDate(bankAccountId, date);
-        if (!transactions.isEmpty()) {
-            return transactions.get(0).getBalanceAfterTransaction();
+        Optional<BankTransaction> latest = bankTransactionRepository
+                .findFirstByBankAccountIdAndTransactionDateLessThanEqualOrderByTransactionDateDescIdDesc(bankAccountId, date);
+        if (latest.isPresent()) {
+            return latest.get().getBalanceAfterTransaction();
         }
         // If no transactions, return opening balance
         Optional<BankAccount> accountOpt = bankAccountRepository.findById(bankAccountId);
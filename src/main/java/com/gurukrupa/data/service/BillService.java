@@ -5,9 +5,12 @@ import com.gurukrupa.data.entities.BillTransaction;
 import com.gurukrupa.data.entities.ExchangeTransaction;
 import com.gurukrupa.data.entities.Exchange;
 import com.gurukrupa.data.entities.Customer;
+import com.gurukrupa.data.repository.ArchiveScope;
 import com.gurukrupa.data.repository.BillRepository;
 import com.gurukrupa.data.repository.BillTransactionRepository;
 import com.gurukrupa.data.repository.ExchangeTransactionRepository;
+import com.gurukrupa.logging.BillingLog;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,6 +24,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 @Service
 @Transactional
@@ -46,6 +50,9 @@ public class BillService {
     @Autowired
     private JewelryItemService jewelryItemService;
     
+    @Autowired
+    private CustomerReceivableService customerReceivableService;
+    
     public Bill saveBill(Bill bill) {
         // Generate bill number if not set
         if (bill.getBillNumber() == null || bill.getBillNumber().isEmpty()) {
@@ -66,6 +73,9 @@ public class BillService {
         // Save the bill (this will cascade save the transactions)
         Bill savedBill = billRepository.save(bill);
         
+        // Keep the customer's receivables summary in step
+        customerReceivableService.refreshForCustomer(savedBill.getCustomer().getId());
+        
         // Stock reduction will be handled separately after the transaction commits
         // to avoid transaction rollback issues
         
@@ -84,7 +94,7 @@ public class BillService {
         
         // Create new bill
         BigDecimal exchangeAmt = exchange != null ? exchange.getTotalExchangeAmount() : BigDecimal.ZERO;
-        System.out.println("Creating bill with exchange amount: " + exchangeAmt);
+        BillingLog.billCreating(exchangeAmt, billTransactions.size());
         
         Bill bill = Bill.builder()
                 .customer(customer)
@@ -125,10 +135,12 @@ public class BillService {
             
             // Save the updated bill (without exchange reference in DB)
             savedBill = billRepository.save(savedBill);
+            customerReceivableService.refreshForCustomer(savedBill.getCustomer().getId());
             
-            System.out.println("BillService: Bill updated with exchange amount: " + savedBill.getExchangeAmount());
+            BillingLog.exchangeApplied(savedBill.getBillNumber(), savedExchange.getExchangeNumber(), savedBill.getExchangeAmount());
         }
         
+        BillingLog.billSaved(savedBill.getBillNumber(), savedBill.getGrandTotal());
         return savedBill;
     }
     
@@ -183,8 +195,26 @@ public class BillService {
         return billRepository.findAllOrderByBillDateDesc();
     }
     
+    /**
+     * Bills in a range; a range reaching into archived years reads the archive too, with
+     * each bill's items and payments loaded while it can still see them
+     */
     public List<Bill> findByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return billRepository.findByBillDateBetween(startDate, endDate);
+        return findFrom(startDate, () -> billRepository.findByBillDateBetween(startDate, endDate));
+    }
+    
+    private List<Bill> findFrom(LocalDateTime startDate, Supplier<List<Bill>> query) {
+        if (!ArchiveScope.isArchived(startDate)) {
+            return query.get();
+        }
+        return ArchiveScope.include(() -> {
+            List<Bill> bills = query.get();
+            for (Bill bill : bills) {
+                Hibernate.initialize(bill.getBillTransactions());
+                Hibernate.initialize(bill.getPaymentModes());
+            }
+            return bills;
+        });
     }
     
     public List<Bill> findTodaysBills() {
@@ -204,7 +234,9 @@ public class BillService {
         if (billOpt.isPresent()) {
             Bill bill = billOpt.get();
             bill.setStatus(status);
-            return billRepository.save(bill);
+            Bill savedBill = billRepository.save(bill);
+            customerReceivableService.refreshForCustomer(savedBill.getCustomer().getId());
+            return savedBill;
         }
         return null;
     }
@@ -218,7 +250,13 @@ public class BillService {
     }
     
     public void deleteBill(Long billId) {
+        Long customerId = billRepository.findById(billId)
+                .map(bill -> bill.getCustomer().getId())
+                .orElse(null);
         billRepository.deleteById(billId);
+        if (customerId != null) {
+            customerReceivableService.refreshForCustomer(customerId);
+        }
     }
     
     // Analytics methods
@@ -244,8 +282,11 @@ public class BillService {
         return billRepository.findByCustomerIdOrderByBillDateDesc(customerId);
     }
     
+    /**
+     * A customer's bills in a range, reading the archive like {@link #findByDateRange}
+     */
     public List<Bill> findByCustomerIdAndDateRange(Long customerId, LocalDateTime fromDate, LocalDateTime toDate) {
-        return billRepository.findByCustomerIdAndBillDateBetween(customerId, fromDate, toDate);
+        return findFrom(fromDate, () -> billRepository.findByCustomerIdAndBillDateBetween(customerId, fromDate, toDate));
     }
     
     public BigDecimal getTotalPendingAmountForCustomer(Long customerId) {
@@ -1,7 +1,7 @@
 package com.gurukrupa.data.service;
 
+import com.gurukrupa.data.dto.CategoryStatistics;
 import com.gurukrupa.data.entities.Category;
-import com.gurukrupa.data.entities.JewelryItem;
 import com.gurukrupa.data.repository.CategoryRepository;
 import com.gurukrupa.data.repository.JewelryItemRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -11,7 +11,6 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -19,15 +18,19 @@ public class CategoryService {
     
     private final CategoryRepository categoryRepository;
     private final JewelryItemRepository jewelryItemRepository;
+    private final CategoryStatisticsCache statisticsCache;
     
     @Autowired
-    public CategoryService(CategoryRepository categoryRepository, JewelryItemRepository jewelryItemRepository) {
+    public CategoryService(CategoryRepository categoryRepository, JewelryItemRepository jewelryItemRepository,
+                           CategoryStatisticsCache statisticsCache) {
         this.categoryRepository = categoryRepository;
         this.jewelryItemRepository = jewelryItemRepository;
+        this.statisticsCache = statisticsCache;
     }
     
     // Basic CRUD operations
     public Category saveCategory(Category category) {
+        statisticsCache.invalidate();
         return categoryRepository.save(category);
     }
     
@@ -36,6 +39,7 @@ public class CategoryService {
                 .categoryName(categoryName.trim())
                 .description(description != null ? description.trim() : null)
                 .build();
+        statisticsCache.invalidate();
         return categoryRepository.save(category);
     }
     
@@ -62,6 +66,7 @@ public class CategoryService {
         category.setCategoryName(categoryName.trim());
         category.setDescription(description != null ? description.trim() : null);
         
+        statisticsCache.invalidate();
         return categoryRepository.save(category);
     }
     
@@ -77,6 +82,7 @@ public class CategoryService {
         }
         
         categoryRepository.deleteById(id);
+        statisticsCache.invalidate();
     }
     
     public void deactivateCategory(Long id) {
@@ -84,6 +90,7 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         category.setIsActive(false);
         categoryRepository.save(category);
+        statisticsCache.invalidate();
     }
     
     public void activateCategory(Long id) {
@@ -91,6 +98,7 @@ public class CategoryService {
                 .orElseThrow(() -> new RuntimeException("Category not found with id: " + id));
         category.setIsActive(true);
         categoryRepository.save(category);
+        statisticsCache.invalidate();
     }
     
     // Business logic methods
@@ -108,19 +116,20 @@ public class CategoryService {
     }
     
     public long getItemCountForCategory(String categoryName) {
-        return jewelryItemRepository.findByCategory(categoryName).stream()
-                .filter(item -> item.getIsActive())
-                .count();
+        return jewelryItemRepository.countByCategoryAndIsActiveTrue(categoryName);
     }
     
+    /**
+     * Active item count per category name, served from the statistics cache
+     */
+    @Transactional(readOnly = true)
     public Map<String, Long> getCategoryItemCountMap() {
-        List<JewelryItem> allItems = jewelryItemRepository.findByIsActiveTrue();
-        return allItems.stream()
-                .filter(item -> item.getCategory() != null && !item.getCategory().trim().isEmpty())
-                .collect(Collectors.groupingBy(
-                    JewelryItem::getCategory,
-                    Collectors.counting()
-                ));
+        return statisticsCache.get().getItemCounts();
+    }
+    
+    @Transactional(readOnly = true)
+    public CategoryStatistics getCategoryStatistics() {
+        return statisticsCache.get();
     }
     
     // Migration method to create categories from existing jewelry items
@@ -142,6 +151,6 @@ public class CategoryService {
     
     // Get total number of active categories
     public long getActiveCategoryCount() {
-        return categoryRepository.findByIsActiveTrue().size();
+        return categoryRepository.countByIsActiveTrue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.CategoryStatistics;
+import com.gurukrupa.data.repository.CategoryRepository;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.event.InventoryChangedEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the category statistics so the Categories screen does not query the items
+ * table on every refresh. Built with three aggregate queries on first use and dropped
+ * whenever an item changes ({@link InventoryChangedEvent}, after commit) or a category
+ * is added, renamed or removed.
+ */
+@Component
+public class CategoryStatisticsCache {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    private volatile CategoryStatistics statistics;
+
+    public CategoryStatistics get() {
+        CategoryStatistics current = statistics;
+        if (current == null) {
+            current = load();
+            statistics = current;
+        }
+        return current;
+    }
+
+    /**
+     * Drop the statistics; inside a transaction they are dropped again after commit
+     * so a concurrent load cannot keep pre-commit counts.
+     */
+    public void invalidate() {
+        statistics = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    statistics = null;
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        statistics = null;
+    }
+
+    private CategoryStatistics load() {
+        Map<String, Long> itemCounts = new HashMap<>();
+        long totalItems = 0;
+        for (Object[] row : jewelryItemRepository.countActiveItemsByCategory()) {
+            long count = ((Number) row[1]).longValue();
+            itemCounts.put((String) row[0], count);
+            totalItems += count;
+        }
+        return CategoryStatistics.builder()
+                .totalCategories(categoryRepository.count())
+                .activeCategories(categoryRepository.countByIsActiveTrue())
+                .totalItems(totalItems)
+                .itemCounts(Collections.unmodifiableMap(itemCounts))
+                .build();
+    }
+}
@@ -0,0 +1,175 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.CheckoutReceipt;
+import com.gurukrupa.data.dto.CheckoutRequest;
+import com.gurukrupa.data.entities.Bill;
+import com.gurukrupa.data.entities.BillTransaction;
+import com.gurukrupa.data.entities.Exchange;
+import com.gurukrupa.data.entities.ExchangeTransaction;
+import com.gurukrupa.data.entities.PaymentMode;
+import com.gurukrupa.event.BillCreatedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Settles a sale in one transaction: exchange, bill with its transactions, payment
+ * mode, bank ledger entry and the stock outbox entry either all commit or none do.
+ * Stock reduction and exchange metal intake run after commit from the
+ * {@link BillCreatedEvent}; the outbox entry makes the stock reduction survive a
+ * failure in between.
+ */
+@Service
+@Transactional
+public class CheckoutService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CheckoutService.class);
+
+    @Autowired
+    private BillService billService;
+
+    @Autowired
+    private ExchangeService exchangeService;
+
+    @Autowired
+    private PaymentModeService paymentModeService;
+
+    @Autowired
+    private StockOutboxService stockOutboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Price the cart without saving anything. The returned bill is transient and
+     * only carries the totals, used to validate the payment before checkout.
+     */
+    @Transactional(readOnly = true)
+    public Bill quote(CheckoutRequest request) {
+        if (request.getExistingBill() != null) {
+            return request.getExistingBill();
+        }
+
+        BigDecimal exchangeAmount = BigDecimal.ZERO;
+        if (request.getExchangeTransactions() != null) {
+            for (ExchangeTransaction transaction : request.getExchangeTransactions()) {
+                transaction.calculateNetWeightAndAmount();
+                if (transaction.getTotalAmount() != null) {
+                    exchangeAmount = exchangeAmount.add(transaction.getTotalAmount());
+                }
+            }
+        }
+
+        Bill bill = Bill.builder()
+                .customer(request.getCustomer())
+                .discount(request.getDiscount() != null ? request.getDiscount() : BigDecimal.ZERO)
+                .gstRate(request.getGstRate() != null ? request.getGstRate() : new BigDecimal("3.00"))
+                .exchangeAmount(exchangeAmount)
+                .paidAmount(BigDecimal.ZERO)
+                .billTransactions(new ArrayList<>(request.getBillTransactions()))
+                .build();
+        bill.calculateTotals();
+        return bill;
+    }
+
+    public CheckoutReceipt checkout(CheckoutRequest request) {
+        Bill.PaymentMethod paymentMethod = request.getPaymentMethod();
+        if (paymentMethod == null) {
+            throw new IllegalArgumentException("Payment method is required for checkout");
+        }
+
+        boolean newBill = request.getExistingBill() == null;
+        Exchange exchange = null;
+        Bill bill;
+        if (newBill) {
+            List<BillTransaction> billTransactions = request.getBillTransactions();
+            if (billTransactions == null || billTransactions.isEmpty()) {
+                throw new IllegalArgumentException("Cannot check out a bill without items");
+            }
+            List<ExchangeTransaction> exchangeTransactions = request.getExchangeTransactions();
+            if (exchangeTransactions != null && !exchangeTransactions.isEmpty()) {
+                exchange = exchangeService.createExchange(request.getCustomer(), exchangeTransactions,
+                        request.getExchangeNotes());
+            }
+            bill = billService.createBillFromTransaction(request.getCustomer(), billTransactions, exchange,
+                    request.getDiscount(), request.getGstRate(), paymentMethod);
+        } else {
+            bill = request.getExistingBill();
+        }
+
+        BigDecimal grandTotal = bill.getGrandTotal();
+        BigDecimal paidAmount = paymentMethod == Bill.PaymentMethod.CREDIT ? BigDecimal.ZERO
+                : request.getPaidAmount() != null ? request.getPaidAmount() : grandTotal;
+        if (paymentMethod != Bill.PaymentMethod.CREDIT && paidAmount.signum() == 0) {
+            throw new IllegalArgumentException("Payment amount cannot be zero");
+        }
+
+        bill.setPaymentMethod(paymentMethod);
+        bill.setPaidAmount(paidAmount);
+        bill.setPendingAmount(grandTotal.subtract(paidAmount));
+        boolean settled = paymentMethod != Bill.PaymentMethod.CREDIT
+                && paymentMethod != Bill.PaymentMethod.PARTIAL
+                && paidAmount.abs().compareTo(grandTotal.abs()) >= 0;
+        bill.setStatus(settled ? Bill.BillStatus.PAID : Bill.BillStatus.CONFIRMED);
+        Bill savedBill = billService.saveBill(bill);
+
+        PaymentMode payment = recordPayment(savedBill, request, paidAmount);
+
+        if (newBill) {
+            stockOutboxService.enqueue(savedBill);
+            // Listeners run after commit
+            eventPublisher.publishEvent(new BillCreatedEvent(this, savedBill));
+        }
+
+        LOG.info("Checkout of bill {}: {} paid {} of {}", savedBill.getBillNumber(), paymentMethod,
+                paidAmount, grandTotal);
+
+        return CheckoutReceipt.builder()
+                .billId(savedBill.getId())
+                .billNumber(savedBill.getBillNumber())
+                .status(savedBill.getStatus())
+                .grandTotal(savedBill.getGrandTotal())
+                .paidAmount(savedBill.getPaidAmount())
+                .pendingAmount(savedBill.getPendingAmount())
+                .paymentModeId(payment != null ? payment.getId() : null)
+                .exchangeNumber(exchange != null ? exchange.getExchangeNumber() : null)
+                .bill(savedBill)
+                .build();
+    }
+
+    private PaymentMode recordPayment(Bill bill, CheckoutRequest request, BigDecimal amount) {
+        switch (request.getPaymentMethod()) {
+            case CASH:
+            case PARTIAL:
+                return paymentModeService.createCashPayment(bill, amount);
+            case CARD:
+                String cardReference = request.getReferenceNumber() != null
+                        ? request.getReferenceNumber() : "CARD-REF-" + System.currentTimeMillis();
+                return paymentModeService.createCardPayment(bill, amount, cardReference, null, null, null);
+            case UPI:
+                if (request.getBankAccount() != null) {
+                    return paymentModeService.createUPIPaymentWithBankAccount(bill, amount,
+                            request.getReferenceNumber(), request.getUpiId(), request.getBankAccount());
+                }
+                return paymentModeService.createUPIPayment(bill, amount, request.getReferenceNumber(), request.getUpiId());
+            case BANK_TRANSFER:
+            case CHEQUE:
+                if (request.getBankAccount() == null) {
+                    throw new IllegalArgumentException("Bank account is required for " + request.getPaymentMethod() + " payment");
+                }
+                return paymentModeService.createBankPayment(bill, amount, request.getBankAccount(),
+                        request.getReferenceNumber());
+            case CREDIT:
+            default:
+                // Credit sale: nothing received yet
+                return null;
+        }
+    }
+}
@@ -35,6 +35,12 @@ public class CustomerPaymentService {
     @Autowired
     private BankTransactionRepository bankTransactionRepository;
 
+    @Autowired
+    private CustomerReceivableService customerReceivableService;
+
+    @Autowired
+    private BankStatementService bankStatementService;
+
     /**
      * Generate unique receipt number (CPR-YYYYMMDD-XXXX)
      */
@@ -60,14 +66,19 @@ public class CustomerPaymentService {
     }
 
     /**
-     * Get customer's total pending amount across all bills
+     * Get customer's total pending amount across all bills (from the receivables summary)
      */
     @Transactional
     public BigDecimal getCustomerPendingAmount(Long customerId) {
-        List<Bill> pendingBills = getCustomerPendingBills(customerId);
-        return pendingBills.stream()
-                .map(Bill::getPendingAmount)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        return customerReceivableService.getPendingAmount(customerId);
+    }
+
+    /**
+     * Get count of bills with a pending amount (from the receivables summary)
+     */
+    @Transactional
+    public int getCustomerPendingBillCount(Long customerId) {
+        return customerReceivableService.getReceivable(customerId).getPendingBillCount();
     }
 
     /**
@@ -75,10 +86,7 @@ public class CustomerPaymentService {
      */
     @Transactional
     public List<Bill> getCustomerPendingBills(Long customerId) {
-        return billRepository.findByCustomerIdOrderByBillDateDesc(customerId).stream()
-                .filter(bill -> bill.getPendingAmount() != null &&
-                               bill.getPendingAmount().compareTo(BigDecimal.ZERO) > 0)
-                .toList();
+        return billRepository.findByCustomerIdAndPendingAmountGreaterThanOrderByBillDateDesc(customerId, BigDecimal.ZERO);
     }
 
     /**
@@ -118,6 +126,8 @@ public class CustomerPaymentService {
                 .build();
 
         bankTransaction = bankTransactionRepository.save(bankTransaction);
+        // The payment date is picked by the user and may fall on a checkpointed day
+        bankStatementService.invalidateCheckpointsFrom(bankAccount.getId(), paymentDateTime);
 
         // Update bank account balance (increase)
         bankAccount.setCurrentBalance(bankAccount.getCurrentBalance().add(paymentAmount));
@@ -143,6 +153,9 @@ public class CustomerPaymentService {
         // Allocate payment to pending bills (FIFO)
         allocatePaymentToBills(customer.getId(), paymentAmount);
 
+        // Keep the customer's receivables summary in step
+        customerReceivableService.refreshForCustomer(customer.getId());
+
         LOG.info("Payment recorded successfully: Receipt={}, Amount={}",
                 payment.getReceiptNumber(), payment.getPaymentAmount());
 
@@ -153,9 +166,7 @@ public class CustomerPaymentService {
      * Allocate payment to pending bills (oldest first - FIFO)
      */
     private void allocatePaymentToBills(Long customerId, BigDecimal paymentAmount) {
-        List<Bill> pendingBills = billRepository.findByCustomerIdOrderByBillDateDesc(customerId).stream()
-                .filter(bill -> bill.getPendingAmount() != null &&
-                               bill.getPendingAmount().compareTo(BigDecimal.ZERO) > 0)
+        List<Bill> pendingBills = getCustomerPendingBills(customerId).stream()
                 .sorted((b1, b2) -> b1.getBillDate().compareTo(b2.getBillDate())) // Oldest first
                 .toList();
 
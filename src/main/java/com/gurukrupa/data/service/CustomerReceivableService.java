@@ -0,0 +1,145 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.CustomerReceivable;
+import com.gurukrupa.data.repository.ArchiveScope;
+import com.gurukrupa.data.repository.BillRepository;
+import com.gurukrupa.data.repository.CustomerPaymentRepository;
+import com.gurukrupa.data.repository.CustomerReceivableRepository;
+import com.gurukrupa.data.repository.CustomerRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the per-customer receivables summary. Bill saves and payment receipts
+ * call {@link #refreshForCustomer(Long)} inside their own transaction, which
+ * recomputes the row with one aggregate query over that customer's bills; reads
+ * are a single-row lookup. Totals cover archived years too.
+ */
+@Service
+@Transactional
+public class CustomerReceivableService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CustomerReceivableService.class);
+
+    @Autowired
+    private CustomerReceivableRepository receivableRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private CustomerPaymentRepository customerPaymentRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    /**
+     * Recompute a customer's summary from their bills
+     */
+    public CustomerReceivable refreshForCustomer(Long customerId) {
+        CustomerReceivable receivable = receivableRepository.findByCustomerId(customerId)
+                .orElseGet(() -> CustomerReceivable.builder()
+                        .customer(customerRepository.getReferenceById(customerId))
+                        .build());
+
+        List<Object[]> totals = ArchiveScope.include(() -> billRepository.getReceivableTotalsByCustomerId(customerId));
+        applyTotals(receivable, totals.isEmpty() ? null : totals.get(0));
+        receivable.setLastPaymentDate(customerPaymentRepository.findLastPaymentDateByCustomerId(customerId));
+
+        return receivableRepository.save(receivable);
+    }
+
+    /**
+     * Pending amount for a customer; builds the summary on first use
+     */
+    public BigDecimal getPendingAmount(Long customerId) {
+        return getReceivable(customerId).getPendingAmount();
+    }
+
+    public CustomerReceivable getReceivable(Long customerId) {
+        return receivableRepository.findByCustomerId(customerId)
+                .orElseGet(() -> refreshForCustomer(customerId));
+    }
+
+    /**
+     * Compare every summary row with the bills and correct any drift.
+     * Returns the number of rows that had to be fixed.
+     */
+    public int reconcileAll() {
+        Map<Long, CustomerReceivable> existing = new HashMap<>();
+        for (CustomerReceivable receivable : receivableRepository.findAll()) {
+            existing.put(receivable.getCustomer().getId(), receivable);
+        }
+
+        int corrected = 0;
+        for (Object[] row : ArchiveScope.include(() -> billRepository.getReceivableTotalsForAllCustomers())) {
+            Long customerId = (Long) row[0];
+            CustomerReceivable receivable = existing.remove(customerId);
+            if (receivable == null) {
+                refreshForCustomer(customerId);
+                corrected++;
+            } else if (!matches(receivable, row)) {
+                LOG.warn("Receivables for customer {} out of step: pending {} in summary, {} in bills",
+                        customerId, receivable.getPendingAmount(), row[3]);
+                applyTotals(receivable, row);
+                receivableRepository.save(receivable);
+                corrected++;
+            }
+        }
+
+        // Summaries left over belong to customers whose bills were all deleted
+        for (CustomerReceivable receivable : existing.values()) {
+            if (receivable.getPendingAmount().signum() != 0 || receivable.getTotalBilled().signum() != 0) {
+                applyTotals(receivable, null);
+                receivableRepository.save(receivable);
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            LOG.info("Receivables reconciliation corrected {} customer summaries", corrected);
+        }
+        return corrected;
+    }
+
+    private void applyTotals(CustomerReceivable receivable, Object[] row) {
+        if (row == null) {
+            receivable.setTotalBilled(BigDecimal.ZERO);
+            receivable.setTotalPaid(BigDecimal.ZERO);
+            receivable.setPendingAmount(BigDecimal.ZERO);
+            receivable.setPendingBillCount(0);
+            receivable.setLastBillDate(null);
+            return;
+        }
+        receivable.setTotalBilled(toBigDecimal(row[1]));
+        receivable.setTotalPaid(toBigDecimal(row[2]));
+        receivable.setPendingAmount(toBigDecimal(row[3]));
+        receivable.setPendingBillCount(row[4] != null ? ((Number) row[4]).intValue() : 0);
+        receivable.setLastBillDate((LocalDateTime) row[5]);
+    }
+
+    private boolean matches(CustomerReceivable receivable, Object[] row) {
+        return receivable.getTotalBilled().compareTo(toBigDecimal(row[1])) == 0
+                && receivable.getTotalPaid().compareTo(toBigDecimal(row[2])) == 0
+                && receivable.getPendingAmount().compareTo(toBigDecimal(row[3])) == 0
+                && receivable.getPendingBillCount() == (row[4] != null ? ((Number) row[4]).intValue() : 0)
+                && Objects.equals(receivable.getLastBillDate(), row[5]);
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
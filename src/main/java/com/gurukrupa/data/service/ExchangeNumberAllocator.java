@@ -0,0 +1,63 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.repository.ExchangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hands out exchange numbers (EX/YYYY/MM/NNNN) from a per-month counter. The counter
+ * for a month is seeded once from the highest number already issued, a single index
+ * lookup on the unique exchange number, and then incremented atomically, so concurrent
+ * checkouts never receive the same number. A number taken by a checkout that rolls
+ * back is not reused.
+ */
+@Component
+public class ExchangeNumberAllocator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExchangeNumberAllocator.class);
+
+    @Autowired
+    private ExchangeRepository exchangeRepository;
+
+    private final ConcurrentMap<String, AtomicInteger> counters = new ConcurrentHashMap<>();
+
+    public String next() {
+        return next(LocalDate.now());
+    }
+
+    public String next(LocalDate date) {
+        String prefix = prefixFor(date);
+        int sequence = counters.computeIfAbsent(prefix, key -> new AtomicInteger(lastIssued(key))).incrementAndGet();
+        return String.format("%s%04d", prefix, sequence);
+    }
+
+    static String prefixFor(LocalDate date) {
+        return String.format("EX/%d/%02d/", date.getYear(), date.getMonthValue());
+    }
+
+    /**
+     * Highest sequence already used for the month. Numbers are zero-padded to four
+     * digits, so the greatest number in index order is the latest one.
+     */
+    int lastIssued(String prefix) {
+        return exchangeRepository.findFirstByExchangeNumberStartingWithOrderByExchangeNumberDesc(prefix)
+                .map(exchange -> parseSequence(exchange.getExchangeNumber(), prefix))
+                .orElse(0);
+    }
+
+    private int parseSequence(String exchangeNumber, String prefix) {
+        try {
+            return Integer.parseInt(exchangeNumber.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            LOG.warn("Unexpected exchange number {}; starting month {} from 0", exchangeNumber, prefix);
+            return 0;
+        }
+    }
+}
@@ -10,7 +10,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -23,7 +22,7 @@ public class ExchangeService {
     private ExchangeRepository exchangeRepository;
     
     @Autowired
-    private ExchangeTransactionService exchangeTransactionService;
+    private ExchangeNumberAllocator exchangeNumberAllocator;
     
     @Transactional
     public Exchange createExchange(Customer customer, List<ExchangeTransaction> exchangeTransactions, String notes) {
@@ -33,42 +32,33 @@ public class ExchangeService {
     @Transactional
     public Exchange createExchange(Customer customer, List<ExchangeTransaction> exchangeTransactions, String notes, Long billId) {
         // Generate exchange number
-        String exchangeNumber = generateExchangeNumber();
+        String exchangeNumber = exchangeNumberAllocator.next();
+        
+        // Work out the total in memory, then persist the exchange together with
+        // its transactions through the cascade; no second save for the total
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (ExchangeTransaction transaction : exchangeTransactions) {
+            transaction.calculateNetWeightAndAmount();
+            if (transaction.getTotalAmount() != null) {
+                totalAmount = totalAmount.add(transaction.getTotalAmount());
+            }
+        }
         
-        // Create new exchange
         Exchange exchange = Exchange.builder()
             .exchangeNumber(exchangeNumber)
             .customer(customer)
             .notes(notes)
             .status(ExchangeStatus.ACTIVE)
             .exchangeDate(LocalDateTime.now())
-            .totalExchangeAmount(BigDecimal.ZERO) // Initialize with zero
+            .totalExchangeAmount(totalAmount)
             .build();
         
-        // Save exchange first
-        exchange = exchangeRepository.save(exchange);
-        
-        // Associate transactions with exchange
-        BigDecimal totalAmount = BigDecimal.ZERO;
-        System.out.println("ExchangeService: Starting to process " + exchangeTransactions.size() + " transactions");
-        
         for (ExchangeTransaction transaction : exchangeTransactions) {
             transaction.setExchange(exchange);
-            // Ensure transaction has calculated its total before saving
-            transaction.calculateNetWeightAndAmount();
-            ExchangeTransaction savedTransaction = exchangeTransactionService.saveExchangeTransaction(transaction);
-            BigDecimal transAmt = savedTransaction.getTotalAmount() != null ? savedTransaction.getTotalAmount() : BigDecimal.ZERO;
-            totalAmount = totalAmount.add(transAmt);
-            System.out.println("ExchangeService: Added transaction amount: " + transAmt + ", Running total: " + totalAmount);
+            exchange.getExchangeTransactions().add(transaction);
         }
         
-        // Update total amount
-        System.out.println("ExchangeService: Setting exchange total amount to: " + totalAmount);
-        exchange.setTotalExchangeAmount(totalAmount);
-        exchange = exchangeRepository.save(exchange);
-        System.out.println("ExchangeService: Saved exchange with total: " + exchange.getTotalExchangeAmount());
-        
-        return exchange;
+        return exchangeRepository.save(exchange);
     }
     
     @Transactional(readOnly = true)
@@ -107,7 +97,6 @@ public class ExchangeService {
         if (exchange.getTotalExchangeAmount() == null) {
             exchange.calculateTotalAmount();
         }
-        System.out.println("ExchangeService.saveExchange: Saving exchange with total: " + exchange.getTotalExchangeAmount());
         return exchangeRepository.save(exchange);
     }
     
@@ -151,24 +140,4 @@ public class ExchangeService {
             exchangeRepository.save(exchange);
         });
     }
-    
-    private String generateExchangeNumber() {
-        // Format: EX/YYYY/MM/XXXX where XXXX is a sequential number
-        LocalDate now = LocalDate.now();
-        String prefix = String.format("EX/%d/%02d/", now.getYear(), now.getMonthValue());
-        
-        // Get count of exchanges with this prefix
-        long count = exchangeRepository.countByExchangeNumberPrefix(prefix);
-        
-        // Generate new exchange number
-        String exchangeNumber = String.format("%s%04d", prefix, count + 1);
-        
-        // Check if this number already exists (to handle race conditions)
-        while (exchangeRepository.findByExchangeNumber(exchangeNumber).isPresent()) {
-            count++;
-            exchangeNumber = String.format("%s%04d", prefix, count + 1);
-        }
-        
-        return exchangeNumber;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,91 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.RepricingRun;
+import com.gurukrupa.data.entities.RepricingRun.RunStatus;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.data.repository.RepricingRunRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Reprices the active items of a metal at a new gold rate with one UPDATE per chunk
+ * of {@value #CHUNK_SIZE} items instead of loading and saving each item. Every call
+ * of {@link #repriceNextChunk} is its own transaction and moves the run's lastItemId
+ * forward with the chunk, so a run can stop at any point and continue later.
+ */
+@Service
+@Transactional
+public class InventoryRepricingService {
+
+    private static final int CHUNK_SIZE = 1000;
+    private static final int STALLED_AFTER_MINUTES = 5;
+
+    @Autowired
+    private RepricingRunRepository repricingRunRepository;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    /**
+     * Start repricing a metal; a run still going for the same metal is superseded
+     */
+    public RepricingRun start(Long metalId, Long metalRateId, BigDecimal goldRate) {
+        for (RepricingRun running : repricingRunRepository.findByMetalIdAndStatus(metalId, RunStatus.RUNNING)) {
+            running.setStatus(RunStatus.SUPERSEDED);
+            running.setCompletedDate(LocalDateTime.now());
+        }
+        return repricingRunRepository.save(RepricingRun.builder()
+                .metalId(metalId)
+                .metalRateId(metalRateId)
+                .goldRate(goldRate)
+                .build());
+    }
+
+    /**
+     * Reprice the next chunk of the run. Returns false once the run is finished
+     * or no longer running.
+     */
+    public boolean repriceNextChunk(Long runId) {
+        RepricingRun run = repricingRunRepository.findById(runId).orElse(null);
+        if (run == null || run.getStatus() != RunStatus.RUNNING) {
+            return false;
+        }
+
+        List<Long> ids = jewelryItemRepository.findActiveItemIdsByMetalAfter(run.getMetalId(), run.getLastItemId(),
+                PageRequest.of(0, CHUNK_SIZE));
+        if (ids.isEmpty()) {
+            run.setStatus(RunStatus.COMPLETED);
+            run.setCompletedDate(LocalDateTime.now());
+            return false;
+        }
+
+        Long upToId = ids.get(ids.size() - 1);
+        int updated = jewelryItemRepository.repriceRange(run.getMetalId(), run.getLastItemId(), upToId,
+                run.getGoldRate(), LocalDateTime.now());
+        run.setLastItemId(upToId);
+        run.setItemsRepriced(run.getItemsRepriced() + updated);
+        repricingRunRepository.save(run);
+        return true;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RepricingRun> getRun(Long runId) {
+        return repricingRunRepository.findById(runId);
+    }
+
+    /**
+     * Runs that stopped making progress, e.g. because the application was closed mid-run
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findStalledRunIds() {
+        return repricingRunRepository.findStalledRunIds(RunStatus.RUNNING,
+                LocalDateTime.now().minusMinutes(STALLED_AFTER_MINUTES));
+    }
+}
@@ -0,0 +1,254 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.InventoryValuation;
+import com.gurukrupa.data.dto.MetalValuation;
+import com.gurukrupa.data.entities.Metal;
+import com.gurukrupa.data.entities.MetalRate;
+import com.gurukrupa.data.entities.PurchaseMetalStock;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.data.repository.MetalRateRepository;
+import com.gurukrupa.data.repository.MetalRepository;
+import com.gurukrupa.data.repository.PurchaseMetalStockRepository;
+import com.gurukrupa.event.InventoryChangedEvent;
+import com.gurukrupa.event.MetalRateChangedEvent;
+import com.gurukrupa.event.StockValueChangedEvent;
+import com.gurukrupa.utility.PurityCalculator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Running stock totals per metal (quantity, net and pure weight of items and of
+ * purchased metal) valued at the latest rates. Totals are built from aggregate
+ * queries on first use and then adjusted from {@link StockValueChangedEvent}s after
+ * commit, so a valuation costs one pass over the metals rather than over the stock.
+ * Changes that carry no delta (item edits, stock rows edited directly) drop the
+ * totals and the next snapshot rebuilds them.
+ */
+@Service
+public class InventoryValuationService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InventoryValuationService.class);
+    // Items and metal stock without a metal reference are valued together here
+    private static final Long UNASSIGNED = 0L;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    @Autowired
+    private PurchaseMetalStockRepository purchaseMetalStockRepository;
+
+    @Autowired
+    private MetalRateRepository metalRateRepository;
+
+    @Autowired
+    private MetalRepository metalRepository;
+
+    private final Object lock = new Object();
+
+    // Guarded by lock; null until built or after an unknown change
+    private Map<Long, Totals> totals;
+
+    private volatile CurrentRates rates;
+
+    @Transactional(readOnly = true)
+    public InventoryValuation snapshot() {
+        Map<Long, Totals> current = copyTotals();
+        Map<Long, BigDecimal> ratesByMetal = currentRates();
+        Map<Long, Metal> metals = new HashMap<>();
+        for (Metal metal : metalRepository.findAll()) {
+            metals.put(metal.getId(), metal);
+        }
+
+        List<MetalValuation> rows = new ArrayList<>();
+        List<String> withoutRate = new ArrayList<>();
+        BigDecimal totalValue = BigDecimal.ZERO;
+        for (Map.Entry<Long, Totals> entry : current.entrySet()) {
+            Totals t = entry.getValue();
+            if (t.isEmpty()) {
+                continue;
+            }
+            Metal metal = metals.get(entry.getKey());
+            String metalName = metal != null ? metal.getMetalName() : "Unassigned";
+            BigDecimal rate = ratesByMetal.get(entry.getKey());
+            BigDecimal netWeight = t.itemNetWeight.add(t.metalNetWeight);
+            BigDecimal value = BigDecimal.ZERO;
+            if (rate != null) {
+                value = netWeight.multiply(rate).divide(BigDecimal.TEN, 2, RoundingMode.HALF_UP);
+                totalValue = totalValue.add(value);
+            } else {
+                withoutRate.add(metalName);
+            }
+            rows.add(MetalValuation.builder()
+                    .metalId(metal != null ? metal.getId() : null)
+                    .metalName(metalName)
+                    .metalType(metal != null ? metal.getMetalType() : null)
+                    .purity(metal != null ? metal.getPurity() : null)
+                    .itemQuantity(t.itemQuantity)
+                    .itemNetWeight(t.itemNetWeight)
+                    .itemPureWeight(t.itemPureWeight)
+                    .metalNetWeight(t.metalNetWeight)
+                    .metalPureWeight(t.metalPureWeight)
+                    .ratePerTenGrams(rate)
+                    .value(value)
+                    .build());
+        }
+        rows.sort(Comparator.comparing(MetalValuation::getMetalName));
+
+        return InventoryValuation.builder()
+                .valuedAt(LocalDateTime.now())
+                .metals(rows)
+                .totalValue(totalValue)
+                .metalsWithoutRate(withoutRate)
+                .build();
+    }
+
+    /**
+     * Drop the totals and rates; the next snapshot reads them again
+     */
+    public void refresh() {
+        synchronized (lock) {
+            totals = null;
+        }
+        rates = null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onStockValueChanged(StockValueChangedEvent event) {
+        synchronized (lock) {
+            if (totals == null) {
+                return;
+            }
+            if (!event.hasDelta()) {
+                totals = null;
+                return;
+            }
+            Totals t = totals.computeIfAbsent(keyOf(event.getMetalId()), key -> new Totals());
+            if (event.getKind() == StockValueChangedEvent.StockKind.ITEM) {
+                t.addItems(event.getQuantityDelta(), event.getNetWeightDelta(), event.getPureWeightDelta());
+            } else {
+                t.addMetal(event.getNetWeightDelta(), event.getPureWeightDelta());
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        // Added, edited or (de)activated items may change weight or purity; read again
+        synchronized (lock) {
+            totals = null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onMetalRateChanged(MetalRateChangedEvent event) {
+        rates = null;
+    }
+
+    private Map<Long, Totals> copyTotals() {
+        synchronized (lock) {
+            if (totals == null) {
+                totals = load();
+            }
+            Map<Long, Totals> copy = new HashMap<>();
+            totals.forEach((metalId, t) -> copy.put(metalId, t.copy()));
+            return copy;
+        }
+    }
+
+    private Map<Long, Totals> load() {
+        long start = System.currentTimeMillis();
+        Map<Long, Totals> loaded = new HashMap<>();
+        for (Object[] row : jewelryItemRepository.sumActiveStockByMetalAndPurity()) {
+            BigDecimal purity = (BigDecimal) row[1];
+            long quantity = row[2] != null ? ((Number) row[2]).longValue() : 0;
+            BigDecimal netWeight = row[3] != null ? (BigDecimal) row[3] : BigDecimal.ZERO;
+            loaded.computeIfAbsent(keyOf((Long) row[0]), key -> new Totals())
+                    .addItems(quantity, netWeight, PurityCalculator.getPureMetalWeight(netWeight, purity));
+        }
+        for (PurchaseMetalStock stock : purchaseMetalStockRepository.findAll()) {
+            Long metalId = stock.getMetal() != null ? stock.getMetal().getId() : null;
+            loaded.computeIfAbsent(keyOf(metalId), key -> new Totals())
+                    .addMetal(stock.getAvailableWeight(), stock.getAvailablePureWeight());
+        }
+        LOG.info("Inventory valuation totals loaded for {} metals in {} ms", loaded.size(),
+                System.currentTimeMillis() - start);
+        return loaded;
+    }
+
+    /**
+     * Rate per 10 grams by metal, the selling rate where one is set, as items are priced
+     */
+    private Map<Long, BigDecimal> currentRates() {
+        LocalDate today = LocalDate.now();
+        CurrentRates current = rates;
+        if (current == null || !current.date.equals(today)) {
+            Map<Long, BigDecimal> byMetal = new HashMap<>();
+            for (MetalRate rate : metalRateRepository.findLatestRatesForAllMetals(today)) {
+                BigDecimal perTenGrams = rate.getSellingRate() != null ? rate.getSellingRate() : rate.getRatePerTenGrams();
+                byMetal.put(rate.getMetal().getId(), perTenGrams);
+            }
+            current = new CurrentRates(today, byMetal);
+            rates = current;
+        }
+        return current.byMetal;
+    }
+
+    private static Long keyOf(Long metalId) {
+        return metalId != null ? metalId : UNASSIGNED;
+    }
+
+    private static final class CurrentRates {
+        private final LocalDate date;
+        private final Map<Long, BigDecimal> byMetal;
+
+        private CurrentRates(LocalDate date, Map<Long, BigDecimal> byMetal) {
+            this.date = date;
+            this.byMetal = byMetal;
+        }
+    }
+
+    private static final class Totals {
+        private long itemQuantity;
+        private BigDecimal itemNetWeight = BigDecimal.ZERO;
+        private BigDecimal itemPureWeight = BigDecimal.ZERO;
+        private BigDecimal metalNetWeight = BigDecimal.ZERO;
+        private BigDecimal metalPureWeight = BigDecimal.ZERO;
+
+        private void addItems(long quantity, BigDecimal netWeight, BigDecimal pureWeight) {
+            itemQuantity += quantity;
+            itemNetWeight = itemNetWeight.add(netWeight);
+            itemPureWeight = itemPureWeight.add(pureWeight);
+        }
+
+        private void addMetal(BigDecimal netWeight, BigDecimal pureWeight) {
+            metalNetWeight = metalNetWeight.add(netWeight != null ? netWeight : BigDecimal.ZERO);
+            metalPureWeight = metalPureWeight.add(pureWeight != null ? pureWeight : BigDecimal.ZERO);
+        }
+
+        private boolean isEmpty() {
+            return itemQuantity == 0 && itemNetWeight.signum() == 0 && metalNetWeight.signum() == 0;
+        }
+
+        private Totals copy() {
+            Totals copy = new Totals();
+            copy.addItems(itemQuantity, itemNetWeight, itemPureWeight);
+            copy.addMetal(metalNetWeight, metalPureWeight);
+            return copy;
+        }
+    }
+}
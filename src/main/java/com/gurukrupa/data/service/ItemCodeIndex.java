@@ -0,0 +1,110 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.JewelryItem;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.event.InventoryChangedEvent;
+import com.gurukrupa.event.StockValueChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Item ids by item code, so a scanned tag resolves with a primary key read instead of a
+ * search on the code. Only ids are kept: every lookup reads the item itself, so callers
+ * never share an instance, and repriced or edited values are always current. The codes
+ * are loaded in one read on first use; an item that changes ({@link InventoryChangedEvent})
+ * or moves in or out of stock ({@link StockValueChangedEvent}) is dropped once its
+ * transaction completes, committed or rolled back, and an entry whose item is gone or
+ * carries another code is read again by code. Codes match ignoring case and surrounding
+ * spaces, as the database lookup does.
+ */
+@Component
+public class ItemCodeIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ItemCodeIndex.class);
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    // Null until loaded or after a change that does not name the item
+    private volatile Map<String, Long> itemIds;
+
+    public Optional<JewelryItem> find(String itemCode) {
+        String key = keyOf(itemCode);
+        if (key == null) {
+            return Optional.empty();
+        }
+        Map<String, Long> current = index();
+        Long id = current.get(key);
+        if (id != null) {
+            Optional<JewelryItem> item = jewelryItemRepository.findById(id);
+            if (item.isPresent() && key.equals(keyOf(item.get().getItemCode()))) {
+                return item;
+            }
+            // Deleted, re-coded, or cached from a transaction that rolled back
+            current.remove(key, id);
+        }
+        // Dropped after a change, or added since the load
+        Optional<JewelryItem> item = jewelryItemRepository.findByItemCode(itemCode.trim());
+        item.ifPresent(found -> current.put(key, found.getId()));
+        return item;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onInventoryChanged(InventoryChangedEvent event) {
+        evict(event.getItemCode());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStockValueChanged(StockValueChangedEvent event) {
+        if (event.getKind() == StockValueChangedEvent.StockKind.ITEM) {
+            evict(event.getItemCode());
+        }
+    }
+
+    private void evict(String itemCode) {
+        Map<String, Long> current = itemIds;
+        if (current == null) {
+            return;
+        }
+        String key = keyOf(itemCode);
+        if (key != null) {
+            current.remove(key);
+        } else {
+            itemIds = null;
+        }
+    }
+
+    private Map<String, Long> index() {
+        Map<String, Long> current = itemIds;
+        if (current == null) {
+            long start = System.currentTimeMillis();
+            current = new ConcurrentHashMap<>();
+            for (Object[] row : jewelryItemRepository.findAllItemCodes()) {
+                String key = keyOf((String) row[1]);
+                if (key != null) {
+                    current.put(key, (Long) row[0]);
+                }
+            }
+            itemIds = current;
+            LOG.info("Item code index loaded with {} items in {} ms", current.size(),
+                    System.currentTimeMillis() - start);
+        }
+        return current;
+    }
+
+    private static String keyOf(String itemCode) {
+        if (itemCode == null || itemCode.isBlank()) {
+            return null;
+        }
+        return itemCode.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,126 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.JewelryItem;
+import com.gurukrupa.data.entities.ShopInfo;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.data.repository.ShopInfoRepository;
+import com.gurukrupa.utility.WeightFormatter;
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Printable tags for jewelry items, three to a row on A4. Each tag carries the item
+ * code as a Code 128 barcode and as a QR code, so either kind of scanner reads it into
+ * the billing and stock entry screens, along with the name, metal and net weight.
+ */
+@Service
+public class ItemTagService {
+
+    private static final int TAGS_PER_ROW = 3;
+    private static final float TAG_HEIGHT = 96f;
+    private static final float QR_SIZE = 64f;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    @Autowired
+    private ShopInfoRepository shopInfoRepository;
+
+    public void generateTagsPdf(List<JewelryItem> items, String filePath) throws Exception {
+        try (FileOutputStream out = new FileOutputStream(filePath)) {
+            writeTags(items, out);
+        }
+    }
+
+    public byte[] generateTagsPdfBytes(List<JewelryItem> items) throws Exception {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        writeTags(items, baos);
+        return baos.toByteArray();
+    }
+
+    /**
+     * Tags for every item added since the given time; returns how many were printed
+     */
+    public int generateTagsForItemsAddedSince(LocalDateTime since, String filePath) throws Exception {
+        List<JewelryItem> items = jewelryItemRepository.findByCreatedDateGreaterThanEqualOrderByItemCodeAsc(since);
+        if (items.isEmpty()) {
+            throw new IllegalArgumentException("No items added since " + since);
+        }
+        generateTagsPdf(items, filePath);
+        return items.size();
+    }
+
+    private void writeTags(List<JewelryItem> items, OutputStream out) throws Exception {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("No items to print tags for");
+        }
+        Document document = new Document(PageSize.A4, 20, 20, 20, 20);
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        document.open();
+
+        String shopName = shopInfoRepository.findAll().stream().findFirst()
+                .map(ShopInfo::getShopName).orElse(null);
+
+        PdfPTable sheet = new PdfPTable(TAGS_PER_ROW);
+        sheet.setWidthPercentage(100);
+        sheet.getDefaultCell().setBorder(Rectangle.NO_BORDER);
+        for (JewelryItem item : items) {
+            sheet.addCell(createTag(writer.getDirectContent(), item, shopName));
+        }
+        sheet.completeRow();
+        document.add(sheet);
+
+        document.close();
+    }
+
+    private PdfPCell createTag(PdfContentByte canvas, JewelryItem item, String shopName) throws Exception {
+        Font shopFont = new Font(Font.FontFamily.HELVETICA, 7, Font.NORMAL, BaseColor.GRAY);
+        Font codeFont = new Font(Font.FontFamily.HELVETICA, 10, Font.BOLD);
+        Font smallFont = new Font(Font.FontFamily.HELVETICA, 7, Font.NORMAL);
+
+        PdfPTable tag = new PdfPTable(new float[]{2.2f, 1f});
+        tag.setWidthPercentage(100);
+
+        PdfPCell details = new PdfPCell();
+        details.setBorder(Rectangle.NO_BORDER);
+        if (shopName != null) {
+            details.addElement(new Paragraph(shopName, shopFont));
+        }
+        details.addElement(new Paragraph(item.getItemCode(), codeFont));
+        details.addElement(new Paragraph(item.getItemName(), smallFont));
+        details.addElement(new Paragraph(item.getMetalType() + " " + item.getPurity()
+                + "  Net " + WeightFormatter.formatWithUnit(item.getNetWeight()), smallFont));
+
+        Barcode128 barcode = new Barcode128();
+        barcode.setCodeType(Barcode.CODE128);
+        barcode.setCode(item.getItemCode());
+        barcode.setFont(null);
+        barcode.setBarHeight(18f);
+        Image barcodeImage = barcode.createImageWithBarcode(canvas, null, null);
+        barcodeImage.setSpacingBefore(2f);
+        details.addElement(barcodeImage);
+        tag.addCell(details);
+
+        Image qrImage = new BarcodeQRCode(item.getItemCode(), 1, 1, null).getImage();
+        qrImage.scaleAbsolute(QR_SIZE, QR_SIZE);
+        PdfPCell qrCell = new PdfPCell(qrImage, false);
+        qrCell.setBorder(Rectangle.NO_BORDER);
+        qrCell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        qrCell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        tag.addCell(qrCell);
+
+        PdfPCell cell = new PdfPCell(tag);
+        cell.setFixedHeight(TAG_HEIGHT);
+        cell.setPadding(4f);
+        cell.setBorderColor(BaseColor.LIGHT_GRAY);
+        return cell;
+    }
+}
@@ -3,7 +3,9 @@ package com.gurukrupa.data.service;
 import com.gurukrupa.data.entities.JewelryItem;
 import com.gurukrupa.data.entities.StockTransaction;
 import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.event.InventoryChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,6 +21,9 @@ public class JewelryItemService {
     
     @Autowired
     private StockTransactionService stockTransactionService;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public JewelryItemService(JewelryItemRepository jewelryItemRepository) {
@@ -32,7 +37,9 @@ public class JewelryItemService {
 
     // Basic CRUD operations
     public JewelryItem saveJewelryItem(JewelryItem jewelryItem) {
-        return jewelryItemRepository.save(jewelryItem);
+        JewelryItem savedItem = jewelryItemRepository.save(jewelryItem);
+        eventPublisher.publishEvent(new InventoryChangedEvent(this, savedItem.getItemCode()));
+        return savedItem;
     }
 
     public List<JewelryItem> getAllJewelryItems() {
@@ -45,6 +52,7 @@ public class JewelryItemService {
 
     public void deleteJewelryItemById(Long id) {
         jewelryItemRepository.deleteById(id);
+        eventPublisher.publishEvent(new InventoryChangedEvent(this, null));
     }
 
     public boolean jewelryItemExists(Long id) {
@@ -125,7 +133,9 @@ public class JewelryItemService {
         if (optionalItem.isPresent()) {
             JewelryItem item = optionalItem.get();
             item.setQuantity(newQuantity);
-            return jewelryItemRepository.save(item);
+            JewelryItem saved = jewelryItemRepository.save(item);
+            eventPublisher.publishEvent(new InventoryChangedEvent(this, saved.getItemCode()));
+            return saved;
         }
         throw new RuntimeException("Jewelry item not found with id: " + itemId);
     }
@@ -147,6 +157,7 @@ public class JewelryItemService {
             JewelryItem item = optionalItem.get();
             item.setIsActive(false);
             jewelryItemRepository.save(item);
+            eventPublisher.publishEvent(new InventoryChangedEvent(this, item.getItemCode()));
         } else {
             throw new RuntimeException("Jewelry item not found with id: " + itemId);
         }
@@ -158,6 +169,7 @@ public class JewelryItemService {
             JewelryItem item = optionalItem.get();
             item.setIsActive(true);
             jewelryItemRepository.save(item);
+            eventPublisher.publishEvent(new InventoryChangedEvent(this, item.getItemCode()));
         } else {
             throw new RuntimeException("Jewelry item not found with id: " + itemId);
         }
@@ -312,13 +324,11 @@ public class JewelryItemService {
      * Get count of items per category
      */
     public java.util.Map<String, Long> getCategoryItemCount() {
-        List<JewelryItem> allItems = getAllJewelryItems();
-        return allItems.stream()
-                .filter(item -> item.getCategory() != null && !item.getCategory().trim().isEmpty())
-                .collect(java.util.stream.Collectors.groupingBy(
-                    JewelryItem::getCategory,
-                    java.util.stream.Collectors.counting()
-                ));
+        java.util.Map<String, Long> counts = new java.util.HashMap<>();
+        for (Object[] row : jewelryItemRepository.countItemsByCategory()) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
     }
 
     /**
@@ -0,0 +1,43 @@
+package com.gurukrupa.data.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically checks the materialized ledger summaries against the source
+ * documents and corrects any drift (e.g. rows edited outside the application).
+ */
+@Component
+public class LedgerReconciler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LedgerReconciler.class);
+
+    @Autowired
+    private CustomerReceivableService customerReceivableService;
+
+    @Autowired
+    private SupplierPayableService supplierPayableService;
+
+    @Autowired
+    private ScheduledJobGate scheduledJobGate;
+
+    @Scheduled(initialDelayString = "${gurukrupa.ledger.reconcile-initial-delay-ms:120000}",
+               fixedDelayString = "${gurukrupa.ledger.reconcile-interval-ms:21600000}")
+    public void reconcile() {
+        scheduledJobGate.run("Ledger reconciliation", () -> {
+            try {
+                customerReceivableService.reconcileAll();
+            } catch (Exception e) {
+                LOG.error("Customer receivables reconciliation failed", e);
+            }
+            try {
+                supplierPayableService.reconcileAll();
+            } catch (Exception e) {
+                LOG.error("Supplier payables reconciliation failed", e);
+            }
+        });
+    }
+}
@@ -3,7 +3,9 @@ package com.gurukrupa.data.service;
 import com.gurukrupa.data.entities.Metal;
 import com.gurukrupa.data.entities.MetalRate;
 import com.gurukrupa.data.repository.MetalRateRepository;
+import com.gurukrupa.event.MetalRateChangedEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -19,8 +21,12 @@ public class MetalRateService {
     @Autowired
     private MetalRateRepository metalRateRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
     /**
-     * Save or update metal rate for a specific date
+     * Save or update metal rate for a specific date. When it is the metal's current
+     * rate, the metal's items are repriced after commit.
      */
     public MetalRate saveMetalRate(MetalRate metalRate) {
         // Check if rate already exists for this metal and date
@@ -35,10 +41,24 @@ public class MetalRateService {
             existing.setBuyingRate(metalRate.getBuyingRate());
             existing.setSellingRate(metalRate.getSellingRate());
             existing.setRemarks(metalRate.getRemarks());
-            return metalRateRepository.save(existing);
+            return publishIfCurrent(metalRateRepository.save(existing));
         }
         
-        return metalRateRepository.save(metalRate);
+        return publishIfCurrent(metalRateRepository.save(metalRate));
+    }
+    
+    private MetalRate publishIfCurrent(MetalRate saved) {
+        Long metalId = saved.getMetal().getId();
+        // Back-dated rates and rates for future dates leave item prices alone
+        boolean current = getLatestMetalRate(metalId, LocalDate.now())
+                .map(latest -> latest.getId().equals(saved.getId()))
+                .orElse(false);
+        if (current) {
+            // Items are priced at the selling rate when one is set, as on the billing screen
+            BigDecimal goldRate = saved.getSellingRate() != null ? saved.getSellingRate() : saved.getRatePerTenGrams();
+            eventPublisher.publishEvent(new MetalRateChangedEvent(this, metalId, saved.getId(), goldRate));
+        }
+        return saved;
     }
     
     /**
@@ -4,14 +4,24 @@ import com.gurukrupa.data.entities.Metal;
 import com.gurukrupa.data.repository.MetalRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class MetalService {
     
     private final MetalRepository metalRepository;
+
+    // (metal type, normalized purity) -> metal; built on first lookup, dropped on every change
+    private volatile Map<String, Metal> purityIndex;
     
     @Autowired
     public MetalService(MetalRepository metalRepository) {
@@ -20,7 +30,9 @@ public class MetalService {
     
     // Basic CRUD operations
     public Metal saveMetal(Metal metal) {
-        return metalRepository.save(metal);
+        Metal saved = metalRepository.save(metal);
+        invalidatePurityIndex();
+        return saved;
     }
     
     public List<Metal> getAllMetals() {
@@ -41,6 +53,7 @@ public class MetalService {
     
     public void deleteMetalById(Long id) {
         metalRepository.deleteById(id);
+        invalidatePurityIndex();
     }
     
     public boolean metalExists(Long id) {
@@ -84,7 +97,9 @@ public class MetalService {
             metal.setMetalType(updatedMetal.getMetalType());
             metal.setPurity(updatedMetal.getPurity());
             metal.setDescription(updatedMetal.getDescription());
-            return metalRepository.save(metal);
+            Metal saved = metalRepository.save(metal);
+            invalidatePurityIndex();
+            return saved;
         }
         throw new RuntimeException("Metal not found with id: " + id);
     }
@@ -95,6 +110,7 @@ public class MetalService {
             Metal metal = existingMetal.get();
             metal.setIsActive(false);
             metalRepository.save(metal);
+            invalidatePurityIndex();
         } else {
             throw new RuntimeException("Metal not found with id: " + id);
         }
@@ -106,6 +122,7 @@ public class MetalService {
             Metal metal = existingMetal.get();
             metal.setIsActive(true);
             metalRepository.save(metal);
+            invalidatePurityIndex();
         } else {
             throw new RuntimeException("Metal not found with id: " + id);
         }
@@ -114,33 +131,25 @@ public class MetalService {
     /**
      * Find Metal by metal type and numeric purity value
      * Handles conversion from numeric purity (e.g., 22, 18) to string format (e.g., "22K", "18K")
+     * Answered from an in-memory index; a miss is checked against the stored purity_value column
      * @param metalType The metal type (e.g., "Gold", "Silver")
      * @param numericPurity The numeric purity value (e.g., 22.00, 18.00)
      * @return Optional<Metal> matching metal or empty
      */
-    public Optional<Metal> findByMetalTypeAndNumericPurity(String metalType, java.math.BigDecimal numericPurity) {
+    public Optional<Metal> findByMetalTypeAndNumericPurity(String metalType, BigDecimal numericPurity) {
         if (metalType == null || numericPurity == null) {
             return Optional.empty();
         }
 
-        // Get all metals of this type
-        List<Metal> metals = metalRepository.findByMetalType(metalType);
-
-        // Find matching metal by parsing purity
-        for (Metal metal : metals) {
-            try {
-                java.math.BigDecimal metalPurity = metal.getPurityNumeric();
-                // Compare with stripTrailingZeros for consistent comparison
-                if (metalPurity.stripTrailingZeros().compareTo(numericPurity.stripTrailingZeros()) == 0) {
-                    return Optional.of(metal);
-                }
-            } catch (Exception e) {
-                // Skip if purity cannot be parsed
-                continue;
-            }
+        BigDecimal purity = Metal.normalizePurity(numericPurity);
+        Metal metal = getPurityIndex().get(purityKey(metalType, purity));
+        if (metal != null) {
+            return Optional.of(metal);
         }
-
-        return Optional.empty();
+        // Metal added outside this service (another till, manual SQL)
+        Optional<Metal> stored = metalRepository.findFirstByMetalTypeAndPurityValueOrderByIdAsc(metalType, purity);
+        stored.ifPresent(found -> invalidatePurityIndex());
+        return stored;
     }
 
     /**
@@ -149,14 +158,60 @@ public class MetalService {
      * @param numericPurity The numeric purity value (e.g., 22.00, 18.00)
      * @return Metal ID or null if not found
      */
-    public Long findMetalIdByTypeAndPurity(String metalType, java.math.BigDecimal numericPurity) {
+    public Long findMetalIdByTypeAndPurity(String metalType, BigDecimal numericPurity) {
         return findByMetalTypeAndNumericPurity(metalType, numericPurity)
                 .map(Metal::getId)
                 .orElse(null);
     }
 
+    private Map<String, Metal> getPurityIndex() {
+        Map<String, Metal> index = purityIndex;
+        if (index == null) {
+            index = new HashMap<>();
+            List<Metal> metals = metalRepository.findAll();
+            metals.sort(Comparator.comparing(Metal::getId));
+            for (Metal metal : metals) {
+                // First metal wins, as the old scan over findByMetalType did
+                index.putIfAbsent(purityKey(metal.getMetalType(), Metal.normalizePurity(metal.getPurityNumeric())), metal);
+            }
+            purityIndex = index;
+        }
+        return index;
+    }
+
+    private static String purityKey(String metalType, BigDecimal normalizedPurity) {
+        // metal_type comparisons in MySQL ignore case, so the index does too
+        return metalType.trim().toLowerCase(Locale.ROOT) + "|" + normalizedPurity.toPlainString();
+    }
+
+    /**
+     * Drop the purity index; inside a transaction it is dropped again after commit
+     * so a concurrent rebuild cannot keep uncommitted metals.
+     */
+    private void invalidatePurityIndex() {
+        purityIndex = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    purityIndex = null;
+                }
+            });
+        }
+    }
+
     // Initialize default metals if none exist
     public void initializeDefaultMetals() {
+        // Fill purity_value for metals saved before the column existed
+        List<Metal> unnormalized = metalRepository.findByPurityValueIsNull();
+        if (!unnormalized.isEmpty()) {
+            for (Metal metal : unnormalized) {
+                metal.setPurityValue(Metal.normalizePurity(metal.getPurityNumeric()));
+            }
+            metalRepository.saveAll(unnormalized);
+            invalidatePurityIndex();
+        }
+
         if (metalRepository.count() == 0) {
             // Gold types
             metalRepository.save(Metal.builder()
@@ -209,6 +264,7 @@ public class MetalService {
                 .purity("95.0")
                 .description("Platinum with 95% purity")
                 .build());
+            invalidatePurityIndex();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.BankAccount;
+import com.gurukrupa.data.repository.BankAccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Resolves the designated ledger account for each payment role (cash drawer, UPI
+ * settlement, card settlement). Designations are worked out once from the active
+ * accounts and kept as account ids; each lookup is then a primary-key read, which
+ * the persistence context serves from memory within a transaction. The ids, not the
+ * entities, are cached so balances are always read fresh. BankAccountService calls
+ * {@link #invalidate()} whenever an account changes.
+ * <p>
+ * An account can be designated by account number in application.properties;
+ * otherwise the cash drawer is the active account named "Cash".
+ */
+@Service
+public class PaymentAccountRegistry {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PaymentAccountRegistry.class);
+    private static final String CASH_ACCOUNT_NAME = "Cash";
+
+    public enum PaymentAccountRole {
+        CASH_DRAWER,
+        UPI_SETTLEMENT,
+        CARD_SETTLEMENT
+    }
+
+    @Autowired
+    private BankAccountRepository bankAccountRepository;
+
+    @Value("${gurukrupa.payment-accounts.cash:}")
+    private String cashAccountNumber = "";
+
+    @Value("${gurukrupa.payment-accounts.upi:}")
+    private String upiAccountNumber = "";
+
+    @Value("${gurukrupa.payment-accounts.card:}")
+    private String cardAccountNumber = "";
+
+    private volatile Map<PaymentAccountRole, Long> designations;
+
+    /**
+     * The account designated for a role, if any
+     */
+    public Optional<BankAccount> resolve(PaymentAccountRole role) {
+        return resolveId(role).flatMap(bankAccountRepository::findById);
+    }
+
+    public Optional<Long> resolveId(PaymentAccountRole role) {
+        Map<PaymentAccountRole, Long> current = designations;
+        if (current == null) {
+            current = loadDesignations();
+            designations = current;
+        }
+        return Optional.ofNullable(current.get(role));
+    }
+
+    /**
+     * Forget the designations; they are worked out again on next use. When called inside
+     * a transaction the cache is cleared again after commit, so a lookup racing with the
+     * change cannot keep a stale designation.
+     */
+    public void invalidate() {
+        designations = null;
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    designations = null;
+                }
+            });
+        }
+    }
+
+    private Map<PaymentAccountRole, Long> loadDesignations() {
+        List<BankAccount> activeAccounts = bankAccountRepository.findByIsActiveTrueOrderByCreatedDateDesc();
+        Map<PaymentAccountRole, Long> resolved = new EnumMap<>(PaymentAccountRole.class);
+
+        designate(resolved, PaymentAccountRole.CASH_DRAWER, byAccountNumber(activeAccounts, cashAccountNumber)
+                .or(() -> activeAccounts.stream()
+                        .filter(account -> CASH_ACCOUNT_NAME.equalsIgnoreCase(account.getBankName())
+                                || CASH_ACCOUNT_NAME.equalsIgnoreCase(account.getAccountHolderName()))
+                        .findFirst())
+                .or(() -> activeAccounts.stream()
+                        .filter(account -> account.getBankName() != null
+                                && account.getBankName().toLowerCase().contains("cash"))
+                        .findFirst()));
+        designate(resolved, PaymentAccountRole.UPI_SETTLEMENT, byAccountNumber(activeAccounts, upiAccountNumber));
+        designate(resolved, PaymentAccountRole.CARD_SETTLEMENT, byAccountNumber(activeAccounts, cardAccountNumber));
+
+        LOG.info("Payment account designations: {}", resolved);
+        return resolved;
+    }
+
+    private void designate(Map<PaymentAccountRole, Long> resolved, PaymentAccountRole role, Optional<BankAccount> account) {
+        account.ifPresent(bankAccount -> resolved.put(role, bankAccount.getId()));
+    }
+
+    private Optional<BankAccount> byAccountNumber(List<BankAccount> accounts, String accountNumber) {
+        if (accountNumber == null || accountNumber.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<BankAccount> account = accounts.stream()
+                .filter(candidate -> accountNumber.trim().equals(candidate.getAccountNumber()))
+                .findFirst();
+        if (account.isEmpty()) {
+            LOG.warn("Designated payment account {} not found among active accounts", accountNumber);
+        }
+        return account;
+    }
+}
@@ -9,6 +9,7 @@ import com.gurukrupa.data.entities.PaymentMode.PaymentType;
 import com.gurukrupa.data.entities.PaymentMode.PaymentStatus;
 import com.gurukrupa.data.entities.PurchaseInvoice;
 import com.gurukrupa.data.repository.PaymentModeRepository;
+import com.gurukrupa.data.service.PaymentAccountRegistry.PaymentAccountRole;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -33,7 +34,7 @@ public class PaymentModeService {
     private BankTransactionService bankTransactionService;
     
     @Autowired
-    private BankAccountService bankAccountService;
+    private PaymentAccountRegistry paymentAccountRegistry;
     
     public PaymentMode createCashPayment(Bill bill, BigDecimal amount) {
         PaymentMode payment = PaymentMode.builder()
@@ -46,47 +47,9 @@ public class PaymentModeService {
         
         PaymentMode savedPayment = paymentModeRepository.save(payment);
         
-        // Find Cash bank account and record transaction
-        Optional<BankAccount> cashAccount = bankAccountService.findByBankName("Cash").stream()
-                .filter(acc -> acc.getIsActive())
-                .findFirst();
-        
-        if (cashAccount.isEmpty()) {
-            // Try to find by account name containing "Cash"
-            cashAccount = bankAccountService.getAllActiveBankAccounts().stream()
-                    .filter(acc -> acc.getBankName().equalsIgnoreCase("Cash") || 
-                                  acc.getAccountHolderName().equalsIgnoreCase("Cash"))
-                    .findFirst();
-        }
-        
-        if (cashAccount.isPresent()) {
-            // Record bank transaction based on amount sign
-            String customerName = bill.getCustomer() != null ? bill.getCustomer().getCustomerFullName() : "Customer";
-            String referenceNumber = "CASH-" + bill.getBillNumber();
-
-            // Check if this is a refund (negative amount) or payment (positive amount)
-            if (amount.compareTo(BigDecimal.ZERO) < 0) {
-                // Negative amount means we owe customer - record as refund (DEBIT)
-                bankTransactionService.recordCustomerRefund(
-                    cashAccount.get(),
-                    amount.abs(), // Use absolute value for refund amount
-                    bill.getId(),
-                    bill.getBillNumber(),
-                    referenceNumber,
-                    customerName
-                );
-            } else {
-                // Positive amount means customer pays us - record as payment (CREDIT)
-                bankTransactionService.recordBillPayment(
-                    cashAccount.get(),
-                    amount,
-                    bill.getId(),
-                    bill.getBillNumber(),
-                    referenceNumber,
-                    customerName
-                );
-            }
-        }
+        // Record transaction in the cash drawer account
+        paymentAccountRegistry.resolve(PaymentAccountRole.CASH_DRAWER)
+                .ifPresent(cashAccount -> recordBillLedgerEntry(bill, amount, cashAccount, "CASH-" + bill.getBillNumber()));
 
         return savedPayment;
     }
@@ -103,33 +66,7 @@ public class PaymentModeService {
                 .build();
 
         PaymentMode savedPayment = paymentModeRepository.save(payment);
-
-        // Record bank transaction based on amount sign
-        String customerName = bill.getCustomer() != null ? bill.getCustomer().getCustomerFullName() : "Customer";
-
-        // Check if this is a refund (negative amount) or payment (positive amount)
-        if (amount.compareTo(BigDecimal.ZERO) < 0) {
-            // Negative amount means we owe customer - record as refund (DEBIT)
-            bankTransactionService.recordCustomerRefund(
-                bankAccount,
-                amount.abs(), // Use absolute value for refund amount
-                bill.getId(),
-                bill.getBillNumber(),
-                referenceNumber,
-                customerName
-            );
-        } else {
-            // Positive amount means customer pays us - record as payment (CREDIT)
-            bankTransactionService.recordBillPayment(
-                bankAccount,
-                amount,
-                bill.getId(),
-                bill.getBillNumber(),
-                referenceNumber,
-                customerName
-            );
-        }
-
+        recordBillLedgerEntry(bill, amount, bankAccount, referenceNumber);
         return savedPayment;
     }
     
@@ -144,7 +81,12 @@ public class PaymentModeService {
                 .paymentDate(LocalDateTime.now())
                 .build();
         
-        return paymentModeRepository.save(payment);
+        // Settle into the designated UPI account when one is configured
+        Optional<BankAccount> settlementAccount = paymentAccountRegistry.resolve(PaymentAccountRole.UPI_SETTLEMENT);
+        settlementAccount.ifPresent(payment::setBankAccount);
+        PaymentMode savedPayment = paymentModeRepository.save(payment);
+        settlementAccount.ifPresent(account -> recordBillLedgerEntry(bill, amount, account, referenceNumber));
+        return savedPayment;
     }
     
     public PaymentMode createUPIPaymentWithBankAccount(Bill bill, BigDecimal amount, String referenceNumber, 
@@ -161,15 +103,42 @@ public class PaymentModeService {
                 .build();
         
         PaymentMode savedPayment = paymentModeRepository.save(payment);
-
-        // Record bank transaction based on amount sign
+        recordBillLedgerEntry(bill, amount, bankAccount, referenceNumber);
+        return savedPayment;
+    }
+    
+    public PaymentMode createCardPayment(Bill bill, BigDecimal amount, String referenceNumber, 
+                                       String cardLastFour, String cardType, String cardNetwork) {
+        PaymentMode payment = PaymentMode.builder()
+                .bill(bill)
+                .paymentType(PaymentType.CARD)
+                .amount(amount)
+                .referenceNumber(referenceNumber)
+                .cardLastFour(cardLastFour)
+                .cardType(cardType)
+                .cardNetwork(cardNetwork)
+                .status(PaymentStatus.COMPLETED)
+                .paymentDate(LocalDateTime.now())
+                .build();
+        
+        // Settle into the designated card account when one is configured
+        Optional<BankAccount> settlementAccount = paymentAccountRegistry.resolve(PaymentAccountRole.CARD_SETTLEMENT);
+        settlementAccount.ifPresent(payment::setBankAccount);
+        PaymentMode savedPayment = paymentModeRepository.save(payment);
+        settlementAccount.ifPresent(account -> recordBillLedgerEntry(bill, amount, account, referenceNumber));
+        return savedPayment;
+    }
+    
+    /**
+     * Record the bank ledger entry for a bill payment: a credit for money received,
+     * or a refund debit when the amount is negative (we owe the customer)
+     */
+    private void recordBillLedgerEntry(Bill bill, BigDecimal amount, BankAccount account, String referenceNumber) {
         String customerName = bill.getCustomer() != null ? bill.getCustomer().getCustomerFullName() : "Customer";
 
-        // Check if this is a refund (negative amount) or payment (positive amount)
         if (amount.compareTo(BigDecimal.ZERO) < 0) {
-            // Negative amount means we owe customer - record as refund (DEBIT)
             bankTransactionService.recordCustomerRefund(
-                bankAccount,
+                account,
                 amount.abs(), // Use absolute value for refund amount
                 bill.getId(),
                 bill.getBillNumber(),
@@ -177,9 +146,8 @@ public class PaymentModeService {
                 customerName
             );
         } else {
-            // Positive amount means customer pays us - record as payment (CREDIT)
             bankTransactionService.recordBillPayment(
-                bankAccount,
+                account,
                 amount,
                 bill.getId(),
                 bill.getBillNumber(),
@@ -187,25 +155,6 @@ public class PaymentModeService {
                 customerName
             );
         }
-
-        return savedPayment;
-    }
-    
-    public PaymentMode createCardPayment(Bill bill, BigDecimal amount, String referenceNumber, 
-                                       String cardLastFour, String cardType, String cardNetwork) {
-        PaymentMode payment = PaymentMode.builder()
-                .bill(bill)
-                .paymentType(PaymentType.CARD)
-                .amount(amount)
-                .referenceNumber(referenceNumber)
-                .cardLastFour(cardLastFour)
-                .cardType(cardType)
-                .cardNetwork(cardNetwork)
-                .status(PaymentStatus.COMPLETED)
-                .paymentDate(LocalDateTime.now())
-                .build();
-        
-        return paymentModeRepository.save(payment);
     }
     
     public PaymentMode savePaymentMode(PaymentMode paymentMode) {
@@ -264,9 +213,7 @@ public class PaymentModeService {
             
             // Handle cash payments through Cash bank account
             if ("CASH".equalsIgnoreCase(paymentType)) {
-                Optional<BankAccount> cashAccount = bankAccountService.findByBankName("Cash").stream()
-                        .filter(acc -> acc.getIsActive())
-                        .findFirst();
+                Optional<BankAccount> cashAccount = paymentAccountRegistry.resolve(PaymentAccountRole.CASH_DRAWER);
                 
                 if (cashAccount.isPresent()) {
                     // Record debit transaction for cash payment (money going out)
@@ -46,6 +46,9 @@ public class PurchaseInvoiceService {
     @Autowired
     private BankTransactionService bankTransactionService;
 
+    @Autowired
+    private SupplierPayableService supplierPayableService;
+
     /**
      * Save a new purchase invoice with metal transactions
      */
@@ -84,6 +87,9 @@ public class PurchaseInvoiceService {
             processNewPurchaseInvoice(savedInvoice);
         }
 
+        // Keep the supplier's payables summary in step
+        refreshPayables(savedInvoice);
+
         return savedInvoice;
     }
 
@@ -312,7 +318,9 @@ public class PurchaseInvoiceService {
         if (invoiceOpt.isPresent()) {
             PurchaseInvoice invoice = invoiceOpt.get();
             invoice.setStatus(status);
-            return purchaseInvoiceRepository.save(invoice);
+            PurchaseInvoice savedInvoice = purchaseInvoiceRepository.save(invoice);
+            refreshPayables(savedInvoice);
+            return savedInvoice;
         }
         return null;
     }
@@ -328,7 +336,15 @@ public class PurchaseInvoiceService {
      * Delete invoice
      */
     public void deleteInvoice(Long invoiceId) {
+        Optional<PurchaseInvoice> invoice = purchaseInvoiceRepository.findById(invoiceId);
         purchaseInvoiceRepository.deleteById(invoiceId);
+        invoice.ifPresent(this::refreshPayables);
+    }
+
+    private void refreshPayables(PurchaseInvoice invoice) {
+        if (invoice.getSupplier() != null) {
+            supplierPayableService.refreshForSupplier(invoice.getSupplier().getId());
+        }
     }
 
     /**
@@ -3,9 +3,12 @@ package com.gurukrupa.data.service;
 import com.gurukrupa.data.entities.Metal;
 import com.gurukrupa.data.entities.PurchaseMetalStock;
 import com.gurukrupa.data.repository.PurchaseMetalStockRepository;
+import com.gurukrupa.event.StockValueChangedEvent;
+import com.gurukrupa.event.StockValueChangedEvent.StockKind;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,6 +25,9 @@ public class PurchaseMetalStockService {
     @Autowired
     private PurchaseMetalStockRepository purchaseMetalStockRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Add metal to purchase stock using Metal entity reference
      * This is the preferred method for adding purchased metal
@@ -35,8 +41,12 @@ public class PurchaseMetalStockService {
         Optional<PurchaseMetalStock> existingStock = purchaseMetalStockRepository.findByMetal(metal);
 
         PurchaseMetalStock stock;
+        BigDecimal availableBefore = BigDecimal.ZERO;
+        BigDecimal pureBefore = BigDecimal.ZERO;
         if (existingStock.isPresent()) {
             stock = existingStock.get();
+            availableBefore = stock.getAvailableWeight();
+            pureBefore = stock.getAvailablePureWeight();
             stock.addMetal(grossWeight, netWeight);
             LOG.info("Updated existing stock for {} (ID: {}) - New available: {}g",
                     metal.getMetalName(), metal.getId(), stock.getAvailableWeight());
@@ -57,7 +67,7 @@ public class PurchaseMetalStockService {
                     metal.getMetalName(), metal.getId(), stock.getAvailableWeight());
         }
 
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -75,8 +85,12 @@ public class PurchaseMetalStockService {
                 purchaseMetalStockRepository.findByMetalTypeAndPurity(metalType, purity);
 
         PurchaseMetalStock stock;
+        BigDecimal availableBefore = BigDecimal.ZERO;
+        BigDecimal pureBefore = BigDecimal.ZERO;
         if (existingStock.isPresent()) {
             stock = existingStock.get();
+            availableBefore = stock.getAvailableWeight();
+            pureBefore = stock.getAvailablePureWeight();
             stock.addMetal(grossWeight, netWeight);
             LOG.info("Updated existing stock for {} {} - New available: {}g",
                     metalType, purity, stock.getAvailableWeight());
@@ -93,7 +107,7 @@ public class PurchaseMetalStockService {
                     metalType, purity, stock.getAvailableWeight());
         }
 
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -147,10 +161,12 @@ public class PurchaseMetalStockService {
         }
 
         PurchaseMetalStock stock = stockOpt.get();
+        BigDecimal availableBefore = stock.getAvailableWeight();
+        BigDecimal pureBefore = stock.getAvailablePureWeight();
         stock.useMetal(weight);
 
         LOG.info("Metal used successfully - Remaining available: {}g", stock.getAvailableWeight());
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -169,10 +185,12 @@ public class PurchaseMetalStockService {
         }
 
         PurchaseMetalStock stock = stockOpt.get();
+        BigDecimal availableBefore = stock.getAvailableWeight();
+        BigDecimal pureBefore = stock.getAvailablePureWeight();
         stock.useMetal(weight);
 
         LOG.info("Metal used successfully - Remaining available: {}g", stock.getAvailableWeight());
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -189,10 +207,12 @@ public class PurchaseMetalStockService {
         }
 
         PurchaseMetalStock stock = stockOpt.get();
+        BigDecimal availableBefore = stock.getAvailableWeight();
+        BigDecimal pureBefore = stock.getAvailablePureWeight();
         stock.returnMetal(weight);
 
         LOG.info("Metal returned successfully - New available: {}g", stock.getAvailableWeight());
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -211,10 +231,12 @@ public class PurchaseMetalStockService {
         }
 
         PurchaseMetalStock stock = stockOpt.get();
+        BigDecimal availableBefore = stock.getAvailableWeight();
+        BigDecimal pureBefore = stock.getAvailablePureWeight();
         stock.returnMetal(weight);
 
         LOG.info("Metal returned successfully - New available: {}g", stock.getAvailableWeight());
-        return purchaseMetalStockRepository.save(stock);
+        return saveAndPublish(stock, availableBefore, pureBefore);
     }
 
     /**
@@ -280,7 +302,9 @@ public class PurchaseMetalStockService {
      * Save or update stock
      */
     public PurchaseMetalStock save(PurchaseMetalStock stock) {
-        return purchaseMetalStockRepository.save(stock);
+        PurchaseMetalStock saved = purchaseMetalStockRepository.save(stock);
+        eventPublisher.publishEvent(StockValueChangedEvent.unknown(this, StockKind.METAL));
+        return saved;
     }
 
     /**
@@ -288,6 +312,7 @@ public class PurchaseMetalStockService {
      */
     public void delete(Long id) {
         purchaseMetalStockRepository.deleteById(id);
+        eventPublisher.publishEvent(StockValueChangedEvent.unknown(this, StockKind.METAL));
     }
 
     /**
@@ -296,4 +321,16 @@ public class PurchaseMetalStockService {
     public List<String> getDistinctMetalTypes() {
         return purchaseMetalStockRepository.findDistinctMetalTypes();
     }
+
+    /**
+     * Save a stock movement and tell the inventory valuation how much metal moved
+     */
+    private PurchaseMetalStock saveAndPublish(PurchaseMetalStock stock, BigDecimal availableBefore, BigDecimal pureBefore) {
+        PurchaseMetalStock saved = purchaseMetalStockRepository.save(stock);
+        eventPublisher.publishEvent(new StockValueChangedEvent(this,
+                saved.getMetal() != null ? saved.getMetal().getId() : null, StockKind.METAL, 0,
+                saved.getAvailableWeight().subtract(availableBefore),
+                saved.getAvailablePureWeight().subtract(pureBefore)));
+        return saved;
+    }
 }
@@ -0,0 +1,48 @@
+package com.gurukrupa.data.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps the scheduled background writers (stock outbox retry, stock snapshots,
+ * repricing resume, ledger reconciliation) out of the database while a restore replaces
+ * its contents. Jobs run through {@link #run}; a restore pauses them, waiting for any
+ * job already running to finish, and jobs due in the meantime skip that run.
+ */
+@Component
+public class ScheduledJobGate {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ScheduledJobGate.class);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Run a scheduled job unless the jobs are paused
+     */
+    public void run(String job, Runnable body) {
+        if (!lock.readLock().tryLock()) {
+            LOG.info("{} skipped: a restore is running", job);
+            return;
+        }
+        try {
+            body.run();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Wait for running jobs to finish and hold off new ones until {@link #resumeJobs}
+     * is called from the same thread
+     */
+    public void pauseJobs() {
+        lock.writeLock().lock();
+    }
+
+    public void resumeJobs() {
+        lock.writeLock().unlock();
+    }
+}
@@ -0,0 +1,192 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.StockMovementReport;
+import com.gurukrupa.data.dto.StockMovementRow;
+import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
+import com.gurukrupa.data.entities.StockTransaction.TransactionType;
+import com.gurukrupa.data.repository.ArchiveScope;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.data.repository.StockSnapshotRepository;
+import com.gurukrupa.data.repository.StockTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Stock movement over a period for every item, category and metal: opening stock, in and
+ * out by source, and closing stock. Opening stock comes from the latest month-end
+ * snapshot before the period plus the movements since; the period itself is one grouped
+ * range scan over the transaction date index, so the cost follows the period, not the
+ * whole history. A period in an archived year reads the archive too.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StockMovementReportService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockMovementReportService.class);
+    private static final String NO_GROUP = "(None)";
+    // Item ids per query when reading item details
+    private static final int ITEM_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Autowired
+    private StockTransactionRepository stockTransactionRepository;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    /**
+     * Report a period, both dates inclusive, for one category and/or metal or all (null).
+     * Items that had no stock and did not move are left out. Item rows are passed to the
+     * sink in item code order; the category, metal and overall totals are returned.
+     */
+    public StockMovementReport generate(LocalDate fromDate, LocalDate toDate, String category, String metal,
+                                        Consumer<StockMovementRow> itemSink) {
+        if (fromDate == null || toDate == null || toDate.isBefore(fromDate)) {
+            throw new IllegalArgumentException("Select a valid period");
+        }
+        return ArchiveScope.includeFrom(fromDate.atStartOfDay(),
+                () -> buildReport(fromDate, toDate, category, metal, itemSink));
+    }
+
+    private StockMovementReport buildReport(LocalDate fromDate, LocalDate toDate, String category, String metal,
+                                            Consumer<StockMovementRow> itemSink) {
+        long start = System.currentTimeMillis();
+        LocalDateTime periodStart = fromDate.atStartOfDay();
+
+        Map<Long, Totals> byItem = new HashMap<>();
+        LocalDateTime openingFrom = StockSnapshotService.BEGINNING;
+        LocalDate snapshotDate = stockSnapshotRepository.findLatestSnapshotDateBefore(fromDate);
+        if (snapshotDate != null) {
+            for (Object[] row : stockSnapshotRepository.findBalancesAsOf(snapshotDate)) {
+                byItem.computeIfAbsent((Long) row[0], id -> new Totals())
+                        .addOpening((TransactionType) row[1], (Number) row[2]);
+            }
+            openingFrom = StockSnapshotService.endOf(snapshotDate);
+        }
+        for (Object[] row : stockTransactionRepository.summarizeMovementsBetween(openingFrom, periodStart)) {
+            byItem.computeIfAbsent((Long) row[0], id -> new Totals())
+                    .addOpening((TransactionType) row[1], (Number) row[4]);
+        }
+        for (Object[] row : stockTransactionRepository.summarizeMovementsBetween(periodStart,
+                StockSnapshotService.endOf(toDate))) {
+            byItem.computeIfAbsent((Long) row[0], id -> new Totals())
+                    .addMovement((TransactionType) row[1], (TransactionSource) row[2], (Number) row[4]);
+        }
+        byItem.values().removeIf(Totals::isEmpty);
+
+        List<ItemLine> lines = new ArrayList<>(byItem.size());
+        List<Long> itemIds = new ArrayList<>(byItem.keySet());
+        for (int i = 0; i < itemIds.size(); i += ITEM_CHUNK_SIZE) {
+            List<Long> chunk = itemIds.subList(i, Math.min(i + ITEM_CHUNK_SIZE, itemIds.size()));
+            for (Object[] row : jewelryItemRepository.findReportAttributesByIds(chunk)) {
+                String itemCategory = (String) row[3];
+                String itemMetal = (String) row[4];
+                if (matches(category, itemCategory) && matches(metal, itemMetal)) {
+                    lines.add(new ItemLine((String) row[1], (String) row[2], itemCategory, itemMetal,
+                            byItem.get((Long) row[0])));
+                }
+            }
+        }
+        lines.sort(Comparator.comparing(ItemLine::itemCode, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        Totals total = new Totals();
+        Map<String, Totals> byCategory = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        Map<String, Totals> byMetal = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (ItemLine line : lines) {
+            total.add(line.totals());
+            byCategory.computeIfAbsent(groupName(line.category()), name -> new Totals()).add(line.totals());
+            byMetal.computeIfAbsent(groupName(line.metal()), name -> new Totals()).add(line.totals());
+            itemSink.accept(line.totals().toRow(line.itemCode(), line.itemName(), line.category(), line.metal()));
+        }
+
+        List<StockMovementRow> categoryRows = new ArrayList<>();
+        byCategory.forEach((name, totals) -> categoryRows.add(totals.toRow(null, null, name, null)));
+        List<StockMovementRow> metalRows = new ArrayList<>();
+        byMetal.forEach((name, totals) -> metalRows.add(totals.toRow(null, null, null, name)));
+
+        LOG.info("Stock movement report {} to {}: {} items in {} ms", fromDate, toDate, lines.size(),
+                System.currentTimeMillis() - start);
+        return StockMovementReport.builder()
+                .fromDate(fromDate)
+                .toDate(toDate)
+                .itemCount(lines.size())
+                .total(total.toRow(null, null, null, null))
+                .byCategory(categoryRows)
+                .byMetal(metalRows)
+                .build();
+    }
+
+    private static boolean matches(String filter, String value) {
+        return filter == null || filter.equalsIgnoreCase(value);
+    }
+
+    private static String groupName(String name) {
+        return name == null || name.isBlank() ? NO_GROUP : name;
+    }
+
+    private record ItemLine(String itemCode, String itemName, String category, String metal, Totals totals) {
+    }
+
+    private static final class Totals {
+        private long opening;
+        private final Map<TransactionSource, Long> in = new EnumMap<>(TransactionSource.class);
+        private final Map<TransactionSource, Long> out = new EnumMap<>(TransactionSource.class);
+
+        void addOpening(TransactionType type, Number quantity) {
+            long value = quantity != null ? quantity.longValue() : 0;
+            if (type == TransactionType.IN) {
+                opening += value;
+            } else if (type == TransactionType.OUT) {
+                opening -= value;
+            }
+        }
+
+        void addMovement(TransactionType type, TransactionSource source, Number quantity) {
+            long value = quantity != null ? quantity.longValue() : 0;
+            if (type == TransactionType.IN) {
+                in.merge(source, value, Long::sum);
+            } else if (type == TransactionType.OUT) {
+                out.merge(source, value, Long::sum);
+            }
+        }
+
+        void add(Totals other) {
+            opening += other.opening;
+            other.in.forEach((source, value) -> in.merge(source, value, Long::sum));
+            other.out.forEach((source, value) -> out.merge(source, value, Long::sum));
+        }
+
+        boolean isEmpty() {
+            return opening == 0 && in.isEmpty() && out.isEmpty();
+        }
+
+        StockMovementRow toRow(String itemCode, String itemName, String category, String metal) {
+            return StockMovementRow.builder()
+                    .itemCode(itemCode)
+                    .itemName(itemName)
+                    .category(category)
+                    .metal(metal)
+                    .opening(opening)
+                    .inBySource(Collections.unmodifiableMap(new EnumMap<>(in)))
+                    .outBySource(Collections.unmodifiableMap(new EnumMap<>(out)))
+                    .build();
+        }
+    }
+}
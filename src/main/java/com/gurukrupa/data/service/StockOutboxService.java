@@ -0,0 +1,130 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.Bill;
+import com.gurukrupa.data.entities.BillTransaction;
+import com.gurukrupa.data.entities.JewelryItem;
+import com.gurukrupa.data.entities.StockOutboxEntry;
+import com.gurukrupa.data.entities.StockOutboxEntry.OutboxStatus;
+import com.gurukrupa.data.repository.BillRepository;
+import com.gurukrupa.data.repository.BillTransactionRepository;
+import com.gurukrupa.data.repository.StockOutboxRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stock reductions for sold bills, recorded in the bill's own transaction and
+ * applied afterwards. An entry is applied at most once: processing marks it
+ * PROCESSED in the same transaction as the stock movements, and the entry's
+ * version rejects a second concurrent attempt.
+ */
+@Service
+@Transactional
+public class StockOutboxService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockOutboxService.class);
+    private static final int MAX_ATTEMPTS = 5;
+    private static final int RETRY_AFTER_MINUTES = 1;
+
+    @Autowired
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Autowired
+    private BillRepository billRepository;
+
+    @Autowired
+    private BillTransactionRepository billTransactionRepository;
+
+    @Autowired
+    private JewelryItemService jewelryItemService;
+
+    /**
+     * Record that a bill's items still have to leave stock
+     */
+    public StockOutboxEntry enqueue(Bill bill) {
+        return stockOutboxRepository.save(StockOutboxEntry.builder()
+                .billId(bill.getId())
+                .billNumber(bill.getBillNumber())
+                .build());
+    }
+
+    /**
+     * Reduce stock for the bill's items. Returns false when there is nothing
+     * to do (no entry, already processed, or the bill was cancelled meanwhile).
+     */
+    public boolean process(Long billId) {
+        StockOutboxEntry entry = stockOutboxRepository.findByBillId(billId).orElse(null);
+        if (entry == null || entry.getStatus() == OutboxStatus.PROCESSED) {
+            return false;
+        }
+
+        Bill bill = billRepository.findById(billId).orElse(null);
+        entry.setAttempts(entry.getAttempts() + 1);
+        if (bill == null || bill.getStatus() == Bill.BillStatus.CANCELLED) {
+            entry.setStatus(OutboxStatus.PROCESSED);
+            entry.setProcessedDate(LocalDateTime.now());
+            entry.setLastError(bill == null ? "Bill deleted before stock reduction" : "Bill cancelled before stock reduction");
+            return false;
+        }
+
+        String customerName = bill.getCustomer() != null ? bill.getCustomer().getCustomerFullName() : "Customer";
+        List<String> skipped = new ArrayList<>();
+        for (BillTransaction transaction : billTransactionRepository.findByBillId(billId)) {
+            int quantity = transaction.getQuantity() != null ? transaction.getQuantity() : 1;
+            // Check up front rather than catching: a failed stock call would roll back the whole entry
+            Optional<JewelryItem> item = jewelryItemService.findByItemCode(transaction.getItemCode());
+            if (quantity <= 0 || item.isEmpty() || item.get().getQuantity() == null || item.get().getQuantity() < quantity) {
+                LOG.warn("Skipping stock reduction for item {} quantity {} in bill {}: {}",
+                        transaction.getItemCode(), quantity, bill.getBillNumber(),
+                        item.isEmpty() ? "not in inventory" : "insufficient stock");
+                skipped.add(transaction.getItemCode());
+                continue;
+            }
+            jewelryItemService.reduceStockForSale(item.get().getId(), transaction.getItemCode(), quantity,
+                    bill.getId(), bill.getBillNumber(), customerName);
+        }
+
+        entry.setStatus(OutboxStatus.PROCESSED);
+        entry.setProcessedDate(LocalDateTime.now());
+        entry.setLastError(skipped.isEmpty() ? null : truncate("Skipped items: " + skipped));
+        LOG.info("Stock reduced for bill {} (attempt {})", bill.getBillNumber(), entry.getAttempts());
+        return true;
+    }
+
+    /**
+     * Note a failed attempt; the entry is retried until {@value #MAX_ATTEMPTS} attempts
+     */
+    public void markFailed(Long billId, String error) {
+        stockOutboxRepository.findByBillId(billId).ifPresent(entry -> {
+            if (entry.getStatus() != OutboxStatus.PROCESSED) {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setStatus(OutboxStatus.FAILED);
+                entry.setLastError(truncate(error));
+            }
+        });
+    }
+
+    /**
+     * Bills whose stock reduction has not gone through yet; recent entries are
+     * left to the after-commit listener
+     */
+    @Transactional(readOnly = true)
+    public List<Long> findRetryableBillIds() {
+        return stockOutboxRepository.findRetryableBillIds(OutboxStatus.PROCESSED, MAX_ATTEMPTS,
+                LocalDateTime.now().minusMinutes(RETRY_AFTER_MINUTES));
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,43 @@
+package com.gurukrupa.data.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Takes the month-end stock snapshots that are due, catching up on months missed
+ * while the application was not running. Each month is its own transaction.
+ */
+@Component
+public class StockSnapshotJob {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockSnapshotJob.class);
+
+    @Autowired
+    private StockSnapshotService stockSnapshotService;
+
+    @Autowired
+    private ScheduledJobGate scheduledJobGate;
+
+    @Scheduled(initialDelayString = "${gurukrupa.stock-snapshot.initial-delay-ms:180000}",
+               fixedDelayString = "${gurukrupa.stock-snapshot.interval-ms:21600000}")
+    public void takeDueSnapshots() {
+        scheduledJobGate.run("Stock snapshots", this::takeSnapshots);
+    }
+
+    private void takeSnapshots() {
+        for (LocalDate snapshotDate : stockSnapshotService.findDueSnapshotDates()) {
+            try {
+                stockSnapshotService.takeSnapshot(snapshotDate);
+            } catch (Exception e) {
+                // Later months build on this one; try again on the next run
+                LOG.error("Stock snapshot {} failed", snapshotDate, e);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.entities.StockSnapshot;
+import com.gurukrupa.data.entities.StockTransaction;
+import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
+import com.gurukrupa.data.entities.StockTransaction.TransactionType;
+import com.gurukrupa.data.repository.StockSnapshotRepository;
+import com.gurukrupa.data.repository.StockTransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Month-end stock snapshots and the history queries answered from them. An item's
+ * balance or movement summary as of any time is its latest snapshot before then plus
+ * the transactions since, instead of an aggregate over its whole history.
+ */
+@Service
+@Transactional
+public class StockSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockSnapshotService.class);
+    // Start of the first period when there is no snapshot yet (DATETIME's lower bound)
+    static final LocalDateTime BEGINNING = LocalDate.of(1000, 1, 1).atStartOfDay();
+    // Item ids per query when reading previous snapshots
+    private static final int ITEM_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private StockSnapshotRepository stockSnapshotRepository;
+
+    @Autowired
+    private StockTransactionRepository stockTransactionRepository;
+
+    /**
+     * Month ends from the month after the latest snapshot (or of the first transaction)
+     * through last month that have no snapshot yet, oldest first
+     */
+    @Transactional(readOnly = true)
+    public List<LocalDate> findDueSnapshotDates() {
+        YearMonth lastClosed = YearMonth.now().minusMonths(1);
+        YearMonth month;
+        LocalDate latest = stockSnapshotRepository.findLatestSnapshotDate();
+        if (latest != null) {
+            month = YearMonth.from(latest).plusMonths(1);
+        } else {
+            LocalDateTime first = stockTransactionRepository.findFirstTransactionDate();
+            if (first == null) {
+                return List.of();
+            }
+            month = YearMonth.from(first);
+        }
+        List<LocalDate> due = new ArrayList<>();
+        for (; !month.isAfter(lastClosed); month = month.plusMonths(1)) {
+            due.add(month.atEndOfMonth());
+        }
+        return due;
+    }
+
+    /**
+     * Snapshot every item that moved since the previous snapshot date. Dates must be
+     * taken in order; a month without movements writes nothing. Returns rows written.
+     */
+    public int takeSnapshot(LocalDate snapshotDate) {
+        if (stockSnapshotRepository.existsBySnapshotDate(snapshotDate)) {
+            return 0;
+        }
+        LocalDate latest = stockSnapshotRepository.findLatestSnapshotDate();
+        if (latest != null && latest.isAfter(snapshotDate)) {
+            throw new IllegalArgumentException("A later stock snapshot (" + latest + ") already exists");
+        }
+        long start = System.currentTimeMillis();
+        LocalDate previous = stockSnapshotRepository.findLatestSnapshotDateBefore(snapshotDate);
+        LocalDateTime from = previous != null ? endOf(previous) : BEGINNING;
+
+        Map<Long, Map<MovementKey, long[]>> byItem = new HashMap<>();
+        for (Object[] row : stockTransactionRepository.summarizeMovementsBetween(from, endOf(snapshotDate))) {
+            add(byItem.computeIfAbsent((Long) row[0], id -> new LinkedHashMap<>()),
+                    (TransactionType) row[1], (TransactionSource) row[2], (Number) row[3], (Number) row[4]);
+        }
+
+        List<Long> itemIds = new ArrayList<>(byItem.keySet());
+        for (int i = 0; i < itemIds.size(); i += ITEM_CHUNK_SIZE) {
+            List<Long> chunk = itemIds.subList(i, Math.min(i + ITEM_CHUNK_SIZE, itemIds.size()));
+            for (StockSnapshot earlier : stockSnapshotRepository.findLatestSnapshotsForItems(chunk, snapshotDate)) {
+                add(byItem.get(earlier.getJewelryItemId()), earlier.getTransactionType(),
+                        earlier.getTransactionSource(), earlier.getTransactionCount(), earlier.getQuantity());
+            }
+        }
+
+        List<StockSnapshot> rows = new ArrayList<>();
+        byItem.forEach((itemId, movements) -> movements.forEach((key, totals) -> rows.add(StockSnapshot.builder()
+                .jewelryItemId(itemId)
+                .snapshotDate(snapshotDate)
+                .transactionType(key.type())
+                .transactionSource(key.source())
+                .transactionCount(totals[0])
+                .quantity(totals[1])
+                .build())));
+        stockSnapshotRepository.saveAll(rows);
+
+        LOG.info("Stock snapshot {} taken: {} items, {} rows in {} ms", snapshotDate, byItem.size(), rows.size(),
+                System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    /**
+     * An item's movements up to a time (null for now), as [type, source, count, quantity]
+     * rows like {@link StockTransactionRepository#getStockMovementSummaryByItemId}
+     */
+    @Transactional(readOnly = true)
+    public List<Object[]> getMovementSummary(Long itemId, LocalDateTime asOf) {
+        Map<MovementKey, long[]> movements = new LinkedHashMap<>();
+        // Snapshots cover whole days, so only those dated before asOf's day fit
+        LocalDate before = asOf != null ? asOf.toLocalDate() : LocalDate.now().plusDays(1);
+        LocalDate snapshotDate = stockSnapshotRepository.findLatestSnapshotDateForItem(itemId, before);
+        LocalDateTime from = BEGINNING;
+        if (snapshotDate != null) {
+            for (StockSnapshot snapshot : stockSnapshotRepository.findByJewelryItemIdAndSnapshotDate(itemId, snapshotDate)) {
+                add(movements, snapshot.getTransactionType(), snapshot.getTransactionSource(),
+                        snapshot.getTransactionCount(), snapshot.getQuantity());
+            }
+            from = endOf(snapshotDate);
+        }
+
+        List<Object[]> deltas = asOf != null
+                ? stockTransactionRepository.getStockMovementSummaryByItemIdBetween(itemId, from, asOf)
+                : stockTransactionRepository.getStockMovementSummaryByItemIdSince(itemId, from);
+        for (Object[] row : deltas) {
+            add(movements, (TransactionType) row[0], (TransactionSource) row[1], (Number) row[2], (Number) row[3]);
+        }
+
+        List<Object[]> summary = new ArrayList<>();
+        movements.forEach((key, totals) -> summary.add(new Object[]{key.type(), key.source(), totals[0], totals[1]}));
+        return summary;
+    }
+
+    /**
+     * An item's stock (quantity in less quantity out) at a time, null for now
+     */
+    @Transactional(readOnly = true)
+    public int getStockAsOf(Long itemId, LocalDateTime asOf) {
+        long stock = 0;
+        for (Object[] row : getMovementSummary(itemId, asOf)) {
+            if (row[0] == TransactionType.IN) {
+                stock += (Long) row[3];
+            } else if (row[0] == TransactionType.OUT) {
+                stock -= (Long) row[3];
+            }
+        }
+        return Math.toIntExact(stock);
+    }
+
+    /**
+     * A page of an item's transactions, newest first. Pass the last transaction of the
+     * previous page to get the next, or null for the first page.
+     */
+    @Transactional(readOnly = true)
+    public List<StockTransaction> getItemHistoryPage(Long itemId, StockTransaction after, int pageSize) {
+        PageRequest limit = PageRequest.of(0, pageSize);
+        if (after == null) {
+            return stockTransactionRepository.findItemHistoryFirstPage(itemId, limit);
+        }
+        return stockTransactionRepository.findItemHistoryPageBefore(itemId, after.getTransactionDate(),
+                after.getId(), limit);
+    }
+
+    private static void add(Map<MovementKey, long[]> movements, TransactionType type, TransactionSource source,
+                            Number count, Number quantity) {
+        long[] totals = movements.computeIfAbsent(new MovementKey(type, source), key -> new long[2]);
+        totals[0] += count != null ? count.longValue() : 0;
+        totals[1] += quantity != null ? quantity.longValue() : 0;
+    }
+
+    // Snapshots cover their date to midnight
+    static LocalDateTime endOf(LocalDate snapshotDate) {
+        return snapshotDate.plusDays(1).atStartOfDay();
+    }
+
+    private record MovementKey(TransactionType type, TransactionSource source) {
+    }
+}
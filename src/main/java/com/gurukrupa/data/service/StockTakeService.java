@@ -0,0 +1,279 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.StockTakeProgress;
+import com.gurukrupa.data.dto.StockTakeVariance;
+import com.gurukrupa.data.entities.JewelryItem;
+import com.gurukrupa.data.entities.StockTakeCount;
+import com.gurukrupa.data.entities.StockTakeSession;
+import com.gurukrupa.data.entities.StockTakeSession.SessionStatus;
+import com.gurukrupa.data.repository.JewelryItemRepository;
+import com.gurukrupa.data.repository.StockTakeCountRepository;
+import com.gurukrupa.data.repository.StockTakeSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Physical stock audits. A session is started, items are counted into it by scan or by
+ * hand (over several days if need be, pausing in between), and posting it records one
+ * ADJUSTMENT stock transaction for every item whose count differs from the system.
+ * Only one session can be open or paused at a time.
+ */
+@Service
+@Transactional
+public class StockTakeService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StockTakeService.class);
+    private static final String REFERENCE_TYPE = "STOCK_TAKE";
+    // Items loaded per query when posting
+    private static final int LOAD_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private StockTakeSessionRepository sessionRepository;
+
+    @Autowired
+    private StockTakeCountRepository countRepository;
+
+    @Autowired
+    private JewelryItemRepository jewelryItemRepository;
+
+    @Autowired
+    private StockTransactionService stockTransactionService;
+
+    @Autowired
+    private ItemCodeIndex itemCodeIndex;
+
+    /**
+     * Start a session; format of the number: ST-YYYYMMDD-XX
+     */
+    public StockTakeSession startSession(String startedBy, String remarks) {
+        Optional<StockTakeSession> unfinished = getUnfinishedSession();
+        if (unfinished.isPresent()) {
+            throw new IllegalStateException("Stock take " + unfinished.get().getSessionNumber()
+                    + " is not finished yet. Resume and post it, or cancel it, first.");
+        }
+        LocalDate today = LocalDate.now();
+        long startedToday = sessionRepository.countByStartedDateBetween(today.atStartOfDay(),
+                today.plusDays(1).atStartOfDay());
+        StockTakeSession session = StockTakeSession.builder()
+                .sessionNumber(String.format("ST-%s-%02d",
+                        today.format(DateTimeFormatter.ofPattern("yyyyMMdd")), startedToday + 1))
+                .startedBy(startedBy)
+                .remarks(remarks)
+                .build();
+        session = sessionRepository.save(session);
+        LOG.info("Stock take {} started by {}", session.getSessionNumber(), startedBy);
+        return session;
+    }
+
+    public StockTakeSession pauseSession(Long sessionId) {
+        StockTakeSession session = requireStatus(sessionId, SessionStatus.OPEN);
+        session.setStatus(SessionStatus.PAUSED);
+        session.setPausedDate(LocalDateTime.now());
+        return sessionRepository.save(session);
+    }
+
+    public StockTakeSession resumeSession(Long sessionId) {
+        StockTakeSession session = requireStatus(sessionId, SessionStatus.PAUSED);
+        session.setStatus(SessionStatus.OPEN);
+        return sessionRepository.save(session);
+    }
+
+    /**
+     * Close the session without touching stock; its counts are kept
+     */
+    public StockTakeSession cancelSession(Long sessionId) {
+        StockTakeSession session = requireSession(sessionId);
+        if (session.isFinished()) {
+            throw new IllegalStateException("Stock take " + session.getSessionNumber() + " is already " + session.getStatus());
+        }
+        session.setStatus(SessionStatus.CANCELLED);
+        return sessionRepository.save(session);
+    }
+
+    /**
+     * One scanned tag: count one more of the item
+     */
+    public StockTakeCount recordScan(Long sessionId, String itemCode, String countedBy) {
+        return addCount(sessionId, itemCode, 1, countedBy);
+    }
+
+    /**
+     * Count more of an item (or fewer, to correct a miscount)
+     */
+    public StockTakeCount addCount(Long sessionId, String itemCode, int quantity, String countedBy) {
+        requireStatus(sessionId, SessionStatus.OPEN);
+        JewelryItem item = findItem(itemCode);
+        if (quantity >= 0) {
+            // Insert or add in one statement: two stations scanning an item's first tag
+            // at once would otherwise both insert and one would hit the unique key
+            countRepository.addOrCreateCount(sessionId, item.getId(), quantity,
+                    item.getQuantity() != null ? item.getQuantity() : 0, countedBy, LocalDateTime.now());
+        } else if (countRepository.addToCount(sessionId, item.getId(), quantity, countedBy, LocalDateTime.now()) == 0) {
+            throw new IllegalArgumentException("Count for item " + itemCode + " cannot go below zero");
+        }
+        StockTakeCount count = countRepository.findBySessionIdAndJewelryItemId(sessionId, item.getId())
+                .orElseThrow(() -> new IllegalStateException("Count not found for item " + itemCode));
+        if (count.getCountedQuantity() < 0) {
+            throw new IllegalArgumentException("Count for item " + itemCode + " cannot go below zero");
+        }
+        return count;
+    }
+
+    /**
+     * Replace an item's count, e.g. when a tray is counted by hand
+     */
+    public StockTakeCount setCount(Long sessionId, String itemCode, int quantity, String countedBy) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Count cannot be negative");
+        }
+        requireStatus(sessionId, SessionStatus.OPEN);
+        JewelryItem item = findItem(itemCode);
+        Optional<StockTakeCount> existing = countRepository.findBySessionIdAndJewelryItemId(sessionId, item.getId());
+        if (existing.isEmpty()) {
+            return createCount(sessionId, item, quantity, countedBy);
+        }
+        StockTakeCount count = existing.get();
+        count.setCountedQuantity(quantity);
+        count.setCountedBy(countedBy);
+        return countRepository.save(count);
+    }
+
+    @Transactional(readOnly = true)
+    public StockTakeProgress getProgress(Long sessionId) {
+        StockTakeSession session = requireSession(sessionId);
+        long itemsCounted = 0;
+        long unitsCounted = 0;
+        List<Object[]> rows = countRepository.summarizeSession(sessionId);
+        if (!rows.isEmpty()) {
+            itemsCounted = ((Number) rows.get(0)[0]).longValue();
+            unitsCounted = ((Number) rows.get(0)[1]).longValue();
+        }
+        return StockTakeProgress.builder()
+                .session(session)
+                .itemsCounted(itemsCounted)
+                .unitsCounted(unitsCounted)
+                .build();
+    }
+
+    /**
+     * Items whose count differs from the system quantity they had when first counted.
+     * Active items not counted yet appear with a count of zero.
+     */
+    @Transactional(readOnly = true)
+    public List<StockTakeVariance> getVariances(Long sessionId) {
+        requireSession(sessionId);
+        List<StockTakeVariance> variances = new ArrayList<>();
+        for (Object[] row : countRepository.findVariances(sessionId)) {
+            variances.add(StockTakeVariance.builder()
+                    .itemId((Long) row[0])
+                    .itemCode((String) row[1])
+                    .itemName((String) row[2])
+                    .systemQuantity(((Number) row[3]).intValue())
+                    .countedQuantity(((Number) row[4]).intValue())
+                    .build());
+        }
+        return variances;
+    }
+
+    /**
+     * Adjust every item with a variance and close the session. Each variance is applied
+     * to the item's current quantity, so stock that moved since the item was counted is
+     * kept; a quantity is never taken below zero.
+     */
+    public StockTakeSession postSession(Long sessionId, String postedBy) {
+        StockTakeSession session = requireSession(sessionId);
+        if (session.isFinished()) {
+            throw new IllegalStateException("Stock take " + session.getSessionNumber() + " is already " + session.getStatus());
+        }
+
+        List<StockTakeVariance> variances = getVariances(sessionId);
+        Map<Long, Integer> varianceByItem = new HashMap<>();
+        List<Long> itemIds = new ArrayList<>();
+        for (StockTakeVariance variance : variances) {
+            varianceByItem.put(variance.getItemId(), variance.getVariance());
+            itemIds.add(variance.getItemId());
+        }
+
+        Map<JewelryItem, Integer> newQuantities = new LinkedHashMap<>();
+        for (int from = 0; from < itemIds.size(); from += LOAD_CHUNK_SIZE) {
+            List<Long> chunk = itemIds.subList(from, Math.min(from + LOAD_CHUNK_SIZE, itemIds.size()));
+            for (JewelryItem item : jewelryItemRepository.findAllById(chunk)) {
+                int current = item.getQuantity() != null ? item.getQuantity() : 0;
+                newQuantities.put(item, Math.max(0, current + varianceByItem.get(item.getId())));
+            }
+        }
+
+        int posted = stockTransactionService.recordStockAdjustments(newQuantities, REFERENCE_TYPE,
+                session.getId(), session.getSessionNumber(), "Stock take " + session.getSessionNumber(),
+                postedBy).size();
+
+        session.setStatus(SessionStatus.POSTED);
+        session.setAdjustmentsPosted(posted);
+        session.setPostedBy(postedBy);
+        session.setPostedDate(LocalDateTime.now());
+        session = sessionRepository.save(session);
+        LOG.info("Stock take {} posted by {}: {} variances, {} adjustments", session.getSessionNumber(),
+                postedBy, variances.size(), posted);
+        return session;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<StockTakeSession> getUnfinishedSession() {
+        return sessionRepository.findByStatusInOrderByStartedDateDesc(
+                List.of(SessionStatus.OPEN, SessionStatus.PAUSED)).stream().findFirst();
+    }
+
+    @Transactional(readOnly = true)
+    public List<StockTakeSession> getAllSessions() {
+        return sessionRepository.findAllByOrderByStartedDateDesc();
+    }
+
+    private StockTakeCount createCount(Long sessionId, JewelryItem item, int quantity, String countedBy) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException("Count for item " + item.getItemCode() + " cannot go below zero");
+        }
+        // System quantity read from the table, not the cached item
+        JewelryItem current = jewelryItemRepository.findById(item.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Item not found with code: " + item.getItemCode()));
+        StockTakeCount count = StockTakeCount.builder()
+                .sessionId(sessionId)
+                .jewelryItem(current)
+                .countedQuantity(quantity)
+                .systemQuantity(current.getQuantity() != null ? current.getQuantity() : 0)
+                .countedBy(countedBy)
+                .build();
+        return countRepository.save(count);
+    }
+
+    private JewelryItem findItem(String itemCode) {
+        return itemCodeIndex.find(itemCode)
+                .orElseThrow(() -> new IllegalArgumentException("Item not found with code: " + itemCode));
+    }
+
+    private StockTakeSession requireSession(Long sessionId) {
+        return sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Stock take session not found with ID: " + sessionId));
+    }
+
+    private StockTakeSession requireStatus(Long sessionId, SessionStatus status) {
+        StockTakeSession session = requireSession(sessionId);
+        if (session.getStatus() != status) {
+            throw new IllegalStateException("Stock take " + session.getSessionNumber() + " is " + session.getStatus()
+                    + ", not " + status);
+        }
+        return session;
+    }
+}
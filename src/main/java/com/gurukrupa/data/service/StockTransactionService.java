@@ -6,14 +6,20 @@ import com.gurukrupa.data.entities.StockTransaction.TransactionType;
 import com.gurukrupa.data.entities.StockTransaction.TransactionSource;
 import com.gurukrupa.data.repository.JewelryItemRepository;
 import com.gurukrupa.data.repository.StockTransactionRepository;
+import com.gurukrupa.event.StockValueChangedEvent;
+import com.gurukrupa.utility.PurityCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -28,6 +34,12 @@ public class StockTransactionService {
     @Autowired
     private JewelryItemRepository jewelryItemRepository;
     
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private StockSnapshotService stockSnapshotService;
+    
     /**
      * Record a stock OUT transaction (e.g., sale)
      */
@@ -75,6 +87,7 @@ public class StockTransactionService {
         // Update item quantity
         item.setQuantity(newStock);
         jewelryItemRepository.save(item);
+        publishStockValueChange(item, -quantity);
         
         LOG.info("Stock OUT recorded: Item={}, Quantity={}, New Stock={}, Reference={}", 
                 item.getItemCode(), quantity, newStock, referenceNumber);
@@ -123,6 +136,7 @@ public class StockTransactionService {
         // Update item quantity
         item.setQuantity(newStock);
         jewelryItemRepository.save(item);
+        publishStockValueChange(item, quantity);
         
         LOG.info("Stock IN recorded: Item={}, Quantity={}, New Stock={}, Reference={}", 
                 item.getItemCode(), quantity, newStock, referenceNumber);
@@ -166,12 +180,66 @@ public class StockTransactionService {
         // Update item quantity
         item.setQuantity(newQuantity);
         jewelryItemRepository.save(item);
+        publishStockValueChange(item, newQuantity - currentStock);
         
         LOG.info("Stock adjustment recorded: Item={}, From={}, To={}, Reason={}", 
                 item.getItemCode(), currentStock, newQuantity, reason);
         
         return transaction;
     }
+
+    /**
+     * Record adjustments for many items at once (e.g. a posted stock take), saving the
+     * transactions and item quantities in batches. Items already at their new quantity
+     * are skipped.
+     */
+    public List<StockTransaction> recordStockAdjustments(Map<JewelryItem, Integer> newQuantities,
+                                                         String referenceType, Long referenceId,
+                                                         String referenceNumber, String reason,
+                                                         String createdBy) {
+        LocalDateTime now = LocalDateTime.now();
+        List<StockTransaction> transactions = new ArrayList<>();
+        List<JewelryItem> items = new ArrayList<>();
+        for (Map.Entry<JewelryItem, Integer> entry : newQuantities.entrySet()) {
+            JewelryItem item = entry.getKey();
+            Integer currentStock = item.getQuantity() != null ? item.getQuantity() : 0;
+            Integer newQuantity = entry.getValue();
+            if (newQuantity < 0) {
+                throw new IllegalArgumentException("Quantity cannot be negative for item " + item.getItemCode());
+            }
+            if (newQuantity.equals(currentStock)) {
+                continue;
+            }
+            transactions.add(StockTransaction.builder()
+                    .jewelryItem(item)
+                    .transactionType(newQuantity > currentStock ? TransactionType.IN : TransactionType.OUT)
+                    .transactionSource(TransactionSource.ADJUSTMENT)
+                    .quantity(Math.abs(newQuantity - currentStock))
+                    .quantityBefore(currentStock)
+                    .quantityAfter(newQuantity)
+                    .referenceType(referenceType)
+                    .referenceId(referenceId)
+                    .referenceNumber(referenceNumber)
+                    .description("Stock adjustment: " + reason)
+                    .remarks(reason)
+                    .transactionDate(now)
+                    .createdBy(createdBy)
+                    .build());
+            item.setQuantity(newQuantity);
+            items.add(item);
+        }
+
+        List<StockTransaction> saved = stockTransactionRepository.saveAll(transactions);
+        jewelryItemRepository.saveAll(items);
+        for (StockTransaction transaction : saved) {
+            publishStockValueChange(transaction.getJewelryItem(),
+                    transaction.getQuantityAfter() - transaction.getQuantityBefore());
+        }
+
+        LOG.info("Stock adjustments recorded: {} items, Reference={}, Reason={}",
+                saved.size(), referenceNumber, reason);
+        return saved;
+    }
     
     /**
      * Record stock out for a bill sale
@@ -214,6 +282,31 @@ public class StockTransactionService {
         return stockTransactionRepository.findByJewelryItemIdOrderByTransactionDateDesc(itemId);
     }
     
+    /**
+     * A page of an item's stock history, newest first; pass the last transaction of the
+     * previous page, or null for the first page
+     */
+    @Transactional(readOnly = true)
+    public List<StockTransaction> getItemTransactionHistoryPage(Long itemId, StockTransaction after, int pageSize) {
+        return stockSnapshotService.getItemHistoryPage(itemId, after, pageSize);
+    }
+    
+    /**
+     * Latest stock transaction of an item
+     */
+    @Transactional(readOnly = true)
+    public Optional<StockTransaction> getLatestTransaction(Long itemId) {
+        return stockTransactionRepository.findFirstByJewelryItemIdOrderByTransactionDateDescIdDesc(itemId);
+    }
+    
+    /**
+     * Stock of an item as it stood at the given time
+     */
+    @Transactional(readOnly = true)
+    public Integer getStockAsOf(Long itemId, LocalDateTime asOf) {
+        return stockSnapshotService.getStockAsOf(itemId, asOf);
+    }
+    
     /**
      * Get transactions by reference
      */
@@ -251,9 +344,7 @@ public class StockTransactionService {
      */
     @Transactional(readOnly = true)
     public Integer calculateStockFromTransactions(Long itemId) {
-        Integer totalIn = stockTransactionRepository.getTotalInQuantityByItemId(itemId);
-        Integer totalOut = stockTransactionRepository.getTotalOutQuantityByItemId(itemId);
-        return totalIn - totalOut;
+        return stockSnapshotService.getStockAsOf(itemId, null);
     }
     
     /**
@@ -284,7 +375,7 @@ public class StockTransactionService {
      */
     @Transactional(readOnly = true)
     public List<Object[]> getStockMovementSummary(Long itemId) {
-        return stockTransactionRepository.getStockMovementSummaryByItemId(itemId);
+        return stockSnapshotService.getMovementSummary(itemId, null);
     }
     
     /**
@@ -316,4 +407,23 @@ public class StockTransactionService {
                                 description, createdBy);
         }
     }
-}
\ No newline at end of file
+    
+    /**
+     * Tell the inventory valuation how much metal moved with this item
+     */
+    private void publishStockValueChange(JewelryItem item, int quantityDelta) {
+        if (quantityDelta == 0 || !Boolean.TRUE.equals(item.getIsActive())) {
+            return;
+        }
+        BigDecimal netWeight = item.getNetWeight() != null
+                ? item.getNetWeight().multiply(BigDecimal.valueOf(Math.abs(quantityDelta))) : BigDecimal.ZERO;
+        BigDecimal pureWeight = PurityCalculator.getPureMetalWeight(netWeight, item.getPurity());
+        if (quantityDelta < 0) {
+            netWeight = netWeight.negate();
+            pureWeight = pureWeight.negate();
+        }
+        eventPublisher.publishEvent(new StockValueChangedEvent(this,
+                item.getMetal() != null ? item.getMetal().getId() : null,
+                StockValueChangedEvent.StockKind.ITEM, quantityDelta, netWeight, pureWeight, item.getItemCode()));
+    }
+}
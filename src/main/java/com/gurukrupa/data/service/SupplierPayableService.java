@@ -0,0 +1,179 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.PayablesAging;
+import com.gurukrupa.data.entities.SupplierPayable;
+import com.gurukrupa.data.repository.PurchaseInvoiceRepository;
+import com.gurukrupa.data.repository.SupplierPayableRepository;
+import com.gurukrupa.data.repository.SupplierPaymentRepository;
+import com.gurukrupa.data.repository.SupplierRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Maintains the per-supplier payables summary. Invoice saves and supplier payments
+ * call {@link #refreshForSupplier(Long)} inside their own transaction, which
+ * recomputes the row with one aggregate query over that supplier's invoices; reads
+ * are a single-row lookup. Aging is computed on demand with one grouped query, as
+ * the buckets shift with the calendar rather than with invoice changes.
+ */
+@Service
+@Transactional
+public class SupplierPayableService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SupplierPayableService.class);
+
+    @Autowired
+    private SupplierPayableRepository payableRepository;
+
+    @Autowired
+    private PurchaseInvoiceRepository purchaseInvoiceRepository;
+
+    @Autowired
+    private SupplierPaymentRepository supplierPaymentRepository;
+
+    @Autowired
+    private SupplierRepository supplierRepository;
+
+    /**
+     * Recompute a supplier's summary from their invoices
+     */
+    public SupplierPayable refreshForSupplier(Long supplierId) {
+        SupplierPayable payable = payableRepository.findBySupplierId(supplierId)
+                .orElseGet(() -> SupplierPayable.builder()
+                        .supplier(supplierRepository.getReferenceById(supplierId))
+                        .build());
+
+        List<Object[]> totals = purchaseInvoiceRepository.getPayableTotalsBySupplierId(supplierId);
+        applyTotals(payable, totals.isEmpty() ? null : totals.get(0));
+        payable.setLastPaymentDate(supplierPaymentRepository.findLastPaymentDateBySupplierId(supplierId));
+
+        return payableRepository.save(payable);
+    }
+
+    /**
+     * Pending amount owed to a supplier; builds the summary on first use
+     */
+    public BigDecimal getPendingAmount(Long supplierId) {
+        return getPayable(supplierId).getPendingAmount();
+    }
+
+    public SupplierPayable getPayable(Long supplierId) {
+        return payableRepository.findBySupplierId(supplierId)
+                .orElseGet(() -> refreshForSupplier(supplierId));
+    }
+
+    /**
+     * Pending amount of one supplier split into 0-30 / 31-60 / 61-90 / 90+ day buckets
+     */
+    @Transactional(readOnly = true)
+    public PayablesAging getAging(Long supplierId) {
+        List<PayablesAging> aging = queryAging(supplierId);
+        return aging.isEmpty() ? PayablesAging.empty(supplierId) : aging.get(0);
+    }
+
+    /**
+     * Aging buckets of every supplier with a pending amount
+     */
+    @Transactional(readOnly = true)
+    public List<PayablesAging> getAgingForAllSuppliers() {
+        return queryAging(null);
+    }
+
+    /**
+     * Compare every summary row with the invoices and correct any drift.
+     * Returns the number of rows that had to be fixed.
+     */
+    public int reconcileAll() {
+        Map<Long, SupplierPayable> existing = new HashMap<>();
+        for (SupplierPayable payable : payableRepository.findAll()) {
+            existing.put(payable.getSupplier().getId(), payable);
+        }
+
+        int corrected = 0;
+        for (Object[] row : purchaseInvoiceRepository.getPayableTotalsForAllSuppliers()) {
+            Long supplierId = (Long) row[0];
+            SupplierPayable payable = existing.remove(supplierId);
+            if (payable == null) {
+                refreshForSupplier(supplierId);
+                corrected++;
+            } else if (!matches(payable, row)) {
+                LOG.warn("Payables for supplier {} out of step: pending {} in summary, {} in invoices",
+                        supplierId, payable.getPendingAmount(), row[3]);
+                applyTotals(payable, row);
+                payableRepository.save(payable);
+                corrected++;
+            }
+        }
+
+        // Summaries left over belong to suppliers with no live invoices
+        for (SupplierPayable payable : existing.values()) {
+            if (payable.getPendingAmount().signum() != 0 || payable.getTotalInvoiced().signum() != 0) {
+                applyTotals(payable, null);
+                payableRepository.save(payable);
+                corrected++;
+            }
+        }
+
+        if (corrected > 0) {
+            LOG.info("Payables reconciliation corrected {} supplier summaries", corrected);
+        }
+        return corrected;
+    }
+
+    private List<PayablesAging> queryAging(Long supplierId) {
+        LocalDate today = LocalDate.now();
+        return purchaseInvoiceRepository.getPendingAging(supplierId,
+                        today.minusDays(30).atStartOfDay(),
+                        today.minusDays(60).atStartOfDay(),
+                        today.minusDays(90).atStartOfDay())
+                .stream()
+                .map(row -> new PayablesAging((Long) row[0], toBigDecimal(row[1]), toBigDecimal(row[2]),
+                        toBigDecimal(row[3]), toBigDecimal(row[4])))
+                .toList();
+    }
+
+    private void applyTotals(SupplierPayable payable, Object[] row) {
+        if (row == null) {
+            payable.setTotalInvoiced(BigDecimal.ZERO);
+            payable.setTotalPaid(BigDecimal.ZERO);
+            payable.setPendingAmount(BigDecimal.ZERO);
+            payable.setPendingInvoiceCount(0);
+            payable.setOldestPendingDate(null);
+            payable.setLastInvoiceDate(null);
+            return;
+        }
+        payable.setTotalInvoiced(toBigDecimal(row[1]));
+        payable.setTotalPaid(toBigDecimal(row[2]));
+        payable.setPendingAmount(toBigDecimal(row[3]));
+        payable.setPendingInvoiceCount(row[4] != null ? ((Number) row[4]).intValue() : 0);
+        payable.setOldestPendingDate((LocalDateTime) row[5]);
+        payable.setLastInvoiceDate((LocalDateTime) row[6]);
+    }
+
+    private boolean matches(SupplierPayable payable, Object[] row) {
+        return payable.getTotalInvoiced().compareTo(toBigDecimal(row[1])) == 0
+                && payable.getTotalPaid().compareTo(toBigDecimal(row[2])) == 0
+                && payable.getPendingAmount().compareTo(toBigDecimal(row[3])) == 0
+                && payable.getPendingInvoiceCount() == (row[4] != null ? ((Number) row[4]).intValue() : 0)
+                && Objects.equals(payable.getOldestPendingDate(), row[5])
+                && Objects.equals(payable.getLastInvoiceDate(), row[6]);
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        return value instanceof BigDecimal decimal ? decimal : new BigDecimal(value.toString());
+    }
+}
@@ -1,5 +1,6 @@
 package com.gurukrupa.data.service;
 
+import com.gurukrupa.data.dto.PayablesAging;
 import com.gurukrupa.data.entities.*;
 import com.gurukrupa.data.repository.SupplierPaymentRepository;
 import com.gurukrupa.data.repository.PurchaseInvoiceRepository;
@@ -31,6 +32,9 @@ public class SupplierPaymentService {
     @Autowired
     private BankTransactionService bankTransactionService;
 
+    @Autowired
+    private SupplierPayableService supplierPayableService;
+
     /**
      * Generate next receipt number in format: SPR-YYYYMMDD-XXXX
      */
@@ -52,21 +56,25 @@ public class SupplierPaymentService {
     }
 
     /**
-     * Get total pending amount for a supplier
+     * Get total pending amount for a supplier (from the payables summary)
      */
-    @Transactional(readOnly = true)
     public BigDecimal getSupplierPendingAmount(Long supplierId) {
-        List<PurchaseInvoice> invoices = purchaseInvoiceRepository
-                .findBySupplierIdOrderByInvoiceDateDesc(supplierId);
+        return supplierPayableService.getPendingAmount(supplierId);
+    }
 
-        BigDecimal totalPending = BigDecimal.ZERO;
-        for (PurchaseInvoice invoice : invoices) {
-            if (invoice.getPendingAmount() != null) {
-                totalPending = totalPending.add(invoice.getPendingAmount());
-            }
-        }
+    /**
+     * Get count of invoices with a pending amount (from the payables summary)
+     */
+    public int getSupplierPendingInvoiceCount(Long supplierId) {
+        return supplierPayableService.getPayable(supplierId).getPendingInvoiceCount();
+    }
 
-        return totalPending;
+    /**
+     * Get pending amount split into 0-30 / 31-60 / 61-90 / 90+ day buckets
+     */
+    @Transactional(readOnly = true)
+    public PayablesAging getSupplierPayablesAging(Long supplierId) {
+        return supplierPayableService.getAging(supplierId);
     }
 
     /**
@@ -74,14 +82,7 @@ public class SupplierPaymentService {
      */
     @Transactional(readOnly = true)
     public List<PurchaseInvoice> getSupplierPendingInvoices(Long supplierId) {
-        List<PurchaseInvoice> allInvoices = purchaseInvoiceRepository
-                .findBySupplierIdOrderByInvoiceDateDesc(supplierId);
-
-        // Filter invoices with pending amount
-        return allInvoices.stream()
-                .filter(invoice -> invoice.getPendingAmount() != null &&
-                        invoice.getPendingAmount().compareTo(BigDecimal.ZERO) > 0)
-                .toList();
+        return purchaseInvoiceRepository.findPendingInvoicesBySupplierId(supplierId);
     }
 
     /**
@@ -128,6 +129,9 @@ public class SupplierPaymentService {
         // Update purchase invoices to allocate this payment
         allocatePaymentToInvoices(supplier.getId(), paymentAmount);
 
+        // Keep the supplier's payables summary in step
+        supplierPayableService.refreshForSupplier(supplier.getId());
+
         LOG.info("Recorded supplier payment: {} - Amount: {} to {}",
                 payment.getReceiptNumber(), paymentAmount, supplier.getSupplierFullName());
 
@@ -197,12 +201,7 @@ public class SupplierPaymentService {
      */
     @Transactional(readOnly = true)
     public List<SupplierPayment> getPaymentsBySupplierAndDateRange(Long supplierId, LocalDateTime startDate, LocalDateTime endDate) {
-        return supplierPaymentRepository.findAll().stream()
-            .filter(payment -> payment.getSupplier().getId().equals(supplierId))
-            .filter(payment -> !payment.getPaymentDate().isBefore(startDate) &&
-                              !payment.getPaymentDate().isAfter(endDate))
-            .sorted((p1, p2) -> p2.getPaymentDate().compareTo(p1.getPaymentDate()))
-            .toList();
+        return supplierPaymentRepository.findBySupplierAndDateRange(supplierId, startDate, endDate);
     }
 
     /**
@@ -245,6 +244,7 @@ public class SupplierPaymentService {
             // For audit purposes, you might want to keep the bank transaction
 
             supplierPaymentRepository.delete(payment);
+            supplierPayableService.refreshForSupplier(payment.getSupplier().getId());
 
             LOG.info("Deleted supplier payment: {}", payment.getReceiptNumber());
         }
@@ -0,0 +1,64 @@
+package com.gurukrupa.diagnostics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Publishes Hibernate session factory statistics as meters. Requires
+ * {@code hibernate.generate_statistics=true}; Hikari pool meters are bound by
+ * Spring Boot's own data source metrics auto-configuration.
+ */
+@Component
+public class HibernateStatisticsMetrics implements MeterBinder {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HibernateStatisticsMetrics.class);
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            LOG.warn("Hibernate statistics are disabled; set hibernate.generate_statistics=true to publish them");
+        }
+
+        counter(registry, statistics, "gurukrupa.hibernate.statements.prepared", "JDBC statements prepared", Statistics::getPrepareStatementCount);
+        counter(registry, statistics, "gurukrupa.hibernate.queries.executed", "HQL/SQL queries executed", Statistics::getQueryExecutionCount);
+        counter(registry, statistics, "gurukrupa.hibernate.entities.loaded", "Entities loaded", Statistics::getEntityLoadCount);
+        counter(registry, statistics, "gurukrupa.hibernate.entities.fetched", "Entities fetched lazily", Statistics::getEntityFetchCount);
+        counter(registry, statistics, "gurukrupa.hibernate.entities.inserted", "Entities inserted", Statistics::getEntityInsertCount);
+        counter(registry, statistics, "gurukrupa.hibernate.entities.updated", "Entities updated", Statistics::getEntityUpdateCount);
+        counter(registry, statistics, "gurukrupa.hibernate.collections.loaded", "Collections loaded", Statistics::getCollectionLoadCount);
+        counter(registry, statistics, "gurukrupa.hibernate.collections.fetched", "Collections fetched lazily", Statistics::getCollectionFetchCount);
+        counter(registry, statistics, "gurukrupa.hibernate.sessions.opened", "Sessions opened", Statistics::getSessionOpenCount);
+        counter(registry, statistics, "gurukrupa.hibernate.transactions", "Transactions completed", Statistics::getTransactionCount);
+        counter(registry, statistics, "gurukrupa.hibernate.flushes", "Session flushes", Statistics::getFlushCount);
+
+        Gauge.builder("gurukrupa.hibernate.query.max.time", statistics, Statistics::getQueryExecutionMaxTime)
+                .description("Slowest query execution time in milliseconds")
+                .baseUnit("milliseconds")
+                .register(registry);
+        Gauge.builder("gurukrupa.hibernate.connections.obtained", statistics, Statistics::getConnectCount)
+                .description("JDBC connections obtained by sessions")
+                .register(registry);
+    }
+
+    private void counter(MeterRegistry registry, Statistics statistics, String name, String description,
+                         ToDoubleFunction<Statistics> value) {
+        FunctionCounter.builder(name, statistics, value)
+                .description(description)
+                .register(registry);
+    }
+}
@@ -0,0 +1,153 @@
+package com.gurukrupa.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Reads the application meters for the diagnostics panel and writes them to a
+ * Prometheus text file so timings can be collected from the shop counter.
+ */
+@Service
+public class MetricsSnapshotService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsSnapshotService.class);
+    private static final DateTimeFormatter FILE_STAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ObjectProvider<PrometheusMeterRegistry> prometheusRegistry;
+
+    @Value("${gurukrupa.diagnostics.dump-dir:${logging.file.path:.}}")
+    private String dumpDirectory;
+
+    /**
+     * Snapshot of every meter whose name starts with one of the given prefixes,
+     * slowest timers first. An empty prefix list returns all meters.
+     */
+    public List<MetricRow> getSnapshot(List<String> prefixes) {
+        List<MetricRow> rows = new ArrayList<>();
+        for (Meter meter : meterRegistry.getMeters()) {
+            String name = meter.getId().getName();
+            if (!prefixes.isEmpty() && prefixes.stream().noneMatch(name::startsWith)) {
+                continue;
+            }
+            rows.add(toRow(meter));
+        }
+        rows.sort(Comparator.comparingDouble(MetricRow::getTotalMillis).reversed()
+                .thenComparing(MetricRow::getName));
+        return rows;
+    }
+
+    /**
+     * Write the current meters in Prometheus text exposition format and return the file.
+     */
+    public Path dumpToFile() throws IOException {
+        Path directory = Paths.get(dumpDirectory, "metrics");
+        Files.createDirectories(directory);
+        Path file = directory.resolve("metrics-" + LocalDateTime.now().format(FILE_STAMP) + ".prom");
+        Files.writeString(file, scrape(), StandardCharsets.UTF_8);
+        LOG.info("Metrics dumped to {}", file);
+        return file;
+    }
+
+    /**
+     * Prometheus text for all meters; falls back to a plain rendering of the
+     * snapshot when the Prometheus registry is not active.
+     */
+    public String scrape() {
+        PrometheusMeterRegistry registry = prometheusRegistry.getIfAvailable();
+        if (registry != null) {
+            return registry.scrape();
+        }
+        StringBuilder text = new StringBuilder();
+        for (MetricRow row : getSnapshot(List.of())) {
+            String metric = row.getName().replace('.', '_');
+            String labels = row.getTags().isEmpty() ? "" : "{" + row.getTags() + "}";
+            if ("TIMER".equals(row.getType())) {
+                text.append(metric).append("_seconds_count").append(labels).append(' ').append(row.getCount()).append('\n');
+                text.append(metric).append("_seconds_sum").append(labels).append(' ').append(row.getTotalMillis() / 1000.0).append('\n');
+                text.append(metric).append("_seconds_max").append(labels).append(' ').append(row.getMaxMillis() / 1000.0).append('\n');
+            } else {
+                text.append(metric).append(labels).append(' ').append(row.getValue()).append('\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private MetricRow toRow(Meter meter) {
+        String name = meter.getId().getName();
+        String tags = meter.getId().getTags().stream()
+                .map(t -> t.getKey() + "=\"" + t.getValue() + "\"")
+                .collect(Collectors.joining(","));
+        String type = meter.getId().getType().name();
+
+        if (meter instanceof Timer timer) {
+            return new MetricRow(name, tags, type, timer.count(),
+                    timer.totalTime(TimeUnit.MILLISECONDS),
+                    timer.mean(TimeUnit.MILLISECONDS),
+                    timer.max(TimeUnit.MILLISECONDS),
+                    timer.count());
+        }
+        double value;
+        if (meter instanceof Counter counter) {
+            value = counter.count();
+        } else if (meter instanceof FunctionCounter counter) {
+            value = counter.count();
+        } else if (meter instanceof Gauge gauge) {
+            value = gauge.value();
+        } else {
+            value = firstMeasurement(meter);
+        }
+        return new MetricRow(name, tags, type, 0, 0, 0, 0, value);
+    }
+
+    private double firstMeasurement(Meter meter) {
+        var iterator = meter.measure().iterator();
+        return iterator.hasNext() ? iterator.next().getValue() : Double.NaN;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class MetricRow {
+        private final String name;
+        private final String tags;
+        private final String type;
+        private final long count;
+        private final double totalMillis;
+        private final double meanMillis;
+        private final double maxMillis;
+        private final double value;
+
+        public String getTagsDisplay() {
+            return tags.replace("\"", "");
+        }
+    }
+}
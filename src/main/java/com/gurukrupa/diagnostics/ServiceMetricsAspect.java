@@ -0,0 +1,62 @@
+package com.gurukrupa.diagnostics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the data services and the PDF report services.
+ * Each call is recorded in the {@value #TIMER_NAME} timer tagged with the service
+ * class, method and outcome; failures additionally bump {@value #ERROR_COUNTER_NAME}.
+ * The outermost service call on a thread also opens a {@link SqlStatementTracker} scope;
+ * the aspect runs outside the transaction so statements flushed on commit are counted.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+    public static final String TIMER_NAME = "gurukrupa.service.call";
+    public static final String ERROR_COUNTER_NAME = "gurukrupa.service.errors";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SqlStatementTracker statementTracker;
+
+    @Around("execution(public * com.gurukrupa.data.service..*(..)) || execution(public * com.gurukrupa.service..*(..))")
+    public Object timeServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String service = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String method = joinPoint.getSignature().getName();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try (SqlStatementTracker.Scope ignored = statementTracker.begin(service + "." + method)) {
+            return joinPoint.proceed();
+        } catch (Throwable t) {
+            outcome = "error";
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("exception", t.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw t;
+        } finally {
+            sample.stop(Timer.builder(TIMER_NAME)
+                    .description("Service method execution time")
+                    .tag("service", service)
+                    .tag("method", method)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+}
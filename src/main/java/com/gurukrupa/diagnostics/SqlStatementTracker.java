@@ -0,0 +1,195 @@
+package com.gurukrupa.diagnostics;
+
+import com.gurukrupa.data.repository.ArchiveScope;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Counts the SQL statements Hibernate prepares inside a tracking scope (a screen
+ * load or an outermost service call) and reports statement storms.
+ * <p>
+ * Statements are grouped by shape - the SQL with literals and IN lists collapsed -
+ * so a shape repeated {@code nPlusOneThreshold} times or more is logged as a likely
+ * N+1. A scope that exceeds its statement budget is logged, or rejected with an
+ * {@link IllegalStateException} when strict mode is on (used by tests). Queries slower
+ * than {@code slowQueryMillis} are logged by Hibernate under {@code org.hibernate.SQL_SLOW}
+ * with their {@code ?} placeholders.
+ * <p>
+ * Hibernate takes a single statement inspector, so this one also routes reads inside an
+ * {@link ArchiveScope} to the archive views.
+ */
+@Component
+public class SqlStatementTracker implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SqlStatementTracker.class);
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @Value("${gurukrupa.diagnostics.sql.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold = 5;
+
+    @Value("${gurukrupa.diagnostics.sql.default-budget:100}")
+    private int defaultBudget = 100;
+
+    @Value("${gurukrupa.diagnostics.sql.slow-query-ms:250}")
+    private long slowQueryMillis = 250;
+
+    @Value("${gurukrupa.diagnostics.sql.strict:false}")
+    private boolean strict;
+
+    @Autowired
+    private ObjectProvider<MeterRegistry> meterRegistry;
+
+    public SqlStatementTracker() {
+    }
+
+    /**
+     * Standalone tracker for tests, without Spring or metrics.
+     */
+    public SqlStatementTracker(int nPlusOneThreshold, int defaultBudget, boolean strict) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.defaultBudget = defaultBudget;
+        this.strict = strict;
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+        hibernateProperties.put(AvailableSettings.LOG_SLOW_QUERY, slowQueryMillis);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.record(shapeOf(sql));
+        }
+        return ArchiveScope.route(sql);
+    }
+
+    /**
+     * Open a scope with the default statement budget.
+     */
+    public Scope begin(String name) {
+        return begin(name, defaultBudget);
+    }
+
+    /**
+     * Open a scope on the current thread. When a scope is already open the call
+     * joins it and the returned handle's {@code close()} does nothing, so only
+     * the outermost action is reported.
+     */
+    public Scope begin(String name, int budget) {
+        Scope current = CURRENT.get();
+        if (current != null) {
+            return current.joined();
+        }
+        Scope scope = new Scope(name, budget, null);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Reduce a statement to its shape: literals become {@code ?}, IN lists collapse
+     * to a single marker and whitespace is normalised.
+     */
+    public static String shapeOf(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = IN_LIST.matcher(shape).replaceAll("in (?...)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    private void report(Scope scope) {
+        int total = scope.getStatementCount();
+        for (Map.Entry<String, Integer> entry : scope.shapes.entrySet()) {
+            if (entry.getValue() >= nPlusOneThreshold) {
+                LOG.warn("Possible N+1 in {}: {} executions of [{}]", scope.name, entry.getValue(), entry.getKey());
+                MeterRegistry registry = registry();
+                if (registry != null) {
+                    registry.counter("gurukrupa.sql.nplusone", "scope", scope.name).increment();
+                }
+            }
+        }
+
+        MeterRegistry registry = registry();
+        if (registry != null) {
+            registry.summary("gurukrupa.sql.statements", "scope", scope.name).record(total);
+        }
+
+        if (total > scope.budget) {
+            String message = String.format("%s executed %d SQL statements (budget %d, %d distinct shapes)",
+                    scope.name, total, scope.budget, scope.shapes.size());
+            if (strict) {
+                throw new IllegalStateException(message);
+            }
+            LOG.warn(message);
+        } else if (LOG.isDebugEnabled()) {
+            LOG.debug("{} executed {} SQL statements", scope.name, total);
+        }
+    }
+
+    private MeterRegistry registry() {
+        return meterRegistry != null ? meterRegistry.getIfAvailable() : null;
+    }
+
+    /**
+     * Statements recorded for one UI action or service call.
+     */
+    public class Scope implements AutoCloseable {
+        private final String name;
+        private final int budget;
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new LinkedHashMap<>();
+        private int statementCount;
+
+        private Scope(String name, int budget, Scope parent) {
+            this.name = name;
+            this.budget = budget;
+            this.parent = parent;
+        }
+
+        private Scope joined() {
+            return new Scope(name, budget, this);
+        }
+
+        private void record(String shape) {
+            statementCount++;
+            shapes.merge(shape, 1, Integer::sum);
+        }
+
+        public int getStatementCount() {
+            return parent != null ? parent.getStatementCount() : statementCount;
+        }
+
+        public Map<String, Integer> getShapes() {
+            return parent != null ? parent.getShapes() : shapes;
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                return;
+            }
+            CURRENT.remove();
+            report(this);
+        }
+    }
+}
@@ -8,11 +8,12 @@ import com.gurukrupa.data.service.ExchangeMetalStockService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.math.BigDecimal;
 
@@ -27,7 +28,7 @@ public class ExchangeMetalStockEventListener {
     @Autowired
     private ExchangeMetalStockService metalStockService;
     
-    @EventListener
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     @Async
     @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleBillCreated(BillCreatedEvent event) {
@@ -38,9 +39,6 @@ public class ExchangeMetalStockEventListener {
         }
         
         try {
-            // Wait a moment to ensure the bill and exchange transactions have committed
-            Thread.sleep(1500);
-            
             // Check if bill has exchange
             if (bill.getExchangeAmount() != null && bill.getExchangeAmount().compareTo(BigDecimal.ZERO) > 0) {
                 LOG.info("Processing exchange metal stock for bill {}", bill.getBillNumber());
@@ -51,9 +49,6 @@ public class ExchangeMetalStockEventListener {
                 });
             }
             
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOG.error("Exchange metal stock processing interrupted for bill {}", bill.getBillNumber());
         } catch (Exception e) {
             LOG.error("Error processing exchange metal stock for bill {}: {}", 
                      bill.getBillNumber(), e.getMessage(), e);
@@ -0,0 +1,19 @@
+package com.gurukrupa.event;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published when a jewelry item is added, edited, removed, activated or deactivated.
+ */
+public class InventoryChangedEvent extends ApplicationEvent {
+    private final String itemCode;
+    
+    public InventoryChangedEvent(Object source, String itemCode) {
+        super(source);
+        this.itemCode = itemCode;
+    }
+    
+    public String getItemCode() {
+        return itemCode;
+    }
+}
@@ -0,0 +1,69 @@
+package com.gurukrupa.event;
+
+import com.gurukrupa.data.entities.RepricingRun;
+import com.gurukrupa.data.service.InventoryRepricingService;
+import com.gurukrupa.data.service.ScheduledJobGate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Reprices inventory in the background once a new metal rate has committed. Runs left
+ * unfinished (application closed mid-run, failed chunk) are resumed periodically.
+ */
+@Component
+public class InventoryRepricingEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(InventoryRepricingEventListener.class);
+
+    @Autowired
+    private InventoryRepricingService inventoryRepricingService;
+
+    @Autowired
+    private ScheduledJobGate scheduledJobGate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Async
+    public void handleMetalRateChanged(MetalRateChangedEvent event) {
+        LOG.info("Repricing items of metal {} at {} per 10g", event.getMetalId(), event.getGoldRate());
+        RepricingRun run = inventoryRepricingService.start(event.getMetalId(), event.getMetalRateId(), event.getGoldRate());
+        runToEnd(run.getId());
+    }
+
+    @Scheduled(initialDelayString = "${gurukrupa.repricing.resume-initial-delay-ms:90000}",
+               fixedDelayString = "${gurukrupa.repricing.resume-interval-ms:300000}")
+    public void resumeStalled() {
+        scheduledJobGate.run("Repricing resume", () -> {
+            for (Long runId : inventoryRepricingService.findStalledRunIds()) {
+                LOG.info("Resuming repricing run {}", runId);
+                runToEnd(runId);
+            }
+        });
+    }
+
+    private void runToEnd(Long runId) {
+        long start = System.currentTimeMillis();
+        long repricedBefore = inventoryRepricingService.getRun(runId).map(RepricingRun::getItemsRepriced).orElse(0L);
+        try {
+            while (inventoryRepricingService.repriceNextChunk(runId)) {
+                // one transaction per chunk
+            }
+        } catch (Exception e) {
+            // Chunks done so far are committed; the resume job picks up from the last one
+            LOG.error("Repricing run {} stopped: {}", runId, e.getMessage(), e);
+            return;
+        }
+
+        inventoryRepricingService.getRun(runId).ifPresent(run -> {
+            long elapsed = Math.max(System.currentTimeMillis() - start, 1);
+            long repriced = run.getItemsRepriced() - repricedBefore;
+            LOG.info("Repricing run {} {}: {} items of metal {} in {} ms ({} items/sec)", runId,
+                    run.getStatus(), repriced, run.getMetalId(), elapsed, repriced * 1000 / elapsed);
+        });
+    }
+}
@@ -0,0 +1,34 @@
+package com.gurukrupa.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when the current rate of a metal changes. The gold rate is per 10 grams,
+ * the selling rate when one is set, as used for pricing items.
+ */
+public class MetalRateChangedEvent extends ApplicationEvent {
+    private final Long metalId;
+    private final Long metalRateId;
+    private final BigDecimal goldRate;
+    
+    public MetalRateChangedEvent(Object source, Long metalId, Long metalRateId, BigDecimal goldRate) {
+        super(source);
+        this.metalId = metalId;
+        this.metalRateId = metalRateId;
+        this.goldRate = goldRate;
+    }
+    
+    public Long getMetalId() {
+        return metalId;
+    }
+    
+    public Long getMetalRateId() {
+        return metalRateId;
+    }
+    
+    public BigDecimal getGoldRate() {
+        return goldRate;
+    }
+}
@@ -1,85 +1,68 @@
 package com.gurukrupa.event;
 
 import com.gurukrupa.data.entities.Bill;
-import com.gurukrupa.data.entities.BillTransaction;
-import com.gurukrupa.data.service.JewelryItemService;
+import com.gurukrupa.data.service.ScheduledJobGate;
+import com.gurukrupa.data.service.StockOutboxService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+/**
+ * Applies the stock outbox entry written with a bill. The event is handled once the
+ * checkout transaction has committed; entries still pending after that (failure or
+ * shutdown in between) are retried periodically.
+ */
 @Component
 public class StockReductionEventListener {
-    
+
     private static final Logger LOG = LoggerFactory.getLogger(StockReductionEventListener.class);
-    
+
+    @Autowired
+    private StockOutboxService stockOutboxService;
+
     @Autowired
-    private JewelryItemService jewelryItemService;
-    
-    @EventListener
+    private ScheduledJobGate scheduledJobGate;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
     @Async
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void handleBillCreated(BillCreatedEvent event) {
         Bill bill = event.getBill();
-        
-        if (bill == null || bill.getStatus() == Bill.BillStatus.CANCELLED) {
+
+        if (bill == null || bill.getId() == null || bill.getStatus() == Bill.BillStatus.CANCELLED) {
             return;
         }
-        
-        try {
-            // Wait a moment to ensure the bill transaction has committed
-            Thread.sleep(1000);
-            
-            LOG.info("Processing stock reduction for bill {} via event", bill.getBillNumber());
-            
-            String customerName = bill.getCustomer() != null ? 
-                                bill.getCustomer().getCustomerFullName() : "Customer";
-            
-            // Process each transaction to reduce stock
-            for (BillTransaction transaction : bill.getBillTransactions()) {
-                try {
-                    // Get quantity from transaction (default to 1 if not set)
-                    Integer quantity = transaction.getQuantity() != null ? transaction.getQuantity() : 1;
-                    
-                    // Skip if quantity is 0 or negative
-                    if (quantity <= 0) {
-                        LOG.warn("Skipping stock reduction for item {} with quantity {} in bill {}", 
-                                transaction.getItemCode(), quantity, bill.getBillNumber());
-                        continue;
-                    }
-                    
-                    // Reduce stock using the jewelry item service
-                    jewelryItemService.reduceStockForSale(
-                        null, // itemId will be looked up by itemCode
-                        transaction.getItemCode(),
-                        quantity,
-                        bill.getId(),
-                        bill.getBillNumber(),
-                        customerName
-                    );
-                    
-                    LOG.info("Stock reduced for item {} quantity {} in bill {}", 
-                            transaction.getItemCode(), quantity, bill.getBillNumber());
-                    
-                } catch (Exception e) {
-                    // Log the error but continue with other items
-                    LOG.error("Error reducing stock for item {} in bill {}: {}", 
-                             transaction.getItemCode(), bill.getBillNumber(), e.getMessage());
-                }
+
+        LOG.info("Processing stock reduction for bill {} via event", bill.getBillNumber());
+        processEntry(bill.getId());
+    }
+
+    @Scheduled(initialDelayString = "${gurukrupa.stock-outbox.retry-initial-delay-ms:60000}",
+               fixedDelayString = "${gurukrupa.stock-outbox.retry-interval-ms:300000}")
+    public void retryPending() {
+        scheduledJobGate.run("Stock outbox retry", () -> {
+            for (Long billId : stockOutboxService.findRetryableBillIds()) {
+                LOG.info("Retrying stock reduction for bill id {}", billId);
+                processEntry(billId);
             }
-            
-            LOG.info("Completed stock reduction processing for bill {} via event", bill.getBillNumber());
-            
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            LOG.error("Stock reduction interrupted for bill {}", bill.getBillNumber());
+        });
+    }
+
+    private void processEntry(Long billId) {
+        try {
+            stockOutboxService.process(billId);
         } catch (Exception e) {
-            LOG.error("Unexpected error in stock reduction for bill {}: {}", 
-                     bill.getBillNumber(), e.getMessage(), e);
+            LOG.error("Stock reduction failed for bill id {}: {}", billId, e.getMessage(), e);
+            try {
+                stockOutboxService.markFailed(billId, e.getMessage());
+            } catch (Exception markError) {
+                // Concurrent processing already updated the entry
+                LOG.warn("Could not record stock reduction failure for bill id {}: {}", billId, markError.getMessage());
+            }
         }
     }
-}
\ No newline at end of file
+}
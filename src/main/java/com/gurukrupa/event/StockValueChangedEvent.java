@@ -0,0 +1,76 @@
+package com.gurukrupa.event;
+
+import org.springframework.context.ApplicationEvent;
+
+import java.math.BigDecimal;
+
+/**
+ * Published when stock of a metal moves: finished items in or out, or purchased metal
+ * added, used or returned. Carries the change so valuation totals can be adjusted
+ * without re-reading stock; an event without deltas means the change is unknown.
+ * Item movements also name the item, so cached copies of it can be dropped.
+ */
+public class StockValueChangedEvent extends ApplicationEvent {
+
+    public enum StockKind {
+        ITEM, METAL
+    }
+
+    private final Long metalId;
+    private final StockKind kind;
+    private final int quantityDelta;
+    private final BigDecimal netWeightDelta;
+    private final BigDecimal pureWeightDelta;
+    private final String itemCode;
+    
+    public StockValueChangedEvent(Object source, Long metalId, StockKind kind, int quantityDelta,
+                                  BigDecimal netWeightDelta, BigDecimal pureWeightDelta) {
+        this(source, metalId, kind, quantityDelta, netWeightDelta, pureWeightDelta, null);
+    }
+
+    public StockValueChangedEvent(Object source, Long metalId, StockKind kind, int quantityDelta,
+                                  BigDecimal netWeightDelta, BigDecimal pureWeightDelta, String itemCode) {
+        super(source);
+        this.metalId = metalId;
+        this.kind = kind;
+        this.quantityDelta = quantityDelta;
+        this.netWeightDelta = netWeightDelta;
+        this.pureWeightDelta = pureWeightDelta;
+        this.itemCode = itemCode;
+    }
+
+    /**
+     * Stock changed in a way that has to be re-read (e.g. a stock row edited or deleted)
+     */
+    public static StockValueChangedEvent unknown(Object source, StockKind kind) {
+        return new StockValueChangedEvent(source, null, kind, 0, null, null);
+    }
+    
+    public Long getMetalId() {
+        return metalId;
+    }
+    
+    public StockKind getKind() {
+        return kind;
+    }
+    
+    public int getQuantityDelta() {
+        return quantityDelta;
+    }
+    
+    public BigDecimal getNetWeightDelta() {
+        return netWeightDelta;
+    }
+    
+    public BigDecimal getPureWeightDelta() {
+        return pureWeightDelta;
+    }
+
+    public String getItemCode() {
+        return itemCode;
+    }
+
+    public boolean hasDelta() {
+        return netWeightDelta != null && pureWeightDelta != null;
+    }
+}
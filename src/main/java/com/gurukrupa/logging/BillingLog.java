@@ -0,0 +1,46 @@
+package com.gurukrupa.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+
+/**
+ * Logging for the billing domain. Entities and services call these instead of
+ * printing to the console; every message is parameterized and level-guarded so
+ * nothing is formatted unless the {@code com.gurukrupa.billing} logger is enabled.
+ */
+public final class BillingLog {
+
+    private static final Logger LOG = LoggerFactory.getLogger("com.gurukrupa.billing");
+
+    private BillingLog() {
+    }
+
+    public static void totalsCalculated(String billNumber, BigDecimal subtotal, BigDecimal discount,
+                                        BigDecimal netTotal, BigDecimal tax, BigDecimal exchange,
+                                        BigDecimal grandTotal) {
+        if (LOG.isTraceEnabled()) {
+            LOG.trace("Bill {} totals - subtotal: {}, discount: {}, net: {}, GST: {}, exchange: {}, grand total: {}",
+                    billNumber, subtotal, discount, netTotal, tax, exchange, grandTotal);
+        }
+    }
+
+    public static void billCreating(BigDecimal exchangeAmount, int itemCount) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Creating bill with {} items and exchange amount {}", itemCount, exchangeAmount);
+        }
+    }
+
+    public static void exchangeApplied(String billNumber, String exchangeNumber, BigDecimal exchangeAmount) {
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Bill {} linked to exchange {} for {}", billNumber, exchangeNumber, exchangeAmount);
+        }
+    }
+
+    public static void billSaved(String billNumber, BigDecimal grandTotal) {
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Bill {} saved, grand total {}", billNumber, grandTotal);
+        }
+    }
+}
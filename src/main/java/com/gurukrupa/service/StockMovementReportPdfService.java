@@ -0,0 +1,304 @@
+package com.gurukrupa.service;
+
+import com.gurukrupa.data.dto.StockMovementReport;
+import com.gurukrupa.data.dto.StockMovementRow;
+import com.gurukrupa.data.service.StockMovementReportService;
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.awt.Desktop;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stock movement report as PDF. Item rows are written to the document as the report
+ * streams them, in batches, so a long report never holds the whole table in memory.
+ */
+@Service
+public class StockMovementReportPdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StockMovementReportPdfService.class);
+
+    // Item rows held by the table before it is written out
+    private static final int FLUSH_ROWS = 500;
+
+    // Colors
+    private static final BaseColor HEADER_COLOR = new BaseColor(255, 152, 0); // Orange
+    private static final BaseColor TABLE_HEADER_COLOR = new BaseColor(255, 152, 0);
+    private static final BaseColor ALT_ROW_COLOR = new BaseColor(250, 250, 250);
+
+    @Autowired
+    private StockMovementReportService stockMovementReportService;
+
+    public StockMovementReport generateStockMovementReportPdf(LocalDate fromDate, LocalDate toDate, String category,
+                                                              String metal, String filePath) {
+        Document document = new Document(PageSize.A4.rotate(), 20, 20, 20, 20);
+
+        try {
+            PdfWriter.getInstance(document, new FileOutputStream(filePath));
+            document.open();
+
+            addShopHeader(document);
+            addReportTitle(document);
+            addFilterInfo(document, fromDate, toDate, category, metal);
+
+            // Item rows, written out every FLUSH_ROWS
+            Font cellFont = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL, BaseColor.BLACK);
+            PdfPTable table = createItemsTable();
+            int[] index = {0};
+            StockMovementReport report = stockMovementReportService.generate(fromDate, toDate, category, metal, row -> {
+                boolean isAlternate = ++index[0] % 2 == 0;
+                addTableCell(table, String.valueOf(index[0]), cellFont, isAlternate);
+                addTableCell(table, row.getItemCode(), cellFont, isAlternate);
+                addTableCell(table, row.getItemName(), cellFont, isAlternate);
+                addTableCell(table, row.getCategory(), cellFont, isAlternate);
+                addTableCell(table, row.getMetal(), cellFont, isAlternate);
+                addQuantityCells(table, row, cellFont, isAlternate);
+                if (index[0] % FLUSH_ROWS == 0) {
+                    try {
+                        document.add(table);
+                    } catch (DocumentException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            table.setComplete(true);
+            document.add(table);
+
+            if (report.getItemCount() == 0) {
+                Font emptyFont = new Font(Font.FontFamily.HELVETICA, 10, Font.ITALIC, BaseColor.GRAY);
+                Paragraph empty = new Paragraph("No stock or stock movements for the selected filters", emptyFont);
+                empty.setAlignment(Element.ALIGN_CENTER);
+                empty.setSpacingBefore(10);
+                document.add(empty);
+            } else {
+                addSummaryTable(document, "Summary by Category", "Category", report.getByCategory(), true);
+                addSummaryTable(document, "Summary by Metal", "Metal", report.getByMetal(), false);
+                addTotals(document, report);
+            }
+
+            addFooter(document);
+
+            document.close();
+            logger.info("Stock Movement Report PDF generated successfully: {}", filePath);
+
+            // Open PDF in default application
+            openPdfInDefaultApp(filePath);
+            return report;
+
+        } catch (Exception e) {
+            logger.error("Error generating Stock Movement Report PDF", e);
+            throw new RuntimeException("Failed to generate PDF: " + e.getMessage(), e);
+        }
+    }
+
+    private void addShopHeader(Document document) throws DocumentException {
+        Font shopNameFont = new Font(Font.FontFamily.HELVETICA, 18, Font.BOLD, BaseColor.BLACK);
+        Font detailsFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL, BaseColor.DARK_GRAY);
+
+        Paragraph shopName = new Paragraph("GURUKRUPA JEWELLERS", shopNameFont);
+        shopName.setAlignment(Element.ALIGN_CENTER);
+        document.add(shopName);
+
+        Paragraph address = new Paragraph("Shop Address | Contact: +91-XXXXXXXXXX | Email: info@gurukrupa.com", detailsFont);
+        address.setAlignment(Element.ALIGN_CENTER);
+        address.setSpacingAfter(10);
+        document.add(address);
+
+        // Add horizontal line
+        addSeparatorLine(document);
+    }
+
+    private void addReportTitle(Document document) throws DocumentException {
+        Font titleFont = new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD, HEADER_COLOR);
+        Paragraph title = new Paragraph("STOCK MOVEMENT REPORT", titleFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        title.setSpacingBefore(10);
+        title.setSpacingAfter(5);
+        document.add(title);
+
+        // Add generated date
+        Font dateFont = new Font(Font.FontFamily.HELVETICA, 9, Font.ITALIC, BaseColor.GRAY);
+        String dateStr = new SimpleDateFormat("dd MMM yyyy, hh:mm a").format(new Date());
+        Paragraph date = new Paragraph("Generated on: " + dateStr, dateFont);
+        date.setAlignment(Element.ALIGN_CENTER);
+        date.setSpacingAfter(10);
+        document.add(date);
+    }
+
+    private void addFilterInfo(Document document, LocalDate fromDate, LocalDate toDate, String category,
+                               String metal) throws DocumentException {
+        Font filterFont = new Font(Font.FontFamily.HELVETICA, 10, Font.NORMAL, BaseColor.BLACK);
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("dd MMM yyyy");
+
+        PdfPTable filterTable = new PdfPTable(3);
+        filterTable.setWidthPercentage(100);
+        filterTable.setSpacingBefore(5);
+        filterTable.setSpacingAfter(10);
+
+        addFilterCell(filterTable, "Period: " + fromDate.format(formatter) + " to " + toDate.format(formatter), filterFont);
+        addFilterCell(filterTable, "Category: " + (category != null ? category : "All"), filterFont);
+        addFilterCell(filterTable, "Metal: " + (metal != null ? metal : "All"), filterFont);
+
+        document.add(filterTable);
+    }
+
+    private void addFilterCell(PdfPTable table, String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setPadding(5);
+        cell.setBackgroundColor(new BaseColor(245, 245, 245));
+        table.addCell(cell);
+    }
+
+    private PdfPTable createItemsTable() {
+        Font headerFont = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD, BaseColor.WHITE);
+
+        PdfPTable table = new PdfPTable(new float[]{0.5f, 1.1f, 1.5f, 1f, 1f, 0.7f, 0.7f, 0.7f, 0.7f, 2.4f});
+        table.setWidthPercentage(100);
+        table.setSpacingBefore(10);
+        // Written out in parts, repeating the header on every page
+        table.setComplete(false);
+        table.setHeaderRows(1);
+
+        addTableHeader(table, "#", headerFont);
+        addTableHeader(table, "Item Code", headerFont);
+        addTableHeader(table, "Item Name", headerFont);
+        addTableHeader(table, "Category", headerFont);
+        addTableHeader(table, "Metal", headerFont);
+        addQuantityHeaders(table, headerFont);
+        return table;
+    }
+
+    private void addSummaryTable(Document document, String title, String groupHeader, List<StockMovementRow> rows,
+                                 boolean byCategory) throws DocumentException {
+        addSectionTitle(document, title);
+
+        Font headerFont = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD, BaseColor.WHITE);
+        Font cellFont = new Font(Font.FontFamily.HELVETICA, 8, Font.NORMAL, BaseColor.BLACK);
+
+        PdfPTable table = new PdfPTable(new float[]{1.5f, 0.7f, 0.7f, 0.7f, 0.7f, 3.4f});
+        table.setWidthPercentage(100);
+        table.setHeaderRows(1);
+
+        addTableHeader(table, groupHeader, headerFont);
+        addQuantityHeaders(table, headerFont);
+
+        int index = 1;
+        for (StockMovementRow row : rows) {
+            boolean isAlternate = index++ % 2 == 0;
+            addTableCell(table, byCategory ? row.getCategory() : row.getMetal(), cellFont, isAlternate);
+            addQuantityCells(table, row, cellFont, isAlternate);
+        }
+
+        document.add(table);
+    }
+
+    private void addTotals(Document document, StockMovementReport report) throws DocumentException {
+        addSectionTitle(document, "Totals");
+
+        Font headerFont = new Font(Font.FontFamily.HELVETICA, 9, Font.BOLD, BaseColor.WHITE);
+        Font cellFont = new Font(Font.FontFamily.HELVETICA, 8, Font.BOLD, BaseColor.BLACK);
+
+        PdfPTable table = new PdfPTable(new float[]{1.5f, 0.7f, 0.7f, 0.7f, 0.7f, 3.4f});
+        table.setWidthPercentage(100);
+
+        addTableHeader(table, "Items", headerFont);
+        addQuantityHeaders(table, headerFont);
+        addTableCell(table, String.valueOf(report.getItemCount()), cellFont, false);
+        addQuantityCells(table, report.getTotal(), cellFont, false);
+
+        document.add(table);
+    }
+
+    private void addSectionTitle(Document document, String text) throws DocumentException {
+        Font sectionFont = new Font(Font.FontFamily.HELVETICA, 12, Font.BOLD, HEADER_COLOR);
+        Paragraph section = new Paragraph(text, sectionFont);
+        section.setSpacingBefore(15);
+        section.setSpacingAfter(5);
+        document.add(section);
+    }
+
+    private void addQuantityHeaders(PdfPTable table, Font font) {
+        addTableHeader(table, "Opening", font);
+        addTableHeader(table, "In", font);
+        addTableHeader(table, "Out", font);
+        addTableHeader(table, "Closing", font);
+        addTableHeader(table, "In / Out by Source", font);
+    }
+
+    private void addQuantityCells(PdfPTable table, StockMovementRow row, Font font, boolean isAlternate) {
+        addTableCell(table, String.valueOf(row.getOpening()), font, isAlternate);
+        addTableCell(table, String.valueOf(row.getTotalIn()), font, isAlternate);
+        addTableCell(table, String.valueOf(row.getTotalOut()), font, isAlternate);
+        addTableCell(table, String.valueOf(row.getClosing()), font, isAlternate);
+        addTableCell(table, row.getSourceSummary(), font, isAlternate);
+    }
+
+    private void addTableHeader(PdfPTable table, String text, Font font) {
+        PdfPCell cell = new PdfPCell(new Phrase(text, font));
+        cell.setBackgroundColor(TABLE_HEADER_COLOR);
+        cell.setPadding(8);
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        table.addCell(cell);
+    }
+
+    private void addTableCell(PdfPTable table, String text, Font font, boolean isAlternate) {
+        PdfPCell cell = new PdfPCell(new Phrase(text != null ? text : "", font));
+        cell.setPadding(6);
+        cell.setHorizontalAlignment(Element.ALIGN_CENTER);
+        cell.setVerticalAlignment(Element.ALIGN_MIDDLE);
+        if (isAlternate) {
+            cell.setBackgroundColor(ALT_ROW_COLOR);
+        }
+        table.addCell(cell);
+    }
+
+    private void addFooter(Document document) throws DocumentException {
+        Font footerFont = new Font(Font.FontFamily.HELVETICA, 8, Font.ITALIC, BaseColor.GRAY);
+        Paragraph footer = new Paragraph("Generated by Gurukrupa Jewellers Management System", footerFont);
+        footer.setAlignment(Element.ALIGN_CENTER);
+        footer.setSpacingBefore(20);
+        document.add(footer);
+    }
+
+    private void addSeparatorLine(Document document) throws DocumentException {
+        PdfPTable line = new PdfPTable(1);
+        line.setWidthPercentage(100);
+        line.setSpacingBefore(5);
+        line.setSpacingAfter(10);
+
+        PdfPCell cell = new PdfPCell();
+        cell.setBorder(Rectangle.NO_BORDER);
+        cell.setBorderWidthBottom(1);
+        cell.setBorderColorBottom(BaseColor.LIGHT_GRAY);
+        line.addCell(cell);
+
+        document.add(line);
+    }
+
+    private void openPdfInDefaultApp(String filePath) {
+        try {
+            File pdfFile = new File(filePath);
+            if (Desktop.isDesktopSupported()) {
+                Desktop.getDesktop().open(pdfFile);
+                logger.info("Opened PDF in default application");
+            }
+        } catch (IOException e) {
+            logger.error("Could not open PDF in default application", e);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.gurukrupa.utility;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Thread-safe number formatting for amounts and weights.
+ * Digits are written straight from the unscaled value of the rounded BigDecimal
+ * into a per-thread char buffer, so formatting a table cell creates only the
+ * result string. Rounding is HALF_UP, as in the rest of the billing code.
+ * <p>
+ * Indian grouping: 1,00,00,000.00 (first comma after 3 digits, then every 2).
+ * Thousands grouping: 10,000,000.000.
+ */
+public final class IndianNumberFormatter {
+
+    public enum Grouping { NONE, INDIAN, THOUSANDS }
+
+    private static final int BUFFER_SIZE = 64;
+    private static final int MAX_BUFFERED_SCALE = 30;
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[BUFFER_SIZE]);
+
+    private IndianNumberFormatter() {
+    }
+
+    /**
+     * Amount with 2 decimals in Indian grouping. Example: 992000 → 9,92,000.00
+     */
+    public static String formatAmount(BigDecimal amount) {
+        return format(amount, 2, Grouping.INDIAN);
+    }
+
+    /**
+     * Weight with 3 decimals and no grouping, same output as {@code String.format("%.3f")}.
+     * Example: 1234.5 → 1234.500
+     */
+    public static String formatWeight(BigDecimal weight) {
+        return format(weight, 3, Grouping.NONE);
+    }
+
+    /**
+     * Weight with 3 decimals and an explicit {@code +} for zero and positive values.
+     * Example: 12.5 → +12.500, -3 → -3.000
+     */
+    public static String formatSignedWeight(BigDecimal weight) {
+        String formatted = formatWeight(weight);
+        return formatted.charAt(0) == '-' ? formatted : "+" + formatted;
+    }
+
+    public static String format(BigDecimal value, int scale, Grouping grouping) {
+        if (value == null) {
+            value = BigDecimal.ZERO;
+        }
+        BigDecimal rounded = value.setScale(scale, RoundingMode.HALF_UP);
+        if (rounded.precision() < 19) {
+            return format(rounded.unscaledValue().longValue(), scale, grouping);
+        }
+        return formatDigits(rounded.unscaledValue().abs().toString(), rounded.signum() < 0, scale, grouping);
+    }
+
+    /**
+     * Format a value given as a scaled long, e.g. paise with scale 2 or milligrams with scale 3.
+     */
+    public static String format(long unscaled, int scale, Grouping grouping) {
+        if (unscaled == Long.MIN_VALUE) {
+            return format(BigDecimal.valueOf(unscaled, scale), scale, grouping);
+        }
+        char[] buffer = scale <= MAX_BUFFERED_SCALE ? BUFFER.get() : new char[scale + BUFFER_SIZE];
+        int pos = buffer.length;
+        boolean negative = unscaled < 0;
+        long magnitude = negative ? -unscaled : unscaled;
+
+        for (int i = 0; i < scale; i++) {
+            buffer[--pos] = (char) ('0' + (magnitude % 10));
+            magnitude /= 10;
+        }
+        if (scale > 0) {
+            buffer[--pos] = '.';
+        }
+
+        int integerDigits = 0;
+        do {
+            if (needsSeparator(integerDigits, grouping)) {
+                buffer[--pos] = ',';
+            }
+            buffer[--pos] = (char) ('0' + (magnitude % 10));
+            magnitude /= 10;
+            integerDigits++;
+        } while (magnitude > 0);
+
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return new String(buffer, pos, buffer.length - pos);
+    }
+
+    private static String formatDigits(String digits, boolean negative, int scale, Grouping grouping) {
+        int length = digits.length();
+        int size = Math.max(length, scale + 1) * 3 / 2 + 4;
+        char[] buffer = size <= BUFFER_SIZE ? BUFFER.get() : new char[size];
+        int pos = buffer.length;
+        int index = length - 1;
+
+        for (int i = 0; i < scale; i++) {
+            buffer[--pos] = index >= 0 ? digits.charAt(index--) : '0';
+        }
+        if (scale > 0) {
+            buffer[--pos] = '.';
+        }
+
+        int integerDigits = 0;
+        do {
+            if (needsSeparator(integerDigits, grouping)) {
+                buffer[--pos] = ',';
+            }
+            buffer[--pos] = index >= 0 ? digits.charAt(index--) : '0';
+            integerDigits++;
+        } while (index >= 0);
+
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        return new String(buffer, pos, buffer.length - pos);
+    }
+
+    /**
+     * Whether a separator goes before the next integer digit, given how many
+     * integer digits (counted from the right) are already written.
+     */
+    private static boolean needsSeparator(int written, Grouping grouping) {
+        switch (grouping) {
+            case INDIAN:
+                return written == 3 || (written > 3 && (written - 3) % 2 == 0);
+            case THOUSANDS:
+                return written > 0 && written % 3 == 0;
+            default:
+                return false;
+        }
+    }
+}
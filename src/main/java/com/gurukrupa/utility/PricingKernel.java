@@ -0,0 +1,185 @@
+package com.gurukrupa.utility;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * The pricing arithmetic shared by items, bill and exchange lines and bill totals.
+ * Amounts are worked in paise, weights in milligrams and percentages in hundredths
+ * of a percent, all as longs, with the same HALF_UP rounding to paise that the
+ * BigDecimal formulas used. Values with more decimals than the columns hold, or too
+ * large for a long, go through the BigDecimal formula instead, so results are always
+ * identical to it.
+ * <p>
+ * metal value = weight × rate per 10 g / 10, labour = value × percent / 100,
+ * CGST = SGST = tax / 2, each rounded to paise.
+ */
+public final class PricingKernel {
+
+    private static final BigDecimal TEN = BigDecimal.TEN;
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+    private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+    private static final int AMOUNT_SCALE = 2;
+    private static final int WEIGHT_SCALE = 3;
+    // Integer digits beyond which a value is not converted to a scaled long
+    private static final int MAX_INTEGER_DIGITS = 13;
+    private static final long NOT_SCALED = Long.MIN_VALUE;
+
+    private PricingKernel() {
+    }
+
+    // ---- scaled long kernel ----
+
+    /**
+     * Value in paise of a weight in milligrams at a rate per 10 grams in paise
+     */
+    public static long metalValuePaise(long weightMg, long ratePerTenGramsPaise) {
+        // mg/1000 g × paise/10 per g = mg × paise / 10000
+        return divideHalfUp(Math.multiplyExact(weightMg, ratePerTenGramsPaise), 10_000);
+    }
+
+    /**
+     * Percentage of an amount in paise, percent given in hundredths (10.50% = 1050)
+     */
+    public static long percentOfPaise(long amountPaise, long percentHundredths) {
+        return divideHalfUp(Math.multiplyExact(amountPaise, percentHundredths), 10_000);
+    }
+
+    public static long halfPaise(long amountPaise) {
+        return divideHalfUp(amountPaise, 2);
+    }
+
+    /**
+     * Division rounded HALF_UP (ties away from zero), as BigDecimal does; divisor must be positive
+     */
+    static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = Math.abs(dividend % divisor);
+        if (remainder * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    // ---- BigDecimal entry points used by the entities and screens ----
+
+    /**
+     * Metal value: weight (g) × rate per 10 g / 10, rounded to paise
+     */
+    public static BigDecimal metalValue(BigDecimal weight, BigDecimal ratePerTenGrams) {
+        long weightMg = toScaled(weight, WEIGHT_SCALE);
+        long ratePaise = toScaled(ratePerTenGrams, AMOUNT_SCALE);
+        if (weightMg != NOT_SCALED && ratePaise != NOT_SCALED) {
+            try {
+                return paise(metalValuePaise(weightMg, ratePaise));
+            } catch (ArithmeticException overflow) {
+                // fall through to BigDecimal
+            }
+        }
+        return weight.multiply(ratePerTenGrams).divide(TEN, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * amount × percent / 100, rounded to paise
+     */
+    public static BigDecimal percentOf(BigDecimal amount, BigDecimal percent) {
+        long amountPaise = toScaled(amount, AMOUNT_SCALE);
+        long percentHundredths = toScaled(percent, AMOUNT_SCALE);
+        if (amountPaise != NOT_SCALED && percentHundredths != NOT_SCALED) {
+            try {
+                return paise(percentOfPaise(amountPaise, percentHundredths));
+            } catch (ArithmeticException overflow) {
+                // fall through to BigDecimal
+            }
+        }
+        return amount.multiply(percent).divide(HUNDRED, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Half an amount rounded to paise, e.g. CGST and SGST from the total tax
+     */
+    public static BigDecimal half(BigDecimal amount) {
+        long amountPaise = toScaled(amount, AMOUNT_SCALE);
+        if (amountPaise != NOT_SCALED) {
+            return paise(halfPaise(amountPaise));
+        }
+        return amount.divide(TWO, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Bill line: metal value plus labour charges as an amount
+     */
+    public static BigDecimal lineTotal(BigDecimal weight, BigDecimal ratePerTenGrams, BigDecimal labourCharges) {
+        if (weight == null || ratePerTenGrams == null) {
+            return labourCharges != null ? BigDecimal.ZERO.add(labourCharges) : BigDecimal.ZERO;
+        }
+        long weightMg = toScaled(weight, WEIGHT_SCALE);
+        long ratePaise = toScaled(ratePerTenGrams, AMOUNT_SCALE);
+        long labourPaise = labourCharges != null ? toScaled(labourCharges, AMOUNT_SCALE) : 0;
+        // Labour with more than two decimals keeps its scale, as BigDecimal.add does
+        boolean labourFits = labourCharges == null || labourCharges.scale() <= AMOUNT_SCALE;
+        if (weightMg != NOT_SCALED && ratePaise != NOT_SCALED && labourPaise != NOT_SCALED && labourFits) {
+            try {
+                return paise(Math.addExact(metalValuePaise(weightMg, ratePaise), labourPaise));
+            } catch (ArithmeticException overflow) {
+                // fall through to BigDecimal
+            }
+        }
+        BigDecimal metalValue = weight.multiply(ratePerTenGrams).divide(TEN, AMOUNT_SCALE, RoundingMode.HALF_UP);
+        return labourCharges != null ? metalValue.add(labourCharges) : metalValue;
+    }
+
+    /**
+     * Item price: metal value, labour as a percentage of it, stone and other charges
+     */
+    public static BigDecimal itemTotal(BigDecimal netWeight, BigDecimal ratePerTenGrams, BigDecimal labourPercent,
+                                       BigDecimal stoneCharges, BigDecimal otherCharges) {
+        long weightMg = toScaled(netWeight, WEIGHT_SCALE);
+        long ratePaise = toScaled(ratePerTenGrams, AMOUNT_SCALE);
+        long labourHundredths = toScaled(labourPercent, AMOUNT_SCALE);
+        long stonePaise = stoneCharges != null ? toScaled(stoneCharges, AMOUNT_SCALE) : 0;
+        long otherPaise = otherCharges != null ? toScaled(otherCharges, AMOUNT_SCALE) : 0;
+        if (weightMg != NOT_SCALED && ratePaise != NOT_SCALED && labourHundredths != NOT_SCALED
+                && stonePaise != NOT_SCALED && otherPaise != NOT_SCALED) {
+            try {
+                long valuePaise = metalValuePaise(weightMg, ratePaise);
+                long labourPaise = percentOfPaise(valuePaise, labourHundredths);
+                return paise(Math.addExact(Math.addExact(valuePaise, labourPaise), Math.addExact(stonePaise, otherPaise)));
+            } catch (ArithmeticException overflow) {
+                // fall through to BigDecimal
+            }
+        }
+
+        BigDecimal value = netWeight.multiply(ratePerTenGrams).divide(TEN, AMOUNT_SCALE, RoundingMode.HALF_UP);
+        BigDecimal total = value.add(value.multiply(labourPercent).divide(HUNDRED, AMOUNT_SCALE, RoundingMode.HALF_UP));
+        if (stoneCharges != null) {
+            total = total.add(stoneCharges);
+        }
+        if (otherCharges != null) {
+            total = total.add(otherCharges);
+        }
+        return total.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal paise(long paise) {
+        return BigDecimal.valueOf(paise, AMOUNT_SCALE);
+    }
+
+    /**
+     * The value as a long in units of 10^-scale, or NOT_SCALED when that would lose
+     * digits or come near overflow
+     */
+    private static long toScaled(BigDecimal value, int scale) {
+        if (value.scale() > scale) {
+            value = value.stripTrailingZeros();
+            if (value.scale() > scale) {
+                return NOT_SCALED;
+            }
+        }
+        if (value.precision() - value.scale() > MAX_INTEGER_DIGITS) {
+            return NOT_SCALED;
+        }
+        return value.movePointRight(scale).longValue();
+    }
+}
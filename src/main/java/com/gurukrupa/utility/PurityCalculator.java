@@ -2,6 +2,9 @@ package com.gurukrupa.utility;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Utility class for calculating metal purity conversions for Gold, Silver, and other precious metals.
@@ -9,6 +12,10 @@ import java.math.RoundingMode;
  * 1. Karat (K) - typically 0-24 for gold (e.g., 22K, 18K)
  * 2. Fineness - parts per thousand (e.g., 916, 750)
  * 3. Percentage - 0-100% (e.g., 91.67%)
+ * <p>
+ * Common purities (24K/22K/21K/18K/14K/10K, 916/750/585/925/999 ...) are answered from
+ * tables built once from the same formulas, so they give identical results without
+ * dividing on every call; other values are calculated.
  */
 public class PurityCalculator {
 
@@ -17,6 +24,46 @@ public class PurityCalculator {
     private static final BigDecimal HUNDRED = new BigDecimal("100");
     private static final int SCALE = 3; // Decimal places for calculations
 
+    private static final Pattern PURITY_MARKS = Pattern.compile("[kK%]");
+
+    // Purity strings as stored on metals, parsed once
+    private static final Map<String, BigDecimal> PARSED_PURITIES = new HashMap<>();
+
+    // Karat table: percentage, fineness and karat/24 ratio (in thousandths) per common karat
+    private static final BigDecimal[] KARAT_KEYS = {
+        new BigDecimal("24"), new BigDecimal("22"), new BigDecimal("21"), new BigDecimal("20"),
+        new BigDecimal("18"), new BigDecimal("14"), new BigDecimal("10"), new BigDecimal("9")
+    };
+    private static final BigDecimal[] KARAT_PERCENTAGE = new BigDecimal[KARAT_KEYS.length];
+    private static final BigDecimal[] KARAT_FINENESS = new BigDecimal[KARAT_KEYS.length];
+    private static final long[] KARAT_RATIO_THOUSANDTHS = new long[KARAT_KEYS.length];
+
+    // Fineness table: karat per common fineness
+    private static final BigDecimal[] FINENESS_KEYS = {
+        new BigDecimal("999"), new BigDecimal("995"), new BigDecimal("916"), new BigDecimal("875"),
+        new BigDecimal("750"), new BigDecimal("585"), new BigDecimal("583"), new BigDecimal("417"),
+        new BigDecimal("958"), new BigDecimal("925"), new BigDecimal("900"), new BigDecimal("800"),
+        new BigDecimal("1000")
+    };
+    private static final BigDecimal[] FINENESS_KARAT = new BigDecimal[FINENESS_KEYS.length];
+
+    static {
+        for (String purity : new String[] {"24K", "22K", "21K", "20K", "18K", "14K", "10K", "9K",
+                "24k", "22k", "18k", "14k", "999", "995", "916", "875", "750", "585", "583", "417",
+                "958", "925", "900", "800", "1000", "99.9", "99.5", "95.0", "92.5", "91.6", "75.0", "58.5"}) {
+            PARSED_PURITIES.put(purity, parseCleaned(purity));
+        }
+        for (int i = 0; i < KARAT_KEYS.length; i++) {
+            KARAT_PERCENTAGE[i] = calculatePurityPercentage(KARAT_KEYS[i]);
+            KARAT_FINENESS[i] = calculateFineness(KARAT_KEYS[i]);
+            KARAT_RATIO_THOUSANDTHS[i] = KARAT_KEYS[i].divide(MAX_KARAT, SCALE, RoundingMode.HALF_UP)
+                    .movePointRight(SCALE).longValueExact();
+        }
+        for (int i = 0; i < FINENESS_KEYS.length; i++) {
+            FINENESS_KARAT[i] = calculateKaratFromFineness(FINENESS_KEYS[i]);
+        }
+    }
+
     /**
      * Parse purity string to numeric value
      * Handles formats like "24K", "22K", "916", "92.5", etc.
@@ -24,15 +71,22 @@ public class PurityCalculator {
      * @return Numeric purity value
      */
     public static BigDecimal parsePurityString(String purityStr) {
-        if (purityStr == null || purityStr.trim().isEmpty()) {
+        if (purityStr == null) {
             return BigDecimal.ZERO;
         }
+        BigDecimal known = PARSED_PURITIES.get(purityStr);
+        if (known != null) {
+            return known;
+        }
+        return parseCleaned(purityStr);
+    }
 
-        // Remove common suffixes and whitespace
-        String cleaned = purityStr.trim()
-            .replaceAll("(?i)K", "")  // Remove 'K' or 'k'
-            .replaceAll("%", "")       // Remove '%'
-            .trim();
+    private static BigDecimal parseCleaned(String purityStr) {
+        // Remove 'K', 'k', '%' and whitespace
+        String cleaned = PURITY_MARKS.matcher(purityStr).replaceAll("").trim();
+        if (cleaned.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
 
         try {
             return new BigDecimal(cleaned);
@@ -41,6 +95,19 @@ public class PurityCalculator {
         }
     }
 
+    /**
+     * Position of the value in a table of common purities, or -1; compareTo on small
+     * values does not allocate, so 22, 22.0 and 22.00 all hit the table
+     */
+    private static int indexOf(BigDecimal[] keys, BigDecimal value) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].compareTo(value) == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     /**
      * Check if value is in karat format (typically <= 24)
      * @param value Numeric purity value
@@ -85,7 +152,11 @@ public class PurityCalculator {
         if (karat == null || karat.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        int index = indexOf(KARAT_KEYS, karat);
+        return index >= 0 ? KARAT_PERCENTAGE[index] : calculatePurityPercentage(karat);
+    }
 
+    private static BigDecimal calculatePurityPercentage(BigDecimal karat) {
         return karat.divide(MAX_KARAT, SCALE, RoundingMode.HALF_UP)
                    .multiply(HUNDRED)
                    .setScale(2, RoundingMode.HALF_UP);
@@ -102,7 +173,11 @@ public class PurityCalculator {
         if (karat == null || karat.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        int index = indexOf(KARAT_KEYS, karat);
+        return index >= 0 ? KARAT_FINENESS[index] : calculateFineness(karat);
+    }
 
+    private static BigDecimal calculateFineness(BigDecimal karat) {
         return karat.divide(MAX_KARAT, SCALE, RoundingMode.HALF_UP)
                    .multiply(MAX_FINENESS)
                    .setScale(0, RoundingMode.HALF_UP);
@@ -119,7 +194,11 @@ public class PurityCalculator {
         if (fineness == null || fineness.compareTo(BigDecimal.ZERO) <= 0) {
             return BigDecimal.ZERO;
         }
+        int index = indexOf(FINENESS_KEYS, fineness);
+        return index >= 0 ? FINENESS_KARAT[index] : calculateKaratFromFineness(fineness);
+    }
 
+    private static BigDecimal calculateKaratFromFineness(BigDecimal fineness) {
         return fineness.divide(MAX_FINENESS, SCALE, RoundingMode.HALF_UP)
                       .multiply(MAX_KARAT)
                       .setScale(2, RoundingMode.HALF_UP);
@@ -157,6 +236,14 @@ public class PurityCalculator {
             return BigDecimal.ZERO;
         }
 
+        int index = indexOf(KARAT_KEYS, karat);
+        if (index >= 0 && weight.scale() <= 3 && weight.precision() - weight.scale() <= 12) {
+            // milligrams × thousandths of the ratio, rounded back to milligrams
+            long weightMg = weight.movePointRight(3).longValue();
+            return BigDecimal.valueOf(
+                    PricingKernel.divideHalfUp(weightMg * KARAT_RATIO_THOUSANDTHS[index], 1000), 3);
+        }
+
         BigDecimal purityRatio = karat.divide(MAX_KARAT, SCALE, RoundingMode.HALF_UP);
         return weight.multiply(purityRatio)
                     .setScale(3, RoundingMode.HALF_UP);
@@ -1,52 +1,32 @@
 package com.gurukrupa.utility;
 
+import com.gurukrupa.utility.IndianNumberFormatter.Grouping;
+
 import java.math.BigDecimal;
-import java.text.DecimalFormat;
 
 public class WeightFormatter {
     
-    private static final DecimalFormat WEIGHT_FORMATTER = new DecimalFormat("#,##0.000");
-    private static final DecimalFormat SIMPLE_FORMATTER = new DecimalFormat("0.000");
-    
     public static String format(BigDecimal weight) {
-        if (weight == null) {
-            return "0.000";
-        }
-        return WEIGHT_FORMATTER.format(weight);
+        return IndianNumberFormatter.format(weight, 3, Grouping.THOUSANDS);
     }
     
     public static String format(Double weight) {
-        if (weight == null) {
-            return "0.000";
-        }
-        return WEIGHT_FORMATTER.format(weight);
+        return format(weight != null ? BigDecimal.valueOf(weight) : null);
     }
     
     public static String formatSimple(BigDecimal weight) {
-        if (weight == null) {
-            return "0.000";
-        }
-        return SIMPLE_FORMATTER.format(weight);
+        return IndianNumberFormatter.format(weight, 3, Grouping.NONE);
     }
     
     public static String formatSimple(Double weight) {
-        if (weight == null) {
-            return "0.000";
-        }
-        return SIMPLE_FORMATTER.format(weight);
+        return formatSimple(weight != null ? BigDecimal.valueOf(weight) : null);
     }
     
     public static String formatWithUnit(BigDecimal weight) {
-        if (weight == null) {
-            return "0.000 g";
-        }
-        return WEIGHT_FORMATTER.format(weight) + " g";
+        return format(weight) + " g";
     }
     
     public static String formatWithUnit(Double weight) {
-        if (weight == null) {
-            return "0.000 g";
-        }
-        return WEIGHT_FORMATTER.format(weight) + " g";
+        return format(weight) + " g";
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.gurukrupa.view;
+
+/**
+ * Identifies a controller whose view is kept in the {@code SpringFXMLLoader}
+ * view cache. When a cached view is shown again the loader does not rebuild
+ * the node tree or call {@code initialize} a second time; it calls
+ * {@link #refresh()} instead, so the controller should reload only the data
+ * that may have changed since the view was last shown and reset any per-use
+ * state (e.g. an unfinished form).
+ */
+public interface RefreshableController {
+
+    /**
+     * Called on the JavaFX application thread each time a cached view is reused.
+     */
+    void refresh();
+
+}
@@ -0,0 +1,2 @@
+-- Category counts (COUNT ... GROUP BY category over active items) read this index only
+CREATE INDEX idx_jewelry_items_active_category ON jewelry_items (is_active, category);
@@ -0,0 +1,12 @@
+-- Numeric purity stored next to the display string ("22K" -> 22, "92.5" -> 92.5)
+-- so metal lookups by type and purity are answered by an index
+ALTER TABLE metals ADD COLUMN purity_value DECIMAL(7,3);
+
+UPDATE metals
+SET purity_value = CAST(TRIM(REPLACE(REPLACE(UPPER(purity), 'K', ''), '%', '')) AS DECIMAL(7,3))
+WHERE purity_value IS NULL
+  AND TRIM(REPLACE(REPLACE(UPPER(purity), 'K', ''), '%', '')) REGEXP '^[0-9]+(\\.[0-9]+)?$';
+
+UPDATE metals SET purity_value = 0 WHERE purity_value IS NULL;
+
+CREATE INDEX idx_metals_type_purity ON metals (metal_type, purity_value);
@@ -0,0 +1,20 @@
+-- Progress of repricing a metal's items after a rate change, one row per run
+CREATE TABLE IF NOT EXISTS inventory_repricing_runs (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    metal_id BIGINT NOT NULL,
+    metal_rate_id BIGINT,
+    gold_rate DECIMAL(12,2) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    last_item_id BIGINT NOT NULL DEFAULT 0,
+    items_repriced BIGINT NOT NULL DEFAULT 0,
+    started_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_date DATETIME,
+    version BIGINT,
+    
+    INDEX idx_repricing_runs_metal_status (metal_id, status),
+    INDEX idx_repricing_runs_status (status, updated_date)
+);
+
+-- Chunks walk a metal's active items in id order
+CREATE INDEX idx_jewelry_items_metal_active ON jewelry_items (metal_id, is_active, id);
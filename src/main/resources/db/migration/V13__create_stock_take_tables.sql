@@ -0,0 +1,31 @@
+-- Physical stock audits (stock take) and the counts recorded in them
+CREATE TABLE IF NOT EXISTS stock_take_sessions (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    session_number VARCHAR(30) NOT NULL UNIQUE,
+    status VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    remarks VARCHAR(255),
+    started_by VARCHAR(100),
+    posted_by VARCHAR(100),
+    adjustments_posted INT NOT NULL DEFAULT 0,
+    started_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    paused_date DATETIME,
+    posted_date DATETIME,
+    version BIGINT,
+    
+    INDEX idx_stock_take_sessions_status (status, started_date)
+);
+
+CREATE TABLE IF NOT EXISTS stock_take_counts (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    session_id BIGINT NOT NULL,
+    jewelry_item_id BIGINT NOT NULL,
+    counted_quantity INT NOT NULL,
+    system_quantity INT NOT NULL,
+    counted_by VARCHAR(100),
+    counted_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT uk_stock_take_counts_session_item UNIQUE (session_id, jewelry_item_id),
+    FOREIGN KEY (session_id) REFERENCES stock_take_sessions(id),
+    FOREIGN KEY (jewelry_item_id) REFERENCES jewelry_items(id)
+);
@@ -0,0 +1,19 @@
+-- Month-end stock movement totals per item, written for items that moved that month
+CREATE TABLE IF NOT EXISTS stock_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jewelry_item_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    transaction_type VARCHAR(20) NOT NULL,
+    transaction_source VARCHAR(30) NOT NULL,
+    transaction_count BIGINT NOT NULL,
+    quantity BIGINT NOT NULL,
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    CONSTRAINT uk_stock_snapshots_item_date_type_source
+        UNIQUE (jewelry_item_id, snapshot_date, transaction_type, transaction_source),
+    INDEX idx_stock_snapshots_date (snapshot_date)
+);
+
+-- Item history pages and deltas since a snapshot read an item's transactions by date
+CREATE INDEX idx_stock_transactions_item_date ON stock_transactions (jewelry_item_id, transaction_date, id);
+CREATE INDEX idx_stock_transactions_date ON stock_transactions (transaction_date);
@@ -0,0 +1,35 @@
+-- Closed financial years moved out of the live history tables, one row per archived year
+CREATE TABLE IF NOT EXISTS archive_checkpoints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    financial_year VARCHAR(10) NOT NULL,
+    year_end DATE NOT NULL,
+    archived_before DATETIME NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'IN_PROGRESS',
+    bills_archived BIGINT NOT NULL DEFAULT 0,
+    bill_transactions_archived BIGINT NOT NULL DEFAULT 0,
+    payment_modes_archived BIGINT NOT NULL DEFAULT 0,
+    stock_transactions_archived BIGINT NOT NULL DEFAULT 0,
+    bank_transactions_archived BIGINT NOT NULL DEFAULT 0,
+    exchange_metal_transactions_archived BIGINT NOT NULL DEFAULT 0,
+    archived_sales_total DECIMAL(15,2) NOT NULL DEFAULT 0,
+    bills_kept BIGINT NOT NULL DEFAULT 0,
+    archived_by VARCHAR(255),
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    UNIQUE INDEX uk_archive_checkpoints_year (financial_year)
+);
+
+-- Archiving walks each table by date
+CREATE INDEX idx_bills_bill_date ON bills (bill_date);
+CREATE INDEX idx_bank_txn_date ON bank_transactions (transaction_date);
+CREATE INDEX idx_exchange_metal_txn_date ON exchange_metal_transactions (transaction_date);
+
+-- Archive tables mirror the live ones (columns and indexes, no foreign keys). The
+-- application adds columns the live tables gained since, and (re)creates the
+-- <table>_all views (live UNION ALL archive) on startup.
+CREATE TABLE IF NOT EXISTS bill_transactions_archive LIKE bill_transactions;
+CREATE TABLE IF NOT EXISTS payment_modes_archive LIKE payment_modes;
+CREATE TABLE IF NOT EXISTS bills_archive LIKE bills;
+CREATE TABLE IF NOT EXISTS stock_transactions_archive LIKE stock_transactions;
+CREATE TABLE IF NOT EXISTS bank_transactions_archive LIKE bank_transactions;
+CREATE TABLE IF NOT EXISTS exchange_metal_transactions_archive LIKE exchange_metal_transactions;
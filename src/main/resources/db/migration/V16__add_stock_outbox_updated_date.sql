@@ -0,0 +1,5 @@
+-- Outbox entries change status after they are written; incremental backups find the
+-- changed ones by updated_date
+ALTER TABLE stock_outbox ADD COLUMN updated_date DATETIME;
+
+UPDATE stock_outbox SET updated_date = COALESCE(processed_date, created_date) WHERE updated_date IS NULL;
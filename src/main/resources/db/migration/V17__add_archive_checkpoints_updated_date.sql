@@ -0,0 +1,5 @@
+-- Archive checkpoints are completed after they are written; incremental backups find the
+-- changed ones by updated_date
+ALTER TABLE archive_checkpoints ADD COLUMN updated_date DATETIME;
+
+UPDATE archive_checkpoints SET updated_date = created_date WHERE updated_date IS NULL;
@@ -0,0 +1,33 @@
+-- Create customer_receivables table holding one summary row per customer
+CREATE TABLE IF NOT EXISTS customer_receivables (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    customer_id BIGINT NOT NULL,
+    total_billed DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_paid DECIMAL(15,2) NOT NULL DEFAULT 0,
+    pending_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    pending_bill_count INT NOT NULL DEFAULT 0,
+    last_bill_date DATETIME,
+    last_payment_date DATETIME,
+    updated_date DATETIME NOT NULL,
+    version BIGINT,
+    
+    FOREIGN KEY (customer_id) REFERENCES customers(id) ON DELETE CASCADE,
+    
+    UNIQUE INDEX uk_customer_receivables_customer (customer_id),
+    INDEX idx_pending_amount (pending_amount)
+);
+
+-- Seed the summaries from existing bills (the application also builds rows on first use)
+INSERT INTO customer_receivables (customer_id, total_billed, total_paid, pending_amount,
+                                  pending_bill_count, last_bill_date, updated_date, version)
+SELECT b.customer_id,
+       COALESCE(SUM(b.grand_total), 0),
+       COALESCE(SUM(b.paid_amount), 0),
+       COALESCE(SUM(CASE WHEN b.pending_amount > 0 THEN b.pending_amount ELSE 0 END), 0),
+       SUM(CASE WHEN b.pending_amount > 0 THEN 1 ELSE 0 END),
+       MAX(b.bill_date),
+       NOW(),
+       0
+FROM bills b
+WHERE NOT EXISTS (SELECT 1 FROM customer_receivables r WHERE r.customer_id = b.customer_id)
+GROUP BY b.customer_id;
@@ -0,0 +1,39 @@
+-- Create supplier_payables table holding one summary row per supplier
+CREATE TABLE IF NOT EXISTS supplier_payables (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    supplier_id BIGINT NOT NULL,
+    total_invoiced DECIMAL(15,2) NOT NULL DEFAULT 0,
+    total_paid DECIMAL(15,2) NOT NULL DEFAULT 0,
+    pending_amount DECIMAL(15,2) NOT NULL DEFAULT 0,
+    pending_invoice_count INT NOT NULL DEFAULT 0,
+    oldest_pending_date DATETIME,
+    last_invoice_date DATETIME,
+    last_payment_date DATETIME,
+    updated_date DATETIME NOT NULL,
+    version BIGINT,
+    
+    FOREIGN KEY (supplier_id) REFERENCES suppliers(id) ON DELETE CASCADE,
+    
+    UNIQUE INDEX uk_supplier_payables_supplier (supplier_id),
+    INDEX idx_pending_amount (pending_amount)
+);
+
+-- Supports the aging query over pending invoices
+CREATE INDEX idx_purchase_invoices_supplier_pending ON purchase_invoices (supplier_id, status, invoice_date);
+
+-- Seed the summaries from existing invoices (the application also builds rows on first use)
+INSERT INTO supplier_payables (supplier_id, total_invoiced, total_paid, pending_amount,
+                               pending_invoice_count, oldest_pending_date, last_invoice_date, updated_date, version)
+SELECT pi.supplier_id,
+       COALESCE(SUM(pi.grand_total), 0),
+       COALESCE(SUM(pi.paid_amount), 0),
+       COALESCE(SUM(CASE WHEN pi.pending_amount > 0 THEN pi.pending_amount ELSE 0 END), 0),
+       SUM(CASE WHEN pi.pending_amount > 0 THEN 1 ELSE 0 END),
+       MIN(CASE WHEN pi.pending_amount > 0 THEN pi.invoice_date END),
+       MAX(pi.invoice_date),
+       NOW(),
+       0
+FROM purchase_invoices pi
+WHERE pi.status != 'CANCELLED'
+  AND NOT EXISTS (SELECT 1 FROM supplier_payables sp WHERE sp.supplier_id = pi.supplier_id)
+GROUP BY pi.supplier_id;
@@ -0,0 +1,20 @@
+-- Daily closing-balance checkpoints per bank account (built by the application on demand)
+CREATE TABLE IF NOT EXISTS bank_balance_checkpoints (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bank_account_id BIGINT NOT NULL,
+    checkpoint_date DATE NOT NULL,
+    closing_balance DECIMAL(15,2) NOT NULL,
+    day_credits DECIMAL(15,2) NOT NULL,
+    day_debits DECIMAL(15,2) NOT NULL,
+    transaction_count INT NOT NULL,
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    
+    FOREIGN KEY (bank_account_id) REFERENCES bank_accounts(id) ON DELETE CASCADE,
+    
+    UNIQUE INDEX uk_checkpoint_account_date (bank_account_id, checkpoint_date)
+);
+
+-- Keyset paging of statement rows and prefix search
+CREATE INDEX idx_bank_txn_account_date_id ON bank_transactions (bank_account_id, transaction_date, id);
+CREATE INDEX idx_bank_txn_transaction_reference ON bank_transactions (transaction_reference);
+CREATE INDEX idx_bank_txn_party ON bank_transactions (party);
@@ -0,0 +1,15 @@
+-- Stock reductions pending for checked-out bills, written in the bill's transaction
+CREATE TABLE IF NOT EXISTS stock_outbox (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    bill_id BIGINT NOT NULL,
+    bill_number VARCHAR(255) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(500),
+    created_date DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    processed_date DATETIME,
+    version BIGINT,
+    
+    UNIQUE INDEX uk_stock_outbox_bill (bill_id),
+    INDEX idx_stock_outbox_status (status, created_date)
+);
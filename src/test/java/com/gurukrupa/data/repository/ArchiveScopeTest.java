@@ -0,0 +1,51 @@
+package com.gurukrupa.data.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveScopeTest {
+
+	private static final String BILLS_QUERY =
+			"select b1_0.id from bills b1_0 join bill_transactions t1_0 on b1_0.id=t1_0.bill_id where b1_0.bill_date>=?";
+
+	@AfterEach
+	void reset() {
+		ArchiveScope.setArchivedBefore(null);
+	}
+
+	@Test
+	void selectsReadTheViewsOnlyInsideAScope() {
+		ArchiveScope.setArchivedBefore(LocalDateTime.of(2024, 4, 1, 0, 0));
+		assertEquals(BILLS_QUERY, ArchiveScope.route(BILLS_QUERY));
+		String routed = ArchiveScope.include(() -> ArchiveScope.route(BILLS_QUERY));
+		assertEquals("select b1_0.id from bills_all b1_0 join bill_transactions_all t1_0 on b1_0.id=t1_0.bill_id where b1_0.bill_date>=?",
+				routed);
+		assertFalse(ArchiveScope.isIncluded());
+	}
+
+	@Test
+	void writesAndOtherTablesAreLeftAlone() {
+		ArchiveScope.setArchivedBefore(LocalDateTime.of(2024, 4, 1, 0, 0));
+		ArchiveScope.include(() -> {
+			String delete = "delete from bills where id=?";
+			assertEquals(delete, ArchiveScope.route(delete));
+			String other = "select c1_0.id from bills_summary c1_0 join customers c2_0 on c2_0.id=c1_0.customer_id";
+			assertEquals(other, ArchiveScope.route(other));
+		});
+	}
+
+	@Test
+	void nothingIsRoutedWhileNothingIsArchived() {
+		assertEquals(BILLS_QUERY, ArchiveScope.include(() -> ArchiveScope.route(BILLS_QUERY)));
+		assertFalse(ArchiveScope.isArchived(LocalDateTime.of(2020, 1, 1, 0, 0)));
+		ArchiveScope.setArchivedBefore(LocalDateTime.of(2024, 4, 1, 0, 0));
+		assertTrue(ArchiveScope.isArchived(LocalDateTime.of(2024, 3, 31, 23, 59)));
+		assertFalse(ArchiveScope.isArchived(LocalDateTime.of(2024, 4, 1, 0, 0)));
+	}
+}
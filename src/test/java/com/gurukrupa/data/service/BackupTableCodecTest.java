@@ -0,0 +1,92 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BackupManifest;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.StreamCorruptedException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BackupTableCodecTest {
+
+	@Test
+	void rowsRoundTripWithNullsAndBinaryValues() throws Exception {
+		BackupTableCodec.Header header = new BackupTableCodec.Header(List.of("id", "item_name", "is_active", "updated_date"),
+				new byte[]{BackupTableCodec.TEXT, BackupTableCodec.TEXT, BackupTableCodec.BINARY, BackupTableCodec.TEXT});
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		BackupTableCodec.writeHeader(out, header);
+		BackupTableCodec.writeRow(out, new Object[]{"1", "Gold Ring 22K \u2013 \u20b9", new byte[]{1}, "2025-03-31 18:45:10.123456"});
+		BackupTableCodec.writeRow(out, new Object[]{"2", "", null, null});
+		BackupTableCodec.writeEnd(out);
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		BackupTableCodec.Header read = BackupTableCodec.readHeader(in);
+		assertEquals(header.columns(), read.columns());
+		assertTrue(Arrays.equals(header.kinds(), read.kinds()));
+		Object[] first = BackupTableCodec.readRow(in, read);
+		assertEquals("Gold Ring 22K \u2013 \u20b9", first[1]);
+		assertTrue(Arrays.equals(new byte[]{1}, (byte[]) first[2]));
+		assertEquals("2025-03-31 18:45:10.123456", first[3]);
+		Object[] second = BackupTableCodec.readRow(in, read);
+		assertEquals("", second[1]);
+		assertNull(second[2]);
+		assertNull(second[3]);
+		assertNull(BackupTableCodec.readRow(in, read));
+	}
+
+	@Test
+	void truncatedTableDataIsRejected() throws Exception {
+		BackupTableCodec.Header header = new BackupTableCodec.Header(List.of("id"), new byte[]{BackupTableCodec.TEXT});
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		BackupTableCodec.writeHeader(out, header);
+		BackupTableCodec.writeRow(out, new Object[]{"1"});
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		BackupTableCodec.Header read = BackupTableCodec.readHeader(in);
+		BackupTableCodec.readRow(in, read);
+		assertThrows(StreamCorruptedException.class, () -> BackupTableCodec.readRow(in, read));
+	}
+
+	@Test
+	void manifestRoundTripsThroughProperties() {
+		Map<String, Long> rows = new LinkedHashMap<>();
+		rows.put("bills", 120L);
+		rows.put("customers", 0L);
+		Map<String, String> checksums = new LinkedHashMap<>();
+		checksums.put("bills", "ab12");
+		checksums.put("customers", "cd34");
+		BackupManifest manifest = BackupManifest.builder()
+				.fileName("gurukrupa-incremental-20250401-101500.gkb")
+				.formatVersion(BackupService.FORMAT_VERSION)
+				.type(BackupManifest.Type.INCREMENTAL)
+				.createdDate(LocalDateTime.of(2025, 4, 1, 10, 15))
+				.changedSince(LocalDateTime.of(2025, 3, 31, 21, 50))
+				.previousFileName("gurukrupa-full-20250331-220000.gkb")
+				.tableRows(rows)
+				.tableChecksums(checksums)
+				.elapsedMillis(850)
+				.build();
+
+		BackupManifest read = BackupService.fromProperties(manifest.getFileName(), BackupService.toProperties(manifest));
+		assertEquals(BackupManifest.Type.INCREMENTAL, read.getType());
+		assertEquals(manifest.getChangedSince(), read.getChangedSince());
+		assertEquals(manifest.getPreviousFileName(), read.getPreviousFileName());
+		assertEquals(List.of("bills", "customers"), List.copyOf(read.getTableRows().keySet()));
+		assertEquals("cd34", read.getTableChecksums().get("customers"));
+		assertEquals(120L, read.getTotalRows());
+	}
+}
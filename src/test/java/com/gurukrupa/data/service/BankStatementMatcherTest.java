@@ -0,0 +1,95 @@
+package com.gurukrupa.data.service;
+
+import com.gurukrupa.data.dto.BankStatementLine;
+import com.gurukrupa.data.entities.BankTransaction;
+import com.gurukrupa.data.entities.BankTransaction.TransactionType;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BankStatementMatcherTest {
+
+	@Test
+	void readsDebitCreditLayoutAfterPreamble() throws Exception {
+		String csv = "Account Statement,,,,,\n"
+				+ "Account No: 1234,,,,,\n"
+				+ "Txn Date,Value Date,Narration,Chq./Ref.No.,Withdrawal Amt.,Deposit Amt.,Balance\n"
+				+ "01/04/2025,01/04/2025,\"UPI/412345678901/RAMESH/PAY\",,,\"1,500.00\",11500.00\n"
+				+ "02/04/2025,02/04/2025,NEFT TO SUPPLIER,N123456789,2000.00,,9500.00\n"
+				+ "Total,,,,2000.00,1500.00,\n";
+
+		List<BankStatementLine> lines = BankStatementCsvReader.read(new StringReader(csv));
+
+		assertEquals(2, lines.size());
+		assertEquals(LocalDate.of(2025, 4, 1), lines.get(0).getDate());
+		assertEquals(TransactionType.CREDIT, lines.get(0).getType());
+		assertEquals(0, new BigDecimal("1500").compareTo(lines.get(0).getAmount()));
+		assertEquals(TransactionType.DEBIT, lines.get(1).getType());
+		assertEquals("N123456789", lines.get(1).getReference());
+	}
+
+	@Test
+	void readsAmountWithDrCrColumn() throws Exception {
+		String csv = "Date,Description,Reference,Amount,Dr/Cr\n"
+				+ "2025-04-03,Bank charges,,59.00,DR\n"
+				+ "2025-04-04,Interest,,12.50,CR\n";
+
+		List<BankStatementLine> lines = BankStatementCsvReader.read(new StringReader(csv));
+
+		assertEquals(TransactionType.DEBIT, lines.get(0).getType());
+		assertEquals(TransactionType.CREDIT, lines.get(1).getType());
+	}
+
+	@Test
+	void matchesByNarrationReferenceBeforeAmount() {
+		BankTransaction sameAmountEarlier = transaction(1L, TransactionType.CREDIT, "1500.00", "2025-04-01T10:00", null);
+		BankTransaction withUtr = transaction(2L, TransactionType.CREDIT, "1500.00", "2025-04-01T11:00", "412345678901");
+		BankStatementLine line = line(1, "2025-04-01", TransactionType.CREDIT, "1500.00", "", "UPI/412345678901/RAMESH");
+
+		Map<BankStatementLine, BankTransaction> matches = new BankStatementMatcher(3)
+				.match(List.of(line), List.of(sameAmountEarlier, withUtr));
+
+		assertSame(withUtr, matches.get(line));
+	}
+
+	@Test
+	void matchesEachTransactionOnceByNearestDateWithinWindow() {
+		BankTransaction first = transaction(1L, TransactionType.CREDIT, "500", "2025-04-01T09:00", null);
+		BankTransaction second = transaction(2L, TransactionType.CREDIT, "500", "2025-04-05T09:00", null);
+		BankTransaction debit = transaction(3L, TransactionType.DEBIT, "500", "2025-04-05T09:00", null);
+		BankStatementLine nearSecond = line(1, "2025-04-06", TransactionType.CREDIT, "500.00", "", "UPI CREDIT");
+		BankStatementLine nearFirst = line(2, "2025-04-02", TransactionType.CREDIT, "500.00", "", "UPI CREDIT");
+		BankStatementLine outsideWindow = line(3, "2025-04-20", TransactionType.CREDIT, "500.00", "", "UPI CREDIT");
+
+		Map<BankStatementLine, BankTransaction> matches = new BankStatementMatcher(3)
+				.match(List.of(nearSecond, nearFirst, outsideWindow), List.of(first, second, debit));
+
+		assertSame(second, matches.get(nearSecond));
+		assertSame(first, matches.get(nearFirst));
+		assertFalse(matches.containsKey(outsideWindow));
+	}
+
+	private static BankTransaction transaction(Long id, TransactionType type, String amount, String date, String reference) {
+		return BankTransaction.builder()
+				.id(id)
+				.transactionType(type)
+				.amount(new BigDecimal(amount))
+				.transactionDate(LocalDateTime.parse(date))
+				.transactionReference(reference)
+				.build();
+	}
+
+	private static BankStatementLine line(int number, String date, TransactionType type, String amount,
+										  String reference, String description) {
+		return new BankStatementLine(number, LocalDate.parse(date), type, new BigDecimal(amount), reference, description);
+	}
+}
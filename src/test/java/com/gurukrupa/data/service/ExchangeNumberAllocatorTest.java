@@ -0,0 +1,76 @@
+package com.gurukrupa.data.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExchangeNumberAllocatorTest {
+
+	private static final LocalDate DATE = LocalDate.of(2026, 3, 14);
+
+	@Test
+	void sixteenThreadsNeverReceiveTheSameNumber() throws Exception {
+		AtomicInteger seedLookups = new AtomicInteger();
+		ExchangeNumberAllocator allocator = allocatorSeededAt(41, seedLookups);
+
+		int threads = 16;
+		int perThread = 200;
+		Set<String> issued = ConcurrentHashMap.newKeySet();
+		CountDownLatch start = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					for (int i = 0; i < perThread; i++) {
+						assertTrue(issued.add(allocator.next(DATE)));
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get(30, TimeUnit.SECONDS);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		assertEquals(threads * perThread, issued.size());
+		assertTrue(issued.contains("EX/2026/03/0042"));
+		assertTrue(issued.contains(String.format("EX/2026/03/%04d", 41 + threads * perThread)));
+		assertEquals(1, seedLookups.get());
+	}
+
+	@Test
+	void eachMonthHasItsOwnCounter() {
+		ExchangeNumberAllocator allocator = allocatorSeededAt(0, new AtomicInteger());
+		assertEquals("EX/2026/03/0001", allocator.next(DATE));
+		assertEquals("EX/2026/04/0001", allocator.next(DATE.plusMonths(1)));
+		assertEquals("EX/2026/03/0002", allocator.next(DATE));
+	}
+
+	private ExchangeNumberAllocator allocatorSeededAt(int lastIssued, AtomicInteger seedLookups) {
+		return new ExchangeNumberAllocator() {
+			@Override
+			int lastIssued(String prefix) {
+				seedLookups.incrementAndGet();
+				return lastIssued;
+			}
+		};
+	}
+}
@@ -0,0 +1,26 @@
+package com.gurukrupa.data.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScheduledJobGateTest {
+
+	@Test
+	void jobsSkipWhilePausedAndRunAfterResume() throws Exception {
+		ScheduledJobGate gate = new ScheduledJobGate();
+		AtomicInteger runs = new AtomicInteger();
+
+		gate.pauseJobs();
+		// Scheduled jobs run on the scheduler thread, not the one restoring
+		CompletableFuture.runAsync(() -> gate.run("Test job", runs::incrementAndGet)).get();
+		assertEquals(0, runs.get());
+
+		gate.resumeJobs();
+		CompletableFuture.runAsync(() -> gate.run("Test job", runs::incrementAndGet)).get();
+		assertEquals(1, runs.get());
+	}
+}
@@ -0,0 +1,41 @@
+package com.gurukrupa.diagnostics;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SqlStatementTrackerTest {
+
+	@Test
+	void shapeCollapsesLiteralsAndInLists() {
+		String shape = SqlStatementTracker.shapeOf(
+				"select j1_0.id from jewelry_items j1_0 where j1_0.item_code='GR-001'  and j1_0.id in (?, ?, ?) and j1_0.quantity > 10");
+		assertEquals("select j1_0.id from jewelry_items j1_0 where j1_0.item_code=? and j1_0.id in (?...) and j1_0.quantity > ?", shape);
+	}
+
+	@Test
+	void nestedScopesShareTheOutermostCount() {
+		SqlStatementTracker tracker = new SqlStatementTracker(5, 100, true);
+		try (SqlStatementTracker.Scope screen = tracker.begin("/fxml/master/Categories.fxml")) {
+			try (SqlStatementTracker.Scope service = tracker.begin("CategoryService.getAllCategories")) {
+				for (int i = 0; i < 6; i++) {
+					tracker.inspect("select c1_0.id from jewelry_items c1_0 where c1_0.category_id=" + i);
+				}
+			}
+			tracker.inspect("select c1_0.id from categories c1_0");
+			assertEquals(7, screen.getStatementCount());
+			assertEquals(2, screen.getShapes().size());
+		}
+	}
+
+	@Test
+	void strictModeFailsWhenBudgetIsExceeded() {
+		SqlStatementTracker tracker = new SqlStatementTracker(5, 3, true);
+		SqlStatementTracker.Scope scope = tracker.begin("/fxml/transaction/Billing.fxml");
+		for (int i = 0; i < 4; i++) {
+			tracker.inspect("select m1_0.id from metals m1_0 where m1_0.id=" + i);
+		}
+		assertThrows(IllegalStateException.class, scope::close);
+	}
+}
@@ -0,0 +1,39 @@
+package com.gurukrupa.utility;
+
+import com.gurukrupa.utility.IndianNumberFormatter.Grouping;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndianNumberFormatterTest {
+
+	@Test
+	void amountsUseIndianGrouping() {
+		assertEquals("0.00", IndianNumberFormatter.formatAmount(null));
+		assertEquals("999.00", IndianNumberFormatter.formatAmount(new BigDecimal("999")));
+		assertEquals("1,000.00", IndianNumberFormatter.formatAmount(new BigDecimal("1000")));
+		assertEquals("9,92,000.00", IndianNumberFormatter.formatAmount(new BigDecimal("992000")));
+		assertEquals("1,00,00,000.00", IndianNumberFormatter.formatAmount(new BigDecimal("10000000")));
+		assertEquals("-12,34,567.89", IndianNumberFormatter.formatAmount(new BigDecimal("-1234567.891")));
+		assertEquals("0.01", IndianNumberFormatter.formatAmount(new BigDecimal("0.005")));
+		assertEquals("12,34,56,78,90,12,34,56,78,901.24",
+				IndianNumberFormatter.formatAmount(new BigDecimal("123456789012345678901.236")));
+	}
+
+	@Test
+	void weightsMatchFixedPointFormatting() {
+		BigDecimal weight = new BigDecimal("1234.5");
+		assertEquals(String.format("%.3f", weight), IndianNumberFormatter.formatWeight(weight));
+		assertEquals("+12.500", IndianNumberFormatter.formatSignedWeight(new BigDecimal("12.5")));
+		assertEquals("-3.000", IndianNumberFormatter.formatSignedWeight(new BigDecimal("-3")));
+		assertEquals("1,234,567.890", IndianNumberFormatter.format(new BigDecimal("1234567.89"), 3, Grouping.THOUSANDS));
+	}
+
+	@Test
+	void scaledLongsFormatWithoutBigDecimal() {
+		assertEquals("9,92,000.50", IndianNumberFormatter.format(99200050L, 2, Grouping.INDIAN));
+		assertEquals("-0.005", IndianNumberFormatter.format(-5L, 3, Grouping.NONE));
+	}
+}
@@ -0,0 +1,111 @@
+package com.gurukrupa.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the kernel against the BigDecimal formulas it replaced, over random inputs
+ * that include extra decimals, negative values and amounts too large for a long.
+ */
+class PricingKernelTest {
+
+	private static final int CASES = 20_000;
+
+	@Test
+	void metalValueMatchesBigDecimal() {
+		Random random = new Random(43);
+		for (int i = 0; i < CASES; i++) {
+			BigDecimal weight = randomDecimal(random, 3);
+			BigDecimal rate = randomDecimal(random, 2);
+			BigDecimal expected = weight.multiply(rate).divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
+			assertEquals(expected, PricingKernel.metalValue(weight, rate), weight + " @ " + rate);
+		}
+	}
+
+	@Test
+	void percentAndHalfMatchBigDecimal() {
+		Random random = new Random(44);
+		for (int i = 0; i < CASES; i++) {
+			BigDecimal amount = randomDecimal(random, 2);
+			BigDecimal percent = randomDecimal(random, 2);
+			BigDecimal tax = amount.multiply(percent).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+			assertEquals(tax, PricingKernel.percentOf(amount, percent), amount + " x " + percent + "%");
+			assertEquals(tax.divide(BigDecimal.valueOf(2), 2, RoundingMode.HALF_UP), PricingKernel.half(tax));
+		}
+	}
+
+	@Test
+	void lineTotalMatchesBillTransaction() {
+		Random random = new Random(45);
+		for (int i = 0; i < CASES; i++) {
+			BigDecimal weight = random.nextInt(20) == 0 ? null : randomDecimal(random, 3);
+			BigDecimal rate = randomDecimal(random, 2);
+			BigDecimal labour = random.nextInt(10) == 0 ? null : randomDecimal(random, 2);
+
+			BigDecimal expected = BigDecimal.ZERO;
+			if (weight != null) {
+				expected = weight.multiply(rate).divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
+			}
+			if (labour != null) {
+				expected = expected.add(labour);
+			}
+			assertEquals(expected, PricingKernel.lineTotal(weight, rate, labour), weight + " @ " + rate + " + " + labour);
+		}
+	}
+
+	@Test
+	void itemTotalMatchesJewelryItem() {
+		Random random = new Random(46);
+		for (int i = 0; i < CASES; i++) {
+			BigDecimal netWeight = randomDecimal(random, 3);
+			BigDecimal rate = randomDecimal(random, 2);
+			BigDecimal labour = randomDecimal(random, 2);
+			BigDecimal stone = random.nextBoolean() ? null : randomDecimal(random, 2);
+			BigDecimal other = random.nextBoolean() ? null : randomDecimal(random, 2);
+
+			BigDecimal goldValue = netWeight.multiply(rate).divide(BigDecimal.valueOf(10), 2, RoundingMode.HALF_UP);
+			BigDecimal total = goldValue.add(goldValue.multiply(labour).divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP));
+			if (stone != null) {
+				total = total.add(stone);
+			}
+			if (other != null) {
+				total = total.add(other);
+			}
+			assertEquals(total.setScale(2, RoundingMode.HALF_UP),
+					PricingKernel.itemTotal(netWeight, rate, labour, stone, other));
+		}
+	}
+
+	@Test
+	void halfUpRoundsTiesAwayFromZero() {
+		assertEquals(1, PricingKernel.divideHalfUp(5, 10));
+		assertEquals(-1, PricingKernel.divideHalfUp(-5, 10));
+		assertEquals(0, PricingKernel.divideHalfUp(4, 10));
+		assertEquals(0, PricingKernel.divideHalfUp(-4, 10));
+		// 10.005 g at 6,543.21 per 10 g = 6,546.4816... -> 6,546.48
+		assertEquals(654648L, PricingKernel.metalValuePaise(10_005, 654_321));
+	}
+
+	/**
+	 * Mostly values the columns hold (given scale, shop-sized magnitudes), with some
+	 * extra decimals, trailing zeros, negatives and huge values mixed in
+	 */
+	private static BigDecimal randomDecimal(Random random, int scale) {
+		int kind = random.nextInt(20);
+		if (kind == 0) {
+			return new BigDecimal(random.nextLong()).movePointLeft(random.nextInt(4)).multiply(BigDecimal.valueOf(1_000_000));
+		}
+		int actualScale = kind == 1 ? scale + 1 + random.nextInt(3) : kind == 2 ? random.nextInt(scale + 1) : scale;
+		long unscaled = random.nextInt(5) == 0 ? random.nextInt(1000) : (long) (random.nextDouble() * 10_000_000_000L);
+		if (kind == 3) {
+			unscaled = -unscaled;
+		}
+		BigDecimal value = BigDecimal.valueOf(unscaled, actualScale);
+		return kind == 4 ? value.setScale(scale + 2) : value;
+	}
+}
@@ -0,0 +1,62 @@
+package com.gurukrupa.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The lookup tables must give exactly what the formulas give, whatever the scale of
+ * the input (purity columns hold 22.00, metals "22K").
+ */
+class PurityCalculatorTest {
+
+	private static final BigDecimal KARAT_24 = new BigDecimal("24");
+
+	@Test
+	void parsesPurityStrings() {
+		for (String purity : new String[] {"22K", "22k", " 22 K ", "916", "92.5", "92.5%", "99.9", "1000", "7K", "23.5K"}) {
+			String cleaned = purity.trim().replaceAll("(?i)K", "").replaceAll("%", "").trim();
+			assertEquals(new BigDecimal(cleaned), PurityCalculator.parsePurityString(purity), purity);
+		}
+		assertEquals(BigDecimal.ZERO, PurityCalculator.parsePurityString(null));
+		assertEquals(BigDecimal.ZERO, PurityCalculator.parsePurityString("  "));
+		assertEquals(BigDecimal.ZERO, PurityCalculator.parsePurityString("K"));
+		assertEquals(BigDecimal.ZERO, PurityCalculator.parsePurityString("gold"));
+	}
+
+	@Test
+	void karatConversionsMatchFormulas() {
+		for (int karat = 1; karat <= 24; karat++) {
+			for (int scale = 0; scale <= 2; scale++) {
+				BigDecimal value = BigDecimal.valueOf(karat).setScale(scale);
+				assertEquals(value.divide(KARAT_24, 3, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(100))
+						.setScale(2, RoundingMode.HALF_UP), PurityCalculator.getPurityPercentage(value), "percentage " + value);
+				assertEquals(value.divide(KARAT_24, 3, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(1000))
+						.setScale(0, RoundingMode.HALF_UP), PurityCalculator.getFineness(value), "fineness " + value);
+			}
+		}
+		for (int fineness = 400; fineness <= 1000; fineness++) {
+			BigDecimal value = BigDecimal.valueOf(fineness);
+			assertEquals(value.divide(BigDecimal.valueOf(1000), 3, RoundingMode.HALF_UP).multiply(KARAT_24)
+					.setScale(2, RoundingMode.HALF_UP), PurityCalculator.getKaratFromFineness(value), "karat " + value);
+		}
+	}
+
+	@Test
+	void pureWeightMatchesFormula() {
+		Random random = new Random(44);
+		for (int i = 0; i < 20_000; i++) {
+			BigDecimal weight = BigDecimal.valueOf(1 + random.nextInt(100_000_000), random.nextInt(5));
+			BigDecimal karat = BigDecimal.valueOf(random.nextInt(24) + 1).setScale(random.nextInt(3));
+			BigDecimal expected = weight.multiply(karat.divide(KARAT_24, 3, RoundingMode.HALF_UP))
+					.setScale(3, RoundingMode.HALF_UP);
+			assertEquals(expected, PurityCalculator.getPureMetalWeight(weight, karat), weight + " of " + karat + "K");
+		}
+		assertEquals(BigDecimal.ZERO, PurityCalculator.getPureMetalWeight(BigDecimal.ZERO, KARAT_24));
+		assertEquals(BigDecimal.ZERO, PurityCalculator.getPureMetalWeight(BigDecimal.TEN, null));
+	}
+}